@@ -0,0 +1,45 @@
+package com.kcdevdes.synk.benchmark;
+
+import com.kcdevdes.synk.entity.AccountEntity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AccountEntity.getFormattedBalance ("USD 1,234,567.89").
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AccountFormattingBenchmark {
+
+    @Param({"7.5", "1234567.89", "-98765432109.12"})
+    String balance;
+
+    private AccountEntity account;
+
+    @Setup
+    public void setUp() {
+        account = BenchmarkFixtures.account(1L, BenchmarkFixtures.user(1L));
+        account.setBalance(new BigDecimal(balance));
+    }
+
+    @Benchmark
+    public String formattedBalance() {
+        return account.getFormattedBalance();
+    }
+}
@@ -0,0 +1,126 @@
+package com.kcdevdes.synk.benchmark;
+
+import com.kcdevdes.synk.dto.request.AccountCreateDTO;
+import com.kcdevdes.synk.dto.request.TransactionCreateDTO;
+import com.kcdevdes.synk.dto.request.UserCreateDTO;
+import com.kcdevdes.synk.entity.AccountEntity;
+import com.kcdevdes.synk.entity.TransactionEntity;
+import com.kcdevdes.synk.entity.UserEntity;
+import com.kcdevdes.synk.entity.type.AccountType;
+import com.kcdevdes.synk.entity.type.PaymentMethod;
+import com.kcdevdes.synk.entity.type.TransactionType;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Realistic-looking entities and request DTOs shared by the benchmarks.
+ */
+final class BenchmarkFixtures {
+
+    private static final Instant BASE_TIME = Instant.parse("2025-01-01T00:00:00Z");
+    private static final String[] MERCHANTS = {"Starbucks", "Whole Foods", "Shell", "Amazon", "Netflix", "Uber"};
+    private static final String[] CATEGORIES = {"Food", "Groceries", "Transport", "Shopping", "Subscriptions"};
+
+    private BenchmarkFixtures() {
+    }
+
+    static UserEntity user(long id) {
+        UserEntity user = new UserEntity();
+        user.setId(id);
+        user.setEmail("user" + id + "@example.com");
+        user.setUsername("user" + id);
+        user.setPassword("$2a$10$abcdefghijklmnopqrstuuv0123456789abcdefghijklmnopqrs");
+        user.setFirstName("Jane");
+        user.setLastName("Doe");
+        user.setMobile("+1-555-0100");
+        user.setCreatedAt(BASE_TIME);
+        user.setUpdatedAt(BASE_TIME.plusSeconds(id));
+        user.setLastLoginAt(BASE_TIME.plusSeconds(3600));
+        return user;
+    }
+
+    static AccountEntity account(long id, UserEntity user) {
+        AccountEntity account = new AccountEntity();
+        account.setId(id);
+        account.setAccountName("Checking " + id);
+        account.setAccountType(AccountType.values()[(int) (id % AccountType.values().length)]);
+        account.setCurrency("USD");
+        account.setBalance(new BigDecimal("1234567.89"));
+        account.setAccountNumber("000123456789");
+        account.setBankName("Example Bank");
+        account.setDescription("Primary account");
+        account.setCreatedAt(BASE_TIME);
+        account.setUpdatedAt(BASE_TIME.plusSeconds(id));
+        account.setUser(user);
+        return account;
+    }
+
+    static TransactionEntity transaction(long id, AccountEntity account) {
+        TransactionEntity transaction = new TransactionEntity();
+        transaction.setId(id);
+        transaction.setType(id % 5 == 0 ? TransactionType.INCOME : TransactionType.EXPENSE);
+        transaction.setAmount(BigDecimal.valueOf(1_000 + id * 37 % 100_000, 2));
+        transaction.setMerchant(MERCHANTS[(int) (id % MERCHANTS.length)]);
+        transaction.setCurrency("USD");
+        transaction.setCategory(CATEGORIES[(int) (id % CATEGORIES.length)]);
+        transaction.setDescription("Card purchase #" + id);
+        transaction.setTags("personal,card");
+        transaction.setPaymentMethod(PaymentMethod.CREDIT_CARD);
+        transaction.setOccurredAt(BASE_TIME.plusSeconds(id * 60));
+        transaction.setUpdatedAt(BASE_TIME.plusSeconds(id * 60));
+        transaction.setUser(account.getUser());
+        transaction.setAccount(account);
+        return transaction;
+    }
+
+    static List<TransactionEntity> transactions(int count) {
+        AccountEntity account = account(1L, user(1L));
+        List<TransactionEntity> transactions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            transactions.add(transaction(i + 1, account));
+        }
+        return transactions;
+    }
+
+    static TransactionCreateDTO transactionCreateDTO() {
+        TransactionCreateDTO dto = new TransactionCreateDTO();
+        dto.setType("EXPENSE");
+        dto.setAmount(new BigDecimal("42.50"));
+        dto.setMerchant("Whole Foods");
+        dto.setCurrency("USD");
+        dto.setCategory("Groceries");
+        dto.setDescription("Weekly groceries");
+        dto.setTags("food,home");
+        dto.setPaymentMethod("DEBIT_CARD");
+        dto.setAccountId(1L);
+        return dto;
+    }
+
+    static AccountCreateDTO accountCreateDTO() {
+        AccountCreateDTO dto = new AccountCreateDTO();
+        dto.setAccountName("Savings");
+        dto.setAccountType("BANK_ACCOUNT");
+        dto.setCurrency("USD");
+        dto.setBalance(new BigDecimal("2500.00"));
+        dto.setAccountNumber("000987654321");
+        dto.setBankName("Example Bank");
+        dto.setDescription("Rainy day fund");
+        return dto;
+    }
+
+    static UserCreateDTO userCreateDTO() {
+        UserCreateDTO dto = new UserCreateDTO();
+        dto.setEmail("bench@example.com");
+        dto.setUsername("benchuser");
+        dto.setPassword("Password123!");
+        dto.setFirstName("Jane");
+        dto.setLastName("Doe");
+        dto.setMobile("+1-555-0100");
+        dto.setLocale("en-US");
+        dto.setTimezone("America/New_York");
+        return dto;
+    }
+}
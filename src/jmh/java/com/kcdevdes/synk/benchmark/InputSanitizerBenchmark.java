@@ -0,0 +1,58 @@
+package com.kcdevdes.synk.benchmark;
+
+import com.kcdevdes.synk.util.InputSanitizer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * InputSanitizer.sanitizePlainText on the inputs it sees in practice, against the previous
+ * regex implementation. Rejected (suspicious) input is not measured: that path is dominated
+ * by exception construction.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class InputSanitizerBenchmark {
+
+    @Param({"MERCHANT", "DESCRIPTION", "DIRTY"})
+    String input;
+
+    private String value;
+
+    @Setup
+    public void setUp() {
+        value = switch (input) {
+            // 가장 흔한 경우: 짧고 이미 깨끗한 값
+            case "MERCHANT" -> "Whole Foods Market";
+            // 긴 자유 텍스트 (description 최대 512자 근처)
+            case "DESCRIPTION" -> "Quarterly team offsite dinner, split between four people; reimbursable. ".repeat(7);
+            // 앞뒤 공백 + 제어 문자 포함
+            case "DIRTY" -> "  \tCoffee\u0000 with\u0007 client \u001F\r\n";
+            default -> throw new IllegalArgumentException(input);
+        };
+    }
+
+    @Benchmark
+    public String sanitizePlainText() {
+        return InputSanitizer.sanitizePlainText(value, "benchmark");
+    }
+
+    @Benchmark
+    public String legacySanitizePlainText() {
+        return LegacyInputSanitizer.sanitizePlainText(value);
+    }
+}
@@ -0,0 +1,87 @@
+package com.kcdevdes.synk.benchmark;
+
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Prints score and allocation deltas between two JMH JSON result files (-rf json).
+ *
+ * Usage: gradle jmhCompare -Pbaseline=results-0.0.1.json -Pcandidate=results-0.0.2.json
+ */
+public final class JmhResultComparator {
+
+    private static final String ALLOC_METRIC = "gc.alloc.rate.norm";
+
+    private JmhResultComparator() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2 || args[0].isBlank()) {
+            System.err.println("usage: JmhResultComparator <baseline.json> <candidate.json>");
+            System.exit(1);
+        }
+
+        ObjectMapper mapper = JsonMapper.builder().build();
+        Map<String, Result> baseline = load(mapper, Path.of(args[0]));
+        Map<String, Result> candidate = load(mapper, Path.of(args[1]));
+
+        System.out.printf("%-90s %14s %14s %9s %12s %12s %9s%n",
+                "benchmark", "baseline", "candidate", "delta", "B/op base", "B/op cand", "delta");
+        candidate.forEach((key, current) -> {
+            Result previous = baseline.get(key);
+            if (previous == null) {
+                System.out.printf("%-90s %14s %14.3f %9s %12s %12.1f %9s  (new)%n",
+                        key, "-", current.score(), "-", "-", current.allocBytes(), "-");
+                return;
+            }
+            System.out.printf("%-90s %14.3f %14.3f %8.1f%% %12.1f %12.1f %8.1f%%  %s%n",
+                    key,
+                    previous.score(), current.score(), percentChange(previous.score(), current.score()),
+                    previous.allocBytes(), current.allocBytes(),
+                    percentChange(previous.allocBytes(), current.allocBytes()),
+                    current.unit());
+        });
+        baseline.keySet().stream()
+                .filter(key -> !candidate.containsKey(key))
+                .forEach(key -> System.out.printf("%-90s  (removed)%n", key));
+    }
+
+    private static Map<String, Result> load(ObjectMapper mapper, Path file) throws IOException {
+        JsonNode root = mapper.readTree(Files.readString(file));
+        Map<String, Result> results = new TreeMap<>();
+        for (JsonNode run : root) {
+            StringBuilder key = new StringBuilder(run.path("benchmark").asString());
+            run.path("params").properties().forEach(param ->
+                    key.append(' ').append(param.getKey()).append('=').append(param.getValue().asString()));
+
+            JsonNode primary = run.path("primaryMetric");
+            double allocBytes = Double.NaN;
+            for (Map.Entry<String, JsonNode> metric : run.path("secondaryMetrics").properties()) {
+                // JMH < 1.36 prefixed profiler metrics with a middle dot
+                if (metric.getKey().replace("·", "").equals(ALLOC_METRIC)) {
+                    allocBytes = metric.getValue().path("score").asDouble();
+                }
+            }
+            results.put(key.toString(), new Result(
+                    primary.path("score").asDouble(),
+                    primary.path("scoreUnit").asString(),
+                    allocBytes
+            ));
+        }
+        return results;
+    }
+
+    private static double percentChange(double before, double after) {
+        return before == 0 ? Double.NaN : (after - before) / before * 100;
+    }
+
+    private record Result(double score, String unit, double allocBytes) {
+    }
+}
@@ -0,0 +1,27 @@
+package com.kcdevdes.synk.benchmark;
+
+import java.util.regex.Pattern;
+
+/**
+ * The regex-based InputSanitizer.sanitizePlainText this release replaced, kept as the benchmark baseline.
+ */
+final class LegacyInputSanitizer {
+
+    private static final Pattern SUSPICIOUS_PATTERN =
+            Pattern.compile("(?i)(<\\s*script|</\\s*script|javascript:|on\\w+\\s*=)");
+
+    private LegacyInputSanitizer() {
+    }
+
+    static String sanitizePlainText(String value) {
+        if (value == null) {
+            return null;
+        }
+
+        String sanitized = value.trim().replaceAll("\\p{Cntrl}", "");
+        if (SUSPICIOUS_PATTERN.matcher(sanitized).find()) {
+            throw new IllegalArgumentException("Suspicious input");
+        }
+        return sanitized;
+    }
+}
@@ -0,0 +1,97 @@
+package com.kcdevdes.synk.benchmark;
+
+import com.kcdevdes.synk.dto.request.AccountCreateDTO;
+import com.kcdevdes.synk.dto.request.TransactionCreateDTO;
+import com.kcdevdes.synk.dto.request.UserCreateDTO;
+import com.kcdevdes.synk.dto.response.AccountDTO;
+import com.kcdevdes.synk.dto.response.TransactionDTO;
+import com.kcdevdes.synk.dto.response.UserDTO;
+import com.kcdevdes.synk.entity.AccountEntity;
+import com.kcdevdes.synk.entity.TransactionEntity;
+import com.kcdevdes.synk.entity.UserEntity;
+import com.kcdevdes.synk.mapper.AccountMapper;
+import com.kcdevdes.synk.mapper.TransactionMapper;
+import com.kcdevdes.synk.mapper.UserMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity <-> DTO mapping cost. toEntity includes InputSanitizer on every free-text field.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MapperBenchmark {
+
+    @Param({"20", "500"})
+    int listSize;
+
+    private TransactionEntity transaction;
+    private List<TransactionEntity> transactions;
+    private TransactionCreateDTO transactionCreateDTO;
+    private AccountEntity account;
+    private AccountCreateDTO accountCreateDTO;
+    private UserEntity user;
+    private UserCreateDTO userCreateDTO;
+
+    @Setup
+    public void setUp() {
+        user = BenchmarkFixtures.user(1L);
+        account = BenchmarkFixtures.account(1L, user);
+        transaction = BenchmarkFixtures.transaction(1L, account);
+        transactions = BenchmarkFixtures.transactions(listSize);
+        transactionCreateDTO = BenchmarkFixtures.transactionCreateDTO();
+        accountCreateDTO = BenchmarkFixtures.accountCreateDTO();
+        userCreateDTO = BenchmarkFixtures.userCreateDTO();
+    }
+
+    @Benchmark
+    public TransactionDTO transactionToDTO() {
+        return TransactionMapper.toDTO(transaction);
+    }
+
+    @Benchmark
+    public TransactionEntity transactionToEntity() {
+        return TransactionMapper.toEntity(transactionCreateDTO);
+    }
+
+    @Benchmark
+    public List<TransactionDTO> transactionToDTOList() {
+        return TransactionMapper.toDTOList(transactions);
+    }
+
+    @Benchmark
+    public AccountDTO accountToDTO() {
+        return AccountMapper.toDTO(account);
+    }
+
+    @Benchmark
+    public AccountEntity accountToEntity() {
+        return AccountMapper.toEntity(accountCreateDTO);
+    }
+
+    @Benchmark
+    public UserDTO userToDTO() {
+        return UserMapper.toDTO(user);
+    }
+
+    @Benchmark
+    public UserEntity userToEntity() {
+        return UserMapper.toEntity(userCreateDTO);
+    }
+}
@@ -0,0 +1,66 @@
+package com.kcdevdes.synk.benchmark;
+
+import com.kcdevdes.synk.config.properties.AppRateLimitProperties;
+import com.kcdevdes.synk.filter.ClientRateLimiter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ClientRateLimiter.tryAcquire on the filter hot path: known client, request allowed.
+ * Limits are set high enough that nothing is rejected, so every call does the full CAS.
+ * sharedClient has all threads contend on one bucket (worst case for the CAS loop).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RateLimiterBenchmark {
+
+    private static final int CLIENTS = 1024;
+
+    private ClientRateLimiter rateLimiter;
+    private String[] clientKeys;
+
+    @Setup
+    public void setUp() {
+        AppRateLimitProperties properties = new AppRateLimitProperties();
+        AppRateLimitProperties.Limit unlimited = new AppRateLimitProperties.Limit(1_000_000_000, 1_000_000);
+        properties.setRead(unlimited);
+        properties.setWrite(unlimited);
+        properties.setSearch(unlimited);
+        rateLimiter = new ClientRateLimiter(properties);
+
+        clientKeys = new String[CLIENTS];
+        for (int i = 0; i < CLIENTS; i++) {
+            clientKeys[i] = "10.0." + (i >> 8) + "." + (i & 0xFF);
+            rateLimiter.tryAcquire(clientKeys[i], ClientRateLimiter.EndpointClass.READ);
+        }
+    }
+
+    @Benchmark
+    @Threads(4)
+    public long manyClients() {
+        String clientKey = clientKeys[ThreadLocalRandom.current().nextInt(CLIENTS)];
+        return rateLimiter.tryAcquire(clientKey, ClientRateLimiter.EndpointClass.READ);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public long sharedClient() {
+        return rateLimiter.tryAcquire(clientKeys[0], ClientRateLimiter.EndpointClass.READ);
+    }
+}
@@ -0,0 +1,49 @@
+package com.kcdevdes.synk.benchmark;
+
+import com.kcdevdes.synk.dto.response.TransactionDTO;
+import com.kcdevdes.synk.mapper.TransactionMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of TransactionDTO lists, as returned by the list endpoints.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TransactionJsonBenchmark {
+
+    @Param({"20", "500", "5000"})
+    int listSize;
+
+    private ObjectMapper objectMapper;
+    private List<TransactionDTO> transactions;
+
+    @Setup
+    public void setUp() {
+        objectMapper = JsonMapper.builder().build();
+        transactions = TransactionMapper.toDTOList(BenchmarkFixtures.transactions(listSize));
+    }
+
+    @Benchmark
+    public byte[] serializeList() {
+        return objectMapper.writeValueAsBytes(transactions);
+    }
+}
@@ -0,0 +1,90 @@
+package com.kcdevdes.synk.benchmark;
+
+import com.kcdevdes.synk.config.CborWireFormatModule;
+import com.kcdevdes.synk.dto.response.TransactionDTO;
+import com.kcdevdes.synk.mapper.TransactionMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * TransactionDTO lists as JSON vs CBOR (application/cbor wire format): encode and decode time here,
+ * bytes on the wire (raw and gzip) printed once per trial, since JMH only scores time.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WireFormatBenchmark {
+
+    @Param({"500", "5000"})
+    int listSize;
+
+    private ObjectMapper jsonMapper;
+    private CBORMapper cborMapper;
+    private List<TransactionDTO> transactions;
+    private byte[] json;
+    private byte[] cbor;
+
+    @Setup
+    public void setUp() {
+        jsonMapper = JsonMapper.builder().build();
+        cborMapper = CBORMapper.builder().addModule(new CborWireFormatModule()).build();
+        transactions = TransactionMapper.toDTOList(BenchmarkFixtures.transactions(listSize));
+
+        json = jsonMapper.writeValueAsBytes(transactions);
+        cbor = cborMapper.writeValueAsBytes(transactions);
+        System.out.printf("%nwire size listSize=%d json=%dB (gzip %dB) cbor=%dB (gzip %dB) cbor/json=%.2f%n",
+                listSize, json.length, gzipSize(json), cbor.length, gzipSize(cbor), (double) cbor.length / json.length);
+    }
+
+    @Benchmark
+    public byte[] encodeJson() {
+        return jsonMapper.writeValueAsBytes(transactions);
+    }
+
+    @Benchmark
+    public byte[] encodeCbor() {
+        return cborMapper.writeValueAsBytes(transactions);
+    }
+
+    @Benchmark
+    public TransactionDTO[] decodeJson() {
+        return jsonMapper.readValue(json, TransactionDTO[].class);
+    }
+
+    @Benchmark
+    public TransactionDTO[] decodeCbor() {
+        return cborMapper.readValue(cbor, TransactionDTO[].class);
+    }
+
+    private static int gzipSize(byte[] bytes) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.size();
+    }
+}
@@ -0,0 +1,106 @@
+package com.kcdevdes.synk.loadtest;
+
+import com.kcdevdes.synk.entity.AccountEntity;
+import com.kcdevdes.synk.entity.TransactionEntity;
+import com.kcdevdes.synk.entity.UserEntity;
+import com.kcdevdes.synk.entity.type.AccountType;
+import com.kcdevdes.synk.entity.type.PaymentMethod;
+import com.kcdevdes.synk.entity.type.TransactionType;
+import com.kcdevdes.synk.repository.AccountRepository;
+import com.kcdevdes.synk.repository.TransactionRepository;
+import com.kcdevdes.synk.repository.UserRepository;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Seeds users, accounts and transactions straight through the repositories (no HTTP, no audit/outbox),
+ * one user's worth of rows per database transaction.
+ */
+final class DataSeeder {
+
+    static final List<String> MERCHANTS = List.of(
+            "Starbucks", "Whole Foods", "Shell", "Amazon", "Netflix", "Uber", "Target", "Costco", "Delta", "Spotify"
+    );
+    private static final String[] CATEGORIES = {"Food", "Groceries", "Transport", "Shopping", "Subscriptions", "Travel"};
+
+    private final UserRepository userRepository;
+    private final AccountRepository accountRepository;
+    private final TransactionRepository transactionRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    DataSeeder(ConfigurableApplicationContext context) {
+        this.userRepository = context.getBean(UserRepository.class);
+        this.accountRepository = context.getBean(AccountRepository.class);
+        this.transactionRepository = context.getBean(TransactionRepository.class);
+        this.transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+    }
+
+    SeedData seed(LoadTestConfig config) {
+        SplittableRandom random = new SplittableRandom(config.randomSeed());
+        List<Long> userIds = new ArrayList<>(config.users());
+        List<SeedData.SeededAccount> accounts = new ArrayList<>(config.users() * config.accountsPerUser());
+        List<Long> transactionIds = new ArrayList<>(
+                config.users() * config.accountsPerUser() * config.transactionsPerAccount());
+
+        for (int u = 0; u < config.users(); u++) {
+            int userIndex = u;
+            transactionTemplate.executeWithoutResult(status -> {
+                UserEntity user = userRepository.save(user(userIndex));
+                userIds.add(user.getId());
+
+                for (int a = 0; a < config.accountsPerUser(); a++) {
+                    AccountEntity account = accountRepository.save(account(user, a, random));
+                    accounts.add(new SeedData.SeededAccount(account.getId(), user.getId()));
+
+                    List<TransactionEntity> transactions = new ArrayList<>(config.transactionsPerAccount());
+                    for (int t = 0; t < config.transactionsPerAccount(); t++) {
+                        transactions.add(transaction(user, account, random));
+                    }
+                    transactionRepository.saveAll(transactions)
+                            .forEach(transaction -> transactionIds.add(transaction.getId()));
+                }
+            });
+        }
+
+        return new SeedData(List.copyOf(userIds), List.copyOf(accounts), List.copyOf(transactionIds), MERCHANTS);
+    }
+
+    private static UserEntity user(int index) {
+        UserEntity user = new UserEntity();
+        user.setEmail("seed" + index + "@loadtest.local");
+        user.setUsername("seed_" + index);
+        user.setPassword("seed-password-" + index);
+        user.setFirstName("Seed");
+        user.setLastName("User");
+        return user;
+    }
+
+    private static AccountEntity account(UserEntity user, int index, SplittableRandom random) {
+        AccountEntity account = new AccountEntity();
+        account.setAccountName("Account " + index);
+        account.setAccountType(AccountType.values()[index % AccountType.values().length]);
+        account.setCurrency("USD");
+        account.setBalance(BigDecimal.valueOf(random.nextLong(100_000, 10_000_000), 2));
+        account.setUser(user);
+        return account;
+    }
+
+    private static TransactionEntity transaction(UserEntity user, AccountEntity account, SplittableRandom random) {
+        TransactionEntity transaction = new TransactionEntity();
+        transaction.setType(random.nextInt(5) == 0 ? TransactionType.INCOME : TransactionType.EXPENSE);
+        transaction.setAmount(BigDecimal.valueOf(random.nextLong(100, 50_000), 2));
+        transaction.setMerchant(MERCHANTS.get(random.nextInt(MERCHANTS.size())));
+        transaction.setCurrency("USD");
+        transaction.setCategory(CATEGORIES[random.nextInt(CATEGORIES.length)]);
+        transaction.setPaymentMethod(PaymentMethod.CREDIT_CARD);
+        transaction.setUser(user);
+        transaction.setAccount(account);
+        return transaction;
+    }
+}
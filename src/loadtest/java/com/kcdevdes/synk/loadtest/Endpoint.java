@@ -0,0 +1,143 @@
+package com.kcdevdes.synk.loadtest;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.util.SplittableRandom;
+
+/**
+ * Endpoints the load generator can call. The route template doubles as the reporting key,
+ * so /api/users/17 and /api/users/42 are aggregated together.
+ */
+enum Endpoint {
+
+    GET_USER("GET", "/api/users/{id}") {
+        @Override
+        HttpRequest.Builder request(URI base, SeedData seed, SplittableRandom random, long sequence) {
+            return get(base, "/api/users/" + seed.randomUserId(random));
+        }
+    },
+    CREATE_USER("POST", "/api/users") {
+        @Override
+        HttpRequest.Builder request(URI base, SeedData seed, SplittableRandom random, long sequence) {
+            return post(base, "/api/users", """
+                    {"email":"lt%1$d@loadtest.local","username":"lt_%1$d","password":"loadtest-password",\
+                    "firstName":"Load","lastName":"Test","defaultCurrency":"USD","locale":"en-US","timezone":"UTC"}"""
+                    .formatted(sequence));
+        }
+    },
+    GET_USER_ACCOUNTS("GET", "/api/accounts/user/{userId}") {
+        @Override
+        HttpRequest.Builder request(URI base, SeedData seed, SplittableRandom random, long sequence) {
+            return get(base, "/api/accounts/user/" + seed.randomUserId(random));
+        }
+    },
+    GET_ACCOUNT("GET", "/api/accounts/{accountId}") {
+        @Override
+        HttpRequest.Builder request(URI base, SeedData seed, SplittableRandom random, long sequence) {
+            return get(base, "/api/accounts/" + seed.randomAccount(random).accountId());
+        }
+    },
+    GET_TOTAL_BALANCE("GET", "/api/accounts/user/{userId}/total-balance") {
+        @Override
+        HttpRequest.Builder request(URI base, SeedData seed, SplittableRandom random, long sequence) {
+            return get(base, "/api/accounts/user/" + seed.randomUserId(random) + "/total-balance");
+        }
+    },
+    CREATE_ACCOUNT("POST", "/api/accounts/user/{userId}") {
+        @Override
+        HttpRequest.Builder request(URI base, SeedData seed, SplittableRandom random, long sequence) {
+            return post(base, "/api/accounts/user/" + seed.randomUserId(random), """
+                    {"accountName":"Load %d","accountType":"WALLET","currency":"USD","balance":100.00}"""
+                    .formatted(sequence));
+        }
+    },
+    DEPOSIT("POST", "/api/accounts/{accountId}/user/{userId}/deposit") {
+        @Override
+        HttpRequest.Builder request(URI base, SeedData seed, SplittableRandom random, long sequence) {
+            SeedData.SeededAccount account = seed.randomAccount(random);
+            return post(base, "/api/accounts/" + account.accountId() + "/user/" + account.userId() + "/deposit",
+                    "{\"amount\":" + amount(random) + "}");
+        }
+    },
+    WITHDRAW("POST", "/api/accounts/{accountId}/user/{userId}/withdraw") {
+        @Override
+        HttpRequest.Builder request(URI base, SeedData seed, SplittableRandom random, long sequence) {
+            SeedData.SeededAccount account = seed.randomAccount(random);
+            return post(base, "/api/accounts/" + account.accountId() + "/user/" + account.userId() + "/withdraw",
+                    "{\"amount\":" + amount(random) + "}");
+        }
+    },
+    GET_TRANSACTION("GET", "/api/transactions/{id}") {
+        @Override
+        HttpRequest.Builder request(URI base, SeedData seed, SplittableRandom random, long sequence) {
+            return get(base, "/api/transactions/" + seed.randomTransactionId(random));
+        }
+    },
+    GET_USER_TRANSACTIONS("GET", "/api/transactions/user/{userId}") {
+        @Override
+        HttpRequest.Builder request(URI base, SeedData seed, SplittableRandom random, long sequence) {
+            return get(base, "/api/transactions/user/" + seed.randomUserId(random));
+        }
+    },
+    GET_ACCOUNT_TRANSACTIONS("GET", "/api/transactions/account/{accountId}") {
+        @Override
+        HttpRequest.Builder request(URI base, SeedData seed, SplittableRandom random, long sequence) {
+            return get(base, "/api/transactions/account/" + seed.randomAccount(random).accountId());
+        }
+    },
+    SEARCH_TRANSACTIONS("GET", "/api/transactions/search?query={merchant}") {
+        @Override
+        HttpRequest.Builder request(URI base, SeedData seed, SplittableRandom random, long sequence) {
+            return get(base, "/api/transactions/search?query="
+                    + URLEncoder.encode(seed.randomMerchant(random), StandardCharsets.UTF_8));
+        }
+    },
+    CREATE_TRANSACTION("POST", "/api/transactions") {
+        @Override
+        HttpRequest.Builder request(URI base, SeedData seed, SplittableRandom random, long sequence) {
+            return post(base, "/api/transactions", """
+                    {"type":"EXPENSE","amount":%s,"merchant":"%s","currency":"USD","category":"Load",\
+                    "paymentMethod":"DEBIT_CARD","accountId":%d}"""
+                    .formatted(amount(random), seed.randomMerchant(random), seed.randomAccount(random).accountId()));
+        }
+    },
+    UPDATE_TRANSACTION("PUT", "/api/transactions/{id}") {
+        @Override
+        HttpRequest.Builder request(URI base, SeedData seed, SplittableRandom random, long sequence) {
+            return HttpRequest.newBuilder(base.resolve("/api/transactions/" + seed.randomTransactionId(random)))
+                    .header("Content-Type", "application/json")
+                    .PUT(HttpRequest.BodyPublishers.ofString("{\"amount\":" + amount(random) + ",\"category\":\"Updated\"}"));
+        }
+    };
+
+    private final String method;
+    private final String route;
+
+    Endpoint(String method, String route) {
+        this.method = method;
+        this.route = route;
+    }
+
+    abstract HttpRequest.Builder request(URI base, SeedData seed, SplittableRandom random, long sequence);
+
+    String label() {
+        return method + " " + route;
+    }
+
+    private static HttpRequest.Builder get(URI base, String path) {
+        return HttpRequest.newBuilder(base.resolve(path)).GET();
+    }
+
+    private static HttpRequest.Builder post(URI base, String path, String json) {
+        return HttpRequest.newBuilder(base.resolve(path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json));
+    }
+
+    private static String amount(SplittableRandom random) {
+        return BigDecimal.valueOf(random.nextLong(100, 20_000), 2).toPlainString();
+    }
+}
@@ -0,0 +1,106 @@
+package com.kcdevdes.synk.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-endpoint latency histogram (microseconds, 3 significant digits) and outcome counters.
+ * Latency is measured from the request's scheduled start, so queueing behind a slow
+ * server counts against it (no coordinated omission).
+ */
+final class EndpointStats {
+
+    private static final long MAX_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(5);
+
+    private final String label;
+    private final Recorder recorder = new Recorder(MAX_TRACKABLE_MICROS, 3);
+    private final LongAdder successes = new LongAdder();
+    private final LongAdder httpErrors = new LongAdder();
+    private final LongAdder transportErrors = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final Map<Integer, LongAdder> statusCounts = new ConcurrentHashMap<>();
+
+    EndpointStats(String label) {
+        this.label = label;
+    }
+
+    void recordResponse(int status, long latencyNanos) {
+        recordLatency(latencyNanos);
+        statusCounts.computeIfAbsent(status / 100, key -> new LongAdder()).increment();
+        if (status >= 200 && status < 400) {
+            successes.increment();
+        } else {
+            httpErrors.increment();
+        }
+    }
+
+    void recordTransportError(long latencyNanos) {
+        recordLatency(latencyNanos);
+        transportErrors.increment();
+    }
+
+    void recordDropped() {
+        dropped.increment();
+    }
+
+    /**
+     * Latencies recorded since the previous call.
+     */
+    Histogram takeHistogram() {
+        return recorder.getIntervalHistogram();
+    }
+
+    long successes() {
+        return successes.sum();
+    }
+
+    long requests() {
+        return successes.sum() + httpErrors.sum() + transportErrors.sum() + dropped.sum();
+    }
+
+    Map<String, Object> toReportMap(Histogram histogram, double measuredSeconds) {
+        long requests = requests();
+        long errors = requests - successes.sum();
+
+        Map<String, Object> statuses = new LinkedHashMap<>();
+        statusCounts.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .forEach(entry -> statuses.put(entry.getKey() + "xx", entry.getValue().sum()));
+
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("endpoint", label);
+        map.put("requests", requests);
+        map.put("errors", errors);
+        map.put("errorRate", requests == 0 ? 0.0 : (double) errors / requests);
+        map.put("httpErrors", httpErrors.sum());
+        map.put("transportErrors", transportErrors.sum());
+        map.put("dropped", dropped.sum());
+        map.put("statusClasses", statuses);
+        map.put("throughputPerSecond", successes.sum() / measuredSeconds);
+        map.put("latencyMs", latency(histogram));
+        return map;
+    }
+
+    static Map<String, Object> latency(Histogram histogram) {
+        Map<String, Object> latency = new LinkedHashMap<>();
+        latency.put("count", histogram.getTotalCount());
+        latency.put("mean", histogram.getMean() / 1000.0);
+        latency.put("p50", histogram.getValueAtPercentile(50) / 1000.0);
+        latency.put("p90", histogram.getValueAtPercentile(90) / 1000.0);
+        latency.put("p99", histogram.getValueAtPercentile(99) / 1000.0);
+        latency.put("p999", histogram.getValueAtPercentile(99.9) / 1000.0);
+        latency.put("max", histogram.getMaxValue() / 1000.0);
+        return latency;
+    }
+
+    private void recordLatency(long latencyNanos) {
+        long micros = Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), MAX_TRACKABLE_MICROS);
+        recorder.recordValue(Math.max(micros, 0));
+    }
+}
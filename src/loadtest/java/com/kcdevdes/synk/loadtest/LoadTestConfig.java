@@ -0,0 +1,89 @@
+package com.kcdevdes.synk.loadtest;
+
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Load test settings, read from -Dloadtest.* system properties (gradle loadTest -Ploadtest.*=...).
+ *
+ * loadtest.profile                  // READ_HEAVY | MIXED | WRITE_HEAVY
+ * loadtest.rate                     // 목표 도착률 (requests/sec, open model)
+ * loadtest.arrivals                 // POISSON (지수 분포 간격) | CONSTANT
+ * loadtest.warmup-seconds           // 측정 전 워밍업 (결과에서 제외)
+ * loadtest.duration-seconds         // 측정 구간
+ * loadtest.max-in-flight            // 동시 요청 상한, 초과 시 dropped 로 집계
+ * loadtest.request-timeout-ms
+ * loadtest.users / accounts-per-user / transactions-per-account   // seed 규모
+ * loadtest.server-threads           // PLATFORM | VIRTUAL (spring.threads.virtual.enabled)
+ * loadtest.random-seed
+ * loadtest.report                   // JSON 리포트 경로
+ */
+record LoadTestConfig(
+        WorkloadProfile profile,
+        double ratePerSecond,
+        ArrivalProcess arrivals,
+        int warmupSeconds,
+        int durationSeconds,
+        int maxInFlight,
+        long requestTimeoutMs,
+        int users,
+        int accountsPerUser,
+        int transactionsPerAccount,
+        ServerThreads serverThreads,
+        long randomSeed,
+        Path reportPath
+) {
+
+    enum ArrivalProcess {
+        POISSON, CONSTANT
+    }
+
+    enum ServerThreads {
+        PLATFORM, VIRTUAL
+    }
+
+    static LoadTestConfig fromSystemProperties() {
+        return new LoadTestConfig(
+                WorkloadProfile.valueOf(upper(property("profile", "MIXED"))),
+                Double.parseDouble(property("rate", "200")),
+                ArrivalProcess.valueOf(upper(property("arrivals", "POISSON"))),
+                Integer.parseInt(property("warmup-seconds", "10")),
+                Integer.parseInt(property("duration-seconds", "30")),
+                Integer.parseInt(property("max-in-flight", "2000")),
+                Long.parseLong(property("request-timeout-ms", "10000")),
+                Integer.parseInt(property("users", "200")),
+                Integer.parseInt(property("accounts-per-user", "2")),
+                Integer.parseInt(property("transactions-per-account", "25")),
+                ServerThreads.valueOf(upper(property("server-threads", "PLATFORM"))),
+                Long.parseLong(property("random-seed", "42")),
+                Path.of(property("report", "build/reports/loadtest/report.json"))
+        );
+    }
+
+    Map<String, Object> toReportMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("profile", profile);
+        map.put("ratePerSecond", ratePerSecond);
+        map.put("arrivals", arrivals);
+        map.put("warmupSeconds", warmupSeconds);
+        map.put("durationSeconds", durationSeconds);
+        map.put("maxInFlight", maxInFlight);
+        map.put("requestTimeoutMs", requestTimeoutMs);
+        map.put("users", users);
+        map.put("accountsPerUser", accountsPerUser);
+        map.put("transactionsPerAccount", transactionsPerAccount);
+        map.put("serverThreads", serverThreads);
+        map.put("randomSeed", randomSeed);
+        return map;
+    }
+
+    private static String property(String name, String defaultValue) {
+        return System.getProperty("loadtest." + name, defaultValue);
+    }
+
+    private static String upper(String value) {
+        return value.trim().replace('-', '_').toUpperCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,222 @@
+package com.kcdevdes.synk.loadtest;
+
+import com.kcdevdes.synk.SynkApplication;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import tools.jackson.databind.SerializationFeature;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * End-to-end load test: boots the app on in-memory H2 (profile "loadtest", random port), seeds data,
+ * then fires requests at an open-model arrival rate and writes a JSON report.
+ *
+ * Open model: arrivals are scheduled independently of responses, so a slow server builds a backlog
+ * (and higher latency) instead of quietly lowering the offered load.
+ *
+ * Run with: gradle loadTest -Ploadtest.profile=MIXED -Ploadtest.rate=500 -Ploadtest.server-threads=VIRTUAL
+ */
+public final class LoadTestRunner {
+
+    private LoadTestRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+
+        SpringApplication application = new SpringApplication(SynkApplication.class);
+        application.setAdditionalProfiles("loadtest");
+
+        Map<String, Object> report;
+        try (ConfigurableApplicationContext context = application.run(
+                "--spring.threads.virtual.enabled=" + (config.serverThreads() == LoadTestConfig.ServerThreads.VIRTUAL)
+        )) {
+            URI baseUri = URI.create("http://localhost:" + context.getEnvironment().getProperty("local.server.port"));
+
+            long seedStart = System.nanoTime();
+            SeedData seed = new DataSeeder(context).seed(config);
+            long seedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - seedStart);
+            System.out.printf("seeded users=%d accounts=%d transactions=%d in %dms%n",
+                    seed.userIds().size(), seed.accounts().size(), seed.transactionIds().size(), seedMillis);
+
+            report = new LoadTestRunner.Run(config, seed, baseUri).execute();
+            report.put("seed", Map.of(
+                    "users", seed.userIds().size(),
+                    "accounts", seed.accounts().size(),
+                    "transactions", seed.transactionIds().size(),
+                    "seedMillis", seedMillis
+            ));
+        }
+
+        Files.createDirectories(config.reportPath().toAbsolutePath().getParent());
+        JsonMapper.builder()
+                .enable(SerializationFeature.INDENT_OUTPUT)
+                .build()
+                .writeValue(config.reportPath().toFile(), report);
+        System.out.println("report written to " + config.reportPath().toAbsolutePath());
+        System.exit(0);
+    }
+
+    private static final class Run {
+
+        private final LoadTestConfig config;
+        private final SeedData seed;
+        private final URI baseUri;
+        private final HttpClient client;
+        private final ExecutorService clientExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final SplittableRandom random;
+        private long sequence;
+
+        Run(LoadTestConfig config, SeedData seed, URI baseUri) {
+            this.config = config;
+            this.seed = seed;
+            this.baseUri = baseUri;
+            this.random = new SplittableRandom(config.randomSeed());
+            this.client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .executor(clientExecutor)
+                    .connectTimeout(Duration.ofMillis(config.requestTimeoutMs()))
+                    .build();
+        }
+
+        Map<String, Object> execute() {
+            if (config.warmupSeconds() > 0) {
+                System.out.printf("warmup %ds at %.0f req/s%n", config.warmupSeconds(), config.ratePerSecond());
+                drive(config.warmupSeconds(), newStats());
+                awaitInFlight();
+            }
+
+            System.out.printf("measuring %ds at %.0f req/s profile=%s serverThreads=%s%n",
+                    config.durationSeconds(), config.ratePerSecond(), config.profile(), config.serverThreads());
+            Map<Endpoint, EndpointStats> stats = newStats();
+            long arrivals = drive(config.durationSeconds(), stats);
+            awaitInFlight();
+
+            return buildReport(stats, arrivals);
+        }
+
+        private long drive(int seconds, Map<Endpoint, EndpointStats> stats) {
+            double meanIntervalNanos = TimeUnit.SECONDS.toNanos(1) / config.ratePerSecond();
+            long start = System.nanoTime();
+            long end = start + TimeUnit.SECONDS.toNanos(seconds);
+            double next = start;
+            long arrivals = 0;
+
+            while (next < end) {
+                long scheduledAt = (long) next;
+                long wait = scheduledAt - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+
+                Endpoint endpoint = config.profile().pick(random);
+                HttpRequest request = endpoint.request(baseUri, seed, random, ++sequence)
+                        .timeout(Duration.ofMillis(config.requestTimeoutMs()))
+                        .build();
+                submit(request, stats.get(endpoint), scheduledAt);
+                arrivals++;
+
+                next += config.arrivals() == LoadTestConfig.ArrivalProcess.POISSON
+                        ? -Math.log(1.0 - random.nextDouble()) * meanIntervalNanos
+                        : meanIntervalNanos;
+            }
+            return arrivals;
+        }
+
+        private void submit(HttpRequest request, EndpointStats stats, long scheduledAt) {
+            if (inFlight.incrementAndGet() > config.maxInFlight()) {
+                inFlight.decrementAndGet();
+                stats.recordDropped();
+                return;
+            }
+
+            client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        long latency = System.nanoTime() - scheduledAt;
+                        if (error != null) {
+                            stats.recordTransportError(latency);
+                        } else {
+                            stats.recordResponse(response.statusCode(), latency);
+                        }
+                        inFlight.decrementAndGet();
+                    });
+        }
+
+        private void awaitInFlight() {
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(config.requestTimeoutMs() + 1_000);
+            while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+            }
+        }
+
+        private static Map<Endpoint, EndpointStats> newStats() {
+            Map<Endpoint, EndpointStats> stats = new EnumMap<>(Endpoint.class);
+            for (Endpoint endpoint : Endpoint.values()) {
+                stats.put(endpoint, new EndpointStats(endpoint.label()));
+            }
+            return stats;
+        }
+
+        private Map<String, Object> buildReport(Map<Endpoint, EndpointStats> stats, long arrivals) {
+            double seconds = config.durationSeconds();
+            Histogram total = new Histogram(3);
+            List<Map<String, Object>> endpoints = new ArrayList<>();
+            long requests = 0;
+            long successes = 0;
+
+            System.out.printf("%-55s %8s %7s %9s %9s %9s %9s%n", "endpoint", "requests", "err%", "rps", "p50ms", "p99ms", "maxms");
+            for (EndpointStats endpointStats : stats.values()) {
+                if (endpointStats.requests() == 0) {
+                    continue;
+                }
+                Histogram histogram = endpointStats.takeHistogram();
+                total.add(histogram);
+                requests += endpointStats.requests();
+                successes += endpointStats.successes();
+
+                Map<String, Object> entry = endpointStats.toReportMap(histogram, seconds);
+                endpoints.add(entry);
+                @SuppressWarnings("unchecked")
+                Map<String, Object> latency = (Map<String, Object>) entry.get("latencyMs");
+                System.out.printf("%-55s %8d %6.2f%% %9.1f %9.2f %9.2f %9.2f%n",
+                        entry.get("endpoint"), endpointStats.requests(), (double) entry.get("errorRate") * 100,
+                        (double) entry.get("throughputPerSecond"), latency.get("p50"), latency.get("p99"), latency.get("max"));
+            }
+
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("requests", requests);
+            summary.put("errors", requests - successes);
+            summary.put("errorRate", requests == 0 ? 0.0 : (double) (requests - successes) / requests);
+            summary.put("offeredRatePerSecond", arrivals / seconds);
+            summary.put("throughputPerSecond", successes / seconds);
+            summary.put("latencyMs", EndpointStats.latency(total));
+
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("generatedAt", Instant.now().toString());
+            report.put("config", config.toReportMap());
+            report.put("summary", summary);
+            report.put("endpoints", endpoints);
+            return report;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.kcdevdes.synk.loadtest;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Ids created by {@link DataSeeder}; operations pick their targets from here.
+ */
+record SeedData(List<Long> userIds, List<SeededAccount> accounts, List<Long> transactionIds, List<String> merchants) {
+
+    record SeededAccount(long accountId, long userId) {
+    }
+
+    long randomUserId(SplittableRandom random) {
+        return userIds.get(random.nextInt(userIds.size()));
+    }
+
+    SeededAccount randomAccount(SplittableRandom random) {
+        return accounts.get(random.nextInt(accounts.size()));
+    }
+
+    long randomTransactionId(SplittableRandom random) {
+        return transactionIds.get(random.nextInt(transactionIds.size()));
+    }
+
+    String randomMerchant(SplittableRandom random) {
+        return merchants.get(random.nextInt(merchants.size()));
+    }
+}
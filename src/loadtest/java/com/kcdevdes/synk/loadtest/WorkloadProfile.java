@@ -0,0 +1,75 @@
+package com.kcdevdes.synk.loadtest;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Weighted endpoint mixes. Weights are relative; each arrival picks one endpoint.
+ */
+enum WorkloadProfile {
+
+    READ_HEAVY(Map.ofEntries(
+            Map.entry(Endpoint.GET_USER, 15),
+            Map.entry(Endpoint.GET_USER_ACCOUNTS, 15),
+            Map.entry(Endpoint.GET_ACCOUNT, 10),
+            Map.entry(Endpoint.GET_TOTAL_BALANCE, 10),
+            Map.entry(Endpoint.GET_USER_TRANSACTIONS, 20),
+            Map.entry(Endpoint.GET_TRANSACTION, 15),
+            Map.entry(Endpoint.GET_ACCOUNT_TRANSACTIONS, 10),
+            Map.entry(Endpoint.SEARCH_TRANSACTIONS, 5)
+    )),
+
+    MIXED(Map.ofEntries(
+            Map.entry(Endpoint.GET_USER, 10),
+            Map.entry(Endpoint.GET_USER_ACCOUNTS, 10),
+            Map.entry(Endpoint.GET_ACCOUNT, 5),
+            Map.entry(Endpoint.GET_TOTAL_BALANCE, 5),
+            Map.entry(Endpoint.GET_USER_TRANSACTIONS, 15),
+            Map.entry(Endpoint.GET_TRANSACTION, 15),
+            Map.entry(Endpoint.GET_ACCOUNT_TRANSACTIONS, 5),
+            Map.entry(Endpoint.SEARCH_TRANSACTIONS, 3),
+            Map.entry(Endpoint.CREATE_TRANSACTION, 15),
+            Map.entry(Endpoint.UPDATE_TRANSACTION, 5),
+            Map.entry(Endpoint.DEPOSIT, 5),
+            Map.entry(Endpoint.WITHDRAW, 3),
+            Map.entry(Endpoint.CREATE_USER, 2),
+            Map.entry(Endpoint.CREATE_ACCOUNT, 2)
+    )),
+
+    WRITE_HEAVY(Map.ofEntries(
+            Map.entry(Endpoint.GET_USER_TRANSACTIONS, 10),
+            Map.entry(Endpoint.GET_TRANSACTION, 10),
+            Map.entry(Endpoint.GET_USER_ACCOUNTS, 5),
+            Map.entry(Endpoint.CREATE_TRANSACTION, 40),
+            Map.entry(Endpoint.UPDATE_TRANSACTION, 15),
+            Map.entry(Endpoint.DEPOSIT, 10),
+            Map.entry(Endpoint.WITHDRAW, 5),
+            Map.entry(Endpoint.CREATE_USER, 3),
+            Map.entry(Endpoint.CREATE_ACCOUNT, 2)
+    ));
+
+    private final Endpoint[] endpoints;
+    private final int[] cumulativeWeights;
+
+    WorkloadProfile(Map<Endpoint, Integer> weights) {
+        Map<Endpoint, Integer> ordered = new EnumMap<>(weights);
+        this.endpoints = ordered.keySet().toArray(Endpoint[]::new);
+        this.cumulativeWeights = new int[endpoints.length];
+        int total = 0;
+        for (int i = 0; i < endpoints.length; i++) {
+            total += ordered.get(endpoints[i]);
+            cumulativeWeights[i] = total;
+        }
+    }
+
+    Endpoint pick(SplittableRandom random) {
+        int roll = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (roll < cumulativeWeights[i]) {
+                return endpoints[i];
+            }
+        }
+        return endpoints[endpoints.length - 1];
+    }
+}
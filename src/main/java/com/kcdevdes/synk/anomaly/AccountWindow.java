@@ -0,0 +1,139 @@
+package com.kcdevdes.synk.anomaly;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The last windowSize transactions of one account, in parallel primitive rings.
+ *
+ * amounts holds minor units of transactions in the account currency and -1 for others, with a running
+ * sum/count so the mean is O(1). Merchants seen are kept in a small Bloom-style sketch (two probes);
+ * once half of its bits are set it is rebuilt from the merchant hashes still in the ring, so it
+ * forgets merchants that left the window instead of saturating.
+ */
+final class AccountWindow {
+
+    static final long OTHER_CURRENCY = -1;
+
+    final ReentrantLock lock = new ReentrantLock();
+
+    private final long[] times;
+    private final long[] amounts;
+    private final long[] merchants;
+    private final long[] sketch;
+    private final int sketchMask;
+    private int sketchBitsSet;
+    private int count;
+    private int next;
+    private long amountSum;
+    private int amountCount;
+
+    AccountWindow(int windowSize, int sketchBits) {
+        this.times = new long[windowSize];
+        this.amounts = new long[windowSize];
+        this.merchants = new long[windowSize];
+        int bits = Integer.highestOneBit(Math.max(64, sketchBits));
+        this.sketch = new long[bits / 64];
+        this.sketchMask = bits - 1;
+    }
+
+    /**
+     * Rules that fire for this transaction against the window so far; call with lock held
+     */
+    Set<AnomalyRule> evaluate(long now, long amount, long merchantHash, Thresholds thresholds) {
+        Set<AnomalyRule> fired = EnumSet.noneOf(AnomalyRule.class);
+
+        int recent = 1; // this one
+        for (int i = 0; i < count; i++) {
+            if (now - times[i] < thresholds.velocityWindowMs()) {
+                recent++;
+            }
+        }
+        if (recent > thresholds.velocityMaxCount()) {
+            fired.add(AnomalyRule.VELOCITY);
+        }
+
+        if (amount != OTHER_CURRENCY && amountCount >= thresholds.minHistory()
+                && amount >= thresholds.amountSpikeMin()
+                && amount > (double) amountSum / amountCount * thresholds.amountSpikeMultiplier()) {
+            fired.add(AnomalyRule.AMOUNT_SPIKE);
+        }
+
+        if (count >= thresholds.minHistory() && !seen(merchantHash)) {
+            fired.add(AnomalyRule.NEW_MERCHANT);
+        }
+        return fired;
+    }
+
+    /**
+     * Appends, overwriting the oldest entry when full; call with lock held
+     */
+    void record(long time, long amount, long merchantHash) {
+        if (count == times.length && amounts[next] != OTHER_CURRENCY) {
+            amountSum -= amounts[next];
+            amountCount--;
+        }
+        times[next] = time;
+        amounts[next] = amount;
+        merchants[next] = merchantHash;
+        next = (next + 1) % times.length;
+        count = Math.min(count + 1, times.length);
+        if (amount != OTHER_CURRENCY) {
+            amountSum += amount;
+            amountCount++;
+        }
+
+        mark(merchantHash);
+        if (sketchBitsSet > (sketchMask + 1) / 2) {
+            rebuildSketch();
+        }
+    }
+
+    int size() {
+        return count;
+    }
+
+    private boolean seen(long merchantHash) {
+        return isSet((int) merchantHash & sketchMask) && isSet((int) (merchantHash >>> 32) & sketchMask);
+    }
+
+    private void mark(long merchantHash) {
+        set((int) merchantHash & sketchMask);
+        set((int) (merchantHash >>> 32) & sketchMask);
+    }
+
+    private boolean isSet(int bit) {
+        return (sketch[bit >>> 6] & (1L << bit)) != 0;
+    }
+
+    private void set(int bit) {
+        long word = sketch[bit >>> 6];
+        long updated = word | (1L << bit);
+        if (updated != word) {
+            sketch[bit >>> 6] = updated;
+            sketchBitsSet++;
+        }
+    }
+
+    private void rebuildSketch() {
+        Arrays.fill(sketch, 0);
+        sketchBitsSet = 0;
+        for (int i = 0; i < count; i++) {
+            mark(merchants[i]);
+        }
+    }
+
+    /**
+     * Rule parameters in the units the window stores (ms, minor units)
+     */
+    record Thresholds(
+            int minHistory,
+            long velocityWindowMs,
+            int velocityMaxCount,
+            double amountSpikeMultiplier,
+            long amountSpikeMin
+    ) {
+    }
+}
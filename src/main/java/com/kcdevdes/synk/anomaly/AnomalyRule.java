@@ -0,0 +1,10 @@
+package com.kcdevdes.synk.anomaly;
+
+/**
+ * Rules scored by TransactionAnomalyScorer; weights are app.anomaly.*-weight
+ */
+public enum AnomalyRule {
+    VELOCITY,       // 짧은 시간에 거래가 몰림
+    AMOUNT_SPIKE,   // 최근 평균보다 훨씬 큰 금액
+    NEW_MERCHANT    // 최근 거래에 없던 merchant
+}
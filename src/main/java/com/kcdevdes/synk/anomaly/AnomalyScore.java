@@ -0,0 +1,11 @@
+package com.kcdevdes.synk.anomaly;
+
+import java.util.Set;
+
+/**
+ * Score 0-100 (sum of the weights of the rules that fired, capped) and whether it needs review
+ */
+public record AnomalyScore(int score, Set<AnomalyRule> rules, boolean flagged) {
+
+    public static final AnomalyScore NONE = new AnomalyScore(0, Set.of(), false);
+}
@@ -0,0 +1,190 @@
+package com.kcdevdes.synk.anomaly;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.kcdevdes.synk.config.properties.AppAnomalyProperties;
+import com.kcdevdes.synk.entity.AccountEntity;
+import com.kcdevdes.synk.entity.TransactionEntity;
+import com.kcdevdes.synk.entity.type.TransactionType;
+import com.kcdevdes.synk.recurring.RecurringPaymentDetector;
+import com.kcdevdes.synk.repository.AccountActivity;
+import com.kcdevdes.synk.repository.TransactionRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Scores a new transaction against its account's recent activity, before it is saved.
+ *
+ * - Each account has an AccountWindow (last window-size transactions in primitive rings, running
+ *   amount sum, merchant sketch). Windows live in a Caffeine cache bounded by max-accounts and
+ *   dropped after idle-eviction-ms without transactions; a missing window is seeded from the
+ *   account's latest transactions with one query (index account_id, occurredAt).
+ * - Rules: VELOCITY (more than velocity-max-count in velocity-window-ms), AMOUNT_SPIKE (above
+ *   amount-spike-multiplier x the window's mean, account currency only), NEW_MERCHANT (not in the
+ *   sketch). Amount and merchant rules need min-history transactions. The score is the sum of the
+ *   fired rules' weights, capped at 100; review-score or more flags the transaction PENDING.
+ * - Scoring is a scan of one small ring under that account's lock: no I/O once the window exists.
+ *
+ * INCOME is not scored. The transaction is recorded in the window when scored, so one that is later
+ * rolled back still counts towards velocity. Windows are per node.
+ */
+@Component
+public class TransactionAnomalyScorer {
+
+    private final AppAnomalyProperties properties;
+    private final TransactionRepository transactionRepository;
+    private final LongSupplier clock;
+    private final AccountWindow.Thresholds thresholds;
+    private final Cache<Long, AccountWindow> windows;
+
+    private final Timer scoreTimer;
+    private final Counter flaggedCounter;
+
+    @Autowired
+    public TransactionAnomalyScorer(
+            AppAnomalyProperties properties,
+            TransactionRepository transactionRepository,
+            MeterRegistry meterRegistry
+    ) {
+        this(properties, transactionRepository, meterRegistry, System::currentTimeMillis);
+    }
+
+    TransactionAnomalyScorer(
+            AppAnomalyProperties properties,
+            TransactionRepository transactionRepository,
+            MeterRegistry meterRegistry,
+            LongSupplier clock
+    ) {
+        this.properties = properties;
+        this.transactionRepository = transactionRepository;
+        this.clock = clock;
+        this.thresholds = new AccountWindow.Thresholds(
+                properties.getMinHistory(),
+                properties.getVelocityWindowMs(),
+                properties.getVelocityMaxCount(),
+                properties.getAmountSpikeMultiplier(),
+                toMinor(properties.getAmountSpikeMinAmount())
+        );
+        this.windows = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxAccounts())
+                .expireAfterAccess(Duration.ofMillis(properties.getIdleEvictionMs()))
+                .recordStats()
+                .build();
+
+        this.scoreTimer = Timer.builder("synk.anomaly.score")
+                .description("Time to score a new transaction, including window seeding")
+                .register(meterRegistry);
+        this.flaggedCounter = Counter.builder("synk.anomaly.flagged")
+                .description("Transactions marked PENDING for review")
+                .register(meterRegistry);
+        CaffeineCacheMetrics.monitor(meterRegistry, windows, "anomaly.windows");
+    }
+
+    /**
+     * Scores transaction (not saved yet) and records it in the account's window
+     */
+    public AnomalyScore score(AccountEntity account, TransactionEntity transaction) {
+        if (!properties.isEnabled() || transaction.getType() == TransactionType.INCOME) {
+            return AnomalyScore.NONE;
+        }
+
+        long start = System.nanoTime();
+        long now = clock.getAsLong();
+        long amount = amountOf(account, transaction.getAmount(), transaction.getCurrency());
+        long merchant = merchantHash(transaction.getMerchant());
+
+        AccountWindow window = windows.get(account.getId(), accountId -> seed(account));
+        Set<AnomalyRule> fired;
+        window.lock.lock();
+        try {
+            fired = window.evaluate(now, amount, merchant, thresholds);
+            window.record(now, amount, merchant);
+        } finally {
+            window.lock.unlock();
+        }
+
+        int score = 0;
+        for (AnomalyRule rule : fired) {
+            score += weight(rule);
+        }
+        score = Math.min(100, score);
+        boolean flagged = !fired.isEmpty() && score >= properties.getReviewScore();
+        if (flagged) {
+            flaggedCounter.increment();
+        }
+        scoreTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return new AnomalyScore(score, fired.isEmpty() ? Set.of() : Set.copyOf(fired), flagged);
+    }
+
+    long trackedAccounts() {
+        windows.cleanUp();
+        return windows.estimatedSize();
+    }
+
+    private AccountWindow seed(AccountEntity account) {
+        AccountWindow window = new AccountWindow(properties.getWindowSize(), properties.getMerchantSketchBits());
+        List<AccountActivity> recent = transactionRepository.findRecentActivity(
+                account.getId(), PageRequest.of(0, properties.getWindowSize()));
+        // newest first: replay oldest first so the ring order matches time
+        for (int i = recent.size() - 1; i >= 0; i--) {
+            AccountActivity activity = recent.get(i);
+            window.record(
+                    activity.occurredAt().toEpochMilli(),
+                    amountOf(account, activity.amount(), activity.currency()),
+                    merchantHash(activity.merchant())
+            );
+        }
+        return window;
+    }
+
+    private int weight(AnomalyRule rule) {
+        return switch (rule) {
+            case VELOCITY -> properties.getVelocityWeight();
+            case AMOUNT_SPIKE -> properties.getAmountSpikeWeight();
+            case NEW_MERCHANT -> properties.getNewMerchantWeight();
+        };
+    }
+
+    private static long amountOf(AccountEntity account, BigDecimal amount, String currency) {
+        if (amount == null || currency == null || !currency.equals(account.getCurrency())) {
+            return AccountWindow.OTHER_CURRENCY;
+        }
+        return toMinor(amount.abs());
+    }
+
+    private static long toMinor(BigDecimal amount) {
+        return amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    /**
+     * 64-bit hash of the normalized merchant (FNV-1a, murmur3 finalizer); the sketch uses both halves
+     */
+    static long merchantHash(String merchant) {
+        String key = merchant == null ? "" : RecurringPaymentDetector.merchantKey(merchant);
+        long hash = 0xCBF29CE484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xFF;
+            hash *= 0x100000001B3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        hash *= 0xC4CEB9FE1A85EC53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,23 @@
+package com.kcdevdes.synk.audit;
+
+import java.time.Instant;
+
+/**
+ * type                  // AuditEventType
+ * occurredAt            // Instant (이벤트 발생 시각, 기록 시각 아님)
+ * requestId             // String (MDC 에서 복사)
+ * userId                // Long
+ * accountId             // Long
+ * resourceId            // Long (transactionId 등)
+ * detail                // String "type=EXPENSE" 같은 key=value 목록
+ */
+public record AuditEvent(
+        AuditEventType type,
+        Instant occurredAt,
+        String requestId,
+        Long userId,
+        Long accountId,
+        Long resourceId,
+        String detail
+) {
+}
@@ -0,0 +1,162 @@
+package com.kcdevdes.synk.audit;
+
+import com.kcdevdes.synk.config.properties.AppAuditProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Request threads enqueue onto a bounded {@link AuditRingBuffer}; a single drain thread
+ * hands batches to the configured {@link AuditSink}s. Nothing on the request path touches
+ * a file or the database.
+ *
+ * Overflow policy (app.audit.overflow-policy):
+ * - DROP: a full buffer drops the event immediately
+ * - BLOCK: the producer retries for up to block-timeout-ms, then drops
+ * Every drop is counted in synk.audit.events.dropped. synk.audit.events.written and
+ * synk.audit.sink.failures are tagged by sink; a batch a sink failed to write is not counted as written.
+ */
+@Slf4j
+@Component
+public class AuditEventPipeline implements SmartLifecycle {
+
+    private static final long BLOCK_RETRY_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    private final AuditRingBuffer<AuditEvent> buffer;
+    private final List<AuditSink> sinks;
+    private final AppAuditProperties.OverflowPolicy overflowPolicy;
+    private final long blockTimeoutNanos;
+    private final long drainIntervalNanos;
+    private final int batchSize;
+
+    private final Counter publishedCounter;
+    private final Counter droppedCounter;
+    // per sink, same order as sinks
+    private final Counter[] writtenCounters;
+    private final Counter[] sinkFailureCounters;
+
+    private volatile boolean running;
+    private Thread drainThread;
+
+    public AuditEventPipeline(AppAuditProperties properties, List<AuditSink> availableSinks, MeterRegistry meterRegistry) {
+        this.buffer = new AuditRingBuffer<>(properties.getCapacity());
+        this.sinks = availableSinks.stream()
+                .filter(sink -> properties.getSinks().contains(sink.name()))
+                .toList();
+        this.overflowPolicy = properties.getOverflowPolicy();
+        this.blockTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(properties.getBlockTimeoutMs());
+        this.drainIntervalNanos = TimeUnit.MILLISECONDS.toNanos(properties.getDrainIntervalMs());
+        this.batchSize = properties.getBatchSize();
+
+        Gauge.builder("synk.audit.queue.depth", buffer, AuditRingBuffer::size)
+                .description("Audit events waiting to be drained")
+                .register(meterRegistry);
+        Gauge.builder("synk.audit.queue.capacity", buffer, AuditRingBuffer::capacity)
+                .register(meterRegistry);
+        this.publishedCounter = Counter.builder("synk.audit.events.published").register(meterRegistry);
+        this.droppedCounter = Counter.builder("synk.audit.events.dropped").register(meterRegistry);
+        this.writtenCounters = new Counter[sinks.size()];
+        this.sinkFailureCounters = new Counter[sinks.size()];
+        for (int i = 0; i < sinks.size(); i++) {
+            String sink = sinks.get(i).name();
+            writtenCounters[i] = Counter.builder("synk.audit.events.written").tag("sink", sink).register(meterRegistry);
+            sinkFailureCounters[i] = Counter.builder("synk.audit.sink.failures").tag("sink", sink).register(meterRegistry);
+        }
+    }
+
+    // AuditLogger's change events: only once the change is committed
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onAuditEvent(AuditEvent event) {
+        publish(event);
+    }
+
+    public void publish(AuditEvent event) {
+        if (buffer.offer(event)) {
+            publishedCounter.increment();
+            return;
+        }
+
+        if (overflowPolicy == AppAuditProperties.OverflowPolicy.BLOCK) {
+            long deadline = System.nanoTime() + blockTimeoutNanos;
+            while (System.nanoTime() < deadline) {
+                LockSupport.parkNanos(BLOCK_RETRY_NANOS);
+                if (buffer.offer(event)) {
+                    publishedCounter.increment();
+                    return;
+                }
+            }
+        }
+
+        droppedCounter.increment();
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        drainThread = new Thread(this::drainLoop, "audit-drain");
+        drainThread.setDaemon(true);
+        drainThread.start();
+        log.info("event=audit_pipeline_started capacity={} batchSize={} policy={} sinks={}",
+                buffer.capacity(), batchSize, overflowPolicy, sinks.stream().map(AuditSink::name).toList());
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (drainThread == null) {
+            return;
+        }
+        LockSupport.unpark(drainThread);
+        try {
+            drainThread.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void drainLoop() {
+        List<AuditEvent> batch = new ArrayList<>(batchSize);
+        while (running) {
+            if (buffer.drainTo(batch, batchSize) == 0) {
+                LockSupport.parkNanos(drainIntervalNanos);
+                continue;
+            }
+            flush(batch);
+        }
+
+        // Final flush on shutdown
+        while (buffer.drainTo(batch, batchSize) > 0) {
+            flush(batch);
+        }
+    }
+
+    private void flush(List<AuditEvent> batch) {
+        for (int i = 0; i < sinks.size(); i++) {
+            AuditSink sink = sinks.get(i);
+            try {
+                sink.write(batch);
+                writtenCounters[i].increment(batch.size());
+            } catch (Exception e) {
+                // the batch is lost for this sink: counted as a failure, not as written
+                sinkFailureCounters[i].increment();
+                log.error("event=audit_sink_failure sink={} batchSize={}", sink.name(), batch.size(), e);
+            }
+        }
+        batch.clear();
+    }
+}
@@ -0,0 +1,29 @@
+package com.kcdevdes.synk.audit;
+
+public enum AuditEventType {
+    // Transaction
+    TRANSACTION_CREATED,
+    TRANSACTION_UPDATED,
+    TRANSACTION_DELETED,
+    TRANSACTION_FLAGGED,
+    TRANSACTION_REVIEWED,
+    TRANSACTIONS_IMPORTED,
+    TRANSACTION_SEARCH_BY_MERCHANT,
+    TRANSACTION_FILTER_BY_TYPE,
+
+    // Account
+    ACCOUNT_CREATED,
+    ACCOUNT_UPDATED,
+    ACCOUNT_DELETED,
+    ACCOUNT_DEPOSIT,
+    ACCOUNT_WITHDRAW,
+
+    // User
+    USER_CREATED,
+    USER_UPDATED,
+    USER_DELETED,
+    LOGIN_ATTEMPT,
+    ACCOUNT_LOCKED,
+    PASSWORD_RESET,
+    EMAIL_VERIFIED
+}
@@ -0,0 +1,142 @@
+package com.kcdevdes.synk.audit;
+
+import com.kcdevdes.synk.filter.RequestLoggingFilter;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.MDC;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+
+/**
+ * 감사(Audit) 이벤트 API
+ *
+ * 일반 로그(log)와의 차이:
+ * - log: 애플리케이션 동작 추적 (DEBUG, INFO, WARN, ERROR)
+ * - AuditLogger: 감사 기록 (보안, 컴플라이언스) - 별도 sink 에 장기 보관
+ *
+ * 호출 스레드에서는 이벤트를 ring buffer 에 넣기만 하고,
+ * 실제 기록은 AuditEventPipeline 의 drain 스레드가 batch 로 처리한다.
+ *
+ * 변경 이벤트는 트랜잭션 commit 후에 pipeline 에 들어간다 (AuditEventPipeline.onAuditEvent,
+ * AFTER_COMMIT) - rollback 된 변경은 기록되지 않는다. 트랜잭션 밖에서는 바로 들어간다.
+ * 로그인 시도/잠금은 시도 자체가 기록 대상이므로 rollback 과 관계없이 바로 넣는다.
+ */
+@Component
+@RequiredArgsConstructor
+public class AuditLogger {
+
+    private final AuditEventPipeline pipeline;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // ============ Transaction Audit Events ============
+
+    public void transactionCreated(Long transactionId, Long accountId, Long userId, String type) {
+        publish(AuditEventType.TRANSACTION_CREATED, userId, accountId, transactionId, "type=" + type);
+    }
+
+    public void transactionUpdated(Long transactionId, Long accountId, Long userId, String type) {
+        publish(AuditEventType.TRANSACTION_UPDATED, userId, accountId, transactionId, "type=" + type);
+    }
+
+    public void transactionDeleted(Long transactionId, Long accountId, Long userId) {
+        publish(AuditEventType.TRANSACTION_DELETED, userId, accountId, transactionId, null);
+    }
+
+    public void transactionFlagged(Long transactionId, Long accountId, Long userId, int score) {
+        publish(AuditEventType.TRANSACTION_FLAGGED, userId, accountId, transactionId, "score=" + score);
+    }
+
+    public void transactionReviewed(Long transactionId, Long accountId, Long userId, String status) {
+        publish(AuditEventType.TRANSACTION_REVIEWED, userId, accountId, transactionId, "status=" + status);
+    }
+
+    public void transactionsImported(Long accountId, Long userId, long imported, long duplicates, long rejected) {
+        publish(AuditEventType.TRANSACTIONS_IMPORTED, userId, accountId, null,
+                "imported=" + imported + " duplicates=" + duplicates + " rejected=" + rejected);
+    }
+
+    public void transactionSearchByMerchant(int queryLength, int resultCount) {
+        publish(AuditEventType.TRANSACTION_SEARCH_BY_MERCHANT, null, null, null,
+                "queryLength=" + queryLength + " resultCount=" + resultCount);
+    }
+
+    public void transactionFilterByType(String type, int resultCount) {
+        publish(AuditEventType.TRANSACTION_FILTER_BY_TYPE, null, null, null,
+                "type=" + type + " resultCount=" + resultCount);
+    }
+
+    // ============ Account Audit Events ============
+
+    public void accountCreated(Long accountId, Long userId) {
+        publish(AuditEventType.ACCOUNT_CREATED, userId, accountId, null, null);
+    }
+
+    public void accountUpdated(Long accountId, Long userId) {
+        publish(AuditEventType.ACCOUNT_UPDATED, userId, accountId, null, null);
+    }
+
+    public void accountDeleted(Long accountId, Long userId) {
+        publish(AuditEventType.ACCOUNT_DELETED, userId, accountId, null, null);
+    }
+
+    public void accountDeposit(Long accountId, Long userId) {
+        publish(AuditEventType.ACCOUNT_DEPOSIT, userId, accountId, null, null);
+    }
+
+    public void accountWithdraw(Long accountId, Long userId) {
+        publish(AuditEventType.ACCOUNT_WITHDRAW, userId, accountId, null, null);
+    }
+
+    // ============ User Audit Events ============
+
+    public void userCreated(Long userId, String username) {
+        publish(AuditEventType.USER_CREATED, userId, null, null, "username=" + username);
+    }
+
+    public void userUpdated(Long userId, String username) {
+        publish(AuditEventType.USER_UPDATED, userId, null, null, "username=" + username);
+    }
+
+    public void userDeleted(Long userId, String username) {
+        publish(AuditEventType.USER_DELETED, userId, null, null, "username=" + username);
+    }
+
+    public void loginAttempt(Long userId, boolean success) {
+        record(AuditEventType.LOGIN_ATTEMPT, userId, null, null, "status=" + (success ? "SUCCESS" : "FAILED"));
+    }
+
+    public void accountLocked(Long userId, int failedAttempts) {
+        record(AuditEventType.ACCOUNT_LOCKED, userId, null, null, "failedAttempts=" + failedAttempts);
+    }
+
+    public void passwordReset(Long userId) {
+        publish(AuditEventType.PASSWORD_RESET, userId, null, null, null);
+    }
+
+    public void emailVerified(Long userId) {
+        publish(AuditEventType.EMAIL_VERIFIED, userId, null, null, null);
+    }
+
+    // after commit (or now, outside a transaction)
+    private void publish(AuditEventType type, Long userId, Long accountId, Long resourceId, String detail) {
+        eventPublisher.publishEvent(event(type, userId, accountId, resourceId, detail));
+    }
+
+    // now, even if the surrounding transaction rolls back
+    private void record(AuditEventType type, Long userId, Long accountId, Long resourceId, String detail) {
+        pipeline.publish(event(type, userId, accountId, resourceId, detail));
+    }
+
+    private static AuditEvent event(AuditEventType type, Long userId, Long accountId, Long resourceId, String detail) {
+        return new AuditEvent(
+                type,
+                Instant.now(),
+                MDC.get(RequestLoggingFilter.REQUEST_ID_MDC_KEY),
+                userId,
+                accountId,
+                resourceId,
+                detail
+        );
+    }
+}
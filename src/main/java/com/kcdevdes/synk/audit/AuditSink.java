@@ -0,0 +1,13 @@
+package com.kcdevdes.synk.audit;
+
+import java.util.List;
+
+/**
+ * Durable destination for drained audit batches. Called only from the audit drain thread.
+ */
+public interface AuditSink {
+
+    String name();
+
+    void write(List<AuditEvent> batch) throws Exception;
+}
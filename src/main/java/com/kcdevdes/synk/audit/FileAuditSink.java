@@ -0,0 +1,38 @@
+package com.kcdevdes.synk.audit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Writes audit events to the AUDIT logger (logs/synk-api-audit.log, rolling).
+ */
+@Component
+public class FileAuditSink implements AuditSink {
+
+    private static final Logger AUDIT_LOGGER = LoggerFactory.getLogger("AUDIT");
+
+    @Override
+    public String name() {
+        return "file";
+    }
+
+    @Override
+    public void write(List<AuditEvent> batch) {
+        for (AuditEvent event : batch) {
+            AUDIT_LOGGER.info(
+                    "event={} occurredAt={} requestId={} userId={} accountId={} resourceId={} {}",
+                    event.type().name().toLowerCase(Locale.ROOT),
+                    event.occurredAt(),
+                    event.requestId(),
+                    event.userId(),
+                    event.accountId(),
+                    event.resourceId(),
+                    event.detail() == null ? "" : event.detail()
+            );
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.kcdevdes.synk.audit;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.List;
+
+/**
+ * Batched inserts into audit_events (schema from AuditEventEntity).
+ */
+@Component
+@RequiredArgsConstructor
+public class JdbcAuditSink implements AuditSink {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO audit_events (event_type, occurred_at, request_id, user_id, account_id, resource_id, detail) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public String name() {
+        return "jdbc";
+    }
+
+    @Override
+    public void write(List<AuditEvent> batch) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (ps, event) -> {
+            ps.setString(1, event.type().name());
+            ps.setTimestamp(2, Timestamp.from(event.occurredAt()));
+            ps.setString(3, event.requestId());
+            ps.setObject(4, event.userId(), Types.BIGINT);
+            ps.setObject(5, event.accountId(), Types.BIGINT);
+            ps.setObject(6, event.resourceId(), Types.BIGINT);
+            ps.setString(7, event.detail());
+        });
+    }
+}
@@ -0,0 +1,181 @@
+package com.kcdevdes.synk.availability;
+
+import com.kcdevdes.synk.config.properties.AppAvailabilityProperties;
+import com.kcdevdes.synk.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory Bloom filter of every email and username in the users table.
+ *
+ * A miss means "definitely not taken" and is answered without the DB; a hit only means "maybe",
+ * and UserService confirms it with one query. Soft-deleted users keep their email/username (the
+ * unique constraints still cover them), so entries are never removed.
+ *
+ * - Built on ApplicationReadyEvent from a streamed scan of (email, username). Until the first build
+ *   finishes, and when app.availability.enabled=false, every lookup is a "maybe".
+ * - UserService.createUser adds the new user. Adds during a rebuild go to both filters.
+ * - Sized to max(expected-users, 2 x users at build time) users, i.e. twice that many keys (one
+ *   email and one username each). Once more users than that were added, the false-positive rate
+ *   climbs, so a scheduled check rebuilds it at twice the size.
+ *
+ * The filter is only a hint: createUser relies on the unique constraints, so a user missed by a
+ * rebuild that raced its insert just costs a 409 on create instead of an early "taken".
+ */
+@Slf4j
+@Component
+public class UserAvailabilityIndex {
+
+    private static final int KEYS_PER_USER = 2; // e:email, u:username
+
+    private final AppAvailabilityProperties properties;
+    private final UserRepository userRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+
+    private volatile Generation current;
+    private volatile Generation building;
+
+    private final Counter absentCounter;
+    private final Counter possibleCounter;
+
+    public UserAvailabilityIndex(
+            AppAvailabilityProperties properties,
+            UserRepository userRepository,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry
+    ) {
+        this.properties = properties;
+        this.userRepository = userRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+
+        this.absentCounter = Counter.builder("synk.user.availability.filter")
+                .description("Availability lookups by Bloom filter answer")
+                .tag("result", "absent")
+                .register(meterRegistry);
+        this.possibleCounter = Counter.builder("synk.user.availability.filter")
+                .description("Availability lookups by Bloom filter answer")
+                .tag("result", "possible")
+                .register(meterRegistry);
+        Gauge.builder("synk.user.availability.entries", this, index -> {
+                    Generation generation = index.current;
+                    return generation == null ? 0 : generation.added.get();
+                })
+                .description("Users in the availability Bloom filter")
+                .register(meterRegistry);
+    }
+
+    public boolean mightContainEmail(String email) {
+        return mightContain(emailKey(email));
+    }
+
+    public boolean mightContainUsername(String username) {
+        return mightContain(usernameKey(username));
+    }
+
+    public void add(String email, String username) {
+        Generation next = building;
+        if (next != null) {
+            next.add(email, username);
+        }
+        Generation generation = current;
+        if (generation != null) {
+            generation.add(email, username);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        if (properties.isEnabled()) {
+            rebuild();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.availability.rebuild-check-interval-ms:300000}")
+    public void rebuildIfFull() {
+        Generation generation = current;
+        if (generation != null && generation.added.get() > generation.capacity) {
+            log.info("event=user_availability_index_full added={} capacity={}",
+                    generation.added.get(), generation.capacity);
+            rebuild();
+        }
+    }
+
+    void rebuild() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            long start = System.nanoTime();
+            long users = userRepository.count();
+            long capacity = Math.max(properties.getExpectedUsers(), users * 2);
+            Generation next = new Generation(new BloomFilter(capacity * KEYS_PER_USER, properties.getFalsePositiveRate()), capacity);
+            building = next;
+
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (var identities = userRepository.streamIdentities()) {
+                    identities.forEach(identity -> next.add(identity.email(), identity.username()));
+                }
+            });
+
+            current = next;
+            log.info("event=user_availability_index_built users={} capacity={} bits={} hashes={} durationMs={}",
+                    next.added.get(), capacity, next.filter.bitCount(), next.filter.hashCount(),
+                    (System.nanoTime() - start) / 1_000_000);
+        } catch (RuntimeException e) {
+            // keep answering from the previous filter (or the DB)
+            log.warn("event=user_availability_index_build_failed", e);
+        } finally {
+            building = null;
+            rebuilding.set(false);
+        }
+    }
+
+    private boolean mightContain(String key) {
+        Generation generation = current;
+        if (!properties.isEnabled() || generation == null) {
+            possibleCounter.increment();
+            return true;
+        }
+        boolean possible = generation.filter.mightContain(key);
+        (possible ? possibleCounter : absentCounter).increment();
+        return possible;
+    }
+
+    private static String emailKey(String email) {
+        return "e:" + email;
+    }
+
+    private static String usernameKey(String username) {
+        return "u:" + username;
+    }
+
+    private static final class Generation {
+        private final BloomFilter filter;
+        private final long capacity; // users
+        private final AtomicLong added = new AtomicLong();
+
+        Generation(BloomFilter filter, long capacity) {
+            this.filter = filter;
+            this.capacity = capacity;
+        }
+
+        void add(String email, String username) {
+            filter.add(emailKey(email));
+            filter.add(usernameKey(username));
+            added.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.kcdevdes.synk.budget;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+
+/**
+ * Published by BudgetTracker, after the transaction commit, when an expense takes a budget's
+ * month-to-date spend to or past thresholdPercent of its limit. Once per threshold, month and node.
+ */
+public record BudgetThresholdCrossedEvent(
+        Long userId,
+        Long budgetId,
+        String category,
+        String currency,
+        YearMonth month,
+        int thresholdPercent,
+        BigDecimal monthlyLimit,
+        BigDecimal spent,
+        Long transactionId
+) {
+}
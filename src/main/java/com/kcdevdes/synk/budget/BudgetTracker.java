@@ -0,0 +1,562 @@
+package com.kcdevdes.synk.budget;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.kcdevdes.synk.config.properties.AppBudgetProperties;
+import com.kcdevdes.synk.dto.response.TransactionDTO;
+import com.kcdevdes.synk.entity.BudgetEntity;
+import com.kcdevdes.synk.entity.type.TransactionStatus;
+import com.kcdevdes.synk.entity.type.TransactionType;
+import com.kcdevdes.synk.repository.BudgetRepository;
+import com.kcdevdes.synk.repository.CategorySpend;
+import com.kcdevdes.synk.repository.TransactionRepository;
+import com.kcdevdes.synk.stream.TransactionChangeEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Month-to-date budget spend, in memory, evaluated when an expense is created.
+ *
+ * - Budget limits per user are cached (one query on a user's first expense, invalidated by
+ *   BudgetService, limits-cache-ttl-ms for changes made on other nodes). Users without budgets
+ *   cost nothing after that.
+ * - Spend per (user, category, currency, UTC month) is a running total in minor units. An expense
+ *   adds to it under that entry's own lock (total and unflushed move together); the first one for
+ *   a key after startup/eviction reads the stored total from budget_spend. Threshold crossings (app.budget.thresholds % of the limit) are decided
+ *   from the value before and after that add, so each crossing is published once, without a query.
+ * - Increments are flushed every flush-interval-ms as JDBC batch updates (spent_minor + delta) of
+ *   the changed keys only; a key with no row yet is inserted. A failed flush re-queues the deltas;
+ *   @PreDestroy flushes what is left.
+ * - Updated/deleted expenses re-total that user's month from transactions (an update also re-totals
+ *   the month it moved out of, and counts when it turns an expense into income), and so does a budget
+ *   change (seeds a new budget with what was already spent this month). The re-totalled value
+ *   overwrites the stored one on the next flush.
+ *
+ * Runs after the transaction commits, on the request thread, and never fails the request. Only
+ * COMPLETED expenses in the budget's currency count: a PENDING one held for review counts once it
+ * is approved (the UPDATED re-total), a rejected (CANCELLED) one never does. Totals are per node: with several nodes each adds its
+ * own increments to budget_spend, and a node's view of spend by the others is as of its first read
+ * of the key. A crash loses at most flush-interval-ms of increments until the next re-total.
+ */
+@Slf4j
+@Component
+public class BudgetTracker {
+
+    private static final long CLOSED = Long.MIN_VALUE;
+
+    private static final String SELECT_SQL =
+            "SELECT spent_minor FROM budget_spend WHERE user_id = ? AND category_key = ? AND currency = ? AND spend_month = ?";
+    private static final String INSERT_SQL =
+            "INSERT INTO budget_spend (user_id, category_key, currency, spend_month, spent_minor, updated_at) "
+                    + "VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String ADD_SQL =
+            "UPDATE budget_spend SET spent_minor = spent_minor + ?, updated_at = ? "
+                    + "WHERE user_id = ? AND category_key = ? AND currency = ? AND spend_month = ?";
+    private static final String SET_SQL =
+            "UPDATE budget_spend SET spent_minor = ?, updated_at = ? "
+                    + "WHERE user_id = ? AND category_key = ? AND currency = ? AND spend_month = ?";
+
+    private final AppBudgetProperties properties;
+    private final BudgetRepository budgetRepository;
+    private final TransactionRepository transactionRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final LongSupplier clock;
+    private final int[] thresholds;
+
+    private final LoadingCache<Long, Map<BudgetKey, Limit>> limits;
+    private final Map<SpendKey, Spend> spends = new ConcurrentHashMap<>();
+    // flush and re-total both write spent_minor; only one of them at a time
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    private final Counter crossedCounter;
+
+    @Autowired
+    public BudgetTracker(
+            AppBudgetProperties properties,
+            BudgetRepository budgetRepository,
+            TransactionRepository transactionRepository,
+            JdbcTemplate jdbcTemplate,
+            ApplicationEventPublisher eventPublisher,
+            MeterRegistry meterRegistry
+    ) {
+        this(properties, budgetRepository, transactionRepository, jdbcTemplate, eventPublisher, meterRegistry,
+                System::currentTimeMillis);
+    }
+
+    BudgetTracker(
+            AppBudgetProperties properties,
+            BudgetRepository budgetRepository,
+            TransactionRepository transactionRepository,
+            JdbcTemplate jdbcTemplate,
+            ApplicationEventPublisher eventPublisher,
+            MeterRegistry meterRegistry,
+            LongSupplier clock
+    ) {
+        this.properties = properties;
+        this.budgetRepository = budgetRepository;
+        this.transactionRepository = transactionRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventPublisher = eventPublisher;
+        this.clock = clock;
+        this.thresholds = properties.getThresholds().stream()
+                .filter(t -> t != null && t > 0)
+                .mapToInt(Integer::intValue)
+                .sorted()
+                .distinct()
+                .toArray();
+        this.limits = Caffeine.newBuilder()
+                .maximumSize(properties.getLimitsCacheSize())
+                .expireAfterWrite(Duration.ofMillis(properties.getLimitsCacheTtlMs()))
+                .recordStats()
+                .build(this::loadLimits);
+
+        this.crossedCounter = Counter.builder("synk.budget.threshold.crossed")
+                .description("Budget thresholds crossed by a new expense")
+                .register(meterRegistry);
+        Gauge.builder("synk.budget.tracked", spends, Map::size)
+                .description("Budget spend totals held in memory")
+                .register(meterRegistry);
+        CaffeineCacheMetrics.monitor(meterRegistry, limits, "budget.limits");
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTransactionChange(TransactionChangeEvent event) {
+        TransactionDTO transaction = event.transaction();
+        if (!properties.isEnabled() || event.userId() == null || transaction == null) {
+            return;
+        }
+
+        try {
+            switch (event.changeType()) {
+                case CREATED -> {
+                    if (isExpense(transaction.getType())
+                            && TransactionStatus.COMPLETED.name().equals(transaction.getStatus())) {
+                        recordExpense(event.userId(), transaction);
+                    }
+                }
+                case UPDATED, DELETED -> retotalChanged(event);
+            }
+        } catch (RuntimeException e) {
+            // already committed: a budget failure must not turn the write into an error
+            log.warn("event=budget_evaluation_failed userId={} transactionId={}",
+                    event.userId(), transaction.getId(), e);
+        }
+    }
+
+    /**
+     * Limits or budgets changed for the user: drop the cached limits and re-total this month
+     */
+    public void budgetsChanged(Long userId) {
+        limits.invalidate(userId);
+        if (properties.isEnabled()) {
+            retotal(userId, monthOf(null));
+        }
+    }
+
+    /**
+     * This month's spend for a budget (this node's view)
+     */
+    public BigDecimal spent(BudgetEntity budget) {
+        SpendKey key = new SpendKey(budget.getUserId(), budget.getCategoryKey(), budget.getCurrency(), monthOf(null));
+        Spend spend = spends.get(key);
+        long total = spend != null ? spend.total() : CLOSED;
+        if (total != CLOSED) {
+            return fromMinor(total);
+        }
+        return fromMinor(storedTotal(key));
+    }
+
+    @Scheduled(fixedDelayString = "${app.budget.flush-interval-ms:1000}")
+    public void flush() {
+        if (spends.isEmpty()) {
+            return;
+        }
+
+        flushLock.lock();
+        try {
+            long now = clock.getAsLong();
+            YearMonth currentMonth = monthOf(null);
+            long idleBefore = now - properties.getIdleEvictionMs();
+            List<Row> batch = new ArrayList<>(properties.getFlushBatchSize());
+            for (Map.Entry<SpendKey, Spend> entry : spends.entrySet()) {
+                SpendKey key = entry.getKey();
+                Spend spend = entry.getValue();
+                long snapshot = spend.snapshot();
+                if (snapshot != CLOSED) {
+                    batch.add(new Row(key, spend, true, snapshot));
+                } else {
+                    long delta = spend.drain();
+                    if (delta != 0) {
+                        batch.add(new Row(key, spend, false, delta));
+                    } else if ((spend.lastActivity < idleBefore || key.month().isBefore(currentMonth)) && spend.close()) {
+                        // flushed and idle (or a past month): the next expense reads the stored total
+                        spends.remove(key, spend);
+                        continue;
+                    }
+                }
+                if (batch.size() == properties.getFlushBatchSize()) {
+                    write(batch, now);
+                    batch = new ArrayList<>(properties.getFlushBatchSize());
+                }
+            }
+            if (!batch.isEmpty()) {
+                write(batch, now);
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        flush();
+    }
+
+    int trackedSpends() {
+        return spends.size();
+    }
+
+    /**
+     * Trimmed and lower-cased, so "Food" and "food " share a budget
+     */
+    public static String categoryKey(String category) {
+        return category == null ? null : category.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private void recordExpense(Long userId, TransactionDTO transaction) {
+        if (transaction.getCategory() == null || transaction.getAmount() == null) {
+            return;
+        }
+        Map<BudgetKey, Limit> userLimits = limits.get(userId);
+        if (userLimits.isEmpty()) {
+            return;
+        }
+        Limit limit = userLimits.get(new BudgetKey(categoryKey(transaction.getCategory()), transaction.getCurrency()));
+        if (limit == null) {
+            return;
+        }
+
+        long amount = toMinor(transaction.getAmount());
+        SpendKey key = new SpendKey(userId, limit.key().categoryKey(), limit.key().currency(),
+                monthOf(transaction.getOccurredAt()));
+        while (true) {
+            Spend spend = spend(key);
+            long after = spend.add(amount);
+            if (after == CLOSED) {
+                // evicted between lookup and add
+                spends.remove(key, spend);
+                continue;
+            }
+            spend.lastActivity = clock.getAsLong();
+            evaluate(limit, key.month(), after - amount, after, transaction.getId());
+            return;
+        }
+    }
+
+    private void evaluate(Limit limit, YearMonth month, long before, long after, Long transactionId) {
+        for (int threshold : thresholds) {
+            long mark = Math.ceilDiv(limit.limitMinor() * threshold, 100);
+            if (before < mark && mark <= after) {
+                log.info("event=budget_threshold_crossed userId={} budgetId={} month={} threshold={} limit={} spent={}",
+                        limit.userId(), limit.budgetId(), month, threshold, fromMinor(limit.limitMinor()), fromMinor(after));
+                crossedCounter.increment();
+                eventPublisher.publishEvent(new BudgetThresholdCrossedEvent(
+                        limit.userId(), limit.budgetId(), limit.category(), limit.key().currency(), month,
+                        threshold, fromMinor(limit.limitMinor()), fromMinor(after), transactionId));
+            }
+        }
+    }
+
+    /**
+     * In-memory total, read from budget_spend on first use
+     */
+    private Spend spend(SpendKey key) {
+        Spend spend = spends.get(key);
+        if (spend != null) {
+            return spend;
+        }
+        // DB read outside computeIfAbsent so the map bin is not held during I/O
+        Spend loaded = new Spend(storedTotal(key), false, clock.getAsLong());
+        Spend existing = spends.putIfAbsent(key, loaded);
+        return existing != null ? existing : loaded;
+    }
+
+    /**
+     * An expense changed, or a change made it (or stopped it being) one: re-totals its month, and the
+     * month it was in before if it moved
+     */
+    private void retotalChanged(TransactionChangeEvent event) {
+        TransactionDTO transaction = event.transaction();
+        boolean expense = isExpense(transaction.getType());
+        boolean wasExpense = isExpense(event.previousType() != null ? event.previousType() : transaction.getType());
+        if (!expense && !wasExpense) {
+            return;
+        }
+        YearMonth month = monthOf(transaction.getOccurredAt());
+        retotal(event.userId(), month);
+        if (wasExpense && event.previousOccurredAt() != null) {
+            YearMonth previousMonth = monthOf(event.previousOccurredAt());
+            if (!previousMonth.equals(month)) {
+                retotal(event.userId(), previousMonth);
+            }
+        }
+    }
+
+    /**
+     * Recomputes the user's budgeted spend for a month from transactions
+     */
+    private void retotal(Long userId, YearMonth month) {
+        Map<BudgetKey, Limit> userLimits = limits.get(userId);
+        if (userLimits.isEmpty()) {
+            return;
+        }
+
+        Instant from = month.atDay(1).atStartOfDay(ZoneOffset.UTC).toInstant();
+        Instant to = month.plusMonths(1).atDay(1).atStartOfDay(ZoneOffset.UTC).toInstant();
+        Map<BudgetKey, Long> totals = new HashMap<>();
+        for (CategorySpend spent : transactionRepository.sumExpensesByCategory(userId, from, to)) {
+            totals.merge(new BudgetKey(spent.categoryKey(), spent.currency()), toMinor(spent.total()), Long::sum);
+        }
+
+        long now = clock.getAsLong();
+        flushLock.lock();
+        try {
+            for (BudgetKey budgetKey : userLimits.keySet()) {
+                long total = totals.getOrDefault(budgetKey, 0L);
+                SpendKey key = new SpendKey(userId, budgetKey.categoryKey(), budgetKey.currency(), month);
+                Spend retotalled = new Spend(total, true, now);
+                Spend existing = spends.putIfAbsent(key, retotalled);
+                if (existing != null && !existing.reset(total)) {
+                    spends.replace(key, existing, retotalled);
+                }
+            }
+        } finally {
+            flushLock.unlock();
+        }
+        log.debug("event=budget_retotalled userId={} month={} budgets={}", userId, month, userLimits.size());
+    }
+
+    private Map<BudgetKey, Limit> loadLimits(Long userId) {
+        Map<BudgetKey, Limit> userLimits = new HashMap<>();
+        for (BudgetEntity budget : budgetRepository.findByUserIdOrderByCategoryKeyAscCurrencyAsc(userId)) {
+            BudgetKey key = new BudgetKey(budget.getCategoryKey(), budget.getCurrency());
+            userLimits.put(key, new Limit(budget.getId(), userId, budget.getCategory(), key,
+                    toMinor(budget.getMonthlyLimit())));
+        }
+        return userLimits.isEmpty() ? Map.of() : Map.copyOf(userLimits);
+    }
+
+    private long storedTotal(SpendKey key) {
+        List<Long> stored = jdbcTemplate.queryForList(SELECT_SQL, Long.class,
+                key.userId(), key.categoryKey(), key.currency(), key.month().toString());
+        return stored.isEmpty() ? 0 : stored.get(0);
+    }
+
+    private void write(List<Row> batch, long now) {
+        Timestamp updatedAt = Timestamp.from(Instant.ofEpochMilli(now));
+        write(ADD_SQL, batch.stream().filter(row -> !row.absolute()).toList(), updatedAt);
+        write(SET_SQL, batch.stream().filter(Row::absolute).toList(), updatedAt);
+    }
+
+    private void write(String sql, List<Row> rows, Timestamp updatedAt) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        try {
+            insertMissing(rows, update(sql, rows, updatedAt), updatedAt);
+            log.debug("event=budget_spend_flushed keys={}", rows.size());
+        } catch (RuntimeException e) {
+            rows.forEach(Row::requeue);
+            log.warn("event=budget_spend_flush_failed keys={}", rows.size(), e);
+        }
+    }
+
+    private int[] update(String sql, List<Row> rows, Timestamp updatedAt) {
+        List<Object[]> args = new ArrayList<>(rows.size());
+        for (Row row : rows) {
+            SpendKey key = row.key();
+            args.add(new Object[]{row.value(), updatedAt, key.userId(), key.categoryKey(), key.currency(),
+                    key.month().toString()});
+        }
+        return jdbcTemplate.batchUpdate(sql, args);
+    }
+
+    /**
+     * First write of a key this month: no row to update yet
+     */
+    private void insertMissing(List<Row> rows, int[] updated, Timestamp updatedAt) {
+        for (int i = 0; i < rows.size(); i++) {
+            if (updated[i] != 0) {
+                continue;
+            }
+            SpendKey key = rows.get(i).key();
+            try {
+                jdbcTemplate.update(INSERT_SQL, key.userId(), key.categoryKey(), key.currency(),
+                        key.month().toString(), rows.get(i).value(), updatedAt);
+            } catch (DuplicateKeyException e) {
+                // inserted by another node since the update
+                jdbcTemplate.update(rows.get(i).absolute() ? SET_SQL : ADD_SQL, rows.get(i).value(), updatedAt,
+                        key.userId(), key.categoryKey(), key.currency(), key.month().toString());
+            }
+        }
+    }
+
+    private static boolean isExpense(String type) {
+        return TransactionType.EXPENSE.name().equals(type);
+    }
+
+    private YearMonth monthOf(Instant occurredAt) {
+        Instant instant = occurredAt != null ? occurredAt : Instant.ofEpochMilli(clock.getAsLong());
+        return YearMonth.from(instant.atOffset(ZoneOffset.UTC));
+    }
+
+    private static long toMinor(BigDecimal amount) {
+        return amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    private static BigDecimal fromMinor(long minor) {
+        return BigDecimal.valueOf(minor, 2);
+    }
+
+    private record BudgetKey(String categoryKey, String currency) {
+    }
+
+    private record SpendKey(Long userId, String categoryKey, String currency, YearMonth month) {
+    }
+
+    private record Limit(Long budgetId, Long userId, String category, BudgetKey key, long limitMinor) {
+    }
+
+    private record Row(SpendKey key, Spend spend, boolean absolute, long value) {
+        void requeue() {
+            if (absolute) {
+                spend.overwrite();
+            } else {
+                spend.requeue(value);
+            }
+        }
+    }
+
+    /**
+     * Running total in minor units; unflushed is the part not yet in budget_spend, CLOSED once evicted.
+     * Both change under this entry's lock, so a snapshot of total always matches what was drained.
+     */
+    private static final class Spend {
+        private long total;
+        private long unflushed;
+        private boolean overwrite;
+        private volatile long lastActivity;
+
+        Spend(long total, boolean overwrite, long now) {
+            this.total = total;
+            this.overwrite = overwrite;
+            this.lastActivity = now;
+        }
+
+        /**
+         * @return the total after the add, or CLOSED if this entry was evicted (the caller loads a new one)
+         */
+        synchronized long add(long amount) {
+            if (unflushed == CLOSED) {
+                return CLOSED;
+            }
+            unflushed += amount;
+            total += amount;
+            return total;
+        }
+
+        /**
+         * @return the total, or CLOSED if evicted
+         */
+        synchronized long total() {
+            return unflushed == CLOSED ? CLOSED : total;
+        }
+
+        synchronized long drain() {
+            if (unflushed == CLOSED) {
+                return 0;
+            }
+            long current = unflushed;
+            unflushed = 0;
+            return current;
+        }
+
+        /**
+         * @return the total to write as is, or CLOSED if there is no overwrite pending
+         */
+        synchronized long snapshot() {
+            if (!overwrite || unflushed == CLOSED) {
+                return CLOSED;
+            }
+            overwrite = false;
+            unflushed = 0;
+            return total;
+        }
+
+        /**
+         * A failed delta write: already in total, so it only goes back to unflushed
+         */
+        synchronized void requeue(long delta) {
+            if (unflushed != CLOSED) {
+                unflushed += delta;
+            }
+        }
+
+        /**
+         * A failed absolute write: the next flush writes the (by then newer) total again
+         */
+        synchronized void overwrite() {
+            overwrite = true;
+        }
+
+        synchronized boolean close() {
+            if (overwrite || unflushed != 0) {
+                return false;
+            }
+            unflushed = CLOSED;
+            return true;
+        }
+
+        /**
+         * Replaces the total with a re-totalled one, written as is on the next flush
+         */
+        synchronized boolean reset(long newTotal) {
+            if (unflushed == CLOSED) {
+                return false;
+            }
+            unflushed = 0;
+            total = newTotal;
+            overwrite = true;
+            return true;
+        }
+    }
+}
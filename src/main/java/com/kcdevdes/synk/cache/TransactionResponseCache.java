@@ -0,0 +1,172 @@
+package com.kcdevdes.synk.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.kcdevdes.synk.config.properties.AppResponseCacheProperties;
+import com.kcdevdes.synk.dto.common.BatchResponse;
+import com.kcdevdes.synk.entity.TransactionEntity;
+import com.kcdevdes.synk.mapper.TransactionMapper;
+import com.kcdevdes.synk.util.ETags;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Serialized JSON of TransactionDTO for transactions past their edit window.
+ *
+ * Entries are keyed by id and tagged with the strong ETag of the version they were built from
+ * (id, updatedAt, account.updatedAt), so a hit is only served for the exact version just loaded; an
+ * account rename or a concurrent update simply misses and replaces the entry. updateById/deleteById
+ * also invalidate, so edited transactions do not hold memory.
+ *
+ * The multi-get (batchJson) uses entries without loading the row first, so it relies on
+ * invalidation instead: transaction updates and account updates on this node drop the entry, and an
+ * entry older than batch-max-age-ms is treated as a miss (reloaded and re-validated), which bounds
+ * how long an edit made on another node can be served stale.
+ *
+ * Bounded by total JSON bytes; Caffeine evicts with W-TinyLFU, so one scan over old transactions does
+ * not flush the hot set. Stats are exported as cache.* metrics with cache=transaction.responses.
+ */
+@Component
+public class TransactionResponseCache {
+
+    // entry + key + byte[] header, roughly
+    private static final int ENTRY_OVERHEAD_BYTES = 96;
+    private static final byte[] CONTENT_START = "{\"content\":[".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] MISSING_IDS_START = "],\"missingIds\":".getBytes(StandardCharsets.UTF_8);
+
+    private final AppResponseCacheProperties properties;
+    private final JsonMapper jsonMapper;
+    private final Cache<Long, Entry> cache;
+
+    public TransactionResponseCache(
+            AppResponseCacheProperties properties,
+            JsonMapper jsonMapper,
+            MeterRegistry meterRegistry
+    ) {
+        this.properties = properties;
+        this.jsonMapper = jsonMapper;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(properties.getMaxBytes())
+                .weigher((Long id, Entry entry) -> entry.json().length + ENTRY_OVERHEAD_BYTES)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "transaction.responses");
+    }
+
+    /**
+     * Strong ETag of the loaded version: accountName is in the DTO, so account.updatedAt is part of it
+     */
+    public static String etagOf(TransactionEntity entity) {
+        Instant accountUpdatedAt = entity.getAccount() != null ? entity.getAccount().getUpdatedAt() : null;
+        return ETags.strong(entity.getId(), entity.getUpdatedAt(), accountUpdatedAt);
+    }
+
+    /**
+     * JSON bytes of TransactionMapper.toDTO(entity); etag identifies the loaded version
+     */
+    public byte[] json(TransactionEntity entity, String etag) {
+        if (!properties.isEnabled() || !isSettled(entity)) {
+            return serialize(entity);
+        }
+
+        Entry cached = cache.getIfPresent(entity.getId());
+        if (cached != null && cached.etag().equals(etag)) {
+            if (cached.validatedAt() < batchFreshAfter()) {
+                // re-validated just now: the multi-get may use it again
+                cache.put(entity.getId(), new Entry(etag, cached.json(), accountIdOf(entity), System.currentTimeMillis()));
+            }
+            return cached.json();
+        }
+        byte[] json = serialize(entity);
+        cache.put(entity.getId(), new Entry(etag, json, accountIdOf(entity), System.currentTimeMillis()));
+        return json;
+    }
+
+    /**
+     * JSON of BatchResponse<TransactionDTO> for ids (distinct, request order). Cached entries are
+     * used as they are; only the misses go to loader (one IN query per chunk) and are cached
+     */
+    public byte[] batchJson(List<Long> ids, Function<List<Long>, BatchResponse<TransactionEntity>> loader) {
+        Map<Long, byte[]> found = HashMap.newHashMap(ids.size());
+        List<Long> misses = new ArrayList<>();
+        long freshAfter = batchFreshAfter();
+        for (Long id : ids) {
+            Entry cached = properties.isEnabled() ? cache.getIfPresent(id) : null;
+            if (cached != null && cached.validatedAt() >= freshAfter) {
+                found.put(id, cached.json());
+            } else {
+                misses.add(id);
+            }
+        }
+        if (!misses.isEmpty()) {
+            for (TransactionEntity entity : loader.apply(misses).getContent()) {
+                found.put(entity.getId(), json(entity, etagOf(entity)));
+            }
+        }
+
+        // same bytes the message converter writes for BatchResponse: {"content":[...],"missingIds":[...]}
+        ByteArrayOutputStream out = new ByteArrayOutputStream(64 + found.size() * 512);
+        List<Long> missingIds = new ArrayList<>(ids.size() - found.size());
+        out.writeBytes(CONTENT_START);
+        boolean first = true;
+        for (Long id : ids) {
+            byte[] json = found.get(id);
+            if (json == null) {
+                missingIds.add(id);
+                continue;
+            }
+            if (!first) {
+                out.write(',');
+            }
+            out.writeBytes(json);
+            first = false;
+        }
+        out.writeBytes(MISSING_IDS_START);
+        out.writeBytes(jsonMapper.writeValueAsBytes(missingIds));
+        out.write('}');
+        return out.toByteArray();
+    }
+
+    public void invalidate(Long id) {
+        cache.invalidate(id);
+    }
+
+    /**
+     * The account's name is in every cached body of its transactions
+     */
+    public void invalidateAccount(Long accountId) {
+        cache.asMap().values().removeIf(entry -> accountId.equals(entry.accountId()));
+    }
+
+    private long batchFreshAfter() {
+        return System.currentTimeMillis() - properties.getBatchMaxAgeMs();
+    }
+
+    private static Long accountIdOf(TransactionEntity entity) {
+        return entity.getAccount() != null ? entity.getAccount().getId() : null;
+    }
+
+    private boolean isSettled(TransactionEntity entity) {
+        Instant updatedAt = entity.getUpdatedAt();
+        return updatedAt != null
+                && updatedAt.isBefore(Instant.now().minusMillis(properties.getEditWindowMs()));
+    }
+
+    private byte[] serialize(TransactionEntity entity) {
+        return jsonMapper.writeValueAsBytes(TransactionMapper.toDTO(entity));
+    }
+
+    private record Entry(String etag, byte[] json, Long accountId, long validatedAt) {
+    }
+}
@@ -0,0 +1,27 @@
+package com.kcdevdes.synk.config;
+
+import org.springframework.boot.http.converter.autoconfigure.ServerHttpMessageConvertersCustomizer;
+import org.springframework.boot.jackson.autoconfigure.CborMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.JacksonCborHttpMessageConverter;
+import tools.jackson.dataformat.cbor.CBORMapper;
+
+/**
+ * Accept: application/cbor for batch consumers (see CborWireFormatModule for the encoding).
+ *
+ * JSON stays first in the converter list, so a wildcard or missing Accept header still gets JSON.
+ */
+@Configuration
+public class CborConfig {
+
+    @Bean
+    public CborMapperBuilderCustomizer cborWireFormatCustomizer() {
+        return builder -> builder.addModule(new CborWireFormatModule());
+    }
+
+    @Bean
+    public ServerHttpMessageConvertersCustomizer cborHttpMessageConverterCustomizer(CBORMapper cborMapper) {
+        return builder -> builder.withCborConverter(new JacksonCborHttpMessageConverter(cborMapper));
+    }
+}
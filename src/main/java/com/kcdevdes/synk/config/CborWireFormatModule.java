@@ -0,0 +1,91 @@
+package com.kcdevdes.synk.config;
+
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.JsonParser;
+import tools.jackson.core.JsonToken;
+import tools.jackson.databind.DeserializationContext;
+import tools.jackson.databind.SerializationContext;
+import tools.jackson.databind.deser.std.StdDeserializer;
+import tools.jackson.databind.module.SimpleModule;
+import tools.jackson.databind.ser.std.StdSerializer;
+import tools.jackson.dataformat.cbor.CBORGenerator;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Instant;
+
+/**
+ * application/cbor wire format (CBORMapper only, JSON is unchanged).
+ *
+ * BigDecimal  -> tag 4 decimal fraction [exponent, mantissa] (RFC 8949 3.4.4), mantissa as a plain
+ *                integer (scaled long) unless it does not fit in 64 bits. 12.34 = 4([-2, 1234])
+ * Instant     -> integer microseconds since the epoch (1735689600000000 = 2025-01-01T00:00:00Z);
+ *                ISO-8601 strings are still accepted on input
+ */
+public class CborWireFormatModule extends SimpleModule {
+
+    private static final int DECIMAL_FRACTION_TAG = 4;
+
+    public CborWireFormatModule() {
+        super("synk-cbor-wire-format");
+        addSerializer(BigDecimal.class, new ScaledLongDecimalSerializer());
+        addSerializer(Instant.class, new EpochMicrosInstantSerializer());
+        addDeserializer(Instant.class, new EpochMicrosInstantDeserializer());
+    }
+
+    static final class ScaledLongDecimalSerializer extends StdSerializer<BigDecimal> {
+
+        ScaledLongDecimalSerializer() {
+            super(BigDecimal.class);
+        }
+
+        @Override
+        public void serialize(BigDecimal value, JsonGenerator gen, SerializationContext context) {
+            if (!(gen instanceof CBORGenerator cbor)) {
+                gen.writeNumber(value);
+                return;
+            }
+            BigInteger unscaled = value.unscaledValue();
+            cbor.writeTag(DECIMAL_FRACTION_TAG);
+            cbor.writeStartArray(value, 2);
+            cbor.writeNumber(-value.scale());
+            if (unscaled.bitLength() < Long.SIZE) {
+                cbor.writeNumber(unscaled.longValue());
+            } else {
+                cbor.writeNumber(unscaled);
+            }
+            cbor.writeEndArray();
+        }
+    }
+
+    static final class EpochMicrosInstantSerializer extends StdSerializer<Instant> {
+
+        EpochMicrosInstantSerializer() {
+            super(Instant.class);
+        }
+
+        @Override
+        public void serialize(Instant value, JsonGenerator gen, SerializationContext context) {
+            gen.writeNumber(Math.addExact(Math.multiplyExact(value.getEpochSecond(), 1_000_000L), value.getNano() / 1_000));
+        }
+    }
+
+    static final class EpochMicrosInstantDeserializer extends StdDeserializer<Instant> {
+
+        EpochMicrosInstantDeserializer() {
+            super(Instant.class);
+        }
+
+        @Override
+        public Instant deserialize(JsonParser p, DeserializationContext context) {
+            if (p.currentToken() == JsonToken.VALUE_NUMBER_INT) {
+                long micros = p.getLongValue();
+                return Instant.ofEpochSecond(Math.floorDiv(micros, 1_000_000L), Math.floorMod(micros, 1_000_000L) * 1_000L);
+            }
+            if (p.currentToken() == JsonToken.VALUE_STRING) {
+                return Instant.parse(p.getString().trim());
+            }
+            return (Instant) context.handleUnexpectedToken(Instant.class, p);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.kcdevdes.synk.config;
+
+import com.kcdevdes.synk.jdbc.JdbcInstrumentationPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * JDBC instrumentation.
+ *
+ * Every statement executed on a request thread is counted and timed, and RequestLoggingFilter
+ * reports sqlCount / dbTimeMs / appTimeMs per request (see app.jdbc.instrumentation.*).
+ */
+@Configuration
+public class JdbcConfig {
+
+    @Bean
+    public static JdbcInstrumentationPostProcessor jdbcInstrumentationPostProcessor() {
+        return new JdbcInstrumentationPostProcessor();
+    }
+}
@@ -0,0 +1,23 @@
+package com.kcdevdes.synk.config;
+
+import com.kcdevdes.synk.jdbc.JdbcBulkheadPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+
+/**
+ * Request/async threading.
+ *
+ * spring.threads.virtual.enabled=true (Java 21) switches Tomcat request handling and the
+ * applicationTaskExecutor used by @Async to virtual threads. The JDBC bulkhead keeps those
+ * threads from stampeding the Hikari pool.
+ */
+@Configuration
+@EnableAsync
+public class ThreadingConfig {
+
+    @Bean
+    public static JdbcBulkheadPostProcessor jdbcBulkheadPostProcessor() {
+        return new JdbcBulkheadPostProcessor();
+    }
+}
@@ -0,0 +1,45 @@
+package com.kcdevdes.synk.config.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.math.BigDecimal;
+
+/**
+ * app.anomaly.*  (거래 생성 시 이상 거래 점수, TransactionAnomalyScorer)
+ *
+ * enabled                 // false 면 점수 없이 모두 COMPLETED
+ * window-size             // 계좌별로 기억하는 최근 거래 수 (ring buffer 크기)
+ * min-history             // 이 수 이상 기록이 있어야 금액/merchant 규칙을 적용
+ * review-score            // 점수(0-100)가 이 값 이상이면 PENDING (검토 대기)
+ * velocity-window-ms      // 이 시간 안의 거래 수가
+ * velocity-max-count      // 이 값을 넘으면 velocity
+ * velocity-weight
+ * amount-spike-multiplier // window 평균 금액의 이 배수를 넘으면 amount spike
+ * amount-spike-min-amount // 이 금액 미만은 spike 로 보지 않음 (계좌 currency)
+ * amount-spike-weight
+ * new-merchant-weight     // 최근 거래에 없던 merchant
+ * merchant-sketch-bits    // 계좌별 merchant sketch 크기 (2의 거듭제곱)
+ * max-accounts            // window 를 메모리에 둘 최대 계좌 수
+ * idle-eviction-ms        // 이 시간 동안 거래가 없는 계좌의 window 제거
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.anomaly")
+public class AppAnomalyProperties {
+    private boolean enabled = true;
+    private int windowSize = 32;
+    private int minHistory = 5;
+    private int reviewScore = 60;
+    private long velocityWindowMs = 600000;
+    private int velocityMaxCount = 5;
+    private int velocityWeight = 40;
+    private double amountSpikeMultiplier = 5.0;
+    private BigDecimal amountSpikeMinAmount = new BigDecimal("100.00");
+    private int amountSpikeWeight = 50;
+    private int newMerchantWeight = 25;
+    private int merchantSketchBits = 512;
+    private long maxAccounts = 100000;
+    private long idleEvictionMs = 86400000;
+}
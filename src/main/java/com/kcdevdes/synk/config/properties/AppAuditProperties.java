@@ -0,0 +1,35 @@
+package com.kcdevdes.synk.config.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * app.audit.*
+ *
+ * capacity              // ring buffer 크기 (2의 거듭제곱으로 올림)
+ * batch-size            // 한번에 sink 로 넘기는 최대 이벤트 수
+ * drain-interval-ms     // 큐가 비었을 때 drain 스레드 대기 시간
+ * overflow-policy       // DROP: 즉시 버림, BLOCK: block-timeout-ms 까지 재시도 후 버림
+ * block-timeout-ms
+ * sinks                 // file, jdbc
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.audit")
+public class AppAuditProperties {
+
+    public enum OverflowPolicy {
+        DROP, BLOCK
+    }
+
+    private int capacity = 8192;
+    private int batchSize = 256;
+    private long drainIntervalMs = 50;
+    private OverflowPolicy overflowPolicy = OverflowPolicy.DROP;
+    private long blockTimeoutMs = 5;
+    private List<String> sinks = new ArrayList<>(List.of("file"));
+}
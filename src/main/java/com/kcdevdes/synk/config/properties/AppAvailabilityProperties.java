@@ -0,0 +1,23 @@
+package com.kcdevdes.synk.config.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * app.availability.*  (email/username 사용 가능 여부, UserAvailabilityIndex)
+ *
+ * enabled                 // false 면 항상 DB 조회
+ * expected-users          // Bloom filter 최소 크기, 사용자 수 기준 (실제 사용자 수의 2배와 비교해 큰 쪽, 사용자당 key 2개)
+ * false-positive-rate     // "있을 수도 있음" 으로 DB 조회가 필요한 비율
+ * rebuild-check-interval-ms  // 추가된 사용자 수가 크기를 넘었는지 확인하고 넘었으면 다시 만드는 주기
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.availability")
+public class AppAvailabilityProperties {
+    private boolean enabled = true;
+    private long expectedUsers = 1000000;
+    private double falsePositiveRate = 0.01;
+    private long rebuildCheckIntervalMs = 300000;
+}
@@ -0,0 +1,31 @@
+package com.kcdevdes.synk.config.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.List;
+
+/**
+ * app.budget.*  (월 예산 사용액 추적, BudgetTracker)
+ *
+ * enabled                 // false 면 transaction 생성 시 예산을 평가하지 않음
+ * thresholds              // 사용액이 한도의 이 % 를 넘는 순간 BudgetThresholdCrossedEvent
+ * flush-interval-ms       // 메모리 합계의 증가분을 budget_spend 에 반영하는 주기
+ * flush-batch-size
+ * idle-eviction-ms        // 반영이 끝나고 이 시간 동안 지출이 없는 합계는 메모리에서 제거
+ * limits-cache-size       // 예산 목록을 메모리에 둘 사용자 수
+ * limits-cache-ttl-ms     // 다른 노드에서 바뀐 예산이 반영되기까지의 최대 시간
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.budget")
+public class AppBudgetProperties {
+    private boolean enabled = true;
+    private List<Integer> thresholds = List.of(80, 100);
+    private long flushIntervalMs = 1000;
+    private int flushBatchSize = 200;
+    private long idleEvictionMs = 3600000;
+    private long limitsCacheSize = 100000;
+    private long limitsCacheTtlMs = 300000;
+}
@@ -0,0 +1,29 @@
+package com.kcdevdes.synk.config.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * app.import.*  (CSV/OFX 거래 내역 가져오기, TransactionImporter)
+ *
+ * max-concurrent          // 노드당 동시 import 수 (초과 시 503)
+ * parallelism             // 검증/정리 worker 수 (모든 import 공유)
+ * batch-size              // 검증 단위이자 JDBC batch insert 크기
+ * max-in-flight-batches   // 읽었지만 아직 저장되지 않은 batch 수 (메모리 상한)
+ * max-errors              // 상태 조회에 남기는 거부 사유 수
+ * retention-ms            // 마지막 조회 이후 상태를 유지하는 시간
+ *
+ * 업로드 크기 제한은 spring.servlet.multipart.max-file-size / max-request-size
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.import")
+public class AppImportProperties {
+    private int maxConcurrent = 2;
+    private int parallelism = 4;
+    private int batchSize = 500;
+    private int maxInFlightBatches = 8;
+    private int maxErrors = 100;
+    private long retentionMs = 3600000;
+}
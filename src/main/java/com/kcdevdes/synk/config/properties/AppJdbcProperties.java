@@ -0,0 +1,28 @@
+package com.kcdevdes.synk.config.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * app.jdbc.*
+ *
+ * instrumentation.enabled               // DataSource proxy 로 요청별 SQL 횟수 / row 수 / DB 시간 집계
+ * instrumentation.statement-budget      // 요청당 statement 수가 이 값을 넘으면 N+1 의심으로 WARN
+ * instrumentation.max-reported-shapes   // WARN 로그에 포함할 statement shape 개수 (많이 실행된 순)
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.jdbc")
+public class AppJdbcProperties {
+
+    private Instrumentation instrumentation = new Instrumentation();
+
+    @Getter
+    @Setter
+    public static class Instrumentation {
+        private boolean enabled = true;
+        private int statementBudget = 20;
+        private int maxReportedShapes = 5;
+    }
+}
@@ -0,0 +1,29 @@
+package com.kcdevdes.synk.config.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * app.login.*  (로그인 실패 추적, LoginAttemptTracker)
+ *
+ * max-attempts            // window 안에서 이 횟수만큼 실패하면 사용자 잠금
+ * window-ms               // 실패 횟수를 세는 sliding window
+ * lock-duration-ms
+ * ip-max-attempts         // 같은 IP 의 실패 허용 횟수 (여러 계정 대상 credential stuffing)
+ * flush-interval-ms       // failedLoginAttempts/lockedUntil/lastLoginAt 을 DB 에 반영하는 주기
+ * flush-batch-size
+ * eviction-interval-ms    // window 가 지나고 잠금/미반영 상태가 없는 항목 제거 주기
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.login")
+public class AppLoginProperties {
+    private int maxAttempts = 5;
+    private long windowMs = 1800000;
+    private long lockDurationMs = 1800000;
+    private int ipMaxAttempts = 20;
+    private long flushIntervalMs = 1000;
+    private int flushBatchSize = 200;
+    private long evictionIntervalMs = 60000;
+}
@@ -0,0 +1,48 @@
+package com.kcdevdes.synk.config.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * app.outbox.*
+ *
+ * relay.enabled
+ * relay.interval-ms           // poll 간격 (fixed delay)
+ * relay.batch-size            // 한번에 claim 하는 row 수
+ * relay.max-batches-per-run   // backlog 가 있을 때 한 번의 poll 에서 처리할 최대 batch 수
+ * sink                        // memory, file
+ * memory.capacity             // in-memory broker 가 보관하는 최근 메시지 수
+ * file.path                   // file sink 경로 (JSON lines)
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.outbox")
+public class AppOutboxProperties {
+
+    private Relay relay = new Relay();
+    private String sink = "memory";
+    private Memory memory = new Memory();
+    private File file = new File();
+
+    @Getter
+    @Setter
+    public static class Relay {
+        private boolean enabled = true;
+        private long intervalMs = 500;
+        private int batchSize = 200;
+        private int maxBatchesPerRun = 10;
+    }
+
+    @Getter
+    @Setter
+    public static class Memory {
+        private int capacity = 10000;
+    }
+
+    @Getter
+    @Setter
+    public static class File {
+        private String path = "logs/synk-outbox.jsonl";
+    }
+}
@@ -0,0 +1,30 @@
+package com.kcdevdes.synk.config.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * app.password.*  (BCrypt 해싱 전용 pool, PasswordHasher)
+ *
+ * pool-size               // 해싱 스레드 수 (0 = CPU 수)
+ * queue-capacity          // 대기 가능한 해싱 작업 수, 초과 시 503 SERVICE_BUSY
+ * wait-timeout-ms         // 요청 스레드가 결과를 기다리는 최대 시간 (큐 대기 포함)
+ * calibrate               // 시작 시 해시 시간을 측정해 target-hash-ms 에 맞는 cost 선택
+ * target-hash-ms          // 해시 1회 목표 시간
+ * min-cost / max-cost     // calibrate 결과의 범위
+ * cost                    // calibrate=false 일 때 사용하는 cost
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.password")
+public class AppPasswordProperties {
+    private int poolSize = 0;
+    private int queueCapacity = 64;
+    private long waitTimeoutMs = 2000;
+    private boolean calibrate = true;
+    private long targetHashMs = 250;
+    private int minCost = 10;
+    private int maxCost = 16;
+    private int cost = 12;
+}
@@ -0,0 +1,50 @@
+package com.kcdevdes.synk.config.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * app.rate-limit.*  (클라이언트별 token bucket, 초과 시 429 + Retry-After)
+ *
+ * enabled
+ * read.requests-per-second    // GET/HEAD, 지속 허용량
+ * read.burst                  // bucket 크기 (idle 후 한 번에 허용되는 요청 수)
+ * write.requests-per-second   // POST/PUT/PATCH/DELETE
+ * write.burst
+ * search.requests-per-second  // /search, /filter (DB 부하가 큰 조회)
+ * search.burst
+ * idle-eviction-ms            // 이 시간 동안 요청이 없는 클라이언트 bucket 제거
+ * excluded-paths              // prefix 일치 시 제한 제외 (health check 등)
+ * trusted-proxies             // X-Forwarded-For 를 믿을 reverse proxy 주소/CIDR, 비어 있으면 remoteAddr 만 사용
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.rate-limit")
+public class AppRateLimitProperties {
+    private boolean enabled = true;
+    private Limit read = new Limit(20, 40);
+    private Limit write = new Limit(5, 10);
+    private Limit search = new Limit(2, 5);
+    private long idleEvictionMs = 600000;
+    private List<String> excludedPaths = new ArrayList<>(List.of("/actuator"));
+    private List<String> trustedProxies = new ArrayList<>();
+
+    @Getter
+    @Setter
+    public static class Limit {
+        private double requestsPerSecond;
+        private int burst;
+
+        public Limit() {
+        }
+
+        public Limit(double requestsPerSecond, int burst) {
+            this.requestsPerSecond = requestsPerSecond;
+            this.burst = burst;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.kcdevdes.synk.config.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.math.BigDecimal;
+
+/**
+ * app.recurring.*  (반복 결제 감지, RecurringPaymentJob)
+ *
+ * enabled
+ * cron                    // 야간 실행 시각
+ * parallelism             // 동시에 처리하는 사용자 수 = 사용하는 DB connection 수
+ * amount-tolerance        // 같은 청구로 보는 금액 차이 (비율)
+ * min-amount-tolerance    // 작은 금액용 최소 허용 차이 (절대값)
+ * lapse-grace-days        // 예상일 이후 이 기간 동안 청구가 없으면 해지로 봄
+ * commit-lag-minutes      // 이보다 최근에 쓰인 거래는 다음 실행으로 미룸 (아직 commit 안 된 낮은 id 보호)
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.recurring")
+public class AppRecurringProperties {
+    private boolean enabled = true;
+    private String cron = "0 30 3 * * *";
+    private int parallelism = 4;
+    private double amountTolerance = 0.10;
+    private BigDecimal minAmountTolerance = new BigDecimal("1.00");
+    private int lapseGraceDays = 10;
+    private int commitLagMinutes = 10;
+}
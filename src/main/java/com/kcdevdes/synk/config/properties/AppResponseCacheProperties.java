@@ -0,0 +1,23 @@
+package com.kcdevdes.synk.config.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * app.response-cache.*  (GET /api/transactions/{id}, ?ids= 직렬화 결과 캐시)
+ *
+ * enabled
+ * max-bytes               // 캐시된 JSON 바이트 합계 상한 (W-TinyLFU 로 eviction)
+ * edit-window-ms          // 마지막 수정 후 이 시간이 지난 거래만 캐시 (그 전에는 수정될 가능성이 높음)
+ * batch-max-age-ms        // multi-get (?ids=) 이 행을 읽지 않고 쓰는 entry 의 최대 나이 (다른 노드의 수정 반영 상한)
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.response-cache")
+public class AppResponseCacheProperties {
+    private boolean enabled = true;
+    private long maxBytes = 64L * 1024 * 1024;
+    private long editWindowMs = 86400000;
+    private long batchMaxAgeMs = 60000;
+}
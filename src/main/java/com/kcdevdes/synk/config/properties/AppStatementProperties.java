@@ -0,0 +1,37 @@
+package com.kcdevdes.synk.config.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * app.statement.*  (월 명세서 생성, StatementJob)
+ *
+ * enabled
+ * cron                    // 매일 실행, 지난달 명세서 중 아직 없는 계좌만 생성 (중단된 실행 재개)
+ * parallelism             // 동시에 처리하는 계좌 수 = 사용하는 DB connection 수
+ * directory               // 출력 디렉터리, 파일은 <directory>/<yyyy-MM>/<accountId>.csv|json
+ * format                  // CSV | JSON
+ * buffer-size             // 파일별 write buffer (bytes)
+ * progress-log-every      // 이 계좌 수마다 진행률 로그
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.statement")
+public class AppStatementProperties {
+    private boolean enabled = true;
+    private String cron = "0 0 4 * * *";
+    private int parallelism = 4;
+    private String directory = "data/statements";
+    private Format format = Format.CSV;
+    private int bufferSize = 64 * 1024;
+    private int progressLogEvery = 1000;
+
+    public enum Format {
+        CSV, JSON;
+
+        public String extension() {
+            return name().toLowerCase();
+        }
+    }
+}
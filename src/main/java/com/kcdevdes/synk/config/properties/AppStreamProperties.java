@@ -0,0 +1,25 @@
+package com.kcdevdes.synk.config.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * app.stream.*  (SSE 실시간 거래 피드)
+ *
+ * max-connections         // 노드당 동시 스트림 수
+ * buffer-size             // 연결별 전송 대기 이벤트 수 (초과 시 연결 종료 → 클라이언트가 Last-Event-ID 로 재접속)
+ * replay-size             // Last-Event-ID 재개용 최근 이벤트 수 (노드 전체)
+ * heartbeat-interval-ms
+ * timeout-ms              // SseEmitter timeout
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.stream")
+public class AppStreamProperties {
+    private int maxConnections = 1000;
+    private int bufferSize = 256;
+    private int replaySize = 1024;
+    private long heartbeatIntervalMs = 15000;
+    private long timeoutMs = 1800000;
+}
@@ -0,0 +1,38 @@
+package com.kcdevdes.synk.config.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * app.threading.*
+ *
+ * bulkhead.enabled             // JDBC 커넥션 획득 앞 세마포어 (virtual thread 모드에서 기본 활성화)
+ * bulkhead.max-concurrent      // 0 이면 spring.datasource.hikari.maximum-pool-size 사용
+ * bulkhead.acquire-timeout-ms  // 0 이면 spring.datasource.hikari.connection-timeout 사용
+ * pinning.enabled              // JFR jdk.VirtualThreadPinned 이벤트 로깅
+ * pinning.threshold-ms         // 이 시간 이상 pinning 된 경우만 기록
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.threading")
+public class AppThreadingProperties {
+
+    private Bulkhead bulkhead = new Bulkhead();
+    private Pinning pinning = new Pinning();
+
+    @Getter
+    @Setter
+    public static class Bulkhead {
+        private boolean enabled = false;
+        private int maxConcurrent = 0;
+        private long acquireTimeoutMs = 0;
+    }
+
+    @Getter
+    @Setter
+    public static class Pinning {
+        private boolean enabled = false;
+        private long thresholdMs = 20;
+    }
+}
@@ -1,17 +1,22 @@
 package com.kcdevdes.synk.controller;
 
+import com.kcdevdes.synk.dto.common.BatchResponse;
 import com.kcdevdes.synk.dto.request.AccountCreateDTO;
 import com.kcdevdes.synk.dto.request.AccountUpdateDTO;
 import com.kcdevdes.synk.dto.response.AccountDTO;
 import com.kcdevdes.synk.entity.AccountEntity;
 import com.kcdevdes.synk.entity.type.AccountType;
 import com.kcdevdes.synk.mapper.AccountMapper;
+import com.kcdevdes.synk.repository.FieldCatalog;
 import com.kcdevdes.synk.service.AccountService;
+import com.kcdevdes.synk.util.BatchLookup;
+import com.kcdevdes.synk.util.ETags;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.math.BigDecimal;
 import java.util.List;
@@ -24,24 +29,65 @@ public class AccountController {
 
     private final AccountService accountService;
 
+    /**
+     * Multi-get: ?ids=3,1,2 resolves all ids with IN queries, in request order
+     */
+    @GetMapping(params = "ids")
+    public ResponseEntity<BatchResponse<AccountDTO>> getAccountsByIds(@RequestParam String ids) {
+        BatchResponse<AccountEntity> found = accountService.getAccountsByIds(BatchLookup.parseIds(ids));
+        return ResponseEntity.ok(found.map(AccountMapper::toDTO));
+    }
+
     @GetMapping("/{accountId}")
-    public ResponseEntity<AccountDTO> getAccountById(@PathVariable Long accountId) {
+    public ResponseEntity<AccountDTO> getAccountById(@PathVariable Long accountId, WebRequest webRequest) {
         AccountEntity account = accountService.getAccountById(accountId);
-        return ResponseEntity.ok(AccountMapper.toDTO(account));
+        String etag = ETags.strong(account.getId(), account.getUpdatedAt());
+        return ETags.conditional(webRequest, etag, () -> AccountMapper.toDTO(account));
     }
 
     @GetMapping("/user/{userId}")
-    public ResponseEntity<List<AccountDTO>> getUserAccounts(@PathVariable Long userId) {
-        List<AccountEntity> accounts = accountService.getUserAccounts(userId);
-        return ResponseEntity.ok(AccountMapper.toDTOList(accounts));
+    public ResponseEntity<List<AccountDTO>> getUserAccounts(@PathVariable Long userId, WebRequest webRequest) {
+        String etag = ETags.weak(accountService.getUserAccountsFingerprint(userId));
+        return ETags.conditional(webRequest, etag,
+                () -> AccountMapper.toDTOList(accountService.getUserAccounts(userId)));
+    }
+
+    /**
+     * ?fields= selects only the requested columns (see FieldProjectionRepository)
+     */
+    @GetMapping(path = "/user/{userId}", params = "fields")
+    public ResponseEntity<List<Map<String, Object>>> getUserAccountFields(
+            @PathVariable Long userId,
+            @RequestParam String fields,
+            WebRequest webRequest) {
+        List<FieldCatalog.Field> selected = FieldCatalog.ACCOUNT.resolve(fields);
+        String etag = ETags.weak(accountService.getUserAccountsFingerprint(userId), FieldCatalog.key(selected));
+        return ETags.conditional(webRequest, etag, () -> accountService.getUserAccountsFields(userId, selected));
     }
 
     @GetMapping("/user/{userId}/type/{accountType}")
     public ResponseEntity<List<AccountDTO>> getUserAccountsByType(
             @PathVariable Long userId,
-            @PathVariable AccountType accountType) {
-        List<AccountEntity> accounts = accountService.getUserAccountsByType(userId, accountType);
-        return ResponseEntity.ok(AccountMapper.toDTOList(accounts));
+            @PathVariable AccountType accountType,
+            WebRequest webRequest) {
+        String etag = ETags.weak(accountService.getUserAccountsByTypeFingerprint(userId, accountType));
+        return ETags.conditional(webRequest, etag,
+                () -> AccountMapper.toDTOList(accountService.getUserAccountsByType(userId, accountType)));
+    }
+
+    @GetMapping(path = "/user/{userId}/type/{accountType}", params = "fields")
+    public ResponseEntity<List<Map<String, Object>>> getUserAccountFieldsByType(
+            @PathVariable Long userId,
+            @PathVariable AccountType accountType,
+            @RequestParam String fields,
+            WebRequest webRequest) {
+        List<FieldCatalog.Field> selected = FieldCatalog.ACCOUNT.resolve(fields);
+        String etag = ETags.weak(
+                accountService.getUserAccountsByTypeFingerprint(userId, accountType),
+                FieldCatalog.key(selected)
+        );
+        return ETags.conditional(webRequest, etag,
+                () -> accountService.getUserAccountsByTypeFields(userId, accountType, selected));
     }
 
     @PostMapping("/user/{userId}")
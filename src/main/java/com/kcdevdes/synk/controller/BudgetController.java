@@ -0,0 +1,60 @@
+package com.kcdevdes.synk.controller;
+
+import com.kcdevdes.synk.dto.request.BudgetCreateDTO;
+import com.kcdevdes.synk.dto.request.BudgetUpdateDTO;
+import com.kcdevdes.synk.dto.response.BudgetDTO;
+import com.kcdevdes.synk.entity.BudgetEntity;
+import com.kcdevdes.synk.mapper.BudgetMapper;
+import com.kcdevdes.synk.service.BudgetService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/budgets")
+@RequiredArgsConstructor
+public class BudgetController {
+
+    private final BudgetService budgetService;
+
+    /**
+     * Budgets with this month's (UTC) spend
+     */
+    @GetMapping("/user/{userId}")
+    public ResponseEntity<List<BudgetDTO>> getUserBudgets(@PathVariable Long userId) {
+        List<BudgetDTO> budgets = budgetService.getUserBudgets(userId).stream()
+                .map(budget -> BudgetMapper.toDTO(budget, budgetService.getSpent(budget)))
+                .toList();
+        return ResponseEntity.ok(budgets);
+    }
+
+    @PostMapping("/user/{userId}")
+    public ResponseEntity<BudgetDTO> createBudget(
+            @PathVariable Long userId,
+            @Valid @RequestBody BudgetCreateDTO createDTO) {
+        BudgetEntity created = budgetService.createBudget(BudgetMapper.toEntity(createDTO), userId);
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(BudgetMapper.toDTO(created, budgetService.getSpent(created)));
+    }
+
+    @PutMapping("/{budgetId}/user/{userId}")
+    public ResponseEntity<BudgetDTO> updateBudget(
+            @PathVariable Long budgetId,
+            @PathVariable Long userId,
+            @Valid @RequestBody BudgetUpdateDTO updateDTO) {
+        BudgetEntity updated = budgetService.updateBudget(budgetId, userId, updateDTO);
+        return ResponseEntity.ok(BudgetMapper.toDTO(updated, budgetService.getSpent(updated)));
+    }
+
+    @DeleteMapping("/{budgetId}/user/{userId}")
+    public ResponseEntity<Void> deleteBudget(
+            @PathVariable Long budgetId,
+            @PathVariable Long userId) {
+        budgetService.deleteBudget(budgetId, userId);
+        return ResponseEntity.noContent().build();
+    }
+}
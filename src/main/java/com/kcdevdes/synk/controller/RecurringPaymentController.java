@@ -0,0 +1,27 @@
+package com.kcdevdes.synk.controller;
+
+import com.kcdevdes.synk.dto.response.RecurringPaymentDTO;
+import com.kcdevdes.synk.mapper.RecurringPaymentMapper;
+import com.kcdevdes.synk.service.RecurringPaymentService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/recurring-payments")
+@RequiredArgsConstructor
+public class RecurringPaymentController {
+
+    private final RecurringPaymentService recurringPaymentService;
+
+    @GetMapping("/user/{userId}")
+    public ResponseEntity<List<RecurringPaymentDTO>> getUserRecurringPayments(@PathVariable Long userId) {
+        return ResponseEntity.ok(
+                RecurringPaymentMapper.toDTOList(recurringPaymentService.getUserRecurringPayments(userId)));
+    }
+}
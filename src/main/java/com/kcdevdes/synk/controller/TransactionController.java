@@ -1,5 +1,7 @@
 package com.kcdevdes.synk.controller;
 
+import com.kcdevdes.synk.cache.TransactionResponseCache;
+import com.kcdevdes.synk.dto.common.BatchResponse;
 import com.kcdevdes.synk.dto.request.TransactionCreateDTO;
 import com.kcdevdes.synk.dto.request.TransactionUpdateDTO;
 import com.kcdevdes.synk.dto.response.TransactionDTO;
@@ -7,17 +9,27 @@ import com.kcdevdes.synk.entity.TransactionEntity;
 import com.kcdevdes.synk.entity.type.TransactionType;
 import com.kcdevdes.synk.exception.custom.InvalidInputException;
 import com.kcdevdes.synk.mapper.TransactionMapper;
+import com.kcdevdes.synk.repository.FieldCatalog;
 import com.kcdevdes.synk.service.TransactionService;
+import com.kcdevdes.synk.stream.ArrayResponseStreamer;
+import com.kcdevdes.synk.stream.TransactionStreamBroadcaster;
+import com.kcdevdes.synk.util.BatchLookup;
+import com.kcdevdes.synk.util.ETags;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/transactions")
@@ -26,6 +38,9 @@ import java.util.List;
 public class TransactionController {
 
     private final TransactionService transactionService;
+    private final TransactionStreamBroadcaster transactionStreamBroadcaster;
+    private final ArrayResponseStreamer arrayResponseStreamer;
+    private final TransactionResponseCache transactionResponseCache;
 
     @PostMapping
     public ResponseEntity<TransactionDTO> createTransaction(
@@ -39,20 +54,71 @@ public class TransactionController {
                 .body(responseDTO);
     }
 
+    /**
+     * JSON responses come from TransactionResponseCache (pre-serialized bytes) once the
+     * transaction is past its edit window; CBOR goes through the message converter
+     */
     @GetMapping("/{id}")
-    public ResponseEntity<TransactionDTO> getTransaction(@PathVariable Long id) {
+    public ResponseEntity<?> getTransaction(@PathVariable Long id, WebRequest webRequest) {
         TransactionEntity entity = transactionService.findById(id);
-        TransactionDTO dto = TransactionMapper.toDTO(entity);
+        String etag = TransactionResponseCache.etagOf(entity);
 
-        return ResponseEntity.ok(dto);
+        if (MediaType.APPLICATION_JSON.equals(arrayResponseStreamer.negotiate(webRequest))) {
+            return ETags.conditional(webRequest, etag, MediaType.APPLICATION_JSON,
+                    () -> transactionResponseCache.json(entity, etag));
+        }
+        return ETags.conditional(webRequest, etag, () -> TransactionMapper.toDTO(entity));
+    }
+
+    /**
+     * Multi-get: ?ids=3,1,2 resolves all ids with IN queries, in request order. JSON shares
+     * TransactionResponseCache with the single get: only ids not cached are queried
+     */
+    @GetMapping(params = "ids")
+    public ResponseEntity<?> getTransactionsByIds(@RequestParam String ids, WebRequest webRequest) {
+        List<Long> parsed = BatchLookup.parseIds(ids);
+        if (MediaType.APPLICATION_JSON.equals(arrayResponseStreamer.negotiate(webRequest))) {
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(transactionResponseCache.batchJson(parsed, transactionService::findAllByIds));
+        }
+        BatchResponse<TransactionEntity> found = transactionService.findAllByIds(parsed);
+        return ResponseEntity.ok(found.map(TransactionMapper::toDTO));
     }
 
     @GetMapping
-    public ResponseEntity<List<TransactionDTO>> getAllTransactions() {
-        List<TransactionEntity> entities = transactionService.findAll();
-        List<TransactionDTO> dtos = TransactionMapper.toDTOList(entities);
+    public ResponseEntity<List<TransactionDTO>> getAllTransactions(WebRequest webRequest) {
+        String etag = ETags.weak(transactionService.findAllFingerprint());
 
-        return ResponseEntity.ok(dtos);
+        return ETags.conditional(webRequest, etag,
+                () -> TransactionMapper.toDTOList(transactionService.findAll()));
+    }
+
+    /**
+     * ?fields=id,amount,merchant variants select only those columns (see FieldProjectionRepository);
+     * the account join is skipped unless accountName is requested
+     */
+    @GetMapping(params = {"fields", "!ids"})
+    public ResponseEntity<List<Map<String, Object>>> getAllTransactionFields(
+            @RequestParam String fields,
+            WebRequest webRequest
+    ) {
+        List<FieldCatalog.Field> selected = FieldCatalog.TRANSACTION.resolve(fields);
+        String etag = ETags.weak(transactionService.findAllFingerprint(), FieldCatalog.key(selected));
+
+        return ETags.conditional(webRequest, etag, () -> transactionService.findAllFields(selected));
+    }
+
+    /**
+     * ?stream=true variants write the same JSON (or CBOR) array row by row (see ArrayResponseStreamer)
+     */
+    @GetMapping(params = {"stream=true", "!fields", "!ids"})
+    public ResponseEntity<StreamingResponseBody> streamAllTransactions(WebRequest webRequest) {
+        String etag = ETags.weak(transactionService.findAllFingerprint());
+        MediaType mediaType = arrayResponseStreamer.negotiate(webRequest);
+
+        return ETags.conditional(webRequest, etag, mediaType,
+                () -> arrayResponseStreamer.stream(mediaType, transactionService::streamAll, TransactionMapper::toDTO));
     }
 
     @PutMapping("/{id}")
@@ -66,6 +132,19 @@ public class TransactionController {
         return ResponseEntity.ok(responseDTO);
     }
 
+    /**
+     * Releases a transaction held for review (PENDING): approve -> COMPLETED, reject -> CANCELLED
+     */
+    @PostMapping("/{id}/approve")
+    public ResponseEntity<TransactionDTO> approveTransaction(@PathVariable Long id) {
+        return ResponseEntity.ok(TransactionMapper.toDTO(transactionService.reviewById(id, true)));
+    }
+
+    @PostMapping("/{id}/reject")
+    public ResponseEntity<TransactionDTO> rejectTransaction(@PathVariable Long id) {
+        return ResponseEntity.ok(TransactionMapper.toDTO(transactionService.reviewById(id, false)));
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteTransaction(@PathVariable Long id) {
         transactionService.deleteById(id);
@@ -100,40 +179,149 @@ public class TransactionController {
 
     @GetMapping("/user/{userId}")
     public ResponseEntity<List<TransactionDTO>> getTransactionsByUser(
-            @PathVariable Long userId
+            @PathVariable Long userId,
+            WebRequest webRequest
     ) {
-        List<TransactionEntity> entities = transactionService.findByUserId(userId);
-        List<TransactionDTO> dtos = TransactionMapper.toDTOList(entities);
+        String etag = ETags.weak(transactionService.findByUserIdFingerprint(userId));
 
-        return ResponseEntity.ok(dtos);
+        return ETags.conditional(webRequest, etag,
+                () -> TransactionMapper.toDTOList(transactionService.findByUserId(userId)));
+    }
+
+    @GetMapping(path = "/user/{userId}", params = "fields")
+    public ResponseEntity<List<Map<String, Object>>> getTransactionFieldsByUser(
+            @PathVariable Long userId,
+            @RequestParam String fields,
+            WebRequest webRequest
+    ) {
+        List<FieldCatalog.Field> selected = FieldCatalog.TRANSACTION.resolve(fields);
+        String etag = ETags.weak(transactionService.findByUserIdFingerprint(userId), FieldCatalog.key(selected));
+
+        return ETags.conditional(webRequest, etag, () -> transactionService.findByUserIdFields(userId, selected));
+    }
+
+    @GetMapping(path = "/user/{userId}", params = {"stream=true", "!fields"})
+    public ResponseEntity<StreamingResponseBody> streamTransactionsByUser(
+            @PathVariable Long userId,
+            WebRequest webRequest
+    ) {
+        String etag = ETags.weak(transactionService.findByUserIdFingerprint(userId));
+        MediaType mediaType = arrayResponseStreamer.negotiate(webRequest);
+
+        return ETags.conditional(webRequest, etag, mediaType,
+                () -> arrayResponseStreamer.stream(
+                        mediaType,
+                        () -> transactionService.streamByUserId(userId),
+                        TransactionMapper::toDTO
+                ));
+    }
+
+    /**
+     * Live feed of created/updated/deleted transactions for the user (Server-Sent Events)
+     * Reconnecting clients send Last-Event-ID to resume from the replay log
+     */
+    @GetMapping(path = "/user/{userId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamTransactionsByUser(
+            @PathVariable Long userId,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId
+    ) {
+        return transactionStreamBroadcaster.subscribe(userId, lastEventId);
     }
 
     @GetMapping("/account/{accountId}")
     public ResponseEntity<List<TransactionDTO>> getTransactionsByAccount(
-            @PathVariable Long accountId
+            @PathVariable Long accountId,
+            WebRequest webRequest
     ) {
-        List<TransactionEntity> entities = transactionService.findByAccountId(accountId);
-        List<TransactionDTO> dtos = TransactionMapper.toDTOList(entities);
+        String etag = ETags.weak(transactionService.findByAccountIdFingerprint(accountId));
 
-        return ResponseEntity.ok(dtos);
+        return ETags.conditional(webRequest, etag,
+                () -> TransactionMapper.toDTOList(transactionService.findByAccountId(accountId)));
+    }
+
+    @GetMapping(path = "/account/{accountId}", params = "fields")
+    public ResponseEntity<List<Map<String, Object>>> getTransactionFieldsByAccount(
+            @PathVariable Long accountId,
+            @RequestParam String fields,
+            WebRequest webRequest
+    ) {
+        List<FieldCatalog.Field> selected = FieldCatalog.TRANSACTION.resolve(fields);
+        String etag = ETags.weak(transactionService.findByAccountIdFingerprint(accountId), FieldCatalog.key(selected));
+
+        return ETags.conditional(webRequest, etag,
+                () -> transactionService.findByAccountIdFields(accountId, selected));
+    }
+
+    @GetMapping(path = "/account/{accountId}", params = {"stream=true", "!fields"})
+    public ResponseEntity<StreamingResponseBody> streamTransactionsByAccount(
+            @PathVariable Long accountId,
+            WebRequest webRequest
+    ) {
+        String etag = ETags.weak(transactionService.findByAccountIdFingerprint(accountId));
+        MediaType mediaType = arrayResponseStreamer.negotiate(webRequest);
+
+        return ETags.conditional(webRequest, etag, mediaType,
+                () -> arrayResponseStreamer.stream(
+                        mediaType,
+                        () -> transactionService.streamByAccountId(accountId),
+                        TransactionMapper::toDTO
+                ));
     }
 
     @GetMapping("/user/{userId}/type/{type}")
     public ResponseEntity<List<TransactionDTO>> getTransactionsByUserAndType(
             @PathVariable Long userId,
-            @PathVariable String type
+            @PathVariable String type,
+            WebRequest webRequest
     ) {
-        TransactionType transactionType;
+        TransactionType transactionType = parseType(type);
+        String etag = ETags.weak(transactionService.findByUserIdAndTypeFingerprint(userId, transactionType));
+
+        return ETags.conditional(webRequest, etag,
+                () -> TransactionMapper.toDTOList(transactionService.findByUserIdAndType(userId, transactionType)));
+    }
+
+    @GetMapping(path = "/user/{userId}/type/{type}", params = "fields")
+    public ResponseEntity<List<Map<String, Object>>> getTransactionFieldsByUserAndType(
+            @PathVariable Long userId,
+            @PathVariable String type,
+            @RequestParam String fields,
+            WebRequest webRequest
+    ) {
+        TransactionType transactionType = parseType(type);
+        List<FieldCatalog.Field> selected = FieldCatalog.TRANSACTION.resolve(fields);
+        String etag = ETags.weak(
+                transactionService.findByUserIdAndTypeFingerprint(userId, transactionType),
+                FieldCatalog.key(selected)
+        );
+
+        return ETags.conditional(webRequest, etag,
+                () -> transactionService.findByUserIdAndTypeFields(userId, transactionType, selected));
+    }
+
+    @GetMapping(path = "/user/{userId}/type/{type}", params = {"stream=true", "!fields"})
+    public ResponseEntity<StreamingResponseBody> streamTransactionsByUserAndType(
+            @PathVariable Long userId,
+            @PathVariable String type,
+            WebRequest webRequest
+    ) {
+        TransactionType transactionType = parseType(type);
+        String etag = ETags.weak(transactionService.findByUserIdAndTypeFingerprint(userId, transactionType));
+        MediaType mediaType = arrayResponseStreamer.negotiate(webRequest);
+
+        return ETags.conditional(webRequest, etag, mediaType,
+                () -> arrayResponseStreamer.stream(
+                        mediaType,
+                        () -> transactionService.streamByUserIdAndType(userId, transactionType),
+                        TransactionMapper::toDTO
+                ));
+    }
+
+    private static TransactionType parseType(String type) {
         try {
-            transactionType = TransactionType.valueOf(type.toUpperCase());
+            return TransactionType.valueOf(type.toUpperCase());
         } catch (IllegalArgumentException e) {
             throw InvalidInputException.transactionType(type);
         }
-
-        List<TransactionEntity> entities = transactionService.findByUserIdAndType(userId, transactionType);
-
-        List<TransactionDTO> dtos = TransactionMapper.toDTOList(entities);
-
-        return ResponseEntity.ok(dtos);
     }
 }
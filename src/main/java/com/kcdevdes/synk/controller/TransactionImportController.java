@@ -0,0 +1,42 @@
+package com.kcdevdes.synk.controller;
+
+import com.kcdevdes.synk.dto.response.ImportStatusDTO;
+import com.kcdevdes.synk.importer.ImportJob;
+import com.kcdevdes.synk.importer.TransactionImporter;
+import com.kcdevdes.synk.mapper.ImportStatusMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.net.URI;
+
+@RestController
+@RequestMapping("/api/transactions/imports")
+@RequiredArgsConstructor
+public class TransactionImportController {
+
+    private final TransactionImporter transactionImporter;
+
+    /**
+     * multipart "file" (.csv, .ofx, .qfx; or format=CSV|OFX); 202 with the import to poll
+     */
+    @PostMapping(path = "/account/{accountId}", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ImportStatusDTO> importStatement(
+            @PathVariable Long accountId,
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(required = false) String format
+    ) {
+        ImportJob job = transactionImporter.start(accountId, file, format);
+        return ResponseEntity
+                .accepted()
+                .location(URI.create("/api/transactions/imports/" + job.getId()))
+                .body(ImportStatusMapper.toDTO(job));
+    }
+
+    @GetMapping("/{importId}")
+    public ResponseEntity<ImportStatusDTO> getImport(@PathVariable String importId) {
+        return ResponseEntity.ok(ImportStatusMapper.toDTO(transactionImporter.status(importId)));
+    }
+}
@@ -1,18 +1,37 @@
 package com.kcdevdes.synk.controller;
 
+import com.kcdevdes.synk.dto.common.BatchResponse;
+import com.kcdevdes.synk.dto.common.CursorPageResponse;
 import com.kcdevdes.synk.dto.request.UserCreateDTO;
 import com.kcdevdes.synk.dto.request.UserUpdateDTO;
+import com.kcdevdes.synk.dto.response.UserAvailabilityDTO;
 import com.kcdevdes.synk.dto.response.UserDTO;
 import com.kcdevdes.synk.entity.UserEntity;
+import com.kcdevdes.synk.entity.type.UserType;
+import com.kcdevdes.synk.exception.custom.InvalidInputException;
 import com.kcdevdes.synk.mapper.UserMapper;
+import com.kcdevdes.synk.repository.FieldCatalog;
+import com.kcdevdes.synk.repository.UserFilter;
 import com.kcdevdes.synk.service.UserService;
+import com.kcdevdes.synk.stream.ArrayResponseStreamer;
+import com.kcdevdes.synk.util.BatchLookup;
+import com.kcdevdes.synk.util.ETags;
+import com.kcdevdes.synk.util.InputSanitizer;
+import com.kcdevdes.synk.util.KeysetCursor;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/users")
@@ -20,29 +39,120 @@ import java.util.List;
 public class UserController {
 
     private final UserService userService;
+    private final ArrayResponseStreamer arrayResponseStreamer;
 
     @GetMapping
-    public ResponseEntity<List<UserDTO>> getAllUsers() {
-        List<UserEntity> users = userService.getAllUsers();
-        return ResponseEntity.ok(UserMapper.toDTOList(users));
+    public ResponseEntity<List<UserDTO>> getAllUsers(WebRequest webRequest) {
+        String etag = ETags.weak(userService.getAllUsersFingerprint());
+        return ETags.conditional(webRequest, etag, () -> UserMapper.toDTOList(userService.getAllUsers()));
+    }
+
+    /**
+     * Multi-get: ?ids=3,1,2 resolves all ids with IN queries, in request order
+     */
+    @GetMapping(params = "ids")
+    public ResponseEntity<BatchResponse<UserDTO>> getUsersByIds(@RequestParam String ids) {
+        BatchResponse<UserEntity> found = userService.getUsersByIds(BatchLookup.parseIds(ids));
+        return ResponseEntity.ok(found.map(UserMapper::toDTO));
+    }
+
+    /**
+     * ?fields= selects only the requested columns (see FieldProjectionRepository)
+     */
+    @GetMapping(params = {"fields", "!ids"})
+    public ResponseEntity<List<Map<String, Object>>> getAllUserFields(
+            @RequestParam String fields,
+            WebRequest webRequest
+    ) {
+        List<FieldCatalog.Field> selected = FieldCatalog.USER.resolve(fields);
+        String etag = ETags.weak(userService.getAllUsersFingerprint(), FieldCatalog.key(selected));
+        return ETags.conditional(webRequest, etag, () -> userService.getAllUsersFields(selected));
+    }
+
+    @GetMapping(params = {"stream=true", "!fields", "!ids"})
+    public ResponseEntity<StreamingResponseBody> streamAllUsers(WebRequest webRequest) {
+        String etag = ETags.weak(userService.getAllUsersFingerprint());
+        MediaType mediaType = arrayResponseStreamer.negotiate(webRequest);
+
+        return ETags.conditional(webRequest, etag, mediaType,
+                () -> arrayResponseStreamer.stream(mediaType, userService::streamAllUsers, UserMapper::toDTO));
+    }
+
+    /**
+     * Sign-up form check, answered from the availability Bloom filter when it can be (see UserAvailabilityIndex)
+     */
+    @GetMapping("/availability")
+    public ResponseEntity<UserAvailabilityDTO> checkAvailability(
+            @RequestParam(required = false) String email,
+            @RequestParam(required = false) String username
+    ) {
+        if (email == null && username == null) {
+            throw InvalidInputException.availabilityQuery();
+        }
+        // same normalization as UserMapper.toEntity, so the lookup matches what createUser stores
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                .body(userService.checkAvailability(
+                        InputSanitizer.sanitizePlainText(email, "email"),
+                        InputSanitizer.sanitizePlainText(username, "username")
+                ));
+    }
+
+    /**
+     * Admin listing: keyset pages (?cursor=&size=) of non-deleted users, optionally filtered
+     */
+    @GetMapping("/page")
+    public ResponseEntity<CursorPageResponse<UserDTO>> getUsersPage(
+            @RequestParam(required = false) Boolean active,
+            @RequestParam(required = false) String userType,
+            @RequestParam(required = false) Boolean emailVerified,
+            @RequestParam(required = false) String createdFrom,
+            @RequestParam(required = false) String createdTo,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size
+    ) {
+        UserFilter filter = filter(active, userType, emailVerified, createdFrom, createdTo);
+        CursorPageResponse<UserEntity> page =
+                userService.getUsersPage(filter, KeysetCursor.decode(cursor), KeysetCursor.size(size));
+        return ResponseEntity.ok(page.map(UserMapper::toDTO));
+    }
+
+    /**
+     * Admin export: every non-deleted user matching the filters, streamed as one array
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportUsers(
+            @RequestParam(required = false) Boolean active,
+            @RequestParam(required = false) String userType,
+            @RequestParam(required = false) Boolean emailVerified,
+            @RequestParam(required = false) String createdFrom,
+            @RequestParam(required = false) String createdTo,
+            WebRequest webRequest
+    ) {
+        UserFilter filter = filter(active, userType, emailVerified, createdFrom, createdTo);
+        MediaType mediaType = arrayResponseStreamer.negotiate(webRequest);
+        return ResponseEntity.ok()
+                .contentType(mediaType)
+                .cacheControl(CacheControl.noStore())
+                .body(arrayResponseStreamer.stream(mediaType, () -> userService.streamUsers(filter), UserMapper::toDTO));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<UserDTO> getUserById(@PathVariable Long id) {
+    public ResponseEntity<UserDTO> getUserById(@PathVariable Long id, WebRequest webRequest) {
         UserEntity user = userService.getUserById(id);
-        return ResponseEntity.ok(UserMapper.toDTO(user));
+        return conditional(user, webRequest);
     }
 
     @GetMapping("/email/{email}")
-    public ResponseEntity<UserDTO> getUserByEmail(@PathVariable String email) {
+    public ResponseEntity<UserDTO> getUserByEmail(@PathVariable String email, WebRequest webRequest) {
         UserEntity user = userService.getUserByEmail(email);
-        return ResponseEntity.ok(UserMapper.toDTO(user));
+        return conditional(user, webRequest);
     }
 
     @GetMapping("/username/{username}")
-    public ResponseEntity<UserDTO> getUserByUsername(@PathVariable String username) {
+    public ResponseEntity<UserDTO> getUserByUsername(@PathVariable String username, WebRequest webRequest) {
         UserEntity user = userService.getUserByUsername(username);
-        return ResponseEntity.ok(UserMapper.toDTO(user));
+        return conditional(user, webRequest);
     }
 
     @PostMapping
@@ -71,4 +181,44 @@ public class UserController {
         userService.verifyEmail(id);
         return ResponseEntity.ok().build();
     }
+
+    private static UserFilter filter(
+            Boolean active,
+            String userType,
+            Boolean emailVerified,
+            String createdFrom,
+            String createdTo
+    ) {
+        return new UserFilter(
+                active,
+                userType == null ? null : parseUserType(userType),
+                emailVerified,
+                parseInstant(createdFrom, "createdFrom"),
+                parseInstant(createdTo, "createdTo")
+        );
+    }
+
+    private static UserType parseUserType(String userType) {
+        try {
+            return UserType.valueOf(userType.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw InvalidInputException.userType(userType);
+        }
+    }
+
+    private static Instant parseInstant(String value, String name) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Instant.parse(value);
+        } catch (DateTimeParseException e) {
+            throw InvalidInputException.instant(name);
+        }
+    }
+
+    private static ResponseEntity<UserDTO> conditional(UserEntity user, WebRequest webRequest) {
+        String etag = ETags.strong(user.getId(), user.getUpdatedAt());
+        return ETags.conditional(webRequest, etag, () -> UserMapper.toDTO(user));
+    }
 }
@@ -0,0 +1,32 @@
+package com.kcdevdes.synk.dto.common;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * content               // List<T> 찾은 항목, 요청한 id 순서
+ * missingIds            // List<Long> 찾지 못한 id, 요청 순서
+ */
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchResponse<T> {
+    private List<T> content;
+    private List<Long> missingIds;
+
+    public <R> BatchResponse<R> map(Function<? super T, ? extends R> mapper) {
+        List<R> mapped = new ArrayList<>(content.size());
+        for (T item : content) {
+            mapped.add(mapper.apply(item));
+        }
+        return new BatchResponse<>(mapped, missingIds);
+    }
+}
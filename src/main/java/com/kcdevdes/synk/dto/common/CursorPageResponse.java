@@ -0,0 +1,36 @@
+package com.kcdevdes.synk.dto.common;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * content               // List<T>
+ * size                  // int 요청한 페이지 크기
+ * nextCursor            // String 다음 페이지 요청에 ?cursor= 로 전달, 마지막 페이지면 null
+ * hasNext               // boolean
+ */
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageResponse<T> {
+    private List<T> content;
+    private int size;
+    private String nextCursor;
+    private boolean hasNext;
+
+    public <R> CursorPageResponse<R> map(Function<? super T, ? extends R> mapper) {
+        List<R> mapped = new ArrayList<>(content.size());
+        for (T item : content) {
+            mapped.add(mapper.apply(item));
+        }
+        return new CursorPageResponse<>(mapped, size, nextCursor, hasNext);
+    }
+}
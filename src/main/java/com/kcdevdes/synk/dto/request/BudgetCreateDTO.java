@@ -0,0 +1,34 @@
+package com.kcdevdes.synk.dto.request;
+
+import jakarta.validation.constraints.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+
+/**
+ * category              // @NotBlank @Size(max=64) "Food" (대소문자, 앞뒤 공백 무시하고 transaction category 와 비교)
+ * currency              // @NotNull @Size(3) "USD" 같은 currency 의 EXPENSE 만 집계
+ * monthlyLimit          // @NotNull @Positive
+ */
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class BudgetCreateDTO {
+    @NotBlank
+    @Size(max = 64)
+    @Pattern(regexp = "^[^<>]*$")
+    private String category;
+
+    @NotNull
+    @Size(min = 3, max = 3)
+    @Pattern(regexp = "^[A-Z]{3}$")
+    private String currency;
+
+    @NotNull
+    @Positive
+    @Digits(integer = 13, fraction = 2)
+    private BigDecimal monthlyLimit;
+}
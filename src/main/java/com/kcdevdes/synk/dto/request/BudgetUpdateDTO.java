@@ -0,0 +1,24 @@
+package com.kcdevdes.synk.dto.request;
+
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+
+/**
+ * monthlyLimit          // @NotNull @Positive (category, currency 는 변경 불가, 삭제 후 다시 생성)
+ */
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class BudgetUpdateDTO {
+    @NotNull
+    @Positive
+    @Digits(integer = 13, fraction = 2)
+    private BigDecimal monthlyLimit;
+}
@@ -0,0 +1,30 @@
+package com.kcdevdes.synk.dto.response;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * id                    // Long
+ * category              // String "Food"
+ * currency              // String "USD"
+ * monthlyLimit          // BigDecimal
+ * spent                 // BigDecimal 이번 달 (UTC) 사용액
+ * remaining             // BigDecimal monthlyLimit - spent (초과 시 음수)
+ * createdAt             // Instant
+ * updatedAt             // Instant
+ */
+
+@Getter
+@Setter
+public class BudgetDTO {
+    private Long id;
+    private String category;
+    private String currency;
+    private BigDecimal monthlyLimit;
+    private BigDecimal spent;
+    private BigDecimal remaining;
+    private Instant createdAt;
+    private Instant updatedAt;
+}
@@ -0,0 +1,46 @@
+package com.kcdevdes.synk.dto.response;
+
+import lombok.*;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * id                    // String import id (상태 조회용)
+ * accountId             // Long
+ * format                // String CSV, OFX
+ * fileName              // String
+ * status                // String QUEUED, RUNNING, COMPLETED, FAILED
+ * progressPercent       // Integer 읽은 파일 비율
+ * rowsRead              // Long
+ * imported              // Long
+ * duplicates            // Long 이미 가져온 행 (재업로드)
+ * rejected              // Long 파싱/검증 실패 행
+ * errors                // List<String> 거부 사유 "line 12: amount is not a number" (최대 app.import.max-errors)
+ * failure               // String FAILED 사유
+ * rowsPerSecond         // Long
+ * createdAt             // Instant
+ * startedAt             // Instant
+ * finishedAt            // Instant
+ */
+
+@Getter
+@Setter
+public class ImportStatusDTO {
+    private String id;
+    private Long accountId;
+    private String format;
+    private String fileName;
+    private String status;
+    private Integer progressPercent;
+    private Long rowsRead;
+    private Long imported;
+    private Long duplicates;
+    private Long rejected;
+    private List<String> errors;
+    private String failure;
+    private Long rowsPerSecond;
+    private Instant createdAt;
+    private Instant startedAt;
+    private Instant finishedAt;
+}
@@ -0,0 +1,32 @@
+package com.kcdevdes.synk.dto.response;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * id                    // Long
+ * merchant              // String 마지막 청구의 merchant 표기
+ * currency              // String
+ * amount                // BigDecimal 마지막 청구 금액
+ * period                // String WEEKLY, MONTHLY, ANNUAL
+ * occurrences           // Integer 연속으로 맞은 청구 수
+ * lastOccurredAt        // Instant
+ * nextExpectedAt        // Instant 다음 청구 예상일
+ * detectedAt            // Instant
+ */
+
+@Getter
+@Setter
+public class RecurringPaymentDTO {
+    private Long id;
+    private String merchant;
+    private String currency;
+    private BigDecimal amount;
+    private String period;
+    private Integer occurrences;
+    private Instant lastOccurredAt;
+    private Instant nextExpectedAt;
+    private Instant detectedAt;
+}
@@ -20,6 +20,8 @@ import java.time.Instant;
  * occurredAt            // Instant
  * updatedAt             // Instant
  * deleted               // Boolean
+ * status                // String "COMPLETED", 이상 거래로 검토 대기면 "PENDING"
+ * riskScore             // Integer 0-100 (생성 시 점수, 이전 거래는 null)
  *
  * // 환율 정보 (선택)
  * originalAmount        // BigDecimal
@@ -44,6 +46,8 @@ public class TransactionDTO {
     private Instant occurredAt;
     private Instant updatedAt;
     private Boolean deleted;
+    private String status;
+    private Integer riskScore;
 
     /** Current Exchange Rate **/
     private BigDecimal originalAmount;
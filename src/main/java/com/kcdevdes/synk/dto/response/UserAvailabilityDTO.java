@@ -0,0 +1,21 @@
+package com.kcdevdes.synk.dto.response;
+
+import lombok.*;
+
+/**
+ * email                 // String, 요청한 값 (없으면 null)
+ * emailAvailable        // Boolean, email 을 요청하지 않았으면 null
+ * username              // String
+ * usernameAvailable     // Boolean
+ */
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserAvailabilityDTO {
+    private String email;
+    private Boolean emailAvailable;
+    private String username;
+    private Boolean usernameAvailable;
+}
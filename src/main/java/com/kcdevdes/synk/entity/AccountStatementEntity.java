@@ -0,0 +1,51 @@
+package com.kcdevdes.synk.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * 계좌별 월 명세서 (StatementJob 이 생성)
+ * - 파일이 완성된 뒤 저장되므로 이 row 가 그 달의 진행 checkpoint, 없는 계좌만 다음 실행에서 다시 생성
+ * - closingBalance 는 다음 달 명세서의 openingBalance
+ */
+@Entity
+@Table(name = "account_statements", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_account_statements_period", columnNames = {"accountId", "period"})
+}, indexes = {
+        @Index(name = "idx_account_statements_period", columnList = "period")
+})
+@Getter
+@Setter
+public class AccountStatementEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long accountId;
+
+    @Column(nullable = false, length = 7)
+    private String period; // "2024-06" (UTC)
+
+    @Column(nullable = false, length = 3)
+    private String currency;
+
+    @Column(nullable = false, precision = 15, scale = 2)
+    private BigDecimal openingBalance;
+
+    @Column(nullable = false, precision = 15, scale = 2)
+    private BigDecimal closingBalance;
+
+    @Column(nullable = false)
+    private Integer postings; // 기간 안의 거래 수 (잔액에 반영되지 않은 것 포함)
+
+    @Column(nullable = false, length = 256)
+    private String file; // app.statement.directory 기준 상대 경로
+
+    @Column(nullable = false)
+    private Instant generatedAt;
+}
@@ -0,0 +1,46 @@
+package com.kcdevdes.synk.entity;
+
+import com.kcdevdes.synk.audit.AuditEventType;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * audit_events 테이블 정의 (쓰기는 JdbcAuditSink 의 batch insert)
+ */
+@Entity
+@Table(name = "audit_events", indexes = {
+        @Index(name = "idx_audit_events_occurred_at", columnList = "occurredAt"),
+        @Index(name = "idx_audit_events_user_id", columnList = "userId")
+})
+@Getter
+@Setter
+public class AuditEventEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 64)
+    private AuditEventType eventType;
+
+    @Column(nullable = false)
+    private Instant occurredAt;
+
+    @Column(length = 64)
+    private String requestId;
+
+    @Column
+    private Long userId;
+
+    @Column
+    private Long accountId;
+
+    @Column
+    private Long resourceId;
+
+    @Column(length = 512)
+    private String detail;
+}
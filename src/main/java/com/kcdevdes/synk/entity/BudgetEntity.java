@@ -0,0 +1,49 @@
+package com.kcdevdes.synk.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * 사용자별 category 월 예산
+ * - (userId, categoryKey, currency) 당 하나, 같은 currency 의 EXPENSE 만 집계
+ * - 월은 UTC 기준, 이번 달 사용액은 BudgetTracker / budget_spend
+ */
+@Entity
+@Table(name = "budgets", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_budgets_category", columnNames = {"userId", "categoryKey", "currency"})
+})
+@Getter
+@Setter
+public class BudgetEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long userId;
+
+    @Column(nullable = false, length = 64)
+    private String category; // 입력한 표기
+
+    @Column(nullable = false, length = 64)
+    private String categoryKey; // trim + 소문자 (BudgetTracker.categoryKey)
+
+    @Column(nullable = false, length = 3)
+    private String currency;
+
+    @Column(nullable = false, precision = 15, scale = 2)
+    private BigDecimal monthlyLimit;
+
+    @CreationTimestamp
+    @Column(nullable = false, updatable = false)
+    private Instant createdAt;
+
+    @UpdateTimestamp
+    private Instant updatedAt;
+}
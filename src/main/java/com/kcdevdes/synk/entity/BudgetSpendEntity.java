@@ -0,0 +1,42 @@
+package com.kcdevdes.synk.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * 예산이 있는 (userId, categoryKey, currency) 의 월별 EXPENSE 합계 (BudgetTracker 가 갱신)
+ * - spentMinor 는 minor unit (amount x 100)
+ * - 메모리 합계의 write-behind 대상, 재시작 후 메모리 합계는 여기서 다시 읽음
+ */
+@Entity
+@Table(name = "budget_spend", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_budget_spend_month", columnNames = {"userId", "categoryKey", "currency", "spendMonth"})
+})
+@Getter
+@Setter
+public class BudgetSpendEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long userId;
+
+    @Column(nullable = false, length = 64)
+    private String categoryKey;
+
+    @Column(nullable = false, length = 3)
+    private String currency;
+
+    @Column(nullable = false, length = 7)
+    private String spendMonth; // "2024-06" (UTC)
+
+    @Column(nullable = false)
+    private Long spentMinor = 0L;
+
+    @Column(nullable = false)
+    private Instant updatedAt;
+}
@@ -0,0 +1,39 @@
+package com.kcdevdes.synk.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.Instant;
+
+/**
+ * Transactional outbox
+ * - 비즈니스 변경과 같은 DB 트랜잭션에서 기록
+ * - OutboxRelay 가 batch 로 읽어서 sink 에 발행 후 삭제
+ */
+@Entity
+@Table(name = "outbox_events")
+@Getter
+@Setter
+public class OutboxEventEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 64)
+    private String aggregateType; // "Transaction", "Account"
+
+    @Column(nullable = false)
+    private Long aggregateId;
+
+    @Column(nullable = false, length = 64)
+    private String eventType; // "TransactionCreated"
+
+    @Column(nullable = false, length = 4000)
+    private String payload; // JSON
+
+    @CreationTimestamp
+    @Column(nullable = false, updatable = false)
+    private Instant createdAt;
+}
@@ -0,0 +1,69 @@
+package com.kcdevdes.synk.entity;
+
+import com.kcdevdes.synk.entity.type.RecurrencePeriod;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * 사용자별 merchant 청구 series (RecurringPaymentJob 이 갱신)
+ * - merchant 당 하나, detected=true 인 것만 반복 결제(구독)로 노출
+ * - 다음 청구 예상일은 nextExpectedAt
+ */
+@Entity
+@Table(name = "recurring_payments", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_recurring_payments_series", columnNames = {"userId", "merchantKey", "currency"})
+}, indexes = {
+        @Index(name = "idx_recurring_payments_next_expected_at", columnList = "detected, nextExpectedAt")
+})
+@Getter
+@Setter
+public class RecurringPaymentEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long userId;
+
+    @Column(nullable = false, length = 128)
+    private String merchantKey; // 정규화된 merchant (RecurringPaymentDetector.merchantKey)
+
+    @Column(nullable = false, length = 128)
+    private String merchant; // 마지막 청구의 원래 표기
+
+    @Column(nullable = false, length = 3)
+    private String currency;
+
+    @Column(nullable = false, precision = 15, scale = 2)
+    private BigDecimal amount; // 마지막 청구 금액
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 16)
+    private RecurrencePeriod period;
+
+    @Column(nullable = false)
+    private Integer streak = 0; // period 와 금액이 맞은 연속 간격 수
+
+    @Column(nullable = false)
+    private Boolean detected = false;
+
+    @Column(nullable = false)
+    private Long lastTransactionId;
+
+    @Column(nullable = false)
+    private Instant lastOccurredAt;
+
+    @Column
+    private Instant nextExpectedAt;
+
+    @Column
+    private Instant detectedAt;
+
+    @UpdateTimestamp
+    private Instant updatedAt;
+}
@@ -0,0 +1,29 @@
+package com.kcdevdes.synk.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * RecurringPaymentJob 진행 위치
+ * - userId 별: 이 transaction id 까지 반영됨
+ * - userId = 0 (JOB_WATERMARK): 모든 사용자가 반영된 transaction id, 다음 실행은 그 이후만 조회
+ */
+@Entity
+@Table(name = "recurring_scan_watermarks")
+@Getter
+@Setter
+public class RecurringScanWatermarkEntity {
+    public static final long JOB_WATERMARK = 0L;
+
+    @Id
+    private Long userId;
+
+    @Column(nullable = false)
+    private Long lastTransactionId;
+
+    @Column(nullable = false)
+    private Instant scannedAt;
+}
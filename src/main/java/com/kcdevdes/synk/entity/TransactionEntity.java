@@ -1,9 +1,11 @@
 package com.kcdevdes.synk.entity;
 
 import com.kcdevdes.synk.entity.type.PaymentMethod;
+import com.kcdevdes.synk.entity.type.TransactionStatus;
 import com.kcdevdes.synk.entity.type.TransactionType;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -11,7 +13,12 @@ import java.math.BigDecimal;
 import java.time.Instant;
 
 @Entity
-@Table(name = "transactions")
+@Table(name = "transactions", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_transactions_account_id_import_hash", columnNames = {"account_id", "importHash"}) // 같은 파일 재업로드 중복 방지
+}, indexes = {
+        @Index(name = "idx_transactions_user_id_id", columnList = "user_id, id"), // 사용자별 watermark 이후 조회 (RecurringPaymentJob)
+        @Index(name = "idx_transactions_account_id_occurred_at", columnList = "account_id, occurredAt") // 계좌별 최근 거래 (TransactionAnomalyScorer)
+})
 @Getter
 @Setter
 public class TransactionEntity {
@@ -49,6 +56,19 @@ public class TransactionEntity {
     @Column(length = 20)
     private PaymentMethod paymentMethod;
 
+    /// Review ///
+
+    @Enumerated(EnumType.STRING)
+    @ColumnDefault("'COMPLETED'")
+    @Column(nullable = false, length = 16)
+    private TransactionStatus status = TransactionStatus.COMPLETED; // PENDING: 이상 거래 검토 대기
+
+    @Column
+    private Integer riskScore; // 생성 시 점수 0-100 (TransactionAnomalyScorer), 이전 거래는 null
+
+    @Column(length = 64)
+    private String importHash; // 가져온 명세서 행의 SHA-256 (TransactionImporter), API 로 만든 거래는 null
+
     ///  TimeStamps ///
 
     @CreationTimestamp
@@ -5,28 +5,35 @@ import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
-//import org.springframework.security.crypto.bcrypt.BCrypt;
 
 import java.time.Instant;
 
 @Entity
 @Table(name = "users", indexes = {
         @Index(name = "idx_email", columnList = "email"),
-        @Index(name = "idx_username", columnList = "username")
+        @Index(name = "idx_username", columnList = "username"),
+        @Index(name = "idx_users_deleted_created_at", columnList = "deleted, createdAt") // admin listing createdAt 범위
+}, uniqueConstraints = {
+        // 이름으로 중복 컬럼 판별 (UserService.createUser)
+        @UniqueConstraint(name = UserEntity.EMAIL_CONSTRAINT, columnNames = "email"),
+        @UniqueConstraint(name = UserEntity.USERNAME_CONSTRAINT, columnNames = "username")
 }) // Index 성능 높이기
 @Getter
 @Setter
 public class UserEntity {
+    public static final String EMAIL_CONSTRAINT = "uk_users_email";
+    public static final String USERNAME_CONSTRAINT = "uk_users_username";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
     /**  Authentication **/
 
-    @Column(unique = true, nullable = false, length = 128)
+    @Column(nullable = false, length = 128)
     private String email;
 
-    @Column(unique = true, nullable = false, length = 128)
+    @Column(nullable = false, length = 128)
     private String username;
 
     @Column(nullable = false)
@@ -110,10 +117,4 @@ public class UserEntity {
     public boolean canLogin() {
         return !isAccountLocked() && active && !deleted;
     }
-
-    // TODO : Password Dependency 졸라 짜증나게 만들어놨으 :)
-//    public String encryptPassword(String original) {
-//        String encrypted = BCrypt.hashpw(original, BCrypt.gensalt());
-//        return encrypted;
-//    }
 }
@@ -0,0 +1,54 @@
+package com.kcdevdes.synk.entity.type;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+public enum RecurrencePeriod {
+    WEEKLY(6, 8, 3),      // 7일, 4번 청구 후 감지
+    MONTHLY(27, 33, 2),   // 28~31일, 3번 청구 후 감지
+    ANNUAL(355, 375, 1);  // 365일, 2번 청구 후 감지
+
+    private final int minGapDays;
+    private final int maxGapDays;
+    private final int intervalsToDetect;
+
+    RecurrencePeriod(int minGapDays, int maxGapDays, int intervalsToDetect) {
+        this.minGapDays = minGapDays;
+        this.maxGapDays = maxGapDays;
+        this.intervalsToDetect = intervalsToDetect;
+    }
+
+    /**
+     * Period whose gap range contains gapDays, or null
+     */
+    public static RecurrencePeriod ofGap(long gapDays) {
+        for (RecurrencePeriod period : values()) {
+            if (gapDays >= period.minGapDays && gapDays <= period.maxGapDays) {
+                return period;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * A gap longer than the period allows: the subscription lapsed (cancelled, or a charge was missed)
+     */
+    public boolean isLapse(long gapDays) {
+        return gapDays > maxGapDays;
+    }
+
+    /**
+     * Consecutive matching intervals before a series counts as recurring
+     */
+    public int intervalsToDetect() {
+        return intervalsToDetect;
+    }
+
+    public Instant next(Instant last) {
+        return switch (this) {
+            case WEEKLY -> last.atOffset(ZoneOffset.UTC).plusWeeks(1).toInstant();
+            case MONTHLY -> last.atOffset(ZoneOffset.UTC).plusMonths(1).toInstant();
+            case ANNUAL -> last.atOffset(ZoneOffset.UTC).plusYears(1).toInstant();
+        };
+    }
+}
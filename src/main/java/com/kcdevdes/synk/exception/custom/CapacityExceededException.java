@@ -0,0 +1,40 @@
+package com.kcdevdes.synk.exception.custom;
+
+import com.kcdevdes.synk.exception.ErrorCode;
+
+/**
+ * 노드 용량 초과 (load shedding)
+ * - 동시 스트림 수 제한 등
+ */
+public class CapacityExceededException extends BusinessException {
+
+    public CapacityExceededException(ErrorCode errorCode) {
+        super(errorCode);
+    }
+
+    public CapacityExceededException(ErrorCode errorCode, String customMessage) {
+        super(errorCode, customMessage);
+    }
+
+    // 편의 메서드
+    public static CapacityExceededException streams(int maxStreams) {
+        return new CapacityExceededException(
+                ErrorCode.SERVICE_BUSY,
+                "Too many open streams on this node (max " + maxStreams + ")"
+        );
+    }
+
+    public static CapacityExceededException passwordHashing() {
+        return new CapacityExceededException(
+                ErrorCode.SERVICE_BUSY,
+                "Too many password hashing requests on this node"
+        );
+    }
+
+    public static CapacityExceededException imports(int maxImports) {
+        return new CapacityExceededException(
+                ErrorCode.SERVICE_BUSY,
+                "Too many imports running on this node (max " + maxImports + ")"
+        );
+    }
+}
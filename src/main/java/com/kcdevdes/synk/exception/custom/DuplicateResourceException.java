@@ -30,4 +30,11 @@ public class DuplicateResourceException extends BusinessException {
                 "Username already exists: " + username
         );
     }
+
+    public static DuplicateResourceException budget(String category, String currency) {
+        return new DuplicateResourceException(
+                ErrorCode.DUPLICATE_BUDGET,
+                "Budget already exists for category: " + category + " (" + currency + ")"
+        );
+    }
 }
\ No newline at end of file
@@ -2,6 +2,8 @@ package com.kcdevdes.synk.exception.custom;
 
 import com.kcdevdes.synk.exception.ErrorCode;
 
+import java.util.Collection;
+
 /**
  * 잘못된 입력값
  * - Validation 실패
@@ -31,4 +33,68 @@ public class InvalidInputException extends BusinessException {
                 "Invalid currency code: " + currency
         );
     }
-}
\ No newline at end of file
+
+    public static InvalidInputException fields(Collection<String> unknown, Collection<String> allowed) {
+        String problem = unknown.isEmpty() ? "No fields requested" : "Unknown fields: " + String.join(",", unknown);
+        return new InvalidInputException(
+                ErrorCode.INVALID_INPUT_VALUE,
+                problem + " (allowed: " + String.join(",", allowed) + ")"
+        );
+    }
+
+    public static InvalidInputException ids(int max) {
+        return new InvalidInputException(
+                ErrorCode.INVALID_INPUT_VALUE,
+                "ids must be 1 to " + max + " comma separated numbers"
+        );
+    }
+
+    public static InvalidInputException availabilityQuery() {
+        return new InvalidInputException(
+                ErrorCode.INVALID_INPUT_VALUE,
+                "email or username is required"
+        );
+    }
+
+    public static InvalidInputException userType(String type) {
+        return new InvalidInputException(
+                ErrorCode.INVALID_INPUT_VALUE,
+                "Invalid user type: " + type
+        );
+    }
+
+    public static InvalidInputException instant(String name) {
+        return new InvalidInputException(
+                ErrorCode.INVALID_INPUT_VALUE,
+                name + " must be an ISO-8601 instant (e.g. 2024-01-01T00:00:00Z)"
+        );
+    }
+
+    public static InvalidInputException cursor() {
+        return new InvalidInputException(
+                ErrorCode.INVALID_INPUT_VALUE,
+                "Invalid cursor"
+        );
+    }
+
+    public static InvalidInputException notPending(Long transactionId, String status) {
+        return new InvalidInputException(
+                ErrorCode.TRANSACTION_NOT_PENDING,
+                "Transaction " + transactionId + " is " + status + ", only PENDING transactions can be reviewed"
+        );
+    }
+
+    public static InvalidInputException importFile(String problem) {
+        return new InvalidInputException(
+                ErrorCode.INVALID_INPUT_VALUE,
+                "Invalid statement file: " + problem
+        );
+    }
+
+    public static InvalidInputException pageSize(int max) {
+        return new InvalidInputException(
+                ErrorCode.INVALID_INPUT_VALUE,
+                "size must be between 1 and " + max
+        );
+    }
+}
@@ -37,4 +37,18 @@ public class ResourceNotFoundException extends BusinessException {
                 "Transaction not found with id: " + transactionId
         );
     }
+
+    public static ResourceNotFoundException budget(Long budgetId) {
+        return new ResourceNotFoundException(
+                ErrorCode.BUDGET_NOT_FOUND,
+                "Budget not found with id: " + budgetId
+        );
+    }
+
+    public static ResourceNotFoundException importJob(String importId) {
+        return new ResourceNotFoundException(
+                ErrorCode.IMPORT_NOT_FOUND,
+                "Import not found with id: " + importId
+        );
+    }
 }
\ No newline at end of file
@@ -19,6 +19,14 @@ public class UnauthorizedException extends BusinessException {
         );
     }
 
+    public static UnauthorizedException invalidCredentials() {
+        return new UnauthorizedException(ErrorCode.INVALID_CREDENTIALS);
+    }
+
+    public static UnauthorizedException accountLocked() {
+        return new UnauthorizedException(ErrorCode.ACCOUNT_LOCKED);
+    }
+
     public static UnauthorizedException accessDenied(Long accountId) {
         return new UnauthorizedException(
                 ErrorCode.ACCESS_DENIED,
@@ -0,0 +1,126 @@
+package com.kcdevdes.synk.filter;
+
+import com.kcdevdes.synk.config.properties.AppRateLimitProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+/**
+ * Token buckets per client and endpoint class.
+ *
+ * Each bucket is a single "theoretical arrival time" (GCRA): a request is allowed when pushing the TAT
+ * forward by one emission interval keeps it within burst * interval of now. That is equivalent to a
+ * token bucket of size burst refilled at requests-per-second, but the whole state is one long, so
+ * acquiring is a single CAS with no lock and no allocation.
+ *
+ * Buckets live in a ConcurrentHashMap (lock-free reads, per-bin locking only when a client is first
+ * seen), one AtomicLongArray per client indexed by endpoint class. A bucket whose TAT is older than
+ * idle-eviction-ms is full, so evicting it is indistinguishable from keeping it; a request racing
+ * the eviction can at worst lose one token's worth of accounting.
+ */
+@Slf4j
+@Component
+public class ClientRateLimiter {
+
+    public enum EndpointClass {
+        READ, WRITE, SEARCH
+    }
+
+    private static final int CLASS_COUNT = EndpointClass.values().length;
+
+    private final ConcurrentHashMap<String, AtomicLongArray> buckets = new ConcurrentHashMap<>();
+    private final long[] intervalNanos = new long[CLASS_COUNT];
+    private final long[] burstWindowNanos = new long[CLASS_COUNT];
+    private final long idleEvictionNanos;
+    private final LongSupplier clock;
+
+    @Autowired
+    public ClientRateLimiter(AppRateLimitProperties appRateLimitProperties) {
+        this(appRateLimitProperties, System::nanoTime);
+    }
+
+    ClientRateLimiter(AppRateLimitProperties appRateLimitProperties, LongSupplier clock) {
+        configure(EndpointClass.READ, appRateLimitProperties.getRead());
+        configure(EndpointClass.WRITE, appRateLimitProperties.getWrite());
+        configure(EndpointClass.SEARCH, appRateLimitProperties.getSearch());
+        this.idleEvictionNanos = TimeUnit.MILLISECONDS.toNanos(appRateLimitProperties.getIdleEvictionMs());
+        this.clock = clock;
+    }
+
+    /**
+     * @return 0 when the request is allowed, otherwise the nanos until the next token is available
+     */
+    public long tryAcquire(String clientKey, EndpointClass endpointClass) {
+        long now = clock.getAsLong();
+        AtomicLongArray client = buckets.get(clientKey);
+        if (client == null) {
+            client = buckets.computeIfAbsent(clientKey, key -> newClient(now));
+        }
+
+        int index = endpointClass.ordinal();
+        long interval = intervalNanos[index];
+        long burstWindow = burstWindowNanos[index];
+        while (true) {
+            long tat = client.get(index);
+            long newTat = (tat - now > 0 ? tat : now) + interval;
+            long ahead = newTat - now;
+            if (ahead > burstWindow) {
+                return ahead - burstWindow;
+            }
+            if (client.compareAndSet(index, tat, newTat)) {
+                return 0;
+            }
+        }
+    }
+
+    public int trackedClients() {
+        return buckets.size();
+    }
+
+    @Scheduled(
+            fixedDelayString = "${app.rate-limit.idle-eviction-ms:600000}",
+            initialDelayString = "${app.rate-limit.idle-eviction-ms:600000}"
+    )
+    public void evictIdleBuckets() {
+        long now = clock.getAsLong();
+        int before = buckets.size();
+        buckets.values().removeIf(client -> isIdle(client, now));
+        int evicted = before - buckets.size();
+        if (evicted > 0) {
+            log.debug("event=rate_limit_buckets_evicted evicted={} remaining={}", evicted, buckets.size());
+        }
+    }
+
+    private boolean isIdle(AtomicLongArray client, long now) {
+        for (int i = 0; i < CLASS_COUNT; i++) {
+            if (now - client.get(i) < idleEvictionNanos) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static AtomicLongArray newClient(long now) {
+        AtomicLongArray client = new AtomicLongArray(CLASS_COUNT);
+        for (int i = 0; i < CLASS_COUNT; i++) {
+            client.set(i, now);
+        }
+        return client;
+    }
+
+    private void configure(EndpointClass endpointClass, AppRateLimitProperties.Limit limit) {
+        if (limit.getRequestsPerSecond() <= 0 || limit.getBurst() < 1) {
+            throw new IllegalArgumentException(
+                    "app.rate-limit." + endpointClass.name().toLowerCase() + " requires requests-per-second > 0 and burst >= 1");
+        }
+        long interval = Math.max(1, Math.round(TimeUnit.SECONDS.toNanos(1) / limit.getRequestsPerSecond()));
+        intervalNanos[endpointClass.ordinal()] = interval;
+        burstWindowNanos[endpointClass.ordinal()] = interval * limit.getBurst();
+    }
+}
@@ -0,0 +1,204 @@
+package com.kcdevdes.synk.filter;
+
+import com.kcdevdes.synk.config.properties.AppRateLimitProperties;
+import com.kcdevdes.synk.dto.common.ErrorResponse;
+import com.kcdevdes.synk.exception.ErrorCode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.web.util.matcher.IpAddressMatcher;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.security.Principal;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-client rate limiting (see {@link ClientRateLimiter}).
+ *
+ * Client = authenticated principal when there is one, otherwise the client IP. X-Forwarded-For is only
+ * believed when the connection comes from one of app.rate-limit.trusted-proxies; anyone else could
+ * pick a fresh key per request by sending their own header. Endpoint class = SEARCH for /search and /filter, READ for GET/HEAD,
+ * WRITE for everything else. Rejected requests get 429 with Retry-After and are counted in
+ * synk.ratelimit.rejected{endpointClass}.
+ */
+@Slf4j
+@Component
+@Order(RateLimitFilter.ORDER)
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    // Spring Security's filter chain runs at -100; go right after it so the principal is available
+    public static final int ORDER = -99;
+
+    private static final String USER_KEY_PREFIX = "user:";
+
+    private final ClientRateLimiter rateLimiter;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final String[] excludedPaths;
+    private final List<IpAddressMatcher> trustedProxies;
+    private final Counter[] rejectedCounters;
+
+    public RateLimitFilter(
+            ClientRateLimiter rateLimiter,
+            AppRateLimitProperties appRateLimitProperties,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry
+    ) {
+        this.rateLimiter = rateLimiter;
+        this.objectMapper = objectMapper;
+        this.enabled = appRateLimitProperties.isEnabled();
+        List<String> excluded = appRateLimitProperties.getExcludedPaths();
+        this.excludedPaths = excluded.toArray(new String[0]);
+        this.trustedProxies = appRateLimitProperties.getTrustedProxies().stream()
+                .map(IpAddressMatcher::new)
+                .toList();
+
+        ClientRateLimiter.EndpointClass[] classes = ClientRateLimiter.EndpointClass.values();
+        this.rejectedCounters = new Counter[classes.length];
+        for (ClientRateLimiter.EndpointClass endpointClass : classes) {
+            rejectedCounters[endpointClass.ordinal()] = Counter.builder("synk.ratelimit.rejected")
+                    .tag("endpointClass", endpointClass.name())
+                    .register(meterRegistry);
+        }
+        Gauge.builder("synk.ratelimit.clients", rateLimiter, ClientRateLimiter::trackedClients)
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!enabled) {
+            return true;
+        }
+        String uri = request.getRequestURI();
+        for (String excludedPath : excludedPaths) {
+            if (uri.startsWith(excludedPath)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+        ClientRateLimiter.EndpointClass endpointClass = classify(request);
+        String clientKey = resolveClientKey(request);
+
+        long waitNanos = rateLimiter.tryAcquire(clientKey, endpointClass);
+        if (waitNanos == 0) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        rejectedCounters[endpointClass.ordinal()].increment();
+        long retryAfterSeconds = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+        log.debug(
+                "event=rate_limited client={} endpointClass={} method={} path={} retryAfterSeconds={}",
+                clientKey,
+                endpointClass,
+                request.getMethod(),
+                request.getRequestURI(),
+                retryAfterSeconds
+        );
+        writeRejection(request, response, retryAfterSeconds);
+    }
+
+    static ClientRateLimiter.EndpointClass classify(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        if (uri.contains("/search") || uri.contains("/filter")) {
+            return ClientRateLimiter.EndpointClass.SEARCH;
+        }
+        String method = request.getMethod();
+        if ("GET".equals(method) || "HEAD".equals(method)) {
+            return ClientRateLimiter.EndpointClass.READ;
+        }
+        return ClientRateLimiter.EndpointClass.WRITE;
+    }
+
+    private String resolveClientKey(HttpServletRequest request) {
+        Principal principal = request.getUserPrincipal();
+        if (principal != null) {
+            return USER_KEY_PREFIX + principal.getName();
+        }
+        return resolveClientIp(request, trustedProxies);
+    }
+
+    /**
+     * remoteAddr, unless it is a trusted proxy: then the right-most X-Forwarded-For hop that is not
+     * itself a trusted proxy (hops left of it were written by the client), or X-Real-IP without one.
+     */
+    static String resolveClientIp(HttpServletRequest request, List<IpAddressMatcher> trustedProxies) {
+        String remoteAddr = request.getRemoteAddr();
+        if (!isTrusted(remoteAddr, trustedProxies)) {
+            return remoteAddr;
+        }
+        String forwarded = request.getHeader("X-Forwarded-For");
+        if (forwarded == null || forwarded.isBlank()) {
+            String realIp = request.getHeader("X-Real-IP");
+            return realIp == null || realIp.isBlank() ? remoteAddr : realIp.trim();
+        }
+        String client = remoteAddr;
+        String[] hops = forwarded.split(",");
+        for (int i = hops.length - 1; i >= 0; i--) {
+            String hop = hops[i].trim();
+            if (hop.isEmpty()) {
+                break;
+            }
+            client = hop;
+            if (!isTrusted(hop, trustedProxies)) {
+                break;
+            }
+        }
+        return client;
+    }
+
+    private static boolean isTrusted(String address, List<IpAddressMatcher> trustedProxies) {
+        for (IpAddressMatcher proxy : trustedProxies) {
+            try {
+                if (proxy.matches(address)) {
+                    return true;
+                }
+            } catch (IllegalArgumentException e) {
+                // not an IP literal (hostname or garbage in the header): never a trusted proxy
+                return false;
+            }
+        }
+        return false;
+    }
+
+    private void writeRejection(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            long retryAfterSeconds
+    ) throws IOException {
+        ErrorCode errorCode = ErrorCode.RATE_LIMIT_EXCEEDED;
+        ErrorResponse body = new ErrorResponse(
+                errorCode.getCode(),
+                errorCode.getMessage(),
+                Instant.now(),
+                request.getRequestURI(),
+                null
+        );
+
+        response.setStatus(errorCode.getStatus().value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+}
@@ -1,5 +1,7 @@
 package com.kcdevdes.synk.filter;
 
+import com.kcdevdes.synk.config.properties.AppJdbcProperties;
+import com.kcdevdes.synk.jdbc.SqlStatistics;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -11,6 +13,7 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 @Slf4j
 @Component
@@ -18,6 +21,19 @@ public class RequestLoggingFilter extends OncePerRequestFilter {
 
     public static final String REQUEST_ID_HEADER = "X-Request-Id";
     public static final String REQUEST_ID_MDC_KEY = "requestId";
+    public static final String SQL_COUNT_MDC_KEY = "sqlCount";
+    public static final String DB_TIME_MDC_KEY = "dbTimeMs";
+
+    private final boolean sqlStatisticsEnabled;
+    private final int statementBudget;
+    private final int maxReportedShapes;
+
+    public RequestLoggingFilter(AppJdbcProperties appJdbcProperties) {
+        AppJdbcProperties.Instrumentation instrumentation = appJdbcProperties.getInstrumentation();
+        this.sqlStatisticsEnabled = instrumentation.isEnabled();
+        this.statementBudget = instrumentation.getStatementBudget();
+        this.maxReportedShapes = instrumentation.getMaxReportedShapes();
+    }
 
     @Override
     protected void doFilterInternal(
@@ -25,16 +41,17 @@ public class RequestLoggingFilter extends OncePerRequestFilter {
             HttpServletResponse response,
             FilterChain filterChain
     ) throws ServletException, IOException {
-        long startTime = System.currentTimeMillis();
+        long startTime = System.nanoTime();
         String requestId = resolveRequestId(request);
 
         MDC.put(REQUEST_ID_MDC_KEY, requestId);
         response.setHeader(REQUEST_ID_HEADER, requestId);
+        SqlStatistics sqlStatistics = sqlStatisticsEnabled ? SqlStatistics.begin() : null;
 
         try {
             filterChain.doFilter(request, response);
         } finally {
-            long durationMs = System.currentTimeMillis() - startTime;
+            long durationMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
             int status = response.getStatus();
             String clientIp = resolveClientIp(request);
             String method = request.getMethod();
@@ -42,16 +59,65 @@ public class RequestLoggingFilter extends OncePerRequestFilter {
             String query = request.getQueryString();
             String path = (query == null) ? uri : uri + "?" + query;
 
+            if (sqlStatistics == null) {
+                log.info(
+                        "event=http_request method={} path={} status={} durationMs={} clientIp={}",
+                        method,
+                        path,
+                        status,
+                        durationMs,
+                        clientIp
+                );
+            } else {
+                SqlStatistics.end();
+                logWithSqlStatistics(sqlStatistics, method, path, status, durationMs, clientIp);
+            }
+
+            MDC.remove(REQUEST_ID_MDC_KEY);
+        }
+    }
+
+    private void logWithSqlStatistics(
+            SqlStatistics sqlStatistics,
+            String method,
+            String path,
+            int status,
+            long durationMs,
+            String clientIp
+    ) {
+        int sqlCount = sqlStatistics.getStatementCount();
+        long dbTimeMs = TimeUnit.NANOSECONDS.toMillis(sqlStatistics.getDbTimeNanos());
+        long appTimeMs = Math.max(0, durationMs - dbTimeMs);
+
+        MDC.put(SQL_COUNT_MDC_KEY, String.valueOf(sqlCount));
+        MDC.put(DB_TIME_MDC_KEY, String.valueOf(dbTimeMs));
+        try {
             log.info(
-                    "event=http_request method={} path={} status={} durationMs={} clientIp={}",
+                    "event=http_request method={} path={} status={} durationMs={} sqlCount={} rowsFetched={} dbTimeMs={} appTimeMs={} clientIp={}",
                     method,
                     path,
                     status,
                     durationMs,
+                    sqlCount,
+                    sqlStatistics.getRowsFetched(),
+                    dbTimeMs,
+                    appTimeMs,
                     clientIp
             );
 
-            MDC.remove(REQUEST_ID_MDC_KEY);
+            if (sqlCount > statementBudget) {
+                log.warn(
+                        "event=probable_n_plus_one method={} path={} sqlCount={} budget={} topStatements={}",
+                        method,
+                        path,
+                        sqlCount,
+                        statementBudget,
+                        sqlStatistics.topStatementShapes(maxReportedShapes)
+                );
+            }
+        } finally {
+            MDC.remove(SQL_COUNT_MDC_KEY);
+            MDC.remove(DB_TIME_MDC_KEY);
         }
     }
 
@@ -63,10 +129,11 @@ public class RequestLoggingFilter extends OncePerRequestFilter {
         return UUID.randomUUID().toString();
     }
 
-    private String resolveClientIp(HttpServletRequest request) {
+    static String resolveClientIp(HttpServletRequest request) {
         String forwarded = request.getHeader("X-Forwarded-For");
         if (forwarded != null && !forwarded.isBlank()) {
-            String first = forwarded.split(",")[0].trim();
+            int comma = forwarded.indexOf(',');
+            String first = (comma < 0 ? forwarded : forwarded.substring(0, comma)).trim();
             if (!first.isBlank()) {
                 return first;
             }
@@ -0,0 +1,233 @@
+package com.kcdevdes.synk.importer;
+
+import com.kcdevdes.synk.entity.type.TransactionType;
+import com.kcdevdes.synk.exception.custom.InvalidInputException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.TemporalAccessor;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * RFC 4180 CSV (quoted fields may hold commas, quotes and line breaks) with a header row.
+ *
+ * Columns are found by header name, case and spaces/underscores ignored:
+ * - date (or occurred_at, transaction_date, posted_date): yyyy-MM-dd (UTC) or ISO-8601 date-time
+ * - amount: '.' decimal separator, negative or (parenthesized) for money out, ',' grouping ignored
+ * - merchant (or payee, name); description (or memo) stands in when there is no merchant column
+ * - optional type (INCOME, EXPENSE, TRANSFER, CREDIT, DEBIT), currency, category, description
+ */
+final class CsvRowReader implements RowReader {
+
+    private static final int MAX_RECORD_CHARS = 64 * 1024;
+
+    private final BufferedReader in;
+    private final List<String> fields = new ArrayList<>();
+    private final StringBuilder field = new StringBuilder();
+    private long line = 1;
+    private boolean headerRead;
+
+    private int dateColumn = -1;
+    private int amountColumn = -1;
+    private int typeColumn = -1;
+    private int merchantColumn = -1;
+    private int currencyColumn = -1;
+    private int categoryColumn = -1;
+    private int descriptionColumn = -1;
+
+    CsvRowReader(BufferedReader in) {
+        this.in = in;
+    }
+
+    @Override
+    public ImportRow next() throws IOException {
+        if (!headerRead) {
+            readHeader();
+            headerRead = true;
+        }
+        while (true) {
+            long start = line;
+            if (!readRecord(start)) {
+                return null;
+            }
+            if (fields.size() == 1 && fields.get(0).isBlank()) {
+                continue;
+            }
+            return toRow(start);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    private void readHeader() throws IOException {
+        in.mark(1);
+        if (in.read() != '\uFEFF') { // byte order mark
+            in.reset();
+        }
+        if (!readRecord(line)) {
+            throw InvalidInputException.importFile("file is empty");
+        }
+        for (int i = 0; i < fields.size(); i++) {
+            String name = fields.get(i).toLowerCase(Locale.ROOT).replaceAll("[\\s_\\-]", "");
+            switch (name) {
+                case "date", "occurredat", "transactiondate", "posteddate", "postingdate" -> dateColumn = i;
+                case "amount" -> amountColumn = i;
+                case "type" -> typeColumn = i;
+                case "merchant", "payee", "name" -> merchantColumn = i;
+                case "currency" -> currencyColumn = i;
+                case "category" -> categoryColumn = i;
+                case "description", "memo" -> descriptionColumn = i;
+                default -> {
+                }
+            }
+        }
+        if (merchantColumn < 0) {
+            merchantColumn = descriptionColumn;
+            descriptionColumn = -1;
+        }
+        if (dateColumn < 0 || amountColumn < 0 || merchantColumn < 0) {
+            throw InvalidInputException.importFile("CSV header needs date, amount and merchant (or description) columns");
+        }
+    }
+
+    private ImportRow toRow(long start) {
+        Instant occurredAt;
+        try {
+            occurredAt = parseDate(value(dateColumn));
+        } catch (DateTimeParseException e) {
+            return ImportRow.failed(start, "date must be yyyy-MM-dd or an ISO-8601 date-time");
+        }
+
+        BigDecimal amount;
+        try {
+            amount = parseAmount(value(amountColumn));
+        } catch (NumberFormatException e) {
+            return ImportRow.failed(start, "amount is not a number");
+        }
+
+        TransactionType type = null;
+        String rawType = value(typeColumn);
+        if (rawType != null) {
+            type = parseType(rawType);
+            if (type == null) {
+                return ImportRow.failed(start, "type must be INCOME, EXPENSE or TRANSFER");
+            }
+        }
+
+        return new ImportRow(start, occurredAt, amount, type, value(merchantColumn), value(currencyColumn),
+                value(categoryColumn), value(descriptionColumn), null, 0, null);
+    }
+
+    /**
+     * Reads one record into fields; false at end of file
+     */
+    private boolean readRecord(long start) throws IOException {
+        fields.clear();
+        field.setLength(0);
+        int c = in.read();
+        if (c == -1) {
+            return false;
+        }
+
+        boolean quoted = false;
+        int length = 0;
+        while (true) {
+            if (c == -1) {
+                if (quoted) {
+                    throw InvalidInputException.importFile("unterminated quote in the record on line " + start);
+                }
+                fields.add(field.toString());
+                return true;
+            }
+            if (++length > MAX_RECORD_CHARS) {
+                throw InvalidInputException.importFile("record on line " + start + " is longer than " + MAX_RECORD_CHARS + " characters");
+            }
+
+            if (quoted) {
+                if (c == '"') {
+                    int following = in.read();
+                    if (following != '"') {
+                        quoted = false;
+                        c = following;
+                        continue;
+                    }
+                    field.append('"');
+                } else {
+                    if (c == '\n') {
+                        line++;
+                    }
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n') {
+                line++;
+                fields.add(field.toString());
+                return true;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+            c = in.read();
+        }
+    }
+
+    private String value(int column) {
+        if (column < 0 || column >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(column).strip();
+        return value.isEmpty() ? null : value;
+    }
+
+    static Instant parseDate(String value) {
+        if (value == null) {
+            throw new DateTimeParseException("missing", "", 0);
+        }
+        if (value.length() == 10) {
+            return LocalDate.parse(value).atStartOfDay(ZoneOffset.UTC).toInstant();
+        }
+        TemporalAccessor parsed = DateTimeFormatter.ISO_DATE_TIME.parseBest(value, OffsetDateTime::from, LocalDateTime::from);
+        return parsed instanceof OffsetDateTime offset
+                ? offset.toInstant()
+                : ((LocalDateTime) parsed).toInstant(ZoneOffset.UTC);
+    }
+
+    static BigDecimal parseAmount(String value) {
+        if (value == null) {
+            throw new NumberFormatException("missing");
+        }
+        String digits = value;
+        boolean negative = false;
+        if (digits.startsWith("(") && digits.endsWith(")")) {
+            negative = true;
+            digits = digits.substring(1, digits.length() - 1);
+        }
+        BigDecimal amount = new BigDecimal(digits.replace(",", "").replace(" ", ""));
+        return negative ? amount.negate() : amount;
+    }
+
+    private static TransactionType parseType(String value) {
+        return switch (value.toUpperCase(Locale.ROOT)) {
+            case "INCOME", "CREDIT" -> TransactionType.INCOME;
+            case "EXPENSE", "DEBIT" -> TransactionType.EXPENSE;
+            case "TRANSFER" -> TransactionType.TRANSFER;
+            default -> null;
+        };
+    }
+}
@@ -0,0 +1,45 @@
+package com.kcdevdes.synk.importer;
+
+import com.kcdevdes.synk.exception.custom.InvalidInputException;
+
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+public enum ImportFormat {
+    CSV,
+    OFX;
+
+    private static final int READ_BUFFER_CHARS = 64 * 1024;
+
+    /**
+     * The requested format, else the one the file extension names (.csv, .ofx, .qfx)
+     */
+    static ImportFormat of(String requested, String fileName) {
+        if (requested != null && !requested.isBlank()) {
+            try {
+                return valueOf(requested.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw InvalidInputException.importFile("format must be CSV or OFX");
+            }
+        }
+        String name = fileName == null ? "" : fileName.toLowerCase(Locale.ROOT);
+        if (name.endsWith(".csv")) {
+            return CSV;
+        }
+        if (name.endsWith(".ofx") || name.endsWith(".qfx")) {
+            return OFX;
+        }
+        throw InvalidInputException.importFile("upload a .csv, .ofx or .qfx file or pass format=CSV or OFX");
+    }
+
+    RowReader open(InputStream in) {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), READ_BUFFER_CHARS);
+        return switch (this) {
+            case CSV -> new CsvRowReader(reader);
+            case OFX -> new OfxRowReader(reader);
+        };
+    }
+}
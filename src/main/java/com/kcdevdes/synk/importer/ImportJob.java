@@ -0,0 +1,147 @@
+package com.kcdevdes.synk.importer;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Progress of one statement import; updated by the pipeline threads, read by status requests
+ */
+public final class ImportJob {
+
+    public enum Status {
+        QUEUED, RUNNING, COMPLETED, FAILED
+    }
+
+    private final String id;
+    private final Long accountId;
+    private final ImportFormat format;
+    private final String fileName;
+    private final long fileSize;
+    private final int maxErrors;
+    private final Instant createdAt = Instant.now();
+
+    private volatile Status status = Status.QUEUED;
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+    private volatile String failure;
+
+    final AtomicLong bytesRead = new AtomicLong();
+    final AtomicLong rowsRead = new AtomicLong();
+    private final LongAdder imported = new LongAdder();
+    private final LongAdder duplicates = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final AtomicInteger errorCount = new AtomicInteger();
+    private final Queue<String> errors = new ConcurrentLinkedQueue<>();
+
+    ImportJob(String id, Long accountId, ImportFormat format, String fileName, long fileSize, int maxErrors) {
+        this.id = id;
+        this.accountId = accountId;
+        this.format = format;
+        this.fileName = fileName;
+        this.fileSize = fileSize;
+        this.maxErrors = maxErrors;
+    }
+
+    void started() {
+        startedAt = Instant.now();
+        status = Status.RUNNING;
+    }
+
+    void completed() {
+        finishedAt = Instant.now();
+        status = Status.COMPLETED;
+    }
+
+    void failed(String reason) {
+        failure = reason;
+        finishedAt = Instant.now();
+        status = Status.FAILED;
+    }
+
+    void imported(long count) {
+        imported.add(count);
+    }
+
+    void duplicate() {
+        duplicates.increment();
+    }
+
+    /**
+     * Counts the row; the first max-errors reasons are kept for the status response
+     */
+    void reject(long line, String reason) {
+        rejected.increment();
+        if (errorCount.getAndIncrement() < maxErrors) {
+            errors.add("line " + line + ": " + reason);
+        }
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public Long getAccountId() {
+        return accountId;
+    }
+
+    public ImportFormat getFormat() {
+        return format;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public long getFileSize() {
+        return fileSize;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    public String getFailure() {
+        return failure;
+    }
+
+    public long getBytesRead() {
+        return bytesRead.get();
+    }
+
+    public long getRowsRead() {
+        return rowsRead.get();
+    }
+
+    public long getImported() {
+        return imported.sum();
+    }
+
+    public long getDuplicates() {
+        return duplicates.sum();
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    public List<String> getErrors() {
+        return List.copyOf(errors);
+    }
+}
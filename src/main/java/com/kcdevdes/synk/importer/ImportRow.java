@@ -0,0 +1,41 @@
+package com.kcdevdes.synk.importer;
+
+import com.kcdevdes.synk.entity.type.TransactionType;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * One statement line as read from the file, before validation
+ *
+ * @param line       line the row starts on (1-based)
+ * @param amount     signed as in the file; negative is money out
+ * @param type       explicit type, or null to take it from the sign of amount
+ * @param currency   null for the account currency
+ * @param externalId bank's id for the transaction (OFX FITID), null for CSV
+ * @param occurrence how many identical rows (same day, amount, merchant) came before this one in the file
+ * @param error      why the row could not be read; the other values may be null
+ */
+record ImportRow(
+        long line,
+        Instant occurredAt,
+        BigDecimal amount,
+        TransactionType type,
+        String merchant,
+        String currency,
+        String category,
+        String description,
+        String externalId,
+        int occurrence,
+        String error
+) {
+
+    static ImportRow failed(long line, String error) {
+        return new ImportRow(line, null, null, null, null, null, null, null, null, 0, error);
+    }
+
+    ImportRow withOccurrence(int occurrence) {
+        return new ImportRow(line, occurredAt, amount, type, merchant, currency, category, description,
+                externalId, occurrence, error);
+    }
+}
@@ -0,0 +1,141 @@
+package com.kcdevdes.synk.importer;
+
+import com.kcdevdes.synk.dto.request.TransactionCreateDTO;
+import com.kcdevdes.synk.entity.AccountEntity;
+import com.kcdevdes.synk.entity.TransactionEntity;
+import com.kcdevdes.synk.entity.type.TransactionType;
+import com.kcdevdes.synk.exception.custom.BusinessException;
+import com.kcdevdes.synk.mapper.TransactionMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Turns an ImportRow into a transaction the same way POST /api/transactions would accept it.
+ *
+ * Statement text is cleaned first so ordinary bank descriptions are not rejected: merchant
+ * characters outside the API's pattern become spaces, '<' '>' are dropped from category and
+ * description, and all three are cut to their column length. The result is mapped to a
+ * TransactionCreateDTO, checked with its bean validation constraints and converted with
+ * TransactionMapper (InputSanitizer). Thread-safe.
+ */
+final class ImportRowValidator {
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    });
+
+    private final Validator validator;
+
+    ImportRowValidator(Validator validator) {
+        this.validator = validator;
+    }
+
+    /**
+     * @return the transaction (not saved, importHash set), or the reason the row is rejected
+     */
+    ImportRecord validate(ImportRow row, AccountEntity account) {
+        if (row.error() != null) {
+            return ImportRecord.rejected(row.line(), row.error());
+        }
+
+        TransactionType type = row.type() != null
+                ? row.type()
+                : (row.amount().signum() < 0 ? TransactionType.EXPENSE : TransactionType.INCOME);
+
+        TransactionCreateDTO dto = new TransactionCreateDTO();
+        dto.setType(type.name());
+        dto.setAmount(row.amount().abs());
+        dto.setMerchant(cleanMerchant(row.merchant()));
+        dto.setCurrency(row.currency() != null ? row.currency().toUpperCase(Locale.ROOT) : account.getCurrency());
+        dto.setCategory(cleanText(row.category(), 64));
+        dto.setDescription(cleanText(row.description(), 512));
+        dto.setAccountId(account.getId());
+
+        Set<ConstraintViolation<TransactionCreateDTO>> violations = validator.validate(dto);
+        if (!violations.isEmpty()) {
+            ConstraintViolation<TransactionCreateDTO> violation = violations.iterator().next();
+            return ImportRecord.rejected(row.line(), violation.getPropertyPath() + " " + violation.getMessage());
+        }
+
+        TransactionEntity transaction;
+        try {
+            transaction = TransactionMapper.toEntity(dto);
+        } catch (BusinessException e) {
+            return ImportRecord.rejected(row.line(), e.getMessage());
+        }
+        transaction.setAccount(account);
+        transaction.setUser(account.getUser());
+        transaction.setOccurredAt(row.occurredAt());
+        transaction.setImportHash(hash(transaction, row));
+        return new ImportRecord(row.line(), transaction, null);
+    }
+
+    /**
+     * SHA-256 of what identifies the statement line: the bank's id when it has one, else its content
+     * and its position among identical lines
+     */
+    static String hash(TransactionEntity transaction, ImportRow row) {
+        String identity = row.externalId() != null ? "id:" + row.externalId() : "n:" + row.occurrence();
+        String content = transaction.getOccurredAt().toEpochMilli()
+                + "|" + transaction.getType()
+                + "|" + transaction.getAmount().setScale(2).toPlainString()
+                + "|" + transaction.getCurrency()
+                + "|" + transaction.getMerchant().toLowerCase(Locale.ROOT)
+                + "|" + identity;
+        MessageDigest digest = SHA_256.get();
+        return HexFormat.of().formatHex(digest.digest(content.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static String cleanMerchant(String value) {
+        if (value == null) {
+            return null;
+        }
+        StringBuilder cleaned = new StringBuilder(Math.min(value.length(), 128));
+        boolean space = true; // drops leading and repeated spaces
+        for (int i = 0; i < value.length() && cleaned.length() < 128; i++) {
+            char c = value.charAt(i);
+            boolean allowed = (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9')
+                    || c == '.' || c == '-' || c == '\'';
+            if (allowed) {
+                cleaned.append(c);
+                space = false;
+            } else if (!space) {
+                cleaned.append(' ');
+                space = true;
+            }
+        }
+        return cleaned.toString().strip();
+    }
+
+    private static String cleanText(String value, int maxLength) {
+        if (value == null) {
+            return null;
+        }
+        String cleaned = value.replace('<', ' ').replace('>', ' ').strip();
+        if (cleaned.length() > maxLength) {
+            cleaned = cleaned.substring(0, maxLength).strip();
+        }
+        return cleaned.isEmpty() ? null : cleaned;
+    }
+
+    /**
+     * @param transaction null when rejected
+     */
+    record ImportRecord(long line, TransactionEntity transaction, String error) {
+
+        static ImportRecord rejected(long line, String error) {
+            return new ImportRecord(line, null, error);
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.kcdevdes.synk.importer;
+
+import com.kcdevdes.synk.entity.type.TransactionType;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * OFX 1.x (SGML, leaf tags without end tags) and 2.x (XML) bank statements.
+ *
+ * The file is tokenized tag by tag; only the fields of the STMTTRN being read are held. Per
+ * transaction: DTPOSTED, TRNAMT (signed), NAME (else MEMO) as merchant, MEMO as description, FITID as
+ * the external id, TRNTYPE XFER as TRANSFER (other types go by the sign). The statement's CURDEF is
+ * the currency of the transactions after it.
+ */
+final class OfxRowReader implements RowReader {
+
+    private static final int MAX_TAG_CHARS = 64;
+    private static final int MAX_TEXT_CHARS = 4096;
+
+    private final BufferedReader in;
+    private final StringBuilder text = new StringBuilder();
+    private long line = 1;
+    private int pending = -1;
+    private String currency;
+
+    OfxRowReader(BufferedReader in) {
+        this.in = in;
+    }
+
+    @Override
+    public ImportRow next() throws IOException {
+        Map<String, String> transaction = null;
+        long start = 0;
+        String leaf = null;
+        while (true) {
+            String value = readText();
+            if (leaf != null && !value.isEmpty()) {
+                if (transaction != null) {
+                    transaction.put(leaf, value);
+                } else if (leaf.equals("CURDEF")) {
+                    currency = value;
+                }
+            }
+            leaf = null;
+
+            String tag = readTag();
+            if (tag == null) {
+                return null;
+            }
+            if (tag.isEmpty() || tag.charAt(0) == '?' || tag.charAt(0) == '!') {
+                continue;
+            }
+            if (tag.charAt(0) == '/') {
+                if (transaction != null && tag.equalsIgnoreCase("/STMTTRN")) {
+                    return toRow(start, transaction);
+                }
+                continue;
+            }
+            String name = tag.toUpperCase(Locale.ROOT);
+            if (name.equals("STMTTRN")) {
+                transaction = new HashMap<>();
+                start = line;
+            } else {
+                leaf = name;
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    private ImportRow toRow(long start, Map<String, String> transaction) {
+        Instant occurredAt;
+        try {
+            occurredAt = parseDate(transaction.get("DTPOSTED"));
+        } catch (DateTimeException | IndexOutOfBoundsException | NumberFormatException e) {
+            return ImportRow.failed(start, "DTPOSTED must be YYYYMMDD[HHMMSS[.XXX]][[offset:TZ]]");
+        }
+
+        BigDecimal amount;
+        try {
+            amount = new BigDecimal(transaction.getOrDefault("TRNAMT", "").replace(',', '.'));
+        } catch (NumberFormatException e) {
+            return ImportRow.failed(start, "TRNAMT is not a number");
+        }
+
+        String memo = transaction.get("MEMO");
+        String name = transaction.get("NAME");
+        TransactionType type = "XFER".equalsIgnoreCase(transaction.get("TRNTYPE")) ? TransactionType.TRANSFER : null;
+        return new ImportRow(start, occurredAt, amount, type, name != null ? name : memo, currency, null,
+                name != null ? memo : null, transaction.get("FITID"), 0, null);
+    }
+
+    /**
+     * Text up to the next '<' (or end of file), entity-decoded and trimmed
+     */
+    private String readText() throws IOException {
+        text.setLength(0);
+        int c;
+        while ((c = read()) != -1 && c != '<') {
+            if (text.length() < MAX_TEXT_CHARS) {
+                text.append((char) c);
+            }
+        }
+        if (c == '<') {
+            pending = '<';
+        }
+        return decode(text.toString().strip());
+    }
+
+    /**
+     * Tag name between '<' and '>', null at end of file
+     */
+    private String readTag() throws IOException {
+        if (read() != '<') {
+            return null;
+        }
+        text.setLength(0);
+        int c;
+        while ((c = read()) != -1 && c != '>') {
+            if (text.length() < MAX_TAG_CHARS) {
+                text.append((char) c);
+            }
+        }
+        // XML: <NAME attr="..."> or <EMPTY/>
+        String tag = text.toString().strip();
+        int space = tag.indexOf(' ');
+        return space > 0 ? tag.substring(0, space) : tag;
+    }
+
+    private int read() throws IOException {
+        if (pending != -1) {
+            int c = pending;
+            pending = -1;
+            return c;
+        }
+        int c = in.read();
+        if (c == '\n') {
+            line++;
+        }
+        return c;
+    }
+
+    private static String decode(String value) {
+        if (value.indexOf('&') < 0) {
+            return value;
+        }
+        return value.replace("&lt;", "<").replace("&gt;", ">").replace("&quot;", "\"")
+                .replace("&apos;", "'").replace("&nbsp;", " ").replace("&amp;", "&");
+    }
+
+    /**
+     * YYYYMMDD[HHMMSS[.XXX]][[+-hours[.fraction]:TZ]], UTC when there is no offset
+     */
+    static Instant parseDate(String value) {
+        if (value == null) {
+            throw new DateTimeException("missing");
+        }
+        LocalDate date = LocalDate.of(
+                Integer.parseInt(value.substring(0, 4)),
+                Integer.parseInt(value.substring(4, 6)),
+                Integer.parseInt(value.substring(6, 8)));
+        LocalTime time = LocalTime.MIDNIGHT;
+        if (value.length() >= 14 && Character.isDigit(value.charAt(8))) {
+            time = LocalTime.of(
+                    Integer.parseInt(value.substring(8, 10)),
+                    Integer.parseInt(value.substring(10, 12)),
+                    Integer.parseInt(value.substring(12, 14)));
+        }
+
+        ZoneOffset offset = ZoneOffset.UTC;
+        int open = value.indexOf('[');
+        if (open >= 0) {
+            int end = value.indexOf(':', open);
+            if (end < 0) {
+                end = value.indexOf(']', open);
+            }
+            double hours = Double.parseDouble(value.substring(open + 1, end));
+            offset = ZoneOffset.ofTotalSeconds((int) Math.round(hours * 3600));
+        }
+        return date.atTime(time).toInstant(offset);
+    }
+}
@@ -0,0 +1,16 @@
+package com.kcdevdes.synk.importer;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Reads a statement file one transaction at a time; nothing before the current row is kept
+ */
+interface RowReader extends Closeable {
+
+    /**
+     * @return the next row (with error set if its values could not be read), null at end of file
+     * @throws com.kcdevdes.synk.exception.custom.InvalidInputException if the file itself is unusable
+     */
+    ImportRow next() throws IOException;
+}
@@ -0,0 +1,468 @@
+package com.kcdevdes.synk.importer;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.kcdevdes.synk.audit.AuditLogger;
+import com.kcdevdes.synk.budget.BudgetTracker;
+import com.kcdevdes.synk.config.properties.AppImportProperties;
+import com.kcdevdes.synk.entity.AccountEntity;
+import com.kcdevdes.synk.entity.TransactionEntity;
+import com.kcdevdes.synk.entity.type.TransactionStatus;
+import com.kcdevdes.synk.exception.custom.BusinessException;
+import com.kcdevdes.synk.exception.custom.CapacityExceededException;
+import com.kcdevdes.synk.exception.custom.InvalidInputException;
+import com.kcdevdes.synk.exception.custom.ResourceNotFoundException;
+import com.kcdevdes.synk.importer.ImportRowValidator.ImportRecord;
+import com.kcdevdes.synk.service.AccountService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Imports a CSV or OFX statement file into one account, in the background.
+ *
+ * The upload is moved to a temp file and the request returns an ImportJob to poll. Then:
+ * 1. reader (virtual thread): parses the file one row at a time (CsvRowReader, OfxRowReader)
+ *    into batches of batch-size rows
+ * 2. validators (ForkJoinPool of app.import.parallelism, shared): clean, validate and hash each
+ *    batch (ImportRowValidator)
+ * 3. writer (virtual thread): takes batches in file order, drops rows whose import_hash the account
+ *    already has, and inserts the rest with one JDBC batch per batch
+ * At most max-in-flight-batches batches sit between reader and writer, so memory does not grow with
+ * the file. Each batch commits on its own: a failed import keeps what it wrote, and uploading the
+ * file again adds only the missing rows.
+ *
+ * Dedupe is by (account_id, import_hash): the bank's FITID when present, else date, type, amount,
+ * currency, merchant and the row's position among identical rows of the same day. Identical rows
+ * are numbered assuming the file is grouped by day, as bank exports are.
+ *
+ * Imported rows are COMPLETED and not scored; per-row outbox messages, change events and audit
+ * records are not written (one audit record per import). Budgets are re-totalled at the end.
+ */
+@Slf4j
+@Component
+public class TransactionImporter {
+
+    private static final String INSERT_SQL = "INSERT INTO transactions (type, amount, merchant, currency, status, "
+            + "occurred_at, updated_at, deleted, description, category, user_id, account_id, import_hash) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final Future<List<ImportRecord>> END = CompletableFuture.completedFuture(List.of());
+
+    private final AppImportProperties properties;
+    private final AccountService accountService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final BudgetTracker budgetTracker;
+    private final AuditLogger auditLogger;
+    private final ImportRowValidator rowValidator;
+    private final Cache<String, ImportJob> jobs;
+    private final AtomicInteger running = new AtomicInteger();
+    private final ExecutorService pipelines = Executors.newVirtualThreadPerTaskExecutor();
+    private final ForkJoinPool validators;
+
+    private final Timer runTimer;
+    private final Counter importedCounter;
+    private final Counter duplicateCounter;
+    private final Counter rejectedCounter;
+
+    public TransactionImporter(
+            AppImportProperties properties,
+            AccountService accountService,
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            BudgetTracker budgetTracker,
+            AuditLogger auditLogger,
+            Validator validator,
+            MeterRegistry meterRegistry
+    ) {
+        this.properties = properties;
+        this.accountService = accountService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.budgetTracker = budgetTracker;
+        this.auditLogger = auditLogger;
+        this.rowValidator = new ImportRowValidator(validator);
+        this.jobs = Caffeine.newBuilder()
+                .expireAfterAccess(Duration.ofMillis(properties.getRetentionMs()))
+                .build();
+        this.validators = new ForkJoinPool(Math.max(1, properties.getParallelism()), pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("import-validate-" + thread.getPoolIndex());
+            return thread;
+        }, null, false);
+
+        this.runTimer = Timer.builder("synk.import.run")
+                .description("Statement import run time")
+                .register(meterRegistry);
+        this.importedCounter = Counter.builder("synk.import.rows")
+                .tag("result", "imported")
+                .description("Statement rows imported")
+                .register(meterRegistry);
+        this.duplicateCounter = Counter.builder("synk.import.rows")
+                .tag("result", "duplicate")
+                .description("Statement rows skipped as already imported")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("synk.import.rows")
+                .tag("result", "rejected")
+                .description("Statement rows that failed parsing or validation")
+                .register(meterRegistry);
+        Gauge.builder("synk.import.running", running, AtomicInteger::get)
+                .description("Imports running on this node")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Validates the request, spools the file and starts the import
+     * @param requestedFormat CSV or OFX, null to go by the file extension
+     */
+    public ImportJob start(Long accountId, MultipartFile file, String requestedFormat) {
+        ImportFormat format = ImportFormat.of(requestedFormat, file.getOriginalFilename());
+        if (file.isEmpty()) {
+            throw InvalidInputException.importFile("file is empty");
+        }
+        AccountEntity account = accountService.getAccountById(accountId);
+
+        int maxConcurrent = properties.getMaxConcurrent();
+        if (running.incrementAndGet() > maxConcurrent) {
+            running.decrementAndGet();
+            throw CapacityExceededException.imports(maxConcurrent);
+        }
+
+        Path spool = null;
+        try {
+            // the multipart temp file is deleted when the request ends; this moves it out of the way
+            spool = Files.createTempFile("synk-import-", "." + format.name().toLowerCase(Locale.ROOT));
+            file.transferTo(spool);
+        } catch (IOException e) {
+            running.decrementAndGet();
+            deleteSpool(spool);
+            throw new UncheckedIOException(e);
+        } catch (RuntimeException e) {
+            running.decrementAndGet();
+            deleteSpool(spool);
+            throw e;
+        }
+
+        ImportJob job = new ImportJob(UUID.randomUUID().toString(), accountId, format, file.getOriginalFilename(),
+                file.getSize(), properties.getMaxErrors());
+        jobs.put(job.getId(), job);
+        Path spooled = spool;
+        pipelines.execute(() -> run(job, account, spooled));
+        log.info("event=transaction_import_started importId={} accountId={} format={} bytes={}",
+                job.getId(), accountId, format, job.getFileSize());
+        return job;
+    }
+
+    public ImportJob status(String importId) {
+        ImportJob job = jobs.getIfPresent(importId);
+        if (job == null) {
+            throw ResourceNotFoundException.importJob(importId);
+        }
+        return job;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pipelines.shutdownNow();
+        validators.shutdownNow();
+    }
+
+    private void run(ImportJob job, AccountEntity account, Path spool) {
+        long start = System.nanoTime();
+        job.started();
+        try {
+            runTimer.recordCallable(() -> {
+                pipeline(job, account, spool);
+                return null;
+            });
+            job.completed();
+        } catch (BusinessException e) {
+            job.failed(e.getMessage());
+            log.warn("event=transaction_import_failed importId={} reason={}", job.getId(), e.getMessage());
+        } catch (Exception e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            job.failed("Import failed after " + job.getRowsRead() + " rows");
+            log.warn("event=transaction_import_failed importId={}", job.getId(), e);
+        } finally {
+            running.decrementAndGet();
+            deleteSpool(spool);
+            Long userId = account.getUser().getId();
+            if (job.getImported() > 0) {
+                budgetTracker.budgetsChanged(userId);
+            }
+            auditLogger.transactionsImported(account.getId(), userId, job.getImported(), job.getDuplicates(), job.getRejected());
+
+            long durationMs = Duration.ofNanos(System.nanoTime() - start).toMillis();
+            log.info("event=transaction_import_completed importId={} accountId={} status={} rows={} imported={} duplicates={} rejected={} durationMs={} rowsPerSec={}",
+                    job.getId(), account.getId(), job.getStatus(), job.getRowsRead(), job.getImported(),
+                    job.getDuplicates(), job.getRejected(), durationMs,
+                    durationMs == 0 ? job.getRowsRead() : job.getRowsRead() * 1000 / durationMs);
+        }
+    }
+
+    private void pipeline(ImportJob job, AccountEntity account, Path spool) throws Exception {
+        BlockingQueue<Future<List<ImportRecord>>> batches = new ArrayBlockingQueue<>(Math.max(1, properties.getMaxInFlightBatches()));
+        Future<?> writer = pipelines.submit(() -> {
+            while (true) {
+                Future<List<ImportRecord>> next = batches.take();
+                if (next == END) {
+                    return null;
+                }
+                write(job, next.get());
+            }
+        });
+
+        int batchSize = Math.max(1, properties.getBatchSize());
+        Exception readFailure = null;
+        try (InputStream in = new CountingInputStream(Files.newInputStream(spool), job.bytesRead);
+             RowReader reader = job.getFormat().open(in)) {
+            Occurrences occurrences = new Occurrences();
+            List<ImportRow> batch = new ArrayList<>(batchSize);
+            ImportRow row;
+            while ((row = reader.next()) != null) {
+                job.rowsRead.incrementAndGet();
+                batch.add(occurrences.number(row));
+                if (batch.size() == batchSize) {
+                    handOff(batches, validate(batch, account), writer);
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+            if (!batch.isEmpty()) {
+                handOff(batches, validate(batch, account), writer);
+            }
+        } catch (Exception e) {
+            readFailure = e;
+        }
+
+        // rows read before a failure are still written
+        handOff(batches, END, writer);
+        try {
+            writer.get();
+        } catch (ExecutionException e) {
+            if (readFailure == null) {
+                throw e.getCause() instanceof Exception cause ? cause : e;
+            }
+        }
+        if (readFailure != null) {
+            throw readFailure;
+        }
+    }
+
+    private Future<List<ImportRecord>> validate(List<ImportRow> batch, AccountEntity account) {
+        return validators.submit(() -> {
+            List<ImportRecord> records = new ArrayList<>(batch.size());
+            for (ImportRow row : batch) {
+                records.add(rowValidator.validate(row, account));
+            }
+            return records;
+        });
+    }
+
+    /**
+     * Blocks while max-in-flight-batches are queued; gives up if the writer has stopped
+     */
+    private static void handOff(BlockingQueue<Future<List<ImportRecord>>> batches,
+                                Future<List<ImportRecord>> batch, Future<?> writer) throws Exception {
+        while (!batches.offer(batch, 100, TimeUnit.MILLISECONDS)) {
+            if (writer.isDone()) {
+                writer.get();
+                throw new IllegalStateException("Import writer stopped");
+            }
+        }
+    }
+
+    private void write(ImportJob job, List<ImportRecord> records) {
+        Map<String, ImportRecord> fresh = new LinkedHashMap<>();
+        for (ImportRecord record : records) {
+            if (record.transaction() == null) {
+                reject(job, record.line(), record.error());
+            } else if (fresh.putIfAbsent(record.transaction().getImportHash(), record) != null) {
+                duplicate(job);
+            }
+        }
+        if (fresh.isEmpty()) {
+            return;
+        }
+
+        List<Object> args = new ArrayList<>(fresh.size() + 1);
+        args.add(job.getAccountId());
+        args.addAll(fresh.keySet());
+        String placeholders = String.join(",", Collections.nCopies(fresh.size(), "?"));
+        List<String> existing = jdbcTemplate.queryForList(
+                "SELECT import_hash FROM transactions WHERE account_id = ? AND import_hash IN (" + placeholders + ")",
+                String.class, args.toArray());
+        for (String hash : existing) {
+            if (fresh.remove(hash) != null) {
+                duplicate(job);
+            }
+        }
+        if (fresh.isEmpty()) {
+            return;
+        }
+
+        List<ImportRecord> inserts = new ArrayList<>(fresh.values());
+        Timestamp now = Timestamp.from(Instant.now());
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    jdbcTemplate.batchUpdate(INSERT_SQL, inserts, inserts.size(), (ps, record) -> bind(ps, record, now)));
+            imported(job, inserts.size());
+        } catch (DataIntegrityViolationException e) {
+            // the same lines committed by a concurrent import, or a row the database refuses: one by one
+            for (ImportRecord record : inserts) {
+                try {
+                    jdbcTemplate.update(INSERT_SQL, ps -> bind(ps, record, now));
+                    imported(job, 1);
+                } catch (DuplicateKeyException duplicateKey) {
+                    duplicate(job);
+                } catch (DataIntegrityViolationException invalid) {
+                    reject(job, record.line(), "rejected by the database");
+                }
+            }
+        }
+    }
+
+    private static void bind(PreparedStatement ps, ImportRecord record, Timestamp now) throws SQLException {
+        TransactionEntity transaction = record.transaction();
+        ps.setString(1, transaction.getType().name());
+        ps.setBigDecimal(2, transaction.getAmount());
+        ps.setString(3, transaction.getMerchant());
+        ps.setString(4, transaction.getCurrency());
+        ps.setString(5, TransactionStatus.COMPLETED.name());
+        ps.setTimestamp(6, Timestamp.from(transaction.getOccurredAt()));
+        ps.setTimestamp(7, now);
+        ps.setBoolean(8, false);
+        ps.setString(9, transaction.getDescription());
+        ps.setString(10, transaction.getCategory());
+        ps.setLong(11, transaction.getUser().getId());
+        ps.setLong(12, transaction.getAccount().getId());
+        ps.setString(13, transaction.getImportHash());
+    }
+
+    private void imported(ImportJob job, int count) {
+        job.imported(count);
+        importedCounter.increment(count);
+    }
+
+    private void duplicate(ImportJob job) {
+        job.duplicate();
+        duplicateCounter.increment();
+    }
+
+    private void reject(ImportJob job, long line, String reason) {
+        job.reject(line, reason);
+        rejectedCounter.increment();
+    }
+
+    private static void deleteSpool(Path spool) {
+        if (spool == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(spool);
+        } catch (IOException e) {
+            log.warn("event=transaction_import_spool_delete_failed path={}", spool, e);
+        }
+    }
+
+    /**
+     * Numbers identical rows (same time, type, amount, merchant) in file order; the map only holds
+     * the current day's rows
+     */
+    private static final class Occurrences {
+
+        private final Map<String, Integer> seen = new HashMap<>();
+        private LocalDate day;
+
+        ImportRow number(ImportRow row) {
+            if (row.error() != null || row.externalId() != null) {
+                return row;
+            }
+            LocalDate rowDay = LocalDate.ofInstant(row.occurredAt(), ZoneOffset.UTC);
+            if (!rowDay.equals(day)) {
+                seen.clear();
+                day = rowDay;
+            }
+            String key = row.occurredAt().toEpochMilli() + "|" + row.type() + "|" + row.amount().stripTrailingZeros().toPlainString()
+                    + "|" + (row.merchant() == null ? "" : row.merchant().toLowerCase(Locale.ROOT));
+            int occurrence = seen.merge(key, 1, Integer::sum) - 1;
+            return occurrence == 0 ? row : row.withOccurrence(occurrence);
+        }
+    }
+
+    /**
+     * Counts bytes taken from the spooled file (status progress)
+     */
+    private static final class CountingInputStream extends FilterInputStream {
+
+        private final AtomicLong count;
+
+        CountingInputStream(InputStream in, AtomicLong count) {
+            super(in);
+            this.count = count;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b != -1) {
+                count.incrementAndGet();
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) throws IOException {
+            int read = super.read(bytes, offset, length);
+            if (read > 0) {
+                count.addAndGet(read);
+            }
+            return read;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.kcdevdes.synk.jdbc;
+
+import com.kcdevdes.synk.config.properties.AppThreadingProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+/**
+ * Wraps the Hikari DataSource with a {@link BulkheadDataSource} when app.threading.bulkhead.enabled=true.
+ * Permit count and wait time default to the pool's own maximum-pool-size / connection-timeout.
+ */
+@Slf4j
+public class JdbcBulkheadPostProcessor implements BeanPostProcessor, EnvironmentAware, Ordered {
+
+    private AppThreadingProperties.Bulkhead bulkhead = new AppThreadingProperties.Bulkhead();
+
+    @Override
+    public void setEnvironment(Environment environment) {
+        this.bulkhead = Binder.get(environment)
+                .bind("app.threading", AppThreadingProperties.class)
+                .map(AppThreadingProperties::getBulkhead)
+                .orElseGet(AppThreadingProperties.Bulkhead::new);
+    }
+
+    // Innermost wrapper: sits directly on Hikari, below JdbcInstrumentationPostProcessor
+    @Override
+    public int getOrder() {
+        return 0;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+        if (!bulkhead.isEnabled() || !(bean instanceof HikariDataSource hikari)) {
+            return bean;
+        }
+
+        int maxConcurrent = bulkhead.getMaxConcurrent() > 0
+                ? bulkhead.getMaxConcurrent()
+                : hikari.getMaximumPoolSize();
+        long acquireTimeoutMs = bulkhead.getAcquireTimeoutMs() > 0
+                ? bulkhead.getAcquireTimeoutMs()
+                : hikari.getConnectionTimeout();
+
+        log.info("event=jdbc_bulkhead_enabled dataSource={} maxConcurrent={} acquireTimeoutMs={}",
+                beanName, maxConcurrent, acquireTimeoutMs);
+
+        return new BulkheadDataSource(hikari, maxConcurrent, acquireTimeoutMs);
+    }
+}
@@ -0,0 +1,45 @@
+package com.kcdevdes.synk.jdbc;
+
+import com.kcdevdes.synk.config.properties.AppJdbcProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the DataSource with an {@link InstrumentedDataSource} when app.jdbc.instrumentation.enabled=true.
+ * Runs after {@link JdbcBulkheadPostProcessor}, so bulkhead waits are not counted as database time.
+ */
+@Slf4j
+public class JdbcInstrumentationPostProcessor implements BeanPostProcessor, EnvironmentAware, Ordered {
+
+    private boolean enabled = true;
+
+    @Override
+    public void setEnvironment(Environment environment) {
+        this.enabled = Binder.get(environment)
+                .bind("app.jdbc", AppJdbcProperties.class)
+                .map(properties -> properties.getInstrumentation().isEnabled())
+                .orElse(true);
+    }
+
+    @Override
+    public int getOrder() {
+        return 10;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+        if (!enabled || !(bean instanceof DataSource dataSource) || bean instanceof InstrumentedDataSource) {
+            return bean;
+        }
+
+        log.info("event=jdbc_instrumentation_enabled dataSource={}", beanName);
+        return new InstrumentedDataSource(dataSource);
+    }
+}
@@ -0,0 +1,94 @@
+package com.kcdevdes.synk.jdbc;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * JDBC work done on the current thread between {@link #begin()} and {@link #end()}.
+ *
+ * Filled in by {@link InstrumentedDataSource}; RequestLoggingFilter opens one per HTTP request.
+ * Not thread-safe on purpose: a request's JDBC calls all happen on the request thread.
+ */
+public final class SqlStatistics {
+
+    private static final ThreadLocal<SqlStatistics> CURRENT = new ThreadLocal<>();
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("(?<![\\w.])-?\\d+(?:\\.\\d+)?(?![\\w.])");
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private int statementCount;
+    private long rowsFetched;
+    private long dbTimeNanos;
+    private final Map<String, Integer> executionsBySql = new HashMap<>();
+
+    private SqlStatistics() {
+    }
+
+    public static SqlStatistics begin() {
+        SqlStatistics statistics = new SqlStatistics();
+        CURRENT.set(statistics);
+        return statistics;
+    }
+
+    /**
+     * @return statistics for the current thread, or null when nothing is being recorded
+     */
+    public static SqlStatistics current() {
+        return CURRENT.get();
+    }
+
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    void recordStatement(String sql, long elapsedNanos) {
+        statementCount++;
+        dbTimeNanos += elapsedNanos;
+        executionsBySql.merge(sql == null ? "<unknown>" : sql, 1, Integer::sum);
+    }
+
+    void recordFetch(boolean rowReturned, long elapsedNanos) {
+        dbTimeNanos += elapsedNanos;
+        if (rowReturned) {
+            rowsFetched++;
+        }
+    }
+
+    public int getStatementCount() {
+        return statementCount;
+    }
+
+    public long getRowsFetched() {
+        return rowsFetched;
+    }
+
+    public long getDbTimeNanos() {
+        return dbTimeNanos;
+    }
+
+    /**
+     * Normalized statement shapes (literals and IN lists collapsed), most executed first.
+     */
+    public Map<String, Integer> topStatementShapes(int limit) {
+        Map<String, Integer> byShape = new HashMap<>();
+        executionsBySql.forEach((sql, count) -> byShape.merge(normalize(sql), count, Integer::sum));
+
+        Map<String, Integer> top = new LinkedHashMap<>();
+        byShape.entrySet().stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                .limit(limit)
+                .forEach(entry -> top.put(entry.getKey(), entry.getValue()));
+        return top;
+    }
+
+    static String normalize(String sql) {
+        String shape = STRING_LITERAL.matcher(sql).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        shape = IN_LIST.matcher(shape).replaceAll("(?...)");
+        return WHITESPACE.matcher(shape).replaceAll(" ").trim();
+    }
+}
@@ -0,0 +1,348 @@
+package com.kcdevdes.synk.login;
+
+import com.kcdevdes.synk.audit.AuditLogger;
+import com.kcdevdes.synk.config.properties.AppLoginProperties;
+import com.kcdevdes.synk.repository.LoginAttemptState;
+import com.kcdevdes.synk.repository.UserRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/**
+ * Login failure counting and lockout, in memory, with write-behind to the users table.
+ *
+ * - Per user: the last max-attempts failure times in a ring; when the oldest of them is inside
+ *   window-ms the user is locked for lock-duration-ms. A success clears failures and the lock.
+ * - Per client IP: the same with ip-max-attempts, never persisted (stops one IP cycling accounts).
+ * - Lock checks are answered from memory. A user's first check after startup/eviction seeds the
+ *   state from the DB with one projection query (failedLoginAttempts, lockedUntil).
+ * - failedLoginAttempts/lockedUntil/lastLoginAt are flushed every flush-interval-ms as JDBC batch
+ *   updates of the changed users only, so a burst of failures costs memory writes, not row updates.
+ *   A failed flush re-queues the users; @PreDestroy flushes what is left.
+ *
+ * State is per node: with several nodes each enforces the limit on the attempts it sees, and the
+ * DB lock (seeded on first check) is what carries over between nodes and restarts.
+ */
+@Slf4j
+@Component
+public class LoginAttemptTracker {
+
+    private static final String UPDATE_SQL =
+            "UPDATE users SET failed_login_attempts = ?, locked_until = ?, "
+                    + "last_login_at = COALESCE(?, last_login_at), updated_at = ? WHERE id = ?";
+
+    private final AppLoginProperties properties;
+    private final UserRepository userRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final AuditLogger auditLogger;
+    private final LongSupplier clock;
+
+    private final Map<Long, Attempts> users = new ConcurrentHashMap<>();
+    private final Map<String, Attempts> clientIps = new ConcurrentHashMap<>();
+    private final Set<Long> dirty = ConcurrentHashMap.newKeySet();
+
+    @Autowired
+    public LoginAttemptTracker(
+            AppLoginProperties properties,
+            UserRepository userRepository,
+            JdbcTemplate jdbcTemplate,
+            AuditLogger auditLogger,
+            MeterRegistry meterRegistry
+    ) {
+        this(properties, userRepository, jdbcTemplate, auditLogger, System::currentTimeMillis);
+        Gauge.builder("synk.login.tracked.users", users, Map::size)
+                .description("Users with in-memory login attempt state")
+                .register(meterRegistry);
+        Gauge.builder("synk.login.pending.flush", dirty, Set::size)
+                .description("Users whose login attempt state is not yet written to the DB")
+                .register(meterRegistry);
+    }
+
+    LoginAttemptTracker(
+            AppLoginProperties properties,
+            UserRepository userRepository,
+            JdbcTemplate jdbcTemplate,
+            AuditLogger auditLogger,
+            LongSupplier clock
+    ) {
+        this.properties = properties;
+        this.userRepository = userRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.auditLogger = auditLogger;
+        this.clock = clock;
+    }
+
+    /**
+     * True if the user is locked, or clientIp (nullable) has too many recent failures
+     */
+    public boolean isLocked(Long userId, String clientIp) {
+        long now = clock.getAsLong();
+        if (clientIp != null) {
+            Attempts ip = clientIps.get(clientIp);
+            if (ip != null && ip.lockedAt(now)) {
+                return true;
+            }
+        }
+        Attempts user = userAttempts(userId);
+        return user != null && user.lockedAt(now);
+    }
+
+    public void recordFailure(Long userId, String clientIp) {
+        long now = clock.getAsLong();
+        if (clientIp != null) {
+            clientIps.computeIfAbsent(clientIp, ip -> new Attempts(properties.getIpMaxAttempts(), 0, 0, now))
+                    .recordFailure(now, properties.getWindowMs(), properties.getLockDurationMs());
+        }
+
+        while (true) {
+            Attempts user = userAttempts(userId);
+            if (user == null) {
+                return;
+            }
+            user.lock.lock();
+            try {
+                if (user.evicted) {
+                    continue;
+                }
+                int failures = user.recordFailure(now, properties.getWindowMs(), properties.getLockDurationMs());
+                dirty.add(userId);
+                if (failures >= properties.getMaxAttempts()) {
+                    log.warn("event=account_locked userId={} failedAttempts={}", userId, failures);
+                    auditLogger.accountLocked(userId, failures);
+                }
+                return;
+            } finally {
+                user.lock.unlock();
+            }
+        }
+    }
+
+    public void recordSuccess(Long userId) {
+        update(userId, user -> {
+            user.clear();
+            user.lastLoginAt = clock.getAsLong();
+        });
+    }
+
+    /**
+     * Clears failures and the lock (password reset)
+     */
+    public void reset(Long userId) {
+        update(userId, Attempts::clear);
+    }
+
+    @Scheduled(fixedDelayString = "${app.login.flush-interval-ms:1000}")
+    public void flush() {
+        if (dirty.isEmpty()) {
+            return;
+        }
+
+        long now = clock.getAsLong();
+        List<Row> batch = new ArrayList<>(properties.getFlushBatchSize());
+        for (Iterator<Long> iterator = dirty.iterator(); iterator.hasNext(); ) {
+            Long userId = iterator.next();
+            // remove before snapshotting: a concurrent change re-adds the id and is flushed next time
+            iterator.remove();
+            Attempts user = users.get(userId);
+            if (user == null) {
+                continue;
+            }
+            batch.add(user.snapshot(userId, now, properties.getWindowMs()));
+            if (batch.size() == properties.getFlushBatchSize()) {
+                write(batch, now);
+                batch = new ArrayList<>(properties.getFlushBatchSize());
+            }
+        }
+        if (!batch.isEmpty()) {
+            write(batch, now);
+        }
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        flush();
+    }
+
+    @Scheduled(fixedDelayString = "${app.login.eviction-interval-ms:60000}")
+    public void evictIdle() {
+        long now = clock.getAsLong();
+        long idleBefore = now - properties.getWindowMs();
+        users.forEach((userId, user) -> {
+            user.lock.lock();
+            try {
+                if (user.lastActivity < idleBefore && !user.lockedAt(now) && !dirty.contains(userId)) {
+                    user.evicted = true;
+                    users.remove(userId, user);
+                }
+            } finally {
+                user.lock.unlock();
+            }
+        });
+        clientIps.values().removeIf(ip -> ip.lastActivity < idleBefore && !ip.lockedAt(now));
+    }
+
+    int trackedUsers() {
+        return users.size();
+    }
+
+    private void update(Long userId, Consumer<Attempts> change) {
+        while (true) {
+            Attempts user = userAttempts(userId);
+            if (user == null) {
+                return;
+            }
+            user.lock.lock();
+            try {
+                if (user.evicted) {
+                    continue;
+                }
+                change.accept(user);
+                user.lastActivity = clock.getAsLong();
+                dirty.add(userId);
+                return;
+            } finally {
+                user.lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * In-memory state, seeded from the DB on first use; null if the user does not exist
+     */
+    private Attempts userAttempts(Long userId) {
+        Attempts user = users.get(userId);
+        if (user != null) {
+            return user;
+        }
+        // DB read outside computeIfAbsent so the map bin is not held during I/O
+        LoginAttemptState state = userRepository.findLoginAttemptState(userId).orElse(null);
+        if (state == null) {
+            return null;
+        }
+        long now = clock.getAsLong();
+        int failures = state.failedLoginAttempts() == null ? 0 : state.failedLoginAttempts();
+        long lockedUntil = state.lockedUntil() == null ? 0 : state.lockedUntil().toEpochMilli();
+        // persisted failures have no timestamps: count them as of now, one short of a lock
+        int seededFailures = Math.min(failures, properties.getMaxAttempts() - 1);
+        Attempts seeded = new Attempts(properties.getMaxAttempts(), seededFailures, lockedUntil, now);
+        Attempts existing = users.putIfAbsent(userId, seeded);
+        return existing != null ? existing : seeded;
+    }
+
+    private void write(List<Row> batch, long now) {
+        try {
+            jdbcTemplate.batchUpdate(UPDATE_SQL, batch, batch.size(), (ps, row) -> {
+                ps.setInt(1, row.failedAttempts());
+                ps.setObject(2, timestamp(row.lockedUntil()), Types.TIMESTAMP);
+                ps.setObject(3, timestamp(row.lastLoginAt()), Types.TIMESTAMP);
+                ps.setTimestamp(4, timestamp(now));
+                ps.setLong(5, row.userId());
+            });
+            log.debug("event=login_attempts_flushed users={}", batch.size());
+        } catch (RuntimeException e) {
+            batch.forEach(row -> dirty.add(row.userId()));
+            log.warn("event=login_attempts_flush_failed users={}", batch.size(), e);
+        }
+    }
+
+    private static Timestamp timestamp(long epochMillis) {
+        return epochMillis == 0 ? null : Timestamp.from(Instant.ofEpochMilli(epochMillis));
+    }
+
+    private record Row(long userId, int failedAttempts, long lockedUntil, long lastLoginAt) {
+    }
+
+    /**
+     * Failure times (epoch ms) of the last maxAttempts failures, oldest at next when full
+     */
+    private static final class Attempts {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final long[] failures;
+        private int count;
+        private int next;
+        // written under lock, read without it by lockedAt (isLocked is on every login)
+        private volatile long lockedUntil;
+        private long lastLoginAt;
+        private volatile long lastActivity;
+        private boolean evicted;
+
+        Attempts(int maxAttempts, int seededFailures, long lockedUntil, long now) {
+            this.failures = new long[maxAttempts];
+            for (int i = 0; i < seededFailures; i++) {
+                failures[next] = now;
+                next = (next + 1) % failures.length;
+            }
+            this.count = seededFailures;
+            this.lockedUntil = lockedUntil;
+            this.lastActivity = now;
+        }
+
+        /**
+         * Returns the failures inside the window, including this one
+         */
+        int recordFailure(long now, long windowMs, long lockDurationMs) {
+            lock.lock();
+            try {
+                failures[next] = now;
+                next = (next + 1) % failures.length;
+                count = Math.min(count + 1, failures.length);
+                lastActivity = now;
+
+                int inWindow = failuresInWindow(now, windowMs);
+                if (inWindow >= failures.length) {
+                    lockedUntil = now + lockDurationMs;
+                }
+                return inWindow;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        boolean lockedAt(long now) {
+            return lockedUntil > now;
+        }
+
+        void clear() {
+            count = 0;
+            next = 0;
+            lockedUntil = 0;
+        }
+
+        Row snapshot(long userId, long now, long windowMs) {
+            lock.lock();
+            try {
+                return new Row(userId, failuresInWindow(now, windowMs), lockedUntil, lastLoginAt);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private int failuresInWindow(long now, long windowMs) {
+            int inWindow = 0;
+            for (int i = 0; i < count; i++) {
+                if (now - failures[i] < windowMs) {
+                    inWindow++;
+                }
+            }
+            return inWindow;
+        }
+    }
+}
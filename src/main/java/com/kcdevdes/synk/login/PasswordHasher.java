@@ -0,0 +1,185 @@
+package com.kcdevdes.synk.login;
+
+import com.kcdevdes.synk.config.properties.AppPasswordProperties;
+import com.kcdevdes.synk.exception.custom.CapacityExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.regex.Pattern;
+
+/**
+ * BCrypt hashing and verification on a dedicated bounded pool.
+ *
+ * A hash costs ~target-hash-ms of CPU, so it does not run on request threads: requests hand it to a
+ * fixed pool with a bounded queue and wait up to wait-timeout-ms. A full queue or an expired wait
+ * sheds the request with 503 SERVICE_BUSY instead of letting logins pile up behind each other.
+ *
+ * The cost is calibrated on startup: time a hash at min-cost and take the highest cost (each step
+ * doubles the time) whose estimate stays within target-hash-ms. needsRehash() reports hashes with a
+ * lower cost than the current one, and stored values that are not BCrypt at all (users created
+ * before hashing was added), so UserService.authenticate can upgrade them after a successful login.
+ */
+@Slf4j
+@Component
+public class PasswordHasher {
+
+    private static final Pattern BCRYPT_PATTERN = Pattern.compile("\\A\\$2[aby]?\\$\\d\\d\\$[./0-9A-Za-z]{53}");
+    private static final int CALIBRATION_ROUNDS = 3;
+
+    private final BCryptPasswordEncoder encoder;
+    private final int cost;
+    private final String dummyHash;
+    private final ThreadPoolExecutor executor;
+    private final long waitTimeoutMs;
+
+    private final Timer hashTimer;
+    private final Timer verifyTimer;
+    private final Counter rejectedCounter;
+
+    public PasswordHasher(AppPasswordProperties properties, MeterRegistry meterRegistry) {
+        int poolSize = properties.getPoolSize() > 0
+                ? properties.getPoolSize()
+                : Runtime.getRuntime().availableProcessors();
+        this.executor = new ThreadPoolExecutor(
+                poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, properties.getQueueCapacity())),
+                Thread.ofPlatform().name("password-hash-", 0).daemon(true).factory(),
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+        this.waitTimeoutMs = properties.getWaitTimeoutMs();
+
+        this.cost = properties.isCalibrate() ? calibrate(properties) : properties.getCost();
+        this.encoder = new BCryptPasswordEncoder(cost);
+        // verified against for unknown users, so they take as long as a wrong password
+        this.dummyHash = encoder.encode("synk-timing-equalizer");
+
+        this.hashTimer = Timer.builder("synk.password.hash")
+                .description("BCrypt time per operation, excluding queue wait")
+                .tag("operation", "hash")
+                .register(meterRegistry);
+        this.verifyTimer = Timer.builder("synk.password.hash")
+                .description("BCrypt time per operation, excluding queue wait")
+                .tag("operation", "verify")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("synk.password.hash.rejected")
+                .description("Hash/verify requests shed because the pool was saturated")
+                .register(meterRegistry);
+        Gauge.builder("synk.password.hash.queue", executor, e -> e.getQueue().size())
+                .description("Hash/verify requests waiting for a pool thread")
+                .register(meterRegistry);
+        Gauge.builder("synk.password.hash.cost", () -> cost)
+                .description("BCrypt cost used for new hashes")
+                .register(meterRegistry);
+    }
+
+    public String hash(String rawPassword) {
+        return run(() -> hashTimer.record(() -> encoder.encode(rawPassword)));
+    }
+
+    /**
+     * storedPassword null (unknown user) burns one verification and returns false
+     */
+    public boolean matches(String rawPassword, String storedPassword) {
+        if (storedPassword != null && !isBcrypt(storedPassword)) {
+            // legacy plain-text value
+            return MessageDigest.isEqual(
+                    rawPassword.getBytes(StandardCharsets.UTF_8),
+                    storedPassword.getBytes(StandardCharsets.UTF_8)
+            );
+        }
+        String hash = storedPassword != null ? storedPassword : dummyHash;
+        boolean matches = run(() -> verifyTimer.record(() -> encoder.matches(rawPassword, hash)));
+        return matches && storedPassword != null;
+    }
+
+    public boolean needsRehash(String storedPassword) {
+        return !isBcrypt(storedPassword) || encoder.upgradeEncoding(storedPassword);
+    }
+
+    public int cost() {
+        return cost;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    <T> T run(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            log.warn("event=password_hash_rejected queued={}", executor.getQueue().size());
+            throw CapacityExceededException.passwordHashing();
+        }
+
+        try {
+            return future.get(waitTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejectedCounter.increment();
+            log.warn("event=password_hash_timeout waitTimeoutMs={}", waitTimeoutMs);
+            throw CapacityExceededException.passwordHashing();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw CapacityExceededException.passwordHashing();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private static boolean isBcrypt(String storedPassword) {
+        return storedPassword != null && BCRYPT_PATTERN.matcher(storedPassword).matches();
+    }
+
+    private static int calibrate(AppPasswordProperties properties) {
+        BCryptPasswordEncoder probe = new BCryptPasswordEncoder(properties.getMinCost());
+        probe.encode("synk-calibration"); // warm-up
+        long bestNanos = Long.MAX_VALUE;
+        for (int i = 0; i < CALIBRATION_ROUNDS; i++) {
+            long start = System.nanoTime();
+            probe.encode("synk-calibration");
+            bestNanos = Math.min(bestNanos, System.nanoTime() - start);
+        }
+
+        double measuredMs = bestNanos / 1_000_000.0;
+        int cost = properties.getMinCost();
+        double estimatedMs = measuredMs;
+        while (cost < properties.getMaxCost() && estimatedMs * 2 <= properties.getTargetHashMs()) {
+            cost++;
+            estimatedMs *= 2;
+        }
+
+        if (measuredMs > properties.getTargetHashMs()) {
+            log.warn("event=password_cost_calibrated cost={} measuredMs={} targetHashMs={} note=min_cost_exceeds_target",
+                    cost, String.format("%.1f", measuredMs), properties.getTargetHashMs());
+        } else {
+            log.info("event=password_cost_calibrated cost={} measuredMs={} estimatedMs={} targetHashMs={}",
+                    cost, String.format("%.1f", measuredMs), String.format("%.1f", estimatedMs),
+                    properties.getTargetHashMs());
+        }
+        return cost;
+    }
+}
@@ -0,0 +1,39 @@
+package com.kcdevdes.synk.mapper;
+
+import com.kcdevdes.synk.budget.BudgetTracker;
+import com.kcdevdes.synk.dto.request.BudgetCreateDTO;
+import com.kcdevdes.synk.dto.response.BudgetDTO;
+import com.kcdevdes.synk.entity.BudgetEntity;
+import com.kcdevdes.synk.util.InputSanitizer;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+
+@Component
+public class BudgetMapper {
+
+    public static BudgetDTO toDTO(BudgetEntity entity, BigDecimal spent) {
+        BudgetDTO dto = new BudgetDTO();
+        dto.setId(entity.getId());
+        dto.setCategory(entity.getCategory());
+        dto.setCurrency(entity.getCurrency());
+        dto.setMonthlyLimit(entity.getMonthlyLimit());
+        dto.setSpent(spent);
+        dto.setRemaining(entity.getMonthlyLimit().subtract(spent));
+        dto.setCreatedAt(entity.getCreatedAt());
+        dto.setUpdatedAt(entity.getUpdatedAt());
+
+        return dto;
+    }
+
+    public static BudgetEntity toEntity(BudgetCreateDTO dto) {
+        BudgetEntity entity = new BudgetEntity();
+        String category = InputSanitizer.sanitizePlainText(dto.getCategory(), "category");
+        entity.setCategory(category);
+        entity.setCategoryKey(BudgetTracker.categoryKey(category));
+        entity.setCurrency(dto.getCurrency());
+        entity.setMonthlyLimit(dto.getMonthlyLimit());
+
+        return entity;
+    }
+}
@@ -0,0 +1,41 @@
+package com.kcdevdes.synk.mapper;
+
+import com.kcdevdes.synk.dto.response.ImportStatusDTO;
+import com.kcdevdes.synk.importer.ImportJob;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+
+@Component
+public class ImportStatusMapper {
+
+    public static ImportStatusDTO toDTO(ImportJob job) {
+        ImportStatusDTO dto = new ImportStatusDTO();
+        dto.setId(job.getId());
+        dto.setAccountId(job.getAccountId());
+        dto.setFormat(job.getFormat().name());
+        dto.setFileName(job.getFileName());
+        dto.setStatus(job.getStatus().name());
+        dto.setRowsRead(job.getRowsRead());
+        dto.setImported(job.getImported());
+        dto.setDuplicates(job.getDuplicates());
+        dto.setRejected(job.getRejected());
+        dto.setErrors(job.getErrors());
+        dto.setFailure(job.getFailure());
+        dto.setCreatedAt(job.getCreatedAt());
+        dto.setStartedAt(job.getStartedAt());
+        dto.setFinishedAt(job.getFinishedAt());
+
+        // 진행률: 읽은 byte 기준 (reader 의 read-ahead 만큼 앞설 수 있음)
+        int percent = job.getFileSize() > 0 ? (int) Math.min(100, job.getBytesRead() * 100 / job.getFileSize()) : 0;
+        dto.setProgressPercent(job.getStatus() == ImportJob.Status.COMPLETED ? 100 : percent);
+
+        if (job.getStartedAt() != null) {
+            Instant end = job.getFinishedAt() != null ? job.getFinishedAt() : Instant.now();
+            long millis = Math.max(1, Duration.between(job.getStartedAt(), end).toMillis());
+            dto.setRowsPerSecond(job.getRowsRead() * 1000 / millis);
+        }
+        return dto;
+    }
+}
@@ -0,0 +1,32 @@
+package com.kcdevdes.synk.mapper;
+
+import com.kcdevdes.synk.dto.response.RecurringPaymentDTO;
+import com.kcdevdes.synk.entity.RecurringPaymentEntity;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+public class RecurringPaymentMapper {
+
+    public static RecurringPaymentDTO toDTO(RecurringPaymentEntity entity) {
+        RecurringPaymentDTO dto = new RecurringPaymentDTO();
+        dto.setId(entity.getId());
+        dto.setMerchant(entity.getMerchant());
+        dto.setCurrency(entity.getCurrency());
+        dto.setAmount(entity.getAmount());
+        dto.setPeriod(entity.getPeriod() != null ? entity.getPeriod().name() : null);
+        dto.setOccurrences(entity.getStreak() + 1); // streak 은 간격 수
+        dto.setLastOccurredAt(entity.getLastOccurredAt());
+        dto.setNextExpectedAt(entity.getNextExpectedAt());
+        dto.setDetectedAt(entity.getDetectedAt());
+
+        return dto;
+    }
+
+    public static List<RecurringPaymentDTO> toDTOList(List<RecurringPaymentEntity> entities) {
+        return entities.stream()
+                .map(RecurringPaymentMapper::toDTO)
+                .toList();
+    }
+}
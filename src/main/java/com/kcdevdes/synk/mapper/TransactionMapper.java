@@ -28,6 +28,8 @@ public class TransactionMapper {
         dto.setOccurredAt(entity.getOccurredAt());
         dto.setUpdatedAt(entity.getUpdatedAt());
         dto.setDeleted(entity.getDeleted());
+        dto.setStatus(entity.getStatus() != null ? entity.getStatus().name() : null);
+        dto.setRiskScore(entity.getRiskScore());
 
         // 환율 정보
         dto.setOriginalAmount(entity.getOriginalAmount());
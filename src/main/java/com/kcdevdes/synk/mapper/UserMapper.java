@@ -36,13 +36,18 @@ public class UserMapper {
         UserEntity entity = new UserEntity();
         entity.setEmail(InputSanitizer.sanitizePlainText(dto.getEmail(), "email"));
         entity.setUsername(InputSanitizer.sanitizePlainText(dto.getUsername(), "username"));
-        entity.setPassword(dto.getPassword()); // 주의: 실제로는 BCrypt 해싱 필요
+        entity.setPassword(dto.getPassword()); // raw, UserService.createUser 에서 해싱
         entity.setFirstName(InputSanitizer.sanitizePlainText(dto.getFirstName(), "firstName"));
         entity.setLastName(InputSanitizer.sanitizePlainText(dto.getLastName(), "lastName"));
         entity.setMobile(InputSanitizer.sanitizePlainText(dto.getMobile(), "mobile"));
         entity.setDefaultCurrency(dto.getDefaultCurrency());
-        entity.setLocale(InputSanitizer.sanitizePlainText(dto.getLocale(), "locale"));
-        entity.setTimezone(InputSanitizer.sanitizePlainText(dto.getTimezone(), "timezone"));
+        // locale, timezone 은 선택: 없으면 UserEntity 기본값 유지 (NOT NULL)
+        if (dto.getLocale() != null) {
+            entity.setLocale(InputSanitizer.sanitizePlainText(dto.getLocale(), "locale"));
+        }
+        if (dto.getTimezone() != null) {
+            entity.setTimezone(InputSanitizer.sanitizePlainText(dto.getTimezone(), "timezone"));
+        }
 
         return entity;
     }
@@ -1,46 +1,168 @@
 package com.kcdevdes.synk.observability;
 
 import com.kcdevdes.synk.config.properties.AppLoggingProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
 import lombok.extern.slf4j.Slf4j;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
 
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every service/repository call into a per-method Micrometer timer (synk.method.duration,
+ * tags class/method, client-side p50/p95/p99) visible at /actuator/metrics/synk.method.duration.
+ * Slow calls are still logged individually, and a percentile summary is logged periodically.
+ */
 @Slf4j
 @Aspect
 @Component
 public class PerformanceLoggingAspect {
 
+    private static final String METRIC_NAME = "synk.method.duration";
+    private static final String APP_PACKAGE = "com.kcdevdes.synk.";
+    private static final double[] PERCENTILES = {0.5, 0.95, 0.99};
+
+    private final long slowThresholdNanos;
     private final long slowThresholdMs;
+    private final MeterRegistry meterRegistry;
+    // proxy class -> method -> metrics; built once per method, not on every call
+    private final ConcurrentMap<Class<?>, ConcurrentMap<Method, MethodMetrics>> metricsByTarget = new ConcurrentHashMap<>();
 
-    public PerformanceLoggingAspect(AppLoggingProperties appLoggingProperties) {
+    public PerformanceLoggingAspect(AppLoggingProperties appLoggingProperties, MeterRegistry meterRegistry) {
         this.slowThresholdMs = appLoggingProperties.getSlowThresholdMs();
+        this.slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowThresholdMs);
+        this.meterRegistry = meterRegistry;
     }
 
     @Around("execution(* com.kcdevdes.synk.service..*(..)) || execution(* com.kcdevdes.synk.repository..*(..))")
     public Object logDuration(ProceedingJoinPoint joinPoint) throws Throwable {
-        long start = System.currentTimeMillis();
+        long start = System.nanoTime();
         try {
             return joinPoint.proceed();
         } finally {
-            long durationMs = System.currentTimeMillis() - start;
-            MethodSignature signature = (MethodSignature) joinPoint.getSignature();
-            String className = signature.getDeclaringType().getSimpleName();
-            String methodName = signature.getName();
+            long durationNanos = System.nanoTime() - start;
+            MethodMetrics metrics = metricsFor(
+                    joinPoint.getThis().getClass(),
+                    ((MethodSignature) joinPoint.getSignature()).getMethod()
+            );
+            metrics.timer().record(durationNanos, TimeUnit.NANOSECONDS);
 
-            if (durationMs >= slowThresholdMs) {
+            if (durationNanos >= slowThresholdNanos) {
                 log.warn(
                         "event=slow_operation class={} method={} durationMs={} thresholdMs={}",
-                        className, methodName, durationMs, slowThresholdMs
+                        metrics.className(), metrics.methodName(),
+                        TimeUnit.NANOSECONDS.toMillis(durationNanos), slowThresholdMs
                 );
-            } else {
+            } else if (log.isDebugEnabled()) {
                 log.debug(
                         "event=operation_timing class={} method={} durationMs={}",
-                        className, methodName, durationMs
+                        metrics.className(), metrics.methodName(), TimeUnit.NANOSECONDS.toMillis(durationNanos)
                 );
             }
         }
     }
+
+    @Scheduled(fixedRateString = "${app.logging.latency-summary-interval-ms:60000}",
+            initialDelayString = "${app.logging.latency-summary-interval-ms:60000}")
+    public void logLatencySummary() {
+        for (ConcurrentMap<Method, MethodMetrics> byMethod : metricsByTarget.values()) {
+            for (MethodMetrics metrics : byMethod.values()) {
+                logSummary(metrics);
+            }
+        }
+    }
+
+    private void logSummary(MethodMetrics metrics) {
+        HistogramSnapshot snapshot = metrics.timer().takeSnapshot();
+        long count = snapshot.count();
+        long newCalls = count - metrics.lastLoggedCount;
+        if (newCalls == 0) {
+            return;
+        }
+        metrics.lastLoggedCount = count;
+
+        ValueAtPercentile[] percentiles = snapshot.percentileValues();
+        log.info(
+                "event=method_latency_summary class={} method={} calls={} p50Ms={} p95Ms={} p99Ms={} maxMs={}",
+                metrics.className(), metrics.methodName(), newCalls,
+                millis(percentiles[0]), millis(percentiles[1]), millis(percentiles[2]),
+                String.format("%.2f", snapshot.max(TimeUnit.MILLISECONDS))
+        );
+    }
+
+    private MethodMetrics metricsFor(Class<?> proxyClass, Method method) {
+        ConcurrentMap<Method, MethodMetrics> byMethod = metricsByTarget.get(proxyClass);
+        if (byMethod == null) {
+            byMethod = metricsByTarget.computeIfAbsent(proxyClass, key -> new ConcurrentHashMap<>());
+        }
+        MethodMetrics metrics = byMethod.get(method);
+        if (metrics != null) {
+            return metrics;
+        }
+        return byMethod.computeIfAbsent(method, m -> {
+            String className = resolveClassName(proxyClass, m);
+            String methodName = m.getName();
+            Timer timer = Timer.builder(METRIC_NAME)
+                    .description("Service and repository method latency")
+                    .tag("class", className)
+                    .tag("method", methodName)
+                    .publishPercentiles(PERCENTILES)
+                    .register(meterRegistry);
+            return new MethodMetrics(className, methodName, timer);
+        });
+    }
+
+    // Repository proxies expose our own interface (UserRepository), not CrudRepository where save() is declared
+    private static String resolveClassName(Class<?> proxyClass, Method method) {
+        if (Proxy.isProxyClass(proxyClass)) {
+            for (Class<?> candidate : proxyClass.getInterfaces()) {
+                if (candidate.getName().startsWith(APP_PACKAGE)) {
+                    return candidate.getSimpleName();
+                }
+            }
+            return method.getDeclaringClass().getSimpleName();
+        }
+        return ClassUtils.getUserClass(proxyClass).getSimpleName();
+    }
+
+    private static String millis(ValueAtPercentile percentile) {
+        return String.format("%.2f", percentile.value(TimeUnit.MILLISECONDS));
+    }
+
+    private static final class MethodMetrics {
+        private final String className;
+        private final String methodName;
+        private final Timer timer;
+        private volatile long lastLoggedCount;
+
+        private MethodMetrics(String className, String methodName, Timer timer) {
+            this.className = className;
+            this.methodName = methodName;
+            this.timer = timer;
+        }
+
+        String className() {
+            return className;
+        }
+
+        String methodName() {
+            return methodName;
+        }
+
+        Timer timer() {
+            return timer;
+        }
+    }
 }
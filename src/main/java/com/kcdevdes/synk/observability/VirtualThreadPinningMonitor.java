@@ -0,0 +1,78 @@
+package com.kcdevdes.synk.observability;
+
+import com.kcdevdes.synk.config.properties.AppThreadingProperties;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordedThread;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Logs carrier-thread pinning (e.g. a virtual thread blocking inside a synchronized block)
+ * from the JFR jdk.VirtualThreadPinned event, so the offending frames in the request path show up in our logs.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.threading.pinning", name = "enabled", havingValue = "true")
+public class VirtualThreadPinningMonitor implements InitializingBean, DisposableBean {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int MAX_FRAMES = 8;
+
+    private final long thresholdMs;
+    private RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(AppThreadingProperties threadingProperties) {
+        this.thresholdMs = threadingProperties.getPinning().getThresholdMs();
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        stream = new RecordingStream();
+        stream.enable(PINNED_EVENT)
+                .withThreshold(Duration.ofMillis(thresholdMs))
+                .withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::logPinned);
+        stream.startAsync();
+        log.info("event=virtual_thread_pinning_monitor_started thresholdMs={}", thresholdMs);
+    }
+
+    @Override
+    public void destroy() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    private void logPinned(RecordedEvent event) {
+        RecordedThread thread = event.getThread();
+        log.warn(
+                "event=virtual_thread_pinned durationMs={} thread={} frames={}",
+                event.getDuration().toMillis(),
+                thread != null ? thread.getJavaName() : "unknown",
+                topFrames(event.getStackTrace())
+        );
+    }
+
+    private String topFrames(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return "[]";
+        }
+        List<RecordedFrame> frames = stackTrace.getFrames();
+        return frames.stream()
+                .filter(frame -> !frame.getMethod().getType().getName().startsWith("java.lang.VirtualThread"))
+                .limit(MAX_FRAMES)
+                .map(frame -> frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                        + ":" + frame.getLineNumber())
+                .collect(Collectors.joining(" < ", "[", "]"));
+    }
+}
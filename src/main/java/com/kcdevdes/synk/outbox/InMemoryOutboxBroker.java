@@ -0,0 +1,61 @@
+package com.kcdevdes.synk.outbox;
+
+import com.kcdevdes.synk.config.properties.AppOutboxProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * In-process broker stand-in: keeps the most recent messages and fans out to local subscribers.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.outbox", name = "sink", havingValue = "memory", matchIfMissing = true)
+public class InMemoryOutboxBroker implements OutboxEventSink {
+
+    private final int capacity;
+    private final Deque<OutboxMessage> retained = new ArrayDeque<>();
+    private final List<Consumer<OutboxMessage>> subscribers = new CopyOnWriteArrayList<>();
+
+    public InMemoryOutboxBroker(AppOutboxProperties outboxProperties) {
+        this.capacity = outboxProperties.getMemory().getCapacity();
+    }
+
+    public void subscribe(Consumer<OutboxMessage> subscriber) {
+        subscribers.add(subscriber);
+    }
+
+    public synchronized List<OutboxMessage> recentMessages() {
+        return new ArrayList<>(retained);
+    }
+
+    @Override
+    public void publish(List<OutboxMessage> batch) {
+        synchronized (this) {
+            for (OutboxMessage message : batch) {
+                if (retained.size() == capacity) {
+                    retained.pollFirst();
+                }
+                retained.addLast(message);
+            }
+        }
+
+        for (OutboxMessage message : batch) {
+            for (Consumer<OutboxMessage> subscriber : subscribers) {
+                try {
+                    subscriber.accept(message);
+                } catch (RuntimeException e) {
+                    log.warn("event=outbox_subscriber_failure outboxId={} eventType={}",
+                            message.id(), message.eventType(), e);
+                }
+            }
+        }
+    }
+}
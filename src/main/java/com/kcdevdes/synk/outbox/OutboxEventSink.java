@@ -0,0 +1,12 @@
+package com.kcdevdes.synk.outbox;
+
+import java.util.List;
+
+/**
+ * Destination for relayed outbox batches (message broker stand-in).
+ * A batch is deleted from the outbox only if publish() returns normally.
+ */
+public interface OutboxEventSink {
+
+    void publish(List<OutboxMessage> batch) throws Exception;
+}
@@ -0,0 +1,15 @@
+package com.kcdevdes.synk.outbox;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
+import java.time.Instant;
+
+public record OutboxMessage(
+        Long id,
+        String aggregateType,
+        Long aggregateId,
+        String eventType,
+        @JsonRawValue String payload,
+        Instant createdAt
+) {
+}
@@ -0,0 +1,127 @@
+package com.kcdevdes.synk.outbox;
+
+import com.kcdevdes.synk.config.properties.AppOutboxProperties;
+import com.kcdevdes.synk.entity.OutboxEventEntity;
+import com.kcdevdes.synk.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Polls the outbox, claims a batch with FOR UPDATE SKIP LOCKED, publishes it to the
+ * {@link OutboxEventSink} and deletes the rows in one statement, all in one transaction.
+ * If the sink fails the transaction rolls back and the rows are retried on the next poll
+ * (at-least-once delivery).
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.outbox.relay", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxRelay {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxEventSink sink;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+
+    private final Counter publishedCounter;
+    private final Timer batchTimer;
+    private final Timer lagTimer;
+    private final AtomicLong lastLagMs = new AtomicLong();
+
+    public OutboxRelay(
+            OutboxEventRepository outboxEventRepository,
+            OutboxEventSink sink,
+            TransactionTemplate transactionTemplate,
+            AppOutboxProperties outboxProperties,
+            MeterRegistry meterRegistry
+    ) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.sink = sink;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = outboxProperties.getRelay().getBatchSize();
+        this.maxBatchesPerRun = outboxProperties.getRelay().getMaxBatchesPerRun();
+
+        this.publishedCounter = Counter.builder("synk.outbox.events.published")
+                .description("Outbox events delivered to the sink")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("synk.outbox.relay.batch")
+                .description("Claim + publish + delete time per batch")
+                .register(meterRegistry);
+        this.lagTimer = Timer.builder("synk.outbox.relay.lag")
+                .description("Time from outbox insert to publish")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        Gauge.builder("synk.outbox.relay.lag.last", lastLagMs, AtomicLong::get)
+                .description("Lag of the oldest event in the most recent batch (ms)")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.relay.interval-ms:500}")
+    public void relay() {
+        for (int i = 0; i < maxBatchesPerRun; i++) {
+            Integer relayed;
+            try {
+                relayed = transactionTemplate.execute(status -> relayBatch());
+            } catch (RuntimeException e) {
+                log.error("event=outbox_relay_failure batchSize={}", batchSize, e);
+                return;
+            }
+            if (relayed == null || relayed < batchSize) {
+                return;
+            }
+        }
+    }
+
+    private int relayBatch() {
+        long start = System.nanoTime();
+        List<OutboxEventEntity> claimed = outboxEventRepository.claimBatch(PageRequest.of(0, batchSize));
+        if (claimed.isEmpty()) {
+            return 0;
+        }
+
+        List<OutboxMessage> messages = claimed.stream()
+                .map(event -> new OutboxMessage(
+                        event.getId(),
+                        event.getAggregateType(),
+                        event.getAggregateId(),
+                        event.getEventType(),
+                        event.getPayload(),
+                        event.getCreatedAt()
+                ))
+                .toList();
+
+        try {
+            sink.publish(messages);
+        } catch (Exception e) {
+            throw new IllegalStateException("Outbox sink failed", e);
+        }
+
+        outboxEventRepository.deleteAllByIdInBatch(messages.stream().map(OutboxMessage::id).toList());
+
+        Instant now = Instant.now();
+        for (OutboxMessage message : messages) {
+            lagTimer.record(Duration.between(message.createdAt(), now));
+        }
+        long oldestLagMs = Duration.between(messages.get(0).createdAt(), now).toMillis();
+        lastLagMs.set(oldestLagMs);
+        publishedCounter.increment(messages.size());
+        batchTimer.record(Duration.ofNanos(System.nanoTime() - start));
+
+        log.debug("event=outbox_relay_batch size={} oldestLagMs={}", messages.size(), oldestLagMs);
+        return messages.size();
+    }
+}
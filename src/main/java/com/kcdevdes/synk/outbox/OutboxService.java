@@ -0,0 +1,35 @@
+package com.kcdevdes.synk.outbox;
+
+import com.kcdevdes.synk.entity.OutboxEventEntity;
+import com.kcdevdes.synk.repository.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.databind.ObjectMapper;
+
+@Service
+@RequiredArgsConstructor
+public class OutboxService {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Append Domain Event
+     * Must join the caller's transaction so the event commits (or rolls back) with the business change
+     * @param aggregateType
+     * @param aggregateId
+     * @param eventType
+     * @param payload serialized as JSON
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(String aggregateType, Long aggregateId, String eventType, Object payload) {
+        OutboxEventEntity event = new OutboxEventEntity();
+        event.setAggregateType(aggregateType);
+        event.setAggregateId(aggregateId);
+        event.setEventType(eventType);
+        event.setPayload(objectMapper.writeValueAsString(payload));
+        outboxEventRepository.save(event);
+    }
+}
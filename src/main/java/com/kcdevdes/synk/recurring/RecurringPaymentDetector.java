@@ -0,0 +1,122 @@
+package com.kcdevdes.synk.recurring;
+
+import com.kcdevdes.synk.entity.RecurringPaymentEntity;
+import com.kcdevdes.synk.entity.type.RecurrencePeriod;
+import com.kcdevdes.synk.repository.TransactionCharge;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Folds one expense into its merchant's series, in occurredAt order.
+ *
+ * The series keeps only the last charge, the period its gaps have matched and how many gaps in a
+ * row matched (streak), so each new transaction is O(1) and history is never re-read.
+ *
+ * - gap fits a period and amount within tolerance: streak + 1 (a different period restarts at 1)
+ * - once detected, a charge on the period with a new amount is a price change; a charge before the
+ *   period is due is another purchase at the same merchant, whatever its amount, and is ignored;
+ *   only a gap longer than the period (a lapse) restarts the series
+ * - before detection, anything else restarts the series from this charge
+ * - a charge at or before the last one (backdated, or an older statement imported later) is
+ *   skipped: the series only moves forward, and replaying it would need the history it no longer has
+ * A series is detected after period.intervalsToDetect() matching gaps.
+ */
+public class RecurringPaymentDetector {
+
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern HAS_DIGIT = Pattern.compile(".*\\d.*");
+
+    private final double amountTolerance;
+    private final BigDecimal minAmountTolerance;
+
+    public RecurringPaymentDetector(double amountTolerance, BigDecimal minAmountTolerance) {
+        this.amountTolerance = amountTolerance;
+        this.minAmountTolerance = minAmountTolerance;
+    }
+
+    /**
+     * "SPOTIFY P0A1B2C3" and "Spotify" -> "spotify": lower case, punctuation dropped, tokens with
+     * digits (order/reference numbers) dropped
+     */
+    public static String merchantKey(String merchant) {
+        StringBuilder key = new StringBuilder();
+        for (String token : NON_ALPHANUMERIC.split(merchant.toLowerCase(Locale.ROOT))) {
+            if (token.isEmpty() || HAS_DIGIT.matcher(token).matches()) {
+                continue;
+            }
+            if (!key.isEmpty()) {
+                key.append(' ');
+            }
+            key.append(token);
+        }
+        // all tokens were references: keep the merchant as is
+        String normalized = key.isEmpty() ? merchant.toLowerCase(Locale.ROOT).trim() : key.toString();
+        return normalized.length() > 128 ? normalized.substring(0, 128) : normalized;
+    }
+
+    /**
+     * @param series existing series, or a new entity with only userId/merchantKey/currency set
+     */
+    public void apply(RecurringPaymentEntity series, TransactionCharge charge) {
+        if (series.getLastOccurredAt() == null) {
+            restart(series, charge);
+            return;
+        }
+        if (!charge.occurredAt().isAfter(series.getLastOccurredAt())) {
+            return;
+        }
+
+        long gapDays = Duration.between(series.getLastOccurredAt(), charge.occurredAt()).toDays();
+        RecurrencePeriod gapPeriod = RecurrencePeriod.ofGap(gapDays);
+        boolean sameAmount = withinTolerance(series.getAmount(), charge.amount());
+        boolean onPeriod = gapPeriod != null && gapPeriod == series.getPeriod();
+
+        if (Boolean.TRUE.equals(series.getDetected())) {
+            if (onPeriod) {
+                series.setStreak(series.getStreak() + 1);
+                record(series, charge);
+            } else if (series.getPeriod().isLapse(gapDays)) {
+                restart(series, charge);
+            }
+            // else: another purchase at the same merchant, the subscription carries on
+            return;
+        }
+
+        if (gapPeriod != null && sameAmount) {
+            series.setStreak(onPeriod ? series.getStreak() + 1 : 1);
+            series.setPeriod(gapPeriod);
+            record(series, charge);
+        } else {
+            restart(series, charge);
+        }
+    }
+
+    private void restart(RecurringPaymentEntity series, TransactionCharge charge) {
+        series.setPeriod(null);
+        series.setStreak(0);
+        record(series, charge);
+    }
+
+    private void record(RecurringPaymentEntity series, TransactionCharge charge) {
+        series.setMerchant(charge.merchant());
+        series.setAmount(charge.amount());
+        series.setLastTransactionId(charge.id());
+        series.setLastOccurredAt(charge.occurredAt());
+
+        RecurrencePeriod period = series.getPeriod();
+        boolean detected = period != null && series.getStreak() >= period.intervalsToDetect();
+        if (detected && !Boolean.TRUE.equals(series.getDetected())) {
+            series.setDetectedAt(charge.occurredAt());
+        }
+        series.setDetected(detected);
+        series.setNextExpectedAt(detected ? period.next(charge.occurredAt()) : null);
+    }
+
+    private boolean withinTolerance(BigDecimal reference, BigDecimal amount) {
+        BigDecimal tolerance = reference.abs().multiply(BigDecimal.valueOf(amountTolerance)).max(minAmountTolerance);
+        return reference.subtract(amount).abs().compareTo(tolerance) <= 0;
+    }
+}
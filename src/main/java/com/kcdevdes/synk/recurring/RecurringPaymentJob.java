@@ -0,0 +1,230 @@
+package com.kcdevdes.synk.recurring;
+
+import com.kcdevdes.synk.config.properties.AppRecurringProperties;
+import com.kcdevdes.synk.entity.RecurringPaymentEntity;
+import com.kcdevdes.synk.entity.RecurringScanWatermarkEntity;
+import com.kcdevdes.synk.repository.RecurringPaymentRepository;
+import com.kcdevdes.synk.repository.RecurringScanWatermarkRepository;
+import com.kcdevdes.synk.repository.TransactionCharge;
+import com.kcdevdes.synk.repository.TransactionRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * Nightly recurring-payment detection, incremental by transaction id.
+ *
+ * 1. upTo = MAX(transactions.id) of rows last written more than commit-lag-minutes ago; users
+ *    with transactions in (job watermark, upTo] are the only ones scanned. IDENTITY ids are taken
+ *    at insert, not at commit, so the newest ids may still have lower ids uncommitted beneath them;
+ *    the lag keeps the watermark below any transaction that could still be open
+ * 2. users are partitioned across a ForkJoinPool of app.recurring.parallelism workers; each user
+ *    is one transaction: stream its expenses in (user watermark, upTo] (index user_id, id) and fold
+ *    each into its series as it arrives, by occurredAt (RecurringPaymentDetector); a merchant's series
+ *    is loaded the first time one of its expenses comes by, so memory holds the series touched, not
+ *    the expenses; then save the series and the user watermark
+ * 3. the job watermark moves to upTo only if every user succeeded, so a failed user is retried
+ *    next run while the ones that succeeded skip what they already applied (their own watermark)
+ * 4. detected series whose next charge is overdue by lapse-grace-days are marked lapsed
+ *
+ * Cost is proportional to the transactions added since the last run, not to the table size.
+ * Workers block on JDBC, so parallelism is also the number of connections the job holds.
+ */
+@Slf4j
+@Component
+public class RecurringPaymentJob {
+
+    private final AppRecurringProperties properties;
+    private final TransactionRepository transactionRepository;
+    private final RecurringPaymentRepository recurringPaymentRepository;
+    private final RecurringScanWatermarkRepository watermarkRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final RecurringPaymentDetector detector;
+    private final ForkJoinPool pool;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    private final Timer runTimer;
+    private final Counter chargesCounter;
+    private final Counter failedUsersCounter;
+
+    public RecurringPaymentJob(
+            AppRecurringProperties properties,
+            TransactionRepository transactionRepository,
+            RecurringPaymentRepository recurringPaymentRepository,
+            RecurringScanWatermarkRepository watermarkRepository,
+            TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry
+    ) {
+        this.properties = properties;
+        this.transactionRepository = transactionRepository;
+        this.recurringPaymentRepository = recurringPaymentRepository;
+        this.watermarkRepository = watermarkRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.detector = new RecurringPaymentDetector(properties.getAmountTolerance(), properties.getMinAmountTolerance());
+        this.pool = new ForkJoinPool(Math.max(1, properties.getParallelism()), pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("recurring-scan-" + thread.getPoolIndex());
+            return thread;
+        }, null, false);
+
+        this.runTimer = Timer.builder("synk.recurring.scan")
+                .description("Recurring payment detection run time")
+                .register(meterRegistry);
+        this.chargesCounter = Counter.builder("synk.recurring.scan.charges")
+                .description("Expenses folded into recurring payment series")
+                .register(meterRegistry);
+        this.failedUsersCounter = Counter.builder("synk.recurring.scan.failed.users")
+                .description("Users whose scan failed and is retried next run")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${app.recurring.cron:0 30 3 * * *}")
+    public void scheduledRun() {
+        if (properties.isEnabled()) {
+            run();
+        }
+    }
+
+    /**
+     * @return null if a run is already in progress
+     */
+    public ScanResult run() {
+        if (!running.compareAndSet(false, true)) {
+            log.info("event=recurring_scan_skipped reason=already_running");
+            return null;
+        }
+        try {
+            return runTimer.record(this::scan);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdownNow();
+    }
+
+    private ScanResult scan() {
+        long start = System.nanoTime();
+        long afterId = watermark(RecurringScanWatermarkEntity.JOB_WATERMARK);
+        Instant committedBefore = Instant.now().minus(Duration.ofMinutes(properties.getCommitLagMinutes()));
+        Long maxId = transactionRepository.findMaxIdUpdatedBefore(committedBefore);
+        long upToId = maxId == null ? 0 : maxId;
+        if (upToId <= afterId) {
+            return new ScanResult(0, 0, 0, 0);
+        }
+
+        List<Long> userIds = transactionRepository.findUserIdsWithTransactionsBetween(afterId, upToId);
+        LongAdder charges = new LongAdder();
+        LongAdder failed = new LongAdder();
+        pool.submit(() -> userIds.parallelStream().forEach(userId -> {
+            try {
+                charges.add(scanUser(userId, upToId));
+            } catch (RuntimeException e) {
+                failed.increment();
+                failedUsersCounter.increment();
+                log.warn("event=recurring_scan_user_failed userId={}", userId, e);
+            }
+        })).join();
+
+        if (failed.sum() == 0) {
+            transactionTemplate.executeWithoutResult(status ->
+                    saveWatermark(RecurringScanWatermarkEntity.JOB_WATERMARK, upToId));
+        }
+        Instant cutoff = Instant.now().minus(Duration.ofDays(properties.getLapseGraceDays()));
+        Integer lapsed = transactionTemplate.execute(status -> recurringPaymentRepository.markLapsed(cutoff));
+
+        ScanResult result = new ScanResult(userIds.size(), charges.sum(), failed.sum(), lapsed == null ? 0 : lapsed);
+        log.info("event=recurring_scan_completed afterId={} upToId={} users={} charges={} failedUsers={} lapsed={} durationMs={}",
+                afterId, upToId, result.users(), result.charges(), result.failedUsers(), result.lapsed(),
+                Duration.ofNanos(System.nanoTime() - start).toMillis());
+        return result;
+    }
+
+    /**
+     * @return expenses applied
+     */
+    private long scanUser(Long userId, long upToId) {
+        Long applied = transactionTemplate.execute(status -> {
+            long afterId = watermark(userId);
+            if (afterId >= upToId) {
+                return 0L;
+            }
+
+            Map<String, RecurringPaymentEntity> series = new HashMap<>();
+            Set<String> loadedMerchantKeys = new HashSet<>();
+            long folded = 0;
+            try (Stream<TransactionCharge> charges = transactionRepository.streamChargesBetween(userId, afterId, upToId)) {
+                for (TransactionCharge charge : (Iterable<TransactionCharge>) charges::iterator) {
+                    String merchantKey = RecurringPaymentDetector.merchantKey(charge.merchant());
+                    if (loadedMerchantKeys.add(merchantKey)) {
+                        for (RecurringPaymentEntity entity : recurringPaymentRepository.findByUserIdAndMerchantKey(userId, merchantKey)) {
+                            series.put(seriesKey(entity.getMerchantKey(), entity.getCurrency()), entity);
+                        }
+                    }
+                    RecurringPaymentEntity entity = series.computeIfAbsent(
+                            seriesKey(merchantKey, charge.currency()),
+                            key -> newSeries(userId, charge)
+                    );
+                    detector.apply(entity, charge);
+                    folded++;
+                }
+            }
+            recurringPaymentRepository.saveAll(series.values());
+            saveWatermark(userId, upToId);
+            return folded;
+        });
+        long count = applied == null ? 0 : applied;
+        chargesCounter.increment(count);
+        return count;
+    }
+
+    private long watermark(Long userId) {
+        return watermarkRepository.findById(userId)
+                .map(RecurringScanWatermarkEntity::getLastTransactionId)
+                .orElse(0L);
+    }
+
+    private void saveWatermark(Long userId, long lastTransactionId) {
+        RecurringScanWatermarkEntity watermark = watermarkRepository.findById(userId)
+                .orElseGet(RecurringScanWatermarkEntity::new);
+        watermark.setUserId(userId);
+        watermark.setLastTransactionId(lastTransactionId);
+        watermark.setScannedAt(Instant.now());
+        watermarkRepository.save(watermark);
+    }
+
+    private static RecurringPaymentEntity newSeries(Long userId, TransactionCharge charge) {
+        RecurringPaymentEntity entity = new RecurringPaymentEntity();
+        entity.setUserId(userId);
+        entity.setMerchantKey(RecurringPaymentDetector.merchantKey(charge.merchant()));
+        entity.setCurrency(charge.currency());
+        return entity;
+    }
+
+    private static String seriesKey(String merchantKey, String currency) {
+        return merchantKey + '|' + currency;
+    }
+
+    public record ScanResult(int users, long charges, long failedUsers, int lapsed) {
+    }
+}
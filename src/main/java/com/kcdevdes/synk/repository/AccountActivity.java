@@ -0,0 +1,10 @@
+package com.kcdevdes.synk.repository;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Recent transaction of an account, seeding TransactionAnomalyScorer's window (no entity, no joins)
+ */
+public record AccountActivity(BigDecimal amount, String currency, String merchant, Instant occurredAt) {
+}
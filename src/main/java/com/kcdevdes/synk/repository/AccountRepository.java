@@ -4,8 +4,12 @@ import com.kcdevdes.synk.entity.AccountEntity;
 import com.kcdevdes.synk.entity.UserEntity;
 import com.kcdevdes.synk.entity.type.AccountType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -22,8 +26,26 @@ public interface AccountRepository extends JpaRepository<AccountEntity, Long> {
     // Active account queries
     Optional<AccountEntity> findByIdAndDeletedFalse(Long id);
     Optional<AccountEntity> findByIdAndUser_IdAndDeletedFalse(Long accountId, Long userId);
+    List<AccountEntity> findByIdInAndDeletedFalse(Collection<Long> ids);
 
     // Account number queries
     Optional<AccountEntity> findByAccountNumberAndDeletedFalse(String accountNumber);
     boolean existsByAccountNumberAndDeletedFalse(String accountNumber);
+
+    // List ETag fingerprints (same predicates as the list queries above)
+    @Query("SELECT new com.kcdevdes.synk.repository.CollectionFingerprint(COUNT(a), MAX(a.updatedAt)) " +
+            "FROM AccountEntity a WHERE a.user.id = :userId AND a.deleted = false")
+    CollectionFingerprint fingerprintByUserId(@Param("userId") Long userId);
+
+    @Query("SELECT new com.kcdevdes.synk.repository.CollectionFingerprint(COUNT(a), MAX(a.updatedAt)) " +
+            "FROM AccountEntity a WHERE a.user.id = :userId AND a.accountType = :accountType AND a.deleted = false")
+    CollectionFingerprint fingerprintByUserIdAndAccountType(
+            @Param("userId") Long userId,
+            @Param("accountType") AccountType accountType
+    );
+
+    // Monthly statements (StatementJob): active accounts that existed before the period ended
+    @Query("SELECT new com.kcdevdes.synk.repository.StatementAccount(a.id, a.accountName, a.currency) " +
+            "FROM AccountEntity a WHERE a.active = true AND a.deleted = false AND a.createdAt < :createdBefore ORDER BY a.id")
+    List<StatementAccount> findStatementAccounts(@Param("createdBefore") Instant createdBefore);
 }
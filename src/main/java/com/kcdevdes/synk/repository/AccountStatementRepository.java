@@ -0,0 +1,20 @@
+package com.kcdevdes.synk.repository;
+
+import com.kcdevdes.synk.entity.AccountStatementEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface AccountStatementRepository extends JpaRepository<AccountStatementEntity, Long> {
+
+    // 이미 생성된 계좌 (StatementJob 재개 시 건너뜀)
+    @Query("SELECT s.accountId FROM AccountStatementEntity s WHERE s.period = :period")
+    List<Long> findAccountIdsByPeriod(@Param("period") String period);
+
+    Optional<AccountStatementEntity> findByAccountIdAndPeriod(Long accountId, String period);
+}
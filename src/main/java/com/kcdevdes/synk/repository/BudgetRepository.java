@@ -0,0 +1,18 @@
+package com.kcdevdes.synk.repository;
+
+import com.kcdevdes.synk.entity.BudgetEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface BudgetRepository extends JpaRepository<BudgetEntity, Long> {
+
+    List<BudgetEntity> findByUserIdOrderByCategoryKeyAscCurrencyAsc(Long userId);
+
+    Optional<BudgetEntity> findByIdAndUserId(Long id, Long userId);
+
+    boolean existsByUserIdAndCategoryKeyAndCurrency(Long userId, String categoryKey, String currency);
+}
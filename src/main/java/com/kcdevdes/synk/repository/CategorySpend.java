@@ -0,0 +1,9 @@
+package com.kcdevdes.synk.repository;
+
+import java.math.BigDecimal;
+
+/**
+ * EXPENSE total of one category (trimmed, lower-cased) and currency
+ */
+public record CategorySpend(String categoryKey, String currency, BigDecimal total) {
+}
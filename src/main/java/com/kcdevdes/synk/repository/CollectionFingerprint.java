@@ -0,0 +1,14 @@
+package com.kcdevdes.synk.repository;
+
+import java.time.Instant;
+
+/**
+ * Cheap summary of a list query result, computed in SQL (COUNT + MAX(updatedAt)) for list ETags.
+ * relatedUpdatedAt covers joined rows that end up in the DTO (e.g. the account name on a transaction).
+ */
+public record CollectionFingerprint(long count, Instant lastUpdatedAt, Instant relatedUpdatedAt) {
+
+    public CollectionFingerprint(long count, Instant lastUpdatedAt) {
+        this(count, lastUpdatedAt, null);
+    }
+}
@@ -0,0 +1,185 @@
+package com.kcdevdes.synk.repository;
+
+import com.kcdevdes.synk.exception.custom.InvalidInputException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Whitelist of DTO fields selectable with ?fields=, mapped to JPQL paths (see FieldProjectionRepository).
+ *
+ * Field names are the DTO property names, so a sparse response is the full DTO minus the unrequested keys.
+ * Only whitelisted paths ever reach the query string.
+ */
+public final class FieldCatalog {
+
+    public static final FieldCatalog TRANSACTION = new Builder("TransactionEntity", "t")
+            .join("LEFT JOIN t.account a")
+            .field("id", "t.id")
+            .field("type", "t.type", FieldCatalog::enumName)
+            .field("amount", "t.amount")
+            .field("merchant", "t.merchant")
+            .field("currency", "t.currency")
+            .field("description", "t.description")
+            .field("category", "t.category")
+            .field("tags", "t.tags")
+            .field("paymentMethod", "t.paymentMethod", FieldCatalog::enumName)
+            .field("accountId", "t.account.id")
+            .joinedField("accountName", "a.accountName")
+            .field("occurredAt", "t.occurredAt")
+            .field("updatedAt", "t.updatedAt")
+            .field("deleted", "t.deleted")
+            .field("status", "t.status", FieldCatalog::enumName)
+            .field("riskScore", "t.riskScore")
+            .field("originalAmount", "t.originalAmount")
+            .field("originalCurrency", "t.originalCurrency")
+            .field("exchangeRate", "t.currencyExchangeRate")
+            .build();
+
+    public static final FieldCatalog ACCOUNT = new Builder("AccountEntity", "a")
+            .field("id", "a.id")
+            .field("accountName", "a.accountName")
+            .field("accountType", "a.accountType", FieldCatalog::enumName)
+            .field("currency", "a.currency")
+            .field("balance", "a.balance")
+            .field("accountNumber", "a.accountNumber")
+            .field("bankName", "a.bankName")
+            .field("description", "a.description")
+            .field("active", "a.active")
+            .field("createdAt", "a.createdAt")
+            .field("updatedAt", "a.updatedAt")
+            .field("lastTransactionAt", "a.lastTransactionAt")
+            .build();
+
+    public static final FieldCatalog USER = new Builder("UserEntity", "u")
+            .field("id", "u.id")
+            .field("email", "u.email")
+            .field("username", "u.username")
+            .field("firstName", "u.firstName")
+            .field("lastName", "u.lastName")
+            .field("mobile", "u.mobile")
+            .field("defaultCurrency", "u.defaultCurrency")
+            .field("locale", "u.locale")
+            .field("timezone", "u.timezone")
+            .field("active", "u.active")
+            .field("emailVerified", "u.emailVerified")
+            .field("createdAt", "u.createdAt")
+            .field("updatedAt", "u.updatedAt")
+            .field("lastLoginAt", "u.lastLoginAt")
+            .build();
+
+    private final String entityName;
+    private final String alias;
+    private final String join;
+    private final Map<String, Field> fields;
+
+    private FieldCatalog(String entityName, String alias, String join, Map<String, Field> fields) {
+        this.entityName = entityName;
+        this.alias = alias;
+        this.join = join;
+        this.fields = Collections.unmodifiableMap(fields);
+    }
+
+    /**
+     * Parses "id,amount,merchant" into whitelisted fields, in request order, duplicates dropped
+     */
+    public List<Field> resolve(String fieldsParam) {
+        Set<String> names = new LinkedHashSet<>();
+        if (fieldsParam != null) {
+            for (String name : fieldsParam.split(",")) {
+                if (!name.isBlank()) {
+                    names.add(name.trim());
+                }
+            }
+        }
+        if (names.isEmpty()) {
+            throw InvalidInputException.fields(Set.of(), fields.keySet());
+        }
+
+        List<Field> resolved = new ArrayList<>(names.size());
+        Set<String> unknown = new LinkedHashSet<>();
+        for (String name : names) {
+            Field field = fields.get(name);
+            if (field == null) {
+                unknown.add(name);
+            } else {
+                resolved.add(field);
+            }
+        }
+        if (!unknown.isEmpty()) {
+            throw InvalidInputException.fields(unknown, fields.keySet());
+        }
+        return resolved;
+    }
+
+    /**
+     * Canonical key of a selection, for ETag variants
+     */
+    public static String key(List<Field> fields) {
+        StringBuilder key = new StringBuilder();
+        for (Field field : fields) {
+            key.append(field.name()).append(',');
+        }
+        return key.toString();
+    }
+
+    String entityName() {
+        return entityName;
+    }
+
+    String alias() {
+        return alias;
+    }
+
+    String join() {
+        return join;
+    }
+
+    private static Object enumName(Object value) {
+        return value == null ? null : ((Enum<?>) value).name();
+    }
+
+    public record Field(String name, String path, boolean joined, Function<Object, Object> converter) {
+    }
+
+    private static final class Builder {
+        private final String entityName;
+        private final String alias;
+        private final Map<String, Field> fields = new LinkedHashMap<>();
+        private String join;
+
+        Builder(String entityName, String alias) {
+            this.entityName = entityName;
+            this.alias = alias;
+        }
+
+        Builder join(String join) {
+            this.join = join;
+            return this;
+        }
+
+        Builder field(String name, String path) {
+            return field(name, path, Function.identity());
+        }
+
+        Builder field(String name, String path, Function<Object, Object> converter) {
+            fields.put(name, new Field(name, path, false, converter));
+            return this;
+        }
+
+        Builder joinedField(String name, String path) {
+            fields.put(name, new Field(name, path, true, Function.identity()));
+            return this;
+        }
+
+        FieldCatalog build() {
+            return new FieldCatalog(entityName, alias, join, fields);
+        }
+    }
+}
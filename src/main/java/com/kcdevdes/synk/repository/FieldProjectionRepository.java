@@ -0,0 +1,63 @@
+package com.kcdevdes.synk.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sparse fieldsets (?fields=): selects only the requested columns as a JPQL tuple query, and joins
+ * only when a joined field (e.g. accountName) is requested. No entities are loaded.
+ *
+ * where is a JPQL predicate on the catalog alias supplied by the service layer, never by the client.
+ */
+@Repository
+@RequiredArgsConstructor
+public class FieldProjectionRepository {
+
+    private final EntityManager entityManager;
+
+    public List<Map<String, Object>> select(
+            FieldCatalog catalog,
+            List<FieldCatalog.Field> fields,
+            String where,
+            Map<String, Object> parameters
+    ) {
+        StringBuilder jpql = new StringBuilder("SELECT ");
+        boolean needsJoin = false;
+        for (int i = 0; i < fields.size(); i++) {
+            FieldCatalog.Field field = fields.get(i);
+            jpql.append(i == 0 ? "" : ", ").append(field.path());
+            needsJoin |= field.joined();
+        }
+        jpql.append(" FROM ").append(catalog.entityName()).append(' ').append(catalog.alias());
+        if (needsJoin) {
+            jpql.append(' ').append(catalog.join());
+        }
+        if (where != null) {
+            jpql.append(" WHERE ").append(where);
+        }
+        jpql.append(" ORDER BY ").append(catalog.alias()).append(".id");
+
+        TypedQuery<Tuple> query = entityManager.createQuery(jpql.toString(), Tuple.class);
+        parameters.forEach(query::setParameter);
+
+        List<Tuple> tuples = query.getResultList();
+        List<Map<String, Object>> rows = new ArrayList<>(tuples.size());
+        for (Tuple tuple : tuples) {
+            Map<String, Object> row = LinkedHashMap.newLinkedHashMap(fields.size());
+            for (int i = 0; i < fields.size(); i++) {
+                FieldCatalog.Field field = fields.get(i);
+                row.put(field.name(), field.converter().apply(tuple.get(i)));
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+}
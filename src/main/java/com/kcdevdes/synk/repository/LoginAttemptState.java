@@ -0,0 +1,9 @@
+package com.kcdevdes.synk.repository;
+
+import java.time.Instant;
+
+/**
+ * Persisted login-failure columns of a user (seed for LoginAttemptTracker)
+ */
+public record LoginAttemptState(Integer failedLoginAttempts, Instant lockedUntil) {
+}
@@ -0,0 +1,24 @@
+package com.kcdevdes.synk.repository;
+
+import com.kcdevdes.synk.entity.OutboxEventEntity;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEventEntity, Long> {
+
+    // SELECT ... FOR UPDATE SKIP LOCKED (lock.timeout -2 = SKIP_LOCKED)
+    // 여러 relay 인스턴스가 같은 row 를 동시에 가져가지 않도록
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT o FROM OutboxEventEntity o ORDER BY o.id")
+    List<OutboxEventEntity> claimBatch(Pageable pageable);
+}
@@ -0,0 +1,26 @@
+package com.kcdevdes.synk.repository;
+
+import com.kcdevdes.synk.entity.RecurringPaymentEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface RecurringPaymentRepository extends JpaRepository<RecurringPaymentEntity, Long> {
+
+    // 이번 실행에서 merchant 의 청구를 처음 만났을 때 그 merchant 의 series 만 읽음 (통화별)
+    List<RecurringPaymentEntity> findByUserIdAndMerchantKey(Long userId, String merchantKey);
+
+    List<RecurringPaymentEntity> findByUserIdAndDetectedTrueOrderByNextExpectedAt(Long userId);
+
+    // 예상일에서 grace 가 지나도록 청구가 없으면 해지된 것으로 봄
+    @Modifying
+    @Query("UPDATE RecurringPaymentEntity r SET r.detected = false, r.streak = 0, r.period = null, r.nextExpectedAt = null " +
+            "WHERE r.detected = true AND r.nextExpectedAt < :cutoff")
+    int markLapsed(@Param("cutoff") Instant cutoff);
+}
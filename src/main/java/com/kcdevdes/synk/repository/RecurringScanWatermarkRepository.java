@@ -0,0 +1,9 @@
+package com.kcdevdes.synk.repository;
+
+import com.kcdevdes.synk.entity.RecurringScanWatermarkEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface RecurringScanWatermarkRepository extends JpaRepository<RecurringScanWatermarkEntity, Long> {
+}
@@ -0,0 +1,7 @@
+package com.kcdevdes.synk.repository;
+
+/**
+ * Account columns read by StatementJob (no entity, no user join)
+ */
+public record StatementAccount(Long id, String accountName, String currency) {
+}
@@ -0,0 +1,23 @@
+package com.kcdevdes.synk.repository;
+
+import com.kcdevdes.synk.entity.type.TransactionStatus;
+import com.kcdevdes.synk.entity.type.TransactionType;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Transaction columns written to a statement by StatementJob
+ */
+public record StatementPosting(
+        Long id,
+        Instant occurredAt,
+        TransactionType type,
+        TransactionStatus status,
+        String merchant,
+        String category,
+        String description,
+        String currency,
+        BigDecimal amount
+) {
+}
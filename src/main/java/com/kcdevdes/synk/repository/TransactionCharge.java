@@ -0,0 +1,10 @@
+package com.kcdevdes.synk.repository;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Expense columns read by RecurringPaymentJob (no entity, no account join)
+ */
+public record TransactionCharge(Long id, String merchant, BigDecimal amount, String currency, Instant occurredAt) {
+}
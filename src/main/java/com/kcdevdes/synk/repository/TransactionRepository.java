@@ -2,14 +2,20 @@ package com.kcdevdes.synk.repository;
 
 import com.kcdevdes.synk.entity.TransactionEntity;
 import com.kcdevdes.synk.entity.type.TransactionType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface TransactionRepository extends JpaRepository<TransactionEntity, Long> {
@@ -39,4 +45,118 @@ public interface TransactionRepository extends JpaRepository<TransactionEntity,
             Instant startDate,
             Instant endDate
     );
+
+    // === Multi-get (BatchLookup), account fetch join 으로 accountName lazy load 방지 ===
+
+    @Query("SELECT t FROM TransactionEntity t LEFT JOIN FETCH t.account WHERE t.id IN :ids")
+    List<TransactionEntity> findAllWithAccountByIdIn(@Param("ids") Collection<Long> ids);
+
+    // === Streaming (ArrayResponseStreamer) ===
+    // cursor 로 읽으며 account 는 fetch join (DTO 의 accountName 때문에 row 마다 lazy load 방지)
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT t FROM TransactionEntity t LEFT JOIN FETCH t.account WHERE t.deleted = false ORDER BY t.id")
+    Stream<TransactionEntity> streamByDeletedFalse();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT t FROM TransactionEntity t LEFT JOIN FETCH t.account " +
+            "WHERE t.user.id = :userId AND t.deleted = false ORDER BY t.id")
+    Stream<TransactionEntity> streamByUserIdAndDeletedFalse(@Param("userId") Long userId);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT t FROM TransactionEntity t LEFT JOIN FETCH t.account WHERE t.account.id = :accountId ORDER BY t.id")
+    Stream<TransactionEntity> streamByAccountId(@Param("accountId") Long accountId);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT t FROM TransactionEntity t LEFT JOIN FETCH t.account " +
+            "WHERE t.user.id = :userId AND t.type = :type ORDER BY t.id")
+    Stream<TransactionEntity> streamByUserIdAndType(
+            @Param("userId") Long userId,
+            @Param("type") TransactionType type
+    );
+
+    // === List ETag fingerprints ===
+    // 같은 predicate 로 COUNT + MAX(updatedAt), account 이름이 DTO 에 들어가므로 account.updatedAt 도 포함
+
+    @Query("SELECT new com.kcdevdes.synk.repository.CollectionFingerprint(COUNT(t), MAX(t.updatedAt), MAX(a.updatedAt)) " +
+            "FROM TransactionEntity t LEFT JOIN t.account a WHERE t.deleted = false")
+    CollectionFingerprint fingerprintByDeletedFalse();
+
+    @Query("SELECT new com.kcdevdes.synk.repository.CollectionFingerprint(COUNT(t), MAX(t.updatedAt), MAX(a.updatedAt)) " +
+            "FROM TransactionEntity t LEFT JOIN t.account a WHERE t.user.id = :userId AND t.deleted = false")
+    CollectionFingerprint fingerprintByUserIdAndDeletedFalse(@Param("userId") Long userId);
+
+    @Query("SELECT new com.kcdevdes.synk.repository.CollectionFingerprint(COUNT(t), MAX(t.updatedAt), MAX(a.updatedAt)) " +
+            "FROM TransactionEntity t LEFT JOIN t.account a WHERE t.account.id = :accountId")
+    CollectionFingerprint fingerprintByAccountId(@Param("accountId") Long accountId);
+
+    @Query("SELECT new com.kcdevdes.synk.repository.CollectionFingerprint(COUNT(t), MAX(t.updatedAt), MAX(a.updatedAt)) " +
+            "FROM TransactionEntity t LEFT JOIN t.account a WHERE t.user.id = :userId AND t.type = :type")
+    CollectionFingerprint fingerprintByUserIdAndType(
+            @Param("userId") Long userId,
+            @Param("type") TransactionType type
+    );
+
+    // === Recurring payment scan (RecurringPaymentJob), id range = watermark 이후 ===
+
+    // updatedAt 는 insert 시각 이후이므로, 이 id 이하의 거래는 모두 before 이전에 insert 됨
+    @Query("SELECT MAX(t.id) FROM TransactionEntity t WHERE t.updatedAt < :before")
+    Long findMaxIdUpdatedBefore(@Param("before") Instant before);
+
+    @Query("SELECT DISTINCT t.user.id FROM TransactionEntity t WHERE t.id > :afterId AND t.id <= :upToId")
+    List<Long> findUserIdsWithTransactionsBetween(@Param("afterId") Long afterId, @Param("upToId") Long upToId);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.kcdevdes.synk.repository.TransactionCharge(t.id, t.merchant, t.amount, t.currency, t.occurredAt) " +
+            "FROM TransactionEntity t WHERE t.user.id = :userId AND t.id > :afterId AND t.id <= :upToId " +
+            "AND t.type = com.kcdevdes.synk.entity.type.TransactionType.EXPENSE AND t.deleted = false ORDER BY t.occurredAt, t.id")
+    Stream<TransactionCharge> streamChargesBetween(
+            @Param("userId") Long userId,
+            @Param("afterId") Long afterId,
+            @Param("upToId") Long upToId
+    );
+
+    // === Budget reconciliation (BudgetTracker), one user and month, COMPLETED only ===
+
+    @Query("SELECT new com.kcdevdes.synk.repository.CategorySpend(LOWER(TRIM(t.category)), t.currency, SUM(t.amount)) " +
+            "FROM TransactionEntity t WHERE t.user.id = :userId AND t.occurredAt >= :from AND t.occurredAt < :to " +
+            "AND t.type = com.kcdevdes.synk.entity.type.TransactionType.EXPENSE AND t.deleted = false " +
+            "AND t.status = com.kcdevdes.synk.entity.type.TransactionStatus.COMPLETED " +
+            "AND t.category IS NOT NULL GROUP BY LOWER(TRIM(t.category)), t.currency")
+    List<CategorySpend> sumExpensesByCategory(
+            @Param("userId") Long userId,
+            @Param("from") Instant from,
+            @Param("to") Instant to
+    );
+
+    // === Anomaly scoring window seed (TransactionAnomalyScorer), newest first ===
+
+    @Query("SELECT new com.kcdevdes.synk.repository.AccountActivity(t.amount, t.currency, t.merchant, t.occurredAt) " +
+            "FROM TransactionEntity t WHERE t.account.id = :accountId AND t.deleted = false " +
+            "AND t.type <> com.kcdevdes.synk.entity.type.TransactionType.INCOME ORDER BY t.occurredAt DESC")
+    List<AccountActivity> findRecentActivity(@Param("accountId") Long accountId, Pageable pageable);
+
+    // === Monthly statements (StatementJob), index account_id, occurredAt ===
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.kcdevdes.synk.repository.StatementPosting(t.id, t.occurredAt, t.type, t.status, t.merchant, " +
+            "t.category, t.description, t.currency, t.amount) FROM TransactionEntity t " +
+            "WHERE t.account.id = :accountId AND t.occurredAt >= :from AND t.occurredAt < :to AND t.deleted = false " +
+            "ORDER BY t.occurredAt, t.id")
+    Stream<StatementPosting> streamPostings(
+            @Param("accountId") Long accountId,
+            @Param("from") Instant from,
+            @Param("to") Instant to
+    );
+
+    // 잔액에 반영되는 거래 (COMPLETED, 계좌 currency) 의 before 이전 순증감 = 첫 명세서의 기초 잔액
+    @Query("SELECT COALESCE(SUM(CASE WHEN t.type = com.kcdevdes.synk.entity.type.TransactionType.INCOME " +
+            "THEN t.amount ELSE -t.amount END), 0) FROM TransactionEntity t " +
+            "WHERE t.account.id = :accountId AND t.occurredAt < :before AND t.deleted = false " +
+            "AND t.status = com.kcdevdes.synk.entity.type.TransactionStatus.COMPLETED AND t.currency = :currency")
+    BigDecimal sumNetChangeBefore(
+            @Param("accountId") Long accountId,
+            @Param("currency") String currency,
+            @Param("before") Instant before
+    );
 }
@@ -0,0 +1,18 @@
+package com.kcdevdes.synk.repository;
+
+import com.kcdevdes.synk.entity.type.UserType;
+
+import java.time.Instant;
+
+/**
+ * Optional user listing filters (UserListingRepository), null = not filtered
+ * createdFrom inclusive, createdTo exclusive
+ */
+public record UserFilter(
+        Boolean active,
+        UserType userType,
+        Boolean emailVerified,
+        Instant createdFrom,
+        Instant createdTo
+) {
+}
@@ -0,0 +1,7 @@
+package com.kcdevdes.synk.repository;
+
+/**
+ * Unique columns of a user (UserAvailabilityIndex, duplicate translation in UserService)
+ */
+public record UserIdentity(String email, String username) {
+}
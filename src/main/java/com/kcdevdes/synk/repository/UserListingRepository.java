@@ -0,0 +1,79 @@
+package com.kcdevdes.synk.repository;
+
+import com.kcdevdes.synk.entity.UserEntity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.stereotype.Repository;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Admin user listing: soft-deleted users are excluded in SQL and only the filters that are set
+ * become predicates (no "(:x IS NULL OR ...)", so each filter combination gets its own plan).
+ *
+ * Pages are keyset pages ordered by id: "id > :afterId ... LIMIT n" walks the primary key, so the
+ * cost of a page does not grow with how deep into the table it is (unlike OFFSET).
+ */
+@Repository
+@RequiredArgsConstructor
+public class UserListingRepository {
+
+    private final EntityManager entityManager;
+
+    /**
+     * @param afterId exclusive, null for the first page
+     */
+    public List<UserEntity> findPage(UserFilter filter, Long afterId, int limit) {
+        return query(filter, afterId)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    /**
+     * Must be consumed inside a transaction (see ArrayResponseStreamer)
+     */
+    public Stream<UserEntity> stream(UserFilter filter) {
+        return query(filter, null)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, 500)
+                .getResultStream();
+    }
+
+    private TypedQuery<UserEntity> query(UserFilter filter, Long afterId) {
+        StringBuilder jpql = new StringBuilder("SELECT u FROM UserEntity u WHERE u.deleted = false");
+        Map<String, Object> parameters = new HashMap<>();
+        if (filter.active() != null) {
+            jpql.append(" AND u.active = :active");
+            parameters.put("active", filter.active());
+        }
+        if (filter.userType() != null) {
+            jpql.append(" AND u.userType = :userType");
+            parameters.put("userType", filter.userType());
+        }
+        if (filter.emailVerified() != null) {
+            jpql.append(" AND u.emailVerified = :emailVerified");
+            parameters.put("emailVerified", filter.emailVerified());
+        }
+        if (filter.createdFrom() != null) {
+            jpql.append(" AND u.createdAt >= :createdFrom");
+            parameters.put("createdFrom", filter.createdFrom());
+        }
+        if (filter.createdTo() != null) {
+            jpql.append(" AND u.createdAt < :createdTo");
+            parameters.put("createdTo", filter.createdTo());
+        }
+        if (afterId != null) {
+            jpql.append(" AND u.id > :afterId");
+            parameters.put("afterId", afterId);
+        }
+        jpql.append(" ORDER BY u.id");
+
+        TypedQuery<UserEntity> query = entityManager.createQuery(jpql.toString(), UserEntity.class);
+        parameters.forEach(query::setParameter);
+        return query;
+    }
+}
@@ -1,10 +1,18 @@
 package com.kcdevdes.synk.repository;
 
 import com.kcdevdes.synk.entity.UserEntity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface UserRepository extends JpaRepository<UserEntity, Long> {
@@ -13,13 +21,45 @@ public interface UserRepository extends JpaRepository<UserEntity, Long> {
     Optional<UserEntity> findByEmail(String email);
     Optional<UserEntity> findByUsername(String username);
 
-    boolean existsByEmail(String email);
-    boolean existsByUsername(String username);
-
     // Password reset queries
     Optional<UserEntity> findByResetPasswordToken(String token);
 
+    // Login attempt seed (LoginAttemptTracker)
+    @Query("SELECT new com.kcdevdes.synk.repository.LoginAttemptState(u.failedLoginAttempts, u.lockedUntil) " +
+            "FROM UserEntity u WHERE u.id = :userId")
+    Optional<LoginAttemptState> findLoginAttemptState(@Param("userId") Long userId);
+
+    // Rehash on login: only replaces the hash that was verified (a concurrent reset wins)
+    @Modifying
+    @Query("UPDATE UserEntity u SET u.password = :password WHERE u.id = :userId AND u.password = :previous")
+    int updatePassword(
+            @Param("userId") Long userId,
+            @Param("previous") String previous,
+            @Param("password") String password
+    );
+
     // Active user queries
     Optional<UserEntity> findByEmailAndDeletedFalse(String email);
     Optional<UserEntity> findByUsernameAndDeletedFalse(String username);
+    List<UserEntity> findByDeletedFalseOrderById();
+
+    // Streaming (ArrayResponseStreamer), same rows and order as findByDeletedFalseOrderById
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT u FROM UserEntity u WHERE u.deleted = false ORDER BY u.id")
+    Stream<UserEntity> streamByDeletedFalse();
+
+    // Availability index (UserAvailabilityIndex): deleted users keep their email/username
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new com.kcdevdes.synk.repository.UserIdentity(u.email, u.username) FROM UserEntity u")
+    Stream<UserIdentity> streamIdentities();
+
+    // Possible Bloom filter hits and duplicate-key translation, one query for both columns
+    @Query("SELECT new com.kcdevdes.synk.repository.UserIdentity(u.email, u.username) " +
+            "FROM UserEntity u WHERE u.email = :email OR u.username = :username")
+    List<UserIdentity> findIdentities(@Param("email") String email, @Param("username") String username);
+
+    // List ETag fingerprint (findByDeletedFalseOrderById)
+    @Query("SELECT new com.kcdevdes.synk.repository.CollectionFingerprint(COUNT(u), MAX(u.updatedAt)) " +
+            "FROM UserEntity u WHERE u.deleted = false")
+    CollectionFingerprint fingerprintByDeletedFalse();
 }
@@ -1,5 +1,8 @@
 package com.kcdevdes.synk.service;
 
+import com.kcdevdes.synk.audit.AuditLogger;
+import com.kcdevdes.synk.cache.TransactionResponseCache;
+import com.kcdevdes.synk.dto.common.BatchResponse;
 import com.kcdevdes.synk.dto.request.AccountUpdateDTO;
 import com.kcdevdes.synk.entity.AccountEntity;
 import com.kcdevdes.synk.entity.UserEntity;
@@ -9,7 +12,12 @@ import com.kcdevdes.synk.exception.custom.InvalidInputException;
 import com.kcdevdes.synk.exception.custom.ResourceNotFoundException;
 import com.kcdevdes.synk.exception.custom.UnauthorizedException;
 import com.kcdevdes.synk.mapper.AccountMapper;
+import com.kcdevdes.synk.outbox.OutboxService;
 import com.kcdevdes.synk.repository.AccountRepository;
+import com.kcdevdes.synk.repository.CollectionFingerprint;
+import com.kcdevdes.synk.repository.FieldCatalog;
+import com.kcdevdes.synk.repository.FieldProjectionRepository;
+import com.kcdevdes.synk.util.BatchLookup;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -18,6 +26,7 @@ import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
@@ -25,7 +34,11 @@ import java.util.List;
 public class AccountService {
 
     private final AccountRepository accountRepository;
+    private final FieldProjectionRepository fieldProjectionRepository;
     private final UserService userService;
+    private final AuditLogger auditLogger;
+    private final OutboxService outboxService;
+    private final TransactionResponseCache transactionResponseCache;
 
     /**
      * Get Account By Id
@@ -39,6 +52,17 @@ public class AccountService {
                 .orElseThrow(() -> ResourceNotFoundException.account(accountId));
     }
 
+    /**
+     * Get Accounts By Ids
+     * Same lookup as getAccountById, in request order; ids not found are reported in missingIds
+     * @param accountIds distinct ids (BatchLookup.parseIds)
+     * @return
+     */
+    @Transactional(readOnly = true)
+    public BatchResponse<AccountEntity> getAccountsByIds(List<Long> accountIds) {
+        return BatchLookup.load(accountIds, accountRepository::findByIdInAndDeletedFalse, AccountEntity::getId);
+    }
+
     /**
      * Get Account By Id And User Id
      * Otherwise, it will throw UnauthorizedException
@@ -62,6 +86,28 @@ public class AccountService {
         return accountRepository.findByUser_IdAndDeletedFalse(userId);
     }
 
+    /**
+     * List ETag fingerprint of getUserAccounts
+     * @param userId
+     * @return
+     */
+    @Transactional(readOnly = true)
+    public CollectionFingerprint getUserAccountsFingerprint(Long userId) {
+        return accountRepository.fingerprintByUserId(userId);
+    }
+
+    /**
+     * getUserAccounts restricted to the given fields (?fields=)
+     * @param userId
+     * @param fields
+     * @return
+     */
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getUserAccountsFields(Long userId, List<FieldCatalog.Field> fields) {
+        return fieldProjectionRepository.select(FieldCatalog.ACCOUNT, fields,
+                "a.user.id = :userId AND a.deleted = false", Map.of("userId", userId));
+    }
+
     /**
      * Get User Accounts By Type
      * @param userId
@@ -74,6 +120,36 @@ public class AccountService {
         return accountRepository.findByUserAndAccountTypeAndDeletedFalse(user, accountType);
     }
 
+    /**
+     * List ETag fingerprint of getUserAccountsByType
+     * @param userId
+     * @param accountType
+     * @return
+     */
+    @Transactional(readOnly = true)
+    public CollectionFingerprint getUserAccountsByTypeFingerprint(Long userId, AccountType accountType) {
+        return accountRepository.fingerprintByUserIdAndAccountType(userId, accountType);
+    }
+
+    /**
+     * getUserAccountsByType restricted to the given fields (?fields=)
+     * @param userId
+     * @param accountType
+     * @param fields
+     * @return
+     */
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getUserAccountsByTypeFields(
+            Long userId,
+            AccountType accountType,
+            List<FieldCatalog.Field> fields
+    ) {
+        userService.getUserById(userId);
+        return fieldProjectionRepository.select(FieldCatalog.ACCOUNT, fields,
+                "a.user.id = :userId AND a.accountType = :accountType AND a.deleted = false",
+                Map.of("userId", userId, "accountType", accountType));
+    }
+
     /**
      * Create Account
      * If account number already exists, it will throw DuplicateResourceException
@@ -101,6 +177,7 @@ public class AccountService {
 
         AccountEntity saved = accountRepository.save(account);
         log.info("event=account_create_success accountId={} userId={}", saved.getId(), userId);
+        auditLogger.accountCreated(saved.getId(), userId);
         return saved;
     }
 
@@ -118,7 +195,9 @@ public class AccountService {
         AccountEntity account = getAccountByIdAndUserId(accountId, userId);
         AccountMapper.updateEntity(account, dto);
         AccountEntity saved = accountRepository.save(account);
+        transactionResponseCache.invalidateAccount(saved.getId());
         log.info("event=account_update_success accountId={} userId={}", saved.getId(), userId);
+        auditLogger.accountUpdated(saved.getId(), userId);
         return saved;
     }
 
@@ -139,6 +218,7 @@ public class AccountService {
 
         accountRepository.save(account);
         log.info("event=account_delete_success accountId={} userId={}", accountId, userId);
+        auditLogger.accountDeleted(accountId, userId);
     }
 
     /**
@@ -163,7 +243,9 @@ public class AccountService {
         account.deposit(amount);
         account.setLastTransactionAt(Instant.now());
         AccountEntity saved = accountRepository.save(account);
+        outboxService.append("Account", accountId, "AccountDeposited", balanceChange(saved, userId, amount));
         log.info("event=account_deposit_success accountId={} userId={}", accountId, userId);
+        auditLogger.accountDeposit(accountId, userId);
         return saved;
     }
 
@@ -197,7 +279,9 @@ public class AccountService {
         account.withdraw(amount);
         account.setLastTransactionAt(Instant.now());
         AccountEntity saved = accountRepository.save(account);
+        outboxService.append("Account", accountId, "AccountWithdrawn", balanceChange(saved, userId, amount));
         log.info("event=account_withdraw_success accountId={} userId={}", accountId, userId);
+        auditLogger.accountWithdraw(accountId, userId);
         return saved;
     }
 
@@ -213,4 +297,15 @@ public class AccountService {
                 .map(AccountEntity::getBalance)
                 .reduce(BigDecimal.ZERO, BigDecimal::add);
     }
+
+    private static Map<String, Object> balanceChange(AccountEntity account, Long userId, BigDecimal amount) {
+        return Map.of(
+                "accountId", account.getId(),
+                "userId", userId,
+                "amount", amount,
+                "balance", account.getBalance(),
+                "currency", account.getCurrency(),
+                "occurredAt", account.getLastTransactionAt()
+        );
+    }
 }
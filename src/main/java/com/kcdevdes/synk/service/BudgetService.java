@@ -0,0 +1,107 @@
+package com.kcdevdes.synk.service;
+
+import com.kcdevdes.synk.budget.BudgetTracker;
+import com.kcdevdes.synk.dto.request.BudgetUpdateDTO;
+import com.kcdevdes.synk.entity.BudgetEntity;
+import com.kcdevdes.synk.exception.custom.DuplicateResourceException;
+import com.kcdevdes.synk.exception.custom.ResourceNotFoundException;
+import com.kcdevdes.synk.repository.BudgetRepository;
+import com.kcdevdes.synk.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Budget CRUD. Writes are not wrapped in a transaction here: each repository call commits before
+ * BudgetTracker drops its cached limits, so the reload sees the change.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BudgetService {
+
+    private final BudgetRepository budgetRepository;
+    private final UserRepository userRepository;
+    private final BudgetTracker budgetTracker;
+
+    /**
+     * Get Budgets of a User
+     * @param userId
+     * @return
+     */
+    @Transactional(readOnly = true)
+    public List<BudgetEntity> getUserBudgets(Long userId) {
+        if (!userRepository.existsById(userId)) {
+            throw ResourceNotFoundException.user(userId);
+        }
+        return budgetRepository.findByUserIdOrderByCategoryKeyAscCurrencyAsc(userId);
+    }
+
+    /**
+     * Get This Month's Spend of a Budget
+     * @param budget
+     * @return
+     */
+    public BigDecimal getSpent(BudgetEntity budget) {
+        return budgetTracker.spent(budget);
+    }
+
+    /**
+     * Create Budget
+     * One per (category, currency); the month's spend so far is counted from existing transactions
+     * @param budget
+     * @param userId
+     * @return
+     */
+    public BudgetEntity createBudget(BudgetEntity budget, Long userId) {
+        if (!userRepository.existsById(userId)) {
+            throw ResourceNotFoundException.user(userId);
+        }
+        if (budgetRepository.existsByUserIdAndCategoryKeyAndCurrency(userId, budget.getCategoryKey(), budget.getCurrency())) {
+            throw DuplicateResourceException.budget(budget.getCategory(), budget.getCurrency());
+        }
+
+        budget.setUserId(userId);
+        BudgetEntity saved = budgetRepository.save(budget);
+        budgetTracker.budgetsChanged(userId);
+        log.info("event=budget_created budgetId={} userId={} currency={}", saved.getId(), userId, saved.getCurrency());
+        return saved;
+    }
+
+    /**
+     * Update Budget Limit
+     * Otherwise, it will throw ResourceNotFoundException
+     * @param budgetId
+     * @param userId
+     * @param dto
+     * @return
+     */
+    public BudgetEntity updateBudget(Long budgetId, Long userId, BudgetUpdateDTO dto) {
+        BudgetEntity budget = budgetRepository.findByIdAndUserId(budgetId, userId)
+                .orElseThrow(() -> ResourceNotFoundException.budget(budgetId));
+        budget.setMonthlyLimit(dto.getMonthlyLimit());
+
+        BudgetEntity saved = budgetRepository.save(budget);
+        budgetTracker.budgetsChanged(userId);
+        return saved;
+    }
+
+    /**
+     * Delete Budget
+     * Otherwise, it will throw ResourceNotFoundException
+     * @param budgetId
+     * @param userId
+     */
+    public void deleteBudget(Long budgetId, Long userId) {
+        BudgetEntity budget = budgetRepository.findByIdAndUserId(budgetId, userId)
+                .orElseThrow(() -> ResourceNotFoundException.budget(budgetId));
+
+        budgetRepository.delete(budget);
+        budgetTracker.budgetsChanged(userId);
+        log.info("event=budget_deleted budgetId={} userId={}", budgetId, userId);
+    }
+}
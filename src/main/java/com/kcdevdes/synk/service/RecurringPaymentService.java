@@ -0,0 +1,33 @@
+package com.kcdevdes.synk.service;
+
+import com.kcdevdes.synk.entity.RecurringPaymentEntity;
+import com.kcdevdes.synk.exception.custom.ResourceNotFoundException;
+import com.kcdevdes.synk.repository.RecurringPaymentRepository;
+import com.kcdevdes.synk.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class RecurringPaymentService {
+
+    private final RecurringPaymentRepository recurringPaymentRepository;
+    private final UserRepository userRepository;
+
+    /**
+     * Get Detected Recurring Payments of a User, soonest next charge first
+     * Updated by the nightly RecurringPaymentJob, not on each transaction
+     * @param userId
+     * @return
+     */
+    @Transactional(readOnly = true)
+    public List<RecurringPaymentEntity> getUserRecurringPayments(Long userId) {
+        if (!userRepository.existsById(userId)) {
+            throw ResourceNotFoundException.user(userId);
+        }
+        return recurringPaymentRepository.findByUserIdAndDetectedTrueOrderByNextExpectedAt(userId);
+    }
+}
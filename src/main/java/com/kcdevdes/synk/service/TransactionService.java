@@ -1,33 +1,58 @@
 package com.kcdevdes.synk.service;
 
+import com.kcdevdes.synk.anomaly.AnomalyScore;
+import com.kcdevdes.synk.anomaly.TransactionAnomalyScorer;
+import com.kcdevdes.synk.audit.AuditLogger;
+import com.kcdevdes.synk.cache.TransactionResponseCache;
+import com.kcdevdes.synk.dto.common.BatchResponse;
 import com.kcdevdes.synk.dto.request.TransactionCreateDTO;
 import com.kcdevdes.synk.dto.request.TransactionUpdateDTO;
+import com.kcdevdes.synk.dto.response.TransactionDTO;
 import com.kcdevdes.synk.entity.AccountEntity;
 import com.kcdevdes.synk.entity.TransactionEntity;
+import com.kcdevdes.synk.entity.type.TransactionStatus;
 import com.kcdevdes.synk.entity.type.TransactionType;
 import com.kcdevdes.synk.exception.custom.InvalidInputException;
 import com.kcdevdes.synk.exception.custom.ResourceNotFoundException;
 import com.kcdevdes.synk.mapper.TransactionMapper;
+import com.kcdevdes.synk.outbox.OutboxService;
+import com.kcdevdes.synk.stream.TransactionChangeEvent;
+import com.kcdevdes.synk.repository.CollectionFingerprint;
+import com.kcdevdes.synk.repository.FieldCatalog;
+import com.kcdevdes.synk.repository.FieldProjectionRepository;
 import com.kcdevdes.synk.repository.TransactionRepository;
+import com.kcdevdes.synk.util.BatchLookup;
 import com.kcdevdes.synk.util.InputSanitizer;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
+@Slf4j
 @Transactional(readOnly = true)
 public class TransactionService {
 
     private final TransactionRepository transactionRepository;
+    private final FieldProjectionRepository fieldProjectionRepository;
     private final AccountService accountService;
+    private final AuditLogger auditLogger;
+    private final OutboxService outboxService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionResponseCache transactionResponseCache;
+    private final TransactionAnomalyScorer anomalyScorer;
 
     /**
      * Create Transaction from DTO
      * Sets Account and User from accountId in DTO
+     * Scored by TransactionAnomalyScorer; flagged ones are saved as PENDING
      * @param dto TransactionCreateDTO
      * @return saved TransactionEntity
      */
@@ -43,7 +68,25 @@ public class TransactionService {
         entity.setAccount(account);
         entity.setUser(account.getUser());
 
-        return transactionRepository.save(entity);
+        // Score against the account's recent activity; high scores wait for review
+        AnomalyScore risk = anomalyScorer.score(account, entity);
+        entity.setRiskScore(risk.score());
+        if (risk.flagged()) {
+            entity.setStatus(TransactionStatus.PENDING);
+        }
+
+        TransactionEntity saved = transactionRepository.save(entity);
+        if (risk.flagged()) {
+            log.warn("event=transaction_flagged transactionId={} accountId={} score={} rules={}",
+                    saved.getId(), account.getId(), risk.score(), risk.rules());
+            auditLogger.transactionFlagged(saved.getId(), account.getId(), account.getUser().getId(), risk.score());
+        }
+        TransactionDTO created = TransactionMapper.toDTO(saved);
+        outboxService.append("Transaction", saved.getId(), "TransactionCreated", created);
+        eventPublisher.publishEvent(new TransactionChangeEvent(
+                TransactionChangeEvent.ChangeType.CREATED, account.getUser().getId(), created));
+        auditLogger.transactionCreated(saved.getId(), account.getId(), account.getUser().getId(), saved.getType().name());
+        return saved;
     }
 
     /**
@@ -64,6 +107,31 @@ public class TransactionService {
         return transactionRepository.findByDeletedFalse();
     }
 
+    /**
+     * Stream All Transactions (must be consumed inside a transaction, see ArrayResponseStreamer)
+     * @return
+     */
+    public Stream<TransactionEntity> streamAll() {
+        return transactionRepository.streamByDeletedFalse();
+    }
+
+    /**
+     * List ETag fingerprint of findAll
+     * @return
+     */
+    public CollectionFingerprint findAllFingerprint() {
+        return transactionRepository.fingerprintByDeletedFalse();
+    }
+
+    /**
+     * findAll restricted to the given fields (?fields=)
+     * @param fields
+     * @return
+     */
+    public List<Map<String, Object>> findAllFields(List<FieldCatalog.Field> fields) {
+        return fieldProjectionRepository.select(FieldCatalog.TRANSACTION, fields, "t.deleted = false", Map.of());
+    }
+
     /**
      * Find Transaction By Id
      * If not found, it will throw ResourceNotFoundException
@@ -75,6 +143,16 @@ public class TransactionService {
                 .orElseThrow(() -> ResourceNotFoundException.transaction(id));
     }
 
+    /**
+     * Find Transactions By Ids
+     * Same lookup as findById, in request order; ids not found are reported in missingIds
+     * @param ids distinct ids (BatchLookup.parseIds)
+     * @return
+     */
+    public BatchResponse<TransactionEntity> findAllByIds(List<Long> ids) {
+        return BatchLookup.load(ids, transactionRepository::findAllWithAccountByIdIn, TransactionEntity::getId);
+    }
+
     /**
      * Update Transaction By Id
      * @param id
@@ -84,9 +162,42 @@ public class TransactionService {
     @Transactional
     public TransactionEntity updateById(Long id, TransactionUpdateDTO dto) {
         TransactionEntity existing = findById(id);
+        String previousType = existing.getType().name();
+        Instant previousOccurredAt = existing.getOccurredAt();
         TransactionMapper.updateEntity(existing, dto);
 
-        return transactionRepository.save(existing);
+        TransactionEntity saved = transactionRepository.save(existing);
+        transactionResponseCache.invalidate(id);
+        eventPublisher.publishEvent(new TransactionChangeEvent(
+                TransactionChangeEvent.ChangeType.UPDATED, userIdOf(saved), TransactionMapper.toDTO(saved),
+                previousType, previousOccurredAt));
+        auditLogger.transactionUpdated(saved.getId(), accountIdOf(saved), userIdOf(saved), saved.getType().name());
+        return saved;
+    }
+
+    /**
+     * Review a transaction held as PENDING by the anomaly scorer
+     * Approved ones become COMPLETED (counted in statements again), rejected ones CANCELLED
+     * If it is not PENDING, it will throw InvalidInputException (409)
+     * @param id
+     * @param approve
+     * @return
+     */
+    @Transactional
+    public TransactionEntity reviewById(Long id, boolean approve) {
+        TransactionEntity existing = findById(id);
+        if (existing.getStatus() != TransactionStatus.PENDING || Boolean.TRUE.equals(existing.getDeleted())) {
+            throw InvalidInputException.notPending(id, existing.getStatus().name());
+        }
+        existing.setStatus(approve ? TransactionStatus.COMPLETED : TransactionStatus.CANCELLED);
+
+        TransactionEntity saved = transactionRepository.save(existing);
+        transactionResponseCache.invalidate(id);
+        eventPublisher.publishEvent(new TransactionChangeEvent(
+                TransactionChangeEvent.ChangeType.UPDATED, userIdOf(saved), TransactionMapper.toDTO(saved),
+                saved.getType().name(), saved.getOccurredAt()));
+        auditLogger.transactionReviewed(saved.getId(), accountIdOf(saved), userIdOf(saved), saved.getStatus().name());
+        return saved;
     }
 
     /**
@@ -103,6 +214,10 @@ public class TransactionService {
         existing.setDeletedAt(Instant.now());
 
         transactionRepository.save(existing);
+        transactionResponseCache.invalidate(id);
+        eventPublisher.publishEvent(new TransactionChangeEvent(
+                TransactionChangeEvent.ChangeType.DELETED, userIdOf(existing), TransactionMapper.toDTO(existing)));
+        auditLogger.transactionDeleted(existing.getId(), accountIdOf(existing), userIdOf(existing));
     }
 
     /**
@@ -117,7 +232,9 @@ public class TransactionService {
         }
 
         String sanitized = InputSanitizer.sanitizePlainText(merchant, "merchantQuery");
-        return transactionRepository.findByMerchantContainingIgnoreCase(sanitized);
+        List<TransactionEntity> results = transactionRepository.findByMerchantContainingIgnoreCase(sanitized);
+        auditLogger.transactionSearchByMerchant(sanitized.length(), results.size());
+        return results;
     }
 
     /**
@@ -138,7 +255,9 @@ public class TransactionService {
             throw InvalidInputException.transactionType(typeString);
         }
 
-        return transactionRepository.findByType(type);
+        List<TransactionEntity> results = transactionRepository.findByType(type);
+        auditLogger.transactionFilterByType(type.name(), results.size());
+        return results;
     }
 
     /**
@@ -150,6 +269,35 @@ public class TransactionService {
         return transactionRepository.findByUserIdAndDeletedFalse(userId);
     }
 
+    /**
+     * Stream Transactions By User Id
+     * @param userId
+     * @return
+     */
+    public Stream<TransactionEntity> streamByUserId(Long userId) {
+        return transactionRepository.streamByUserIdAndDeletedFalse(userId);
+    }
+
+    /**
+     * List ETag fingerprint of findByUserId
+     * @param userId
+     * @return
+     */
+    public CollectionFingerprint findByUserIdFingerprint(Long userId) {
+        return transactionRepository.fingerprintByUserIdAndDeletedFalse(userId);
+    }
+
+    /**
+     * findByUserId restricted to the given fields (?fields=)
+     * @param userId
+     * @param fields
+     * @return
+     */
+    public List<Map<String, Object>> findByUserIdFields(Long userId, List<FieldCatalog.Field> fields) {
+        return fieldProjectionRepository.select(FieldCatalog.TRANSACTION, fields,
+                "t.user.id = :userId AND t.deleted = false", Map.of("userId", userId));
+    }
+
     /**
      * Find Transactions By Account Id
      * @param accountId
@@ -159,6 +307,35 @@ public class TransactionService {
         return transactionRepository.findByAccountId(accountId);
     }
 
+    /**
+     * Stream Transactions By Account Id
+     * @param accountId
+     * @return
+     */
+    public Stream<TransactionEntity> streamByAccountId(Long accountId) {
+        return transactionRepository.streamByAccountId(accountId);
+    }
+
+    /**
+     * List ETag fingerprint of findByAccountId
+     * @param accountId
+     * @return
+     */
+    public CollectionFingerprint findByAccountIdFingerprint(Long accountId) {
+        return transactionRepository.fingerprintByAccountId(accountId);
+    }
+
+    /**
+     * findByAccountId restricted to the given fields (?fields=)
+     * @param accountId
+     * @param fields
+     * @return
+     */
+    public List<Map<String, Object>> findByAccountIdFields(Long accountId, List<FieldCatalog.Field> fields) {
+        return fieldProjectionRepository.select(FieldCatalog.TRANSACTION, fields,
+                "t.account.id = :accountId", Map.of("accountId", accountId));
+    }
+
     /**
      * Find Transactions By User Id And Type
      * @param userId
@@ -168,4 +345,48 @@ public class TransactionService {
     public List<TransactionEntity> findByUserIdAndType(Long userId, TransactionType type) {
         return transactionRepository.findByUserIdAndType(userId, type);
     }
+
+    /**
+     * Stream Transactions By User Id And Type
+     * @param userId
+     * @param type
+     * @return
+     */
+    public Stream<TransactionEntity> streamByUserIdAndType(Long userId, TransactionType type) {
+        return transactionRepository.streamByUserIdAndType(userId, type);
+    }
+
+    /**
+     * List ETag fingerprint of findByUserIdAndType
+     * @param userId
+     * @param type
+     * @return
+     */
+    public CollectionFingerprint findByUserIdAndTypeFingerprint(Long userId, TransactionType type) {
+        return transactionRepository.fingerprintByUserIdAndType(userId, type);
+    }
+
+    /**
+     * findByUserIdAndType restricted to the given fields (?fields=)
+     * @param userId
+     * @param type
+     * @param fields
+     * @return
+     */
+    public List<Map<String, Object>> findByUserIdAndTypeFields(
+            Long userId,
+            TransactionType type,
+            List<FieldCatalog.Field> fields
+    ) {
+        return fieldProjectionRepository.select(FieldCatalog.TRANSACTION, fields,
+                "t.user.id = :userId AND t.type = :type", Map.of("userId", userId, "type", type));
+    }
+
+    private static Long accountIdOf(TransactionEntity entity) {
+        return entity.getAccount() != null ? entity.getAccount().getId() : null;
+    }
+
+    private static Long userIdOf(TransactionEntity entity) {
+        return entity.getUser() != null ? entity.getUser().getId() : null;
+    }
 }
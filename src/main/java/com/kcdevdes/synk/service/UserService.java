@@ -1,25 +1,58 @@
 package com.kcdevdes.synk.service;
 
+import com.kcdevdes.synk.audit.AuditLogger;
+import com.kcdevdes.synk.availability.UserAvailabilityIndex;
+import com.kcdevdes.synk.dto.common.BatchResponse;
+import com.kcdevdes.synk.dto.common.CursorPageResponse;
 import com.kcdevdes.synk.dto.request.UserUpdateDTO;
+import com.kcdevdes.synk.dto.response.UserAvailabilityDTO;
 import com.kcdevdes.synk.entity.UserEntity;
 import com.kcdevdes.synk.exception.ErrorCode;
+import com.kcdevdes.synk.exception.custom.CapacityExceededException;
 import com.kcdevdes.synk.exception.custom.DuplicateResourceException;
 import com.kcdevdes.synk.exception.custom.InvalidInputException;
 import com.kcdevdes.synk.exception.custom.ResourceNotFoundException;
+import com.kcdevdes.synk.exception.custom.UnauthorizedException;
+import com.kcdevdes.synk.login.LoginAttemptTracker;
+import com.kcdevdes.synk.login.PasswordHasher;
 import com.kcdevdes.synk.mapper.UserMapper;
+import com.kcdevdes.synk.repository.CollectionFingerprint;
+import com.kcdevdes.synk.repository.FieldCatalog;
+import com.kcdevdes.synk.repository.FieldProjectionRepository;
+import com.kcdevdes.synk.repository.UserFilter;
+import com.kcdevdes.synk.repository.UserIdentity;
+import com.kcdevdes.synk.repository.UserListingRepository;
 import com.kcdevdes.synk.repository.UserRepository;
+import com.kcdevdes.synk.util.BatchLookup;
+import com.kcdevdes.synk.util.KeysetCursor;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.Instant;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class UserService {
 
     private final UserRepository userRepository;
+    private final FieldProjectionRepository fieldProjectionRepository;
+    private final UserListingRepository userListingRepository;
+    private final AuditLogger auditLogger;
+    private final LoginAttemptTracker loginAttemptTracker;
+    private final PasswordHasher passwordHasher;
+    private final TransactionTemplate transactionTemplate;
+    private final UserAvailabilityIndex availabilityIndex;
 
     /**
      * Get User By Id
@@ -33,6 +66,17 @@ public class UserService {
                 .orElseThrow(() -> ResourceNotFoundException.user(userId));
     }
 
+    /**
+     * Get Users By Ids
+     * Same lookup as getUserById, in request order; ids not found are reported in missingIds
+     * @param userIds distinct ids (BatchLookup.parseIds)
+     * @return
+     */
+    @Transactional(readOnly = true)
+    public BatchResponse<UserEntity> getUsersByIds(List<Long> userIds) {
+        return BatchLookup.load(userIds, userRepository::findAllById, UserEntity::getId);
+    }
+
     /**
      * Get User By Email
      * Otherwise, it will throw ResourceNotFoundException
@@ -64,31 +108,201 @@ public class UserService {
     }
 
     /**
-     * Get All Users
+     * Get All Users, excluding deleted ones
      * @return
      */
     @Transactional(readOnly = true)
     public List<UserEntity> getAllUsers() {
-        return userRepository.findAll();
+        return userRepository.findByDeletedFalseOrderById();
+    }
+
+    /**
+     * Stream All Users, excluding deleted ones (must be consumed inside a transaction, see ArrayResponseStreamer)
+     * @return
+     */
+    @Transactional(readOnly = true)
+    public Stream<UserEntity> streamAllUsers() {
+        return userRepository.streamByDeletedFalse();
+    }
+
+    /**
+     * Keyset page of users, excluding deleted ones (admin listing)
+     * @param filter
+     * @param afterId last id of the previous page (KeysetCursor), null for the first page
+     * @param size
+     * @return
+     */
+    @Transactional(readOnly = true)
+    public CursorPageResponse<UserEntity> getUsersPage(UserFilter filter, Long afterId, int size) {
+        // one extra row tells whether there is a next page, without a COUNT
+        List<UserEntity> rows = userListingRepository.findPage(filter, afterId, size + 1);
+        boolean hasNext = rows.size() > size;
+        List<UserEntity> content = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = hasNext ? KeysetCursor.encode(content.getLast().getId()) : null;
+        return new CursorPageResponse<>(content, size, nextCursor, hasNext);
+    }
+
+    /**
+     * Stream users matching the filter, excluding deleted ones (admin export)
+     * Must be consumed inside a transaction, see ArrayResponseStreamer
+     * @param filter
+     * @return
+     */
+    @Transactional(readOnly = true)
+    public Stream<UserEntity> streamUsers(UserFilter filter) {
+        return userListingRepository.stream(filter);
+    }
+
+    /**
+     * List ETag fingerprint of getAllUsers
+     * @return
+     */
+    @Transactional(readOnly = true)
+    public CollectionFingerprint getAllUsersFingerprint() {
+        return userRepository.fingerprintByDeletedFalse();
+    }
+
+    /**
+     * getAllUsers restricted to the given fields (?fields=)
+     * @param fields
+     * @return
+     */
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getAllUsersFields(List<FieldCatalog.Field> fields) {
+        return fieldProjectionRepository.select(FieldCatalog.USER, fields, "u.deleted = false", Map.of());
     }
 
     /**
      * Create a new user record by the given user details
      * If email or username already exists, it will throw DuplicateResourceException
+     * Duplicates are detected by the unique constraints on insert, not by pre-check queries
+     * The raw password is hashed before the transaction starts (see PasswordHasher)
      * @param user
      * @return
      */
-    @Transactional
     public UserEntity createUser(UserEntity user) {
-        if (userRepository.existsByEmail(user.getEmail())) {
-            throw DuplicateResourceException.email(user.getEmail());
+        user.setPassword(passwordHasher.hash(user.getPassword()));
+
+        try {
+            return transactionTemplate.execute(status -> {
+                UserEntity saved = userRepository.saveAndFlush(user);
+                availabilityIndex.add(saved.getEmail(), saved.getUsername());
+                auditLogger.userCreated(saved.getId(), saved.getUsername());
+                return saved;
+            });
+        } catch (DataIntegrityViolationException e) {
+            throw duplicateOf(user, e);
         }
+    }
 
-        if (userRepository.existsByUsername(user.getUsername())) {
-            throw DuplicateResourceException.username(user.getUsername());
+    /**
+     * Which unique column the failed insert collided with
+     * By constraint name (UserEntity.EMAIL_CONSTRAINT / USERNAME_CONSTRAINT); for a constraint with
+     * another name (schema created before they were named) the existing row is looked up instead
+     */
+    private RuntimeException duplicateOf(UserEntity user, DataIntegrityViolationException e) {
+        String constraint = violatedConstraint(e);
+        if (constraint != null && constraint.contains(UserEntity.EMAIL_CONSTRAINT)) {
+            return DuplicateResourceException.email(user.getEmail());
+        }
+        if (constraint != null && constraint.contains(UserEntity.USERNAME_CONSTRAINT)) {
+            return DuplicateResourceException.username(user.getUsername());
         }
 
-        return userRepository.save(user);
+        // new transaction: the session that failed the insert must not be flushed again
+        TransactionTemplate lookup = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        lookup.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        lookup.setReadOnly(true);
+        List<UserIdentity> existing = lookup.execute(status ->
+                userRepository.findIdentities(user.getEmail(), user.getUsername()));
+        for (UserIdentity identity : existing) {
+            if (identity.email().equals(user.getEmail())) {
+                return DuplicateResourceException.email(user.getEmail());
+            }
+        }
+        for (UserIdentity identity : existing) {
+            if (identity.username().equals(user.getUsername())) {
+                return DuplicateResourceException.username(user.getUsername());
+            }
+        }
+        return e;
+    }
+
+    private static String violatedConstraint(DataIntegrityViolationException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation && violation.getConstraintName() != null) {
+                return violation.getConstraintName().toLowerCase(Locale.ROOT);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Check Email / Username Availability (sign-up form)
+     * A Bloom filter miss is answered without the DB; possible hits are confirmed with one query
+     * @param email nullable
+     * @param username nullable
+     * @return
+     */
+    public UserAvailabilityDTO checkAvailability(String email, String username) {
+        boolean emailPossible = email != null && availabilityIndex.mightContainEmail(email);
+        boolean usernamePossible = username != null && availabilityIndex.mightContainUsername(username);
+
+        List<UserIdentity> existing = emailPossible || usernamePossible
+                ? userRepository.findIdentities(emailPossible ? email : null, usernamePossible ? username : null)
+                : List.of();
+
+        Boolean emailAvailable = email == null ? null
+                : existing.stream().noneMatch(identity -> identity.email().equals(email));
+        Boolean usernameAvailable = username == null ? null
+                : existing.stream().noneMatch(identity -> identity.username().equals(username));
+        return new UserAvailabilityDTO(email, emailAvailable, username, usernameAvailable);
+    }
+
+    /**
+     * Authenticate by email and password
+     * Locked users (or client IPs) are rejected before the password is checked
+     * After a successful login, a hash with an outdated cost (or a plain-text value) is replaced
+     * @param email
+     * @param rawPassword
+     * @param clientIp nullable
+     * @return
+     */
+    public UserEntity authenticate(String email, String rawPassword, String clientIp) {
+        UserEntity user = userRepository.findByEmailAndDeletedFalse(email).orElse(null);
+        if (user == null) {
+            // unknown email costs the same as a wrong password
+            passwordHasher.matches(rawPassword, null);
+            throw UnauthorizedException.invalidCredentials();
+        }
+        if (isAccountLocked(user.getId(), clientIp)) {
+            throw UnauthorizedException.accountLocked();
+        }
+
+        boolean matches = passwordHasher.matches(rawPassword, user.getPassword())
+                && Boolean.TRUE.equals(user.getActive());
+        updateLoginAttempts(user.getId(), clientIp, matches);
+        if (!matches) {
+            throw UnauthorizedException.invalidCredentials();
+        }
+
+        if (passwordHasher.needsRehash(user.getPassword())) {
+            rehash(user, rawPassword);
+        }
+        return user;
+    }
+
+    private void rehash(UserEntity user, String rawPassword) {
+        try {
+            String rehashed = passwordHasher.hash(rawPassword);
+            Integer updated = transactionTemplate.execute(status ->
+                    userRepository.updatePassword(user.getId(), user.getPassword(), rehashed));
+            log.info("event=password_rehashed userId={} cost={} updated={}",
+                    user.getId(), passwordHasher.cost(), updated);
+        } catch (CapacityExceededException e) {
+            // login already succeeded, upgrade on a later login
+            log.warn("event=password_rehash_skipped userId={} reason=busy", user.getId());
+        }
     }
 
     /**
@@ -102,7 +316,9 @@ public class UserService {
     public UserEntity updateUser(Long userId, UserUpdateDTO dto) {
         UserEntity user = getUserById(userId);
         UserMapper.updateEntity(user, dto);
-        return userRepository.save(user);
+        UserEntity saved = userRepository.save(user);
+        auditLogger.userUpdated(saved.getId(), saved.getUsername());
+        return saved;
     }
 
     /**
@@ -117,6 +333,7 @@ public class UserService {
         user.setDeletedAt(Instant.now());
         user.setActive(false);
         userRepository.save(user);
+        auditLogger.userDeleted(user.getId(), user.getUsername());
     }
 
     /**
@@ -129,32 +346,44 @@ public class UserService {
         UserEntity user = getUserById(userId);
         user.setEmailVerified(true);
         userRepository.save(user);
+        auditLogger.emailVerified(userId);
     }
 
     /**
      * Update Login Attempts
-     * If it reaches maximum attempts (5 times), it will lock the user for 30 minutes
+     * If it reaches maximum attempts (5 times in 30 minutes), it will lock the user for 30 minutes
+     * Counted in memory and written to the user row in batches (see LoginAttemptTracker)
      * @param userId
      * @param success
      */
-    @Transactional
     public void updateLoginAttempts(Long userId, boolean success) {
-        UserEntity user = getUserById(userId);
+        updateLoginAttempts(userId, null, success);
+    }
 
+    /**
+     * Update Login Attempts, also counting failures per client IP
+     * @param userId
+     * @param clientIp nullable
+     * @param success
+     */
+    public void updateLoginAttempts(Long userId, String clientIp, boolean success) {
         if (success) {
-            user.setFailedLoginAttempts(0);
-            user.setLastLoginAt(Instant.now());
-            user.setLockedUntil(null);
+            loginAttemptTracker.recordSuccess(userId);
         } else {
-            int attempts = user.getFailedLoginAttempts() + 1;
-            user.setFailedLoginAttempts(attempts);
-
-            if (attempts >= 5) {
-                user.setLockedUntil(Instant.now().plusSeconds(1800));
-            }
+            loginAttemptTracker.recordFailure(userId, clientIp);
         }
+        auditLogger.loginAttempt(userId, success);
+    }
 
-        userRepository.save(user);
+    /**
+     * Is Account Locked
+     * Answered from memory after the first check (see LoginAttemptTracker)
+     * @param userId
+     * @param clientIp nullable, also locked when the IP has too many recent failures
+     * @return
+     */
+    public boolean isAccountLocked(Long userId, String clientIp) {
+        return loginAttemptTracker.isLocked(userId, clientIp);
     }
 
     /**
@@ -196,17 +425,24 @@ public class UserService {
 
     /**
      * Reset Password
+     * The token is checked before hashing, and again in the write transaction
      * @param token
      * @param newPassword
      */
-    @Transactional
     public void resetPassword(String token, String newPassword) {
-        UserEntity user = validatePasswordResetToken(token);
-        user.setPassword(newPassword);
-        user.setResetPasswordToken(null);
-        user.setResetPasswordTokenExpiresAt(null);
-        user.setFailedLoginAttempts(0);
-        user.setLockedUntil(null);
-        userRepository.save(user);
+        validatePasswordResetToken(token);
+        String hashed = passwordHasher.hash(newPassword);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            UserEntity user = validatePasswordResetToken(token);
+            user.setPassword(hashed);
+            user.setResetPasswordToken(null);
+            user.setResetPasswordTokenExpiresAt(null);
+            user.setFailedLoginAttempts(0);
+            user.setLockedUntil(null);
+            userRepository.save(user);
+            loginAttemptTracker.reset(user.getId());
+            auditLogger.passwordReset(user.getId());
+        });
     }
 }
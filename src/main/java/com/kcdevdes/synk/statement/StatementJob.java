@@ -0,0 +1,267 @@
+package com.kcdevdes.synk.statement;
+
+import com.kcdevdes.synk.config.properties.AppStatementProperties;
+import com.kcdevdes.synk.entity.AccountStatementEntity;
+import com.kcdevdes.synk.entity.type.TransactionStatus;
+import com.kcdevdes.synk.entity.type.TransactionType;
+import com.kcdevdes.synk.repository.AccountRepository;
+import com.kcdevdes.synk.repository.AccountStatementRepository;
+import com.kcdevdes.synk.repository.StatementAccount;
+import com.kcdevdes.synk.repository.StatementPosting;
+import com.kcdevdes.synk.repository.TransactionRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * Monthly statements: one file per active account with opening balance, postings and closing balance.
+ *
+ * 1. accounts that already have an account_statements row for the period are skipped, so a run
+ *    that stopped part-way (crash, deploy) resumes where it left off; the daily cron re-runs last month
+ * 2. the rest are partitioned across a ForkJoinPool of app.statement.parallelism workers; each account
+ *    streams its postings in time order (index account_id, occurredAt) into
+ *    <directory>/<yyyy-MM>/<accountId>.<ext>.tmp through a buffered FileChannel, forces it, renames it
+ *    into place, then saves the account_statements row (the checkpoint)
+ * 3. opening balance = last month's closing balance, or for the first statement the net of every
+ *    COMPLETED posting before the period; accounts.balance is not used, since only deposit/withdraw
+ *    move it and the statement is a ledger of transactions
+ *
+ * Only COMPLETED postings in the account currency move the balance; others are listed without one.
+ * Memory per worker is one buffer and one posting, whatever the account's volume.
+ */
+@Slf4j
+@Component
+public class StatementJob {
+
+    private final AppStatementProperties properties;
+    private final AccountRepository accountRepository;
+    private final TransactionRepository transactionRepository;
+    private final AccountStatementRepository statementRepository;
+    private final TransactionTemplate readOnlyTemplate;
+    private final JsonMapper jsonMapper;
+    private final ForkJoinPool pool;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile double lastAccountsPerSecond;
+
+    private final Timer runTimer;
+    private final Counter generatedCounter;
+    private final Counter failedCounter;
+
+    public StatementJob(
+            AppStatementProperties properties,
+            AccountRepository accountRepository,
+            TransactionRepository transactionRepository,
+            AccountStatementRepository statementRepository,
+            TransactionTemplate transactionTemplate,
+            JsonMapper jsonMapper,
+            MeterRegistry meterRegistry
+    ) {
+        this.properties = properties;
+        this.accountRepository = accountRepository;
+        this.transactionRepository = transactionRepository;
+        this.statementRepository = statementRepository;
+        this.readOnlyTemplate = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.readOnlyTemplate.setReadOnly(true);
+        this.jsonMapper = jsonMapper;
+        this.pool = new ForkJoinPool(Math.max(1, properties.getParallelism()), pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("statement-" + thread.getPoolIndex());
+            return thread;
+        }, null, false);
+
+        this.runTimer = Timer.builder("synk.statement.run")
+                .description("Monthly statement run time")
+                .register(meterRegistry);
+        this.generatedCounter = Counter.builder("synk.statement.accounts")
+                .tag("result", "generated")
+                .description("Account statements written")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("synk.statement.accounts")
+                .tag("result", "failed")
+                .description("Account statements that failed and are retried next run")
+                .register(meterRegistry);
+        Gauge.builder("synk.statement.accounts.per.second", this, job -> job.lastAccountsPerSecond)
+                .description("Statement throughput of the last run")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${app.statement.cron:0 0 4 * * *}")
+    public void scheduledRun() {
+        if (properties.isEnabled()) {
+            run(YearMonth.now(ZoneOffset.UTC).minusMonths(1));
+        }
+    }
+
+    /**
+     * @param period UTC month; must have ended
+     * @return null if a run is already in progress
+     */
+    public RunResult run(YearMonth period) {
+        if (!period.isBefore(YearMonth.now(ZoneOffset.UTC))) {
+            throw new IllegalArgumentException("Statement period has not ended: " + period);
+        }
+        if (!running.compareAndSet(false, true)) {
+            log.info("event=statement_job_skipped reason=already_running period={}", period);
+            return null;
+        }
+        try {
+            return runTimer.record(() -> generate(period));
+        } finally {
+            running.set(false);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdownNow();
+    }
+
+    private RunResult generate(YearMonth period) {
+        long start = System.nanoTime();
+        Instant from = period.atDay(1).atStartOfDay(ZoneOffset.UTC).toInstant();
+        Instant to = period.plusMonths(1).atDay(1).atStartOfDay(ZoneOffset.UTC).toInstant();
+        Path directory = Path.of(properties.getDirectory(), period.toString());
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        Set<Long> done = new HashSet<>(statementRepository.findAccountIdsByPeriod(period.toString()));
+        List<StatementAccount> pending = accountRepository.findStatementAccounts(to).stream()
+                .filter(account -> !done.contains(account.id()))
+                .toList();
+
+        LongAdder generated = new LongAdder();
+        LongAdder failed = new LongAdder();
+        LongAdder postings = new LongAdder();
+        int logEvery = Math.max(1, properties.getProgressLogEvery());
+        pool.submit(() -> pending.parallelStream().forEach(account -> {
+            try {
+                postings.add(generateAccount(account, period, from, to, directory));
+                generated.increment();
+                generatedCounter.increment();
+            } catch (RuntimeException | IOException e) {
+                failed.increment();
+                failedCounter.increment();
+                log.warn("event=statement_account_failed period={} accountId={}", period, account.id(), e);
+            }
+            long completed = generated.sum() + failed.sum();
+            if (completed % logEvery == 0) {
+                log.info("event=statement_job_progress period={} completed={} total={} accountsPerSec={}",
+                        period, completed, pending.size(), String.format("%.1f", rate(completed, start)));
+            }
+        })).join();
+
+        double accountsPerSecond = rate(generated.sum(), start);
+        lastAccountsPerSecond = accountsPerSecond;
+        RunResult result = new RunResult(period, generated.sum(), done.size(), failed.sum(), postings.sum(),
+                accountsPerSecond);
+        log.info("event=statement_job_completed period={} accounts={} skipped={} failed={} postings={} durationMs={} accountsPerSec={}",
+                period, result.accounts(), result.skipped(), result.failed(), result.postings(),
+                Duration.ofNanos(System.nanoTime() - start).toMillis(), String.format("%.1f", accountsPerSecond));
+        return result;
+    }
+
+    /**
+     * @return postings written
+     */
+    private int generateAccount(StatementAccount account, YearMonth period, Instant from, Instant to, Path directory)
+            throws IOException {
+        BigDecimal opening = openingBalance(account, period, from);
+        String fileName = account.id() + "." + properties.getFormat().extension();
+        Path target = directory.resolve(fileName);
+        Path temp = directory.resolve(fileName + ".tmp");
+
+        Totals totals;
+        try (StatementWriter writer = StatementWriter.open(temp, properties.getFormat(), properties.getBufferSize(), jsonMapper)) {
+            writer.begin(account, period, from, opening);
+            totals = readOnlyTemplate.execute(status -> writePostings(writer, account, opening, from, to));
+            writer.end(to, totals.closingBalance(), totals.postings());
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+        AccountStatementEntity statement = new AccountStatementEntity();
+        statement.setAccountId(account.id());
+        statement.setPeriod(period.toString());
+        statement.setCurrency(account.currency());
+        statement.setOpeningBalance(opening);
+        statement.setClosingBalance(totals.closingBalance());
+        statement.setPostings(totals.postings());
+        statement.setFile(period + "/" + fileName);
+        statement.setGeneratedAt(Instant.now());
+        statementRepository.save(statement);
+        return totals.postings();
+    }
+
+    private Totals writePostings(StatementWriter writer, StatementAccount account, BigDecimal opening, Instant from, Instant to) {
+        BigDecimal balance = opening;
+        int count = 0;
+        try (Stream<StatementPosting> stream = transactionRepository.streamPostings(account.id(), from, to)) {
+            Iterator<StatementPosting> postings = stream.iterator();
+            while (postings.hasNext()) {
+                StatementPosting posting = postings.next();
+                BigDecimal amount = posting.type() == TransactionType.INCOME ? posting.amount() : posting.amount().negate();
+                boolean counts = posting.status() == TransactionStatus.COMPLETED
+                        && account.currency().equals(posting.currency());
+                if (counts) {
+                    balance = balance.add(amount);
+                }
+                writer.posting(posting, amount, counts ? balance : null);
+                count++;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return new Totals(balance, count);
+    }
+
+    private BigDecimal openingBalance(StatementAccount account, YearMonth period, Instant from) {
+        return statementRepository.findByAccountIdAndPeriod(account.id(), period.minusMonths(1).toString())
+                .filter(previous -> previous.getCurrency().equals(account.currency()))
+                .map(AccountStatementEntity::getClosingBalance)
+                .orElseGet(() -> transactionRepository.sumNetChangeBefore(account.id(), account.currency(), from));
+    }
+
+    private static double rate(long accounts, long startNanos) {
+        double seconds = (System.nanoTime() - startNanos) / 1e9;
+        return seconds <= 0 ? 0 : accounts / seconds;
+    }
+
+    private record Totals(BigDecimal closingBalance, int postings) {
+    }
+
+    public record RunResult(YearMonth period, long accounts, int skipped, long failed, long postings,
+                            double accountsPerSecond) {
+    }
+}
@@ -0,0 +1,208 @@
+package com.kcdevdes.synk.statement;
+
+import com.kcdevdes.synk.config.properties.AppStatementProperties;
+import com.kcdevdes.synk.repository.StatementAccount;
+import com.kcdevdes.synk.repository.StatementPosting;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.YearMonth;
+
+/**
+ * Writes one account's statement to a file: begin, one posting() per transaction in time order,
+ * then end(), which also forces the file to disk. Only the opening/closing rows and the current
+ * posting are held in memory.
+ */
+abstract class StatementWriter implements Closeable {
+
+    private final FileChannel channel;
+    protected final ChannelOutput out;
+
+    private StatementWriter(FileChannel channel, int bufferSize) {
+        this.channel = channel;
+        this.out = new ChannelOutput(channel, bufferSize);
+    }
+
+    static StatementWriter open(Path path, AppStatementProperties.Format format, int bufferSize, JsonMapper jsonMapper)
+            throws IOException {
+        FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        return switch (format) {
+            case CSV -> new Csv(channel, bufferSize);
+            case JSON -> new Json(channel, bufferSize, jsonMapper);
+        };
+    }
+
+    abstract void begin(StatementAccount account, YearMonth period, Instant from, BigDecimal openingBalance)
+            throws IOException;
+
+    /**
+     * @param amount  signed (INCOME positive)
+     * @param balance running balance after this posting, null if it does not affect the balance
+     */
+    abstract void posting(StatementPosting posting, BigDecimal amount, BigDecimal balance) throws IOException;
+
+    void end(Instant to, BigDecimal closingBalance, int postings) throws IOException {
+        writeEnd(to, closingBalance, postings);
+        out.flush();
+        channel.force(false);
+    }
+
+    abstract void writeEnd(Instant to, BigDecimal closingBalance, int postings) throws IOException;
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * record,transaction_id,occurred_at,type,status,merchant,category,description,currency,amount,balance
+     * with OPENING and CLOSING rows around the POSTING rows
+     */
+    private static final class Csv extends StatementWriter {
+
+        private static final String HEADER =
+                "record,transaction_id,occurred_at,type,status,merchant,category,description,currency,amount,balance\n";
+
+        private final StringBuilder line = new StringBuilder(256);
+        private String currency;
+
+        private Csv(FileChannel channel, int bufferSize) {
+            super(channel, bufferSize);
+        }
+
+        @Override
+        void begin(StatementAccount account, YearMonth period, Instant from, BigDecimal openingBalance) throws IOException {
+            currency = account.currency();
+            out.write(HEADER.getBytes(StandardCharsets.US_ASCII));
+            balanceRow("OPENING", from, openingBalance);
+        }
+
+        @Override
+        void posting(StatementPosting posting, BigDecimal amount, BigDecimal balance) throws IOException {
+            line.setLength(0);
+            line.append("POSTING,").append(posting.id()).append(',')
+                    .append(posting.occurredAt()).append(',')
+                    .append(posting.type()).append(',')
+                    .append(posting.status()).append(',');
+            text(posting.merchant());
+            line.append(',');
+            text(posting.category());
+            line.append(',');
+            text(posting.description());
+            line.append(',').append(posting.currency()).append(',')
+                    .append(amount.toPlainString()).append(',');
+            if (balance != null) {
+                line.append(balance.toPlainString());
+            }
+            writeLine();
+        }
+
+        @Override
+        void writeEnd(Instant to, BigDecimal closingBalance, int postings) throws IOException {
+            balanceRow("CLOSING", to, closingBalance);
+        }
+
+        private void balanceRow(String record, Instant at, BigDecimal balance) throws IOException {
+            line.setLength(0);
+            line.append(record).append(",,").append(at).append(",,,,,,").append(currency).append(",,")
+                    .append(balance.toPlainString());
+            writeLine();
+        }
+
+        /**
+         * Quotes when needed; a leading = + - @ is prefixed with ' so spreadsheets do not run it
+         */
+        private void text(String value) {
+            if (value == null || value.isEmpty()) {
+                return;
+            }
+            boolean formula = "=+-@\t\r".indexOf(value.charAt(0)) >= 0;
+            boolean quote = formula || value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                    || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+            if (!quote) {
+                line.append(value);
+                return;
+            }
+            line.append('"');
+            if (formula) {
+                line.append('\'');
+            }
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c == '"') {
+                    line.append('"');
+                }
+                line.append(c);
+            }
+            line.append('"');
+        }
+
+        private void writeLine() throws IOException {
+            line.append('\n');
+            out.write(line.toString().getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * One JSON object; postings are streamed into its array by the generator
+     */
+    private static final class Json extends StatementWriter {
+
+        private final JsonGenerator generator;
+
+        private Json(FileChannel channel, int bufferSize, JsonMapper jsonMapper) {
+            super(channel, bufferSize);
+            this.generator = jsonMapper.createGenerator(out);
+        }
+
+        @Override
+        void begin(StatementAccount account, YearMonth period, Instant from, BigDecimal openingBalance) {
+            generator.writeStartObject();
+            generator.writeNumberProperty("accountId", account.id());
+            generator.writeStringProperty("accountName", account.accountName());
+            generator.writeStringProperty("currency", account.currency());
+            generator.writeStringProperty("period", period.toString());
+            generator.writeStringProperty("from", from.toString());
+            generator.writeNumberProperty("openingBalance", openingBalance);
+            generator.writeName("postings");
+            generator.writeStartArray();
+        }
+
+        @Override
+        void posting(StatementPosting posting, BigDecimal amount, BigDecimal balance) {
+            generator.writeStartObject();
+            generator.writeNumberProperty("id", posting.id());
+            generator.writeStringProperty("occurredAt", posting.occurredAt().toString());
+            generator.writeStringProperty("type", posting.type().name());
+            generator.writeStringProperty("status", posting.status().name());
+            generator.writeStringProperty("merchant", posting.merchant());
+            generator.writeStringProperty("category", posting.category());
+            generator.writeStringProperty("description", posting.description());
+            generator.writeStringProperty("currency", posting.currency());
+            generator.writeNumberProperty("amount", amount);
+            if (balance != null) {
+                generator.writeNumberProperty("balance", balance);
+            }
+            generator.writeEndObject();
+        }
+
+        @Override
+        void writeEnd(Instant to, BigDecimal closingBalance, int postings) {
+            generator.writeEndArray();
+            generator.writeStringProperty("to", to.toString());
+            generator.writeNumberProperty("closingBalance", closingBalance);
+            generator.writeNumberProperty("postingCount", postings);
+            generator.writeEndObject();
+            generator.close(); // flushes into out
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.kcdevdes.synk.stream;
+
+import com.kcdevdes.synk.util.ETags;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.StreamWriteFeature;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.ObjectWriter;
+import tools.jackson.dataformat.cbor.CBORMapper;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Writes a repository Stream as a JSON (or CBOR) array, element by element, instead of building a
+ * List of DTOs and serializing it in one go. JSON output is byte-for-byte the array the List
+ * endpoints return. CBOR decodes to the same array, but is written as an indefinite-length array
+ * (0x9F ... 0xFF) because the row count is not known until the cursor ends.
+ *
+ * - Rows are read through a cursor inside a read-only transaction on the async response thread and
+ *   detached once written, so heap per request stays flat regardless of result size
+ * - The first element is flushed immediately (constant time-to-first-byte); after that Jackson and
+ *   servlet buffers fill and flush on their own
+ * - The DB connection is held until the last row is written, so a slow client holds one pooled
+ *   connection for the duration (bounded by the JDBC bulkhead and the async request timeout)
+ * - Compression is left to the container (server.compression.*), which gzips chunked responses on the fly
+ */
+@Slf4j
+@Component
+public class ArrayResponseStreamer {
+
+    private final ObjectWriter jsonWriter;
+    private final ObjectWriter cborWriter;
+    private final EntityManager entityManager;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public ArrayResponseStreamer(
+            ObjectMapper objectMapper,
+            CBORMapper cborMapper,
+            EntityManager entityManager,
+            PlatformTransactionManager transactionManager
+    ) {
+        // the servlet container owns the response stream
+        this.jsonWriter = objectMapper.writer().without(StreamWriteFeature.AUTO_CLOSE_TARGET);
+        this.cborWriter = cborMapper.writer().without(StreamWriteFeature.AUTO_CLOSE_TARGET);
+        this.entityManager = entityManager;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * application/cbor when the Accept header prefers it over JSON (see ETags.negotiate)
+     */
+    public MediaType negotiate(WebRequest request) {
+        return ETags.negotiate(request);
+    }
+
+    public <E, D> StreamingResponseBody stream(MediaType mediaType, Supplier<Stream<E>> rows, Function<E, D> mapper) {
+        ObjectWriter writer = MediaType.APPLICATION_CBOR.equalsTypeAndSubtype(mediaType) ? cborWriter : jsonWriter;
+
+        return outputStream -> readOnlyTransaction.executeWithoutResult(status -> {
+            long startTime = System.nanoTime();
+            long count = 0;
+
+            try (Stream<E> stream = rows.get();
+                 JsonGenerator generator = writer.createGenerator(outputStream)) {
+                generator.writeStartArray();
+                for (E row : (Iterable<E>) stream::iterator) {
+                    generator.writePOJO(mapper.apply(row));
+                    entityManager.detach(row);
+                    if (++count == 1) {
+                        generator.flush();
+                    }
+                }
+                generator.writeEndArray();
+            }
+
+            log.debug("event=array_stream_completed format={} rows={} durationMs={}",
+                    mediaType.getSubtype(), count, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime));
+        });
+    }
+}
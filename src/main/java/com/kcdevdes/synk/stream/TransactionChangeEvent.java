@@ -0,0 +1,27 @@
+package com.kcdevdes.synk.stream;
+
+import com.kcdevdes.synk.dto.response.TransactionDTO;
+
+import java.time.Instant;
+
+/**
+ * Published by TransactionService inside the DB transaction; delivered to streams only after commit.
+ *
+ * previousType / previousOccurredAt are the values before an UPDATED change, so listeners that
+ * aggregate by type or month (BudgetTracker) can correct the old bucket; null when not an update.
+ */
+public record TransactionChangeEvent(
+        ChangeType changeType,
+        Long userId,
+        TransactionDTO transaction,
+        String previousType,
+        Instant previousOccurredAt
+) {
+    public TransactionChangeEvent(ChangeType changeType, Long userId, TransactionDTO transaction) {
+        this(changeType, userId, transaction, null, null);
+    }
+
+    public enum ChangeType {
+        CREATED, UPDATED, DELETED
+    }
+}
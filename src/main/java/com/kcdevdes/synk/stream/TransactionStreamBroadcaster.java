@@ -0,0 +1,246 @@
+package com.kcdevdes.synk.stream;
+
+import com.kcdevdes.synk.config.properties.AppStreamProperties;
+import com.kcdevdes.synk.exception.custom.CapacityExceededException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Per-user Server-Sent Events feed of transaction changes.
+ *
+ * - Fed after commit from {@link TransactionChangeEvent}s, so streams never see rolled-back writes
+ * - Each connection has a bounded queue drained by its own sender (a virtual thread); a client that
+ *   falls behind by more than buffer-size events is disconnected and resumes with Last-Event-ID
+ * - A node-wide replay log of the last replay-size events serves Last-Event-ID resumes; if the
+ *   requested id has already been evicted the client gets a "reset" event and should refetch
+ * - Concurrent streams per node are capped at max-connections (503 beyond that)
+ */
+@Slf4j
+@Component
+public class TransactionStreamBroadcaster implements DisposableBean {
+
+    private static final String RESET_EVENT = "reset";
+
+    private final int maxConnections;
+    private final int bufferSize;
+    private final long timeoutMs;
+
+    private final Map<Long, Set<StreamConnection>> connectionsByUser = new ConcurrentHashMap<>();
+    private final AtomicInteger openConnections = new AtomicInteger();
+    private final ExecutorService senders;
+
+    // Guards the replay log and keeps "append + fan out" atomic with "register + replay"
+    private final ReentrantLock lock = new ReentrantLock();
+    private final StreamItem[] replayLog;
+    private long lastEventId;
+
+    @Autowired
+    public TransactionStreamBroadcaster(AppStreamProperties streamProperties, MeterRegistry meterRegistry) {
+        this(streamProperties, meterRegistry, Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    TransactionStreamBroadcaster(AppStreamProperties streamProperties, MeterRegistry meterRegistry, ExecutorService senders) {
+        this.senders = senders;
+        this.maxConnections = streamProperties.getMaxConnections();
+        this.bufferSize = streamProperties.getBufferSize();
+        this.timeoutMs = streamProperties.getTimeoutMs();
+        this.replayLog = new StreamItem[streamProperties.getReplaySize()];
+
+        Gauge.builder("synk.stream.connections", openConnections, AtomicInteger::get)
+                .description("Open transaction SSE streams on this node")
+                .register(meterRegistry);
+    }
+
+    public SseEmitter subscribe(Long userId, String lastEventIdHeader) {
+        if (openConnections.incrementAndGet() > maxConnections) {
+            openConnections.decrementAndGet();
+            throw CapacityExceededException.streams(maxConnections);
+        }
+
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        StreamConnection connection = new StreamConnection(userId, emitter);
+        emitter.onCompletion(connection::close);
+        emitter.onTimeout(connection::close);
+        emitter.onError(error -> connection.close());
+
+        Long resumeFrom = parseEventId(lastEventIdHeader);
+
+        lock.lock();
+        try {
+            connectionsByUser.computeIfAbsent(userId, key -> ConcurrentHashMap.newKeySet()).add(connection);
+            if (resumeFrom != null) {
+                replay(connection, resumeFrom);
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        log.debug("event=transaction_stream_opened userId={} lastEventId={}", userId, resumeFrom);
+        return emitter;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTransactionChange(TransactionChangeEvent event) {
+        lock.lock();
+        try {
+            long id = ++lastEventId;
+            StreamItem item = new StreamItem(
+                    id,
+                    event.userId(),
+                    "transaction." + event.changeType().name().toLowerCase(Locale.ROOT),
+                    event.transaction()
+            );
+            replayLog[(int) (id % replayLog.length)] = item;
+
+            Set<StreamConnection> connections = connectionsByUser.get(event.userId());
+            if (connections != null) {
+                for (StreamConnection connection : connections) {
+                    connection.enqueue(item);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Scheduled(fixedRateString = "${app.stream.heartbeat-interval-ms:15000}")
+    public void heartbeat() {
+        for (Set<StreamConnection> connections : connectionsByUser.values()) {
+            for (StreamConnection connection : connections) {
+                connection.enqueue(StreamItem.HEARTBEAT);
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        connectionsByUser.values().forEach(connections -> connections.forEach(c -> c.emitter.complete()));
+        senders.shutdownNow();
+    }
+
+    // Caller holds the lock
+    private void replay(StreamConnection connection, long resumeFrom) {
+        long oldestRetained = Math.max(1, lastEventId - replayLog.length + 1);
+        if (resumeFrom > lastEventId || resumeFrom + 1 < oldestRetained) {
+            connection.enqueue(new StreamItem(null, connection.userId, RESET_EVENT,
+                    Map.of("reason", "replay_unavailable")));
+            return;
+        }
+
+        List<StreamItem> missed = new ArrayList<>();
+        for (long id = resumeFrom + 1; id <= lastEventId; id++) {
+            StreamItem item = replayLog[(int) (id % replayLog.length)];
+            if (item != null && item.userId().equals(connection.userId)) {
+                missed.add(item);
+            }
+        }
+        missed.forEach(connection::enqueue);
+    }
+
+    private static Long parseEventId(String header) {
+        if (header == null || header.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.parseLong(header.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private record StreamItem(Long id, Long userId, String name, Object data) {
+        static final StreamItem HEARTBEAT = new StreamItem(null, null, null, null);
+
+        SseEmitter.SseEventBuilder toSseEvent() {
+            if (this == HEARTBEAT) {
+                return SseEmitter.event().comment("heartbeat");
+            }
+            SseEmitter.SseEventBuilder builder = SseEmitter.event().name(name).data(data, MediaType.APPLICATION_JSON);
+            return id != null ? builder.id(id.toString()) : builder;
+        }
+    }
+
+    private final class StreamConnection {
+
+        private final Long userId;
+        private final SseEmitter emitter;
+        private final ArrayBlockingQueue<StreamItem> queue = new ArrayBlockingQueue<>(bufferSize);
+        private final AtomicBoolean draining = new AtomicBoolean(false);
+        private final AtomicBoolean closed = new AtomicBoolean(false);
+
+        private StreamConnection(Long userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+
+        void enqueue(StreamItem item) {
+            if (closed.get()) {
+                return;
+            }
+            if (!queue.offer(item)) {
+                log.warn("event=transaction_stream_overflow userId={} bufferSize={}", userId, bufferSize);
+                emitter.complete();
+                close();
+                return;
+            }
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                StreamItem item;
+                while (!closed.get() && (item = queue.poll()) != null) {
+                    emitter.send(item.toSseEvent());
+                }
+            } catch (IOException | IllegalStateException e) {
+                close();
+            } finally {
+                draining.set(false);
+                if (!closed.get() && !queue.isEmpty()) {
+                    scheduleDrain();
+                }
+            }
+        }
+
+        void close() {
+            if (!closed.compareAndSet(false, true)) {
+                return;
+            }
+            openConnections.decrementAndGet();
+            queue.clear();
+            connectionsByUser.computeIfPresent(userId, (key, connections) -> {
+                connections.remove(this);
+                return connections.isEmpty() ? null : connections;
+            });
+        }
+    }
+}
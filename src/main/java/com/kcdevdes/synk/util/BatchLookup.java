@@ -0,0 +1,73 @@
+package com.kcdevdes.synk.util;
+
+import com.kcdevdes.synk.dto.common.BatchResponse;
+import com.kcdevdes.synk.exception.custom.InvalidInputException;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Multi-get (?ids=1,2,3) helpers.
+ *
+ * Ids are loaded with one IN query per CHUNK_SIZE ids (keeps the bind parameter count bounded) and
+ * returned in request order, with the ids that were not found listed separately.
+ */
+public final class BatchLookup {
+
+    public static final int MAX_IDS = 1000;
+    static final int CHUNK_SIZE = 500;
+
+    private BatchLookup() {
+    }
+
+    /**
+     * Parses "3,1,2" into distinct ids, in request order
+     */
+    public static List<Long> parseIds(String ids) {
+        Set<Long> parsed = new LinkedHashSet<>();
+        for (String id : ids.split(",")) {
+            if (id.isBlank()) {
+                continue;
+            }
+            try {
+                parsed.add(Long.parseLong(id.trim()));
+            } catch (NumberFormatException e) {
+                throw InvalidInputException.ids(MAX_IDS);
+            }
+        }
+        if (parsed.isEmpty() || parsed.size() > MAX_IDS) {
+            throw InvalidInputException.ids(MAX_IDS);
+        }
+        return new ArrayList<>(parsed);
+    }
+
+    public static <E> BatchResponse<E> load(
+            List<Long> ids,
+            Function<List<Long>, List<E>> query,
+            Function<E, Long> idOf
+    ) {
+        Map<Long, E> found = HashMap.newHashMap(ids.size());
+        for (int from = 0; from < ids.size(); from += CHUNK_SIZE) {
+            for (E entity : query.apply(ids.subList(from, Math.min(from + CHUNK_SIZE, ids.size())))) {
+                found.put(idOf.apply(entity), entity);
+            }
+        }
+
+        List<E> content = new ArrayList<>(found.size());
+        List<Long> missingIds = new ArrayList<>(ids.size() - found.size());
+        for (Long id : ids) {
+            E entity = found.get(id);
+            if (entity != null) {
+                content.add(entity);
+            } else {
+                missingIds.add(id);
+            }
+        }
+        return new BatchResponse<>(content, missingIds);
+    }
+}
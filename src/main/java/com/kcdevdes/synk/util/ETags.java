@@ -0,0 +1,139 @@
+package com.kcdevdes.synk.util;
+
+import com.kcdevdes.synk.repository.CollectionFingerprint;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * ETag / conditional GET helpers.
+ *
+ * Single resources: strong ETag from (id, updatedAt). Lists: weak ETag from a CollectionFingerprint
+ * (row count + max updatedAt, computed in SQL). Timestamps are truncated to microseconds, the
+ * precision the database stores, so a freshly saved entity and the same row re-read agree.
+ *
+ * conditional() answers If-None-Match with 304 before the body supplier runs, so unchanged
+ * resources skip DTO mapping and JSON serialization (and, for lists, the list query itself).
+ * Responses are marked "no-cache, private": clients may keep them but must revalidate.
+ *
+ * A validator identifies one representation (RFC 9110 8.8.3), so conditional() tags CBOR bodies
+ * with a -cbor suffix ("12-abc-cbor", W/"3-abc-cbor"): a client holding the JSON body never gets a
+ * 304 for a CBOR request. Responses carry Vary: Accept for shared caches.
+ */
+public final class ETags {
+
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+    private static final String CBOR_SUFFIX = "-cbor";
+
+    private ETags() {
+    }
+
+    public static String strong(Long id, Instant updatedAt, Instant... relatedUpdatedAt) {
+        StringBuilder tag = new StringBuilder(48).append('"').append(id).append('-');
+        appendMicros(tag, updatedAt);
+        for (Instant related : relatedUpdatedAt) {
+            appendMicros(tag.append('-'), related);
+        }
+        return tag.append('"').toString();
+    }
+
+    public static String weak(CollectionFingerprint fingerprint) {
+        StringBuilder tag = new StringBuilder(48).append("W/\"").append(fingerprint.count()).append('-');
+        appendMicros(tag, fingerprint.lastUpdatedAt());
+        if (fingerprint.relatedUpdatedAt() != null) {
+            appendMicros(tag.append('-'), fingerprint.relatedUpdatedAt());
+        }
+        return tag.append('"').toString();
+    }
+
+    /**
+     * Weak ETag for a variant of a list (e.g. a ?fields= selection), so variants never share a tag
+     */
+    public static String weak(CollectionFingerprint fingerprint, String variant) {
+        String tag = weak(fingerprint);
+        return tag.substring(0, tag.length() - 1) + '-' + Integer.toHexString(variant.hashCode()) + '"';
+    }
+
+    /**
+     * The tag for one representation of etag: CBOR gets a suffix inside the quotes, JSON keeps it as is
+     */
+    public static String forRepresentation(String etag, MediaType mediaType) {
+        if (!MediaType.APPLICATION_CBOR.isCompatibleWith(mediaType)) {
+            return etag;
+        }
+        return etag.substring(0, etag.length() - 1) + CBOR_SUFFIX + '"';
+    }
+
+    /**
+     * application/cbor when the Accept header prefers it over JSON, otherwise application/json
+     */
+    public static MediaType negotiate(WebRequest request) {
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        if (accept == null || accept.isBlank()) {
+            return MediaType.APPLICATION_JSON;
+        }
+
+        List<MediaType> accepted;
+        try {
+            accepted = new ArrayList<>(MediaType.parseMediaTypes(accept));
+        } catch (InvalidMediaTypeException e) {
+            return MediaType.APPLICATION_JSON;
+        }
+        // stable sort: equal quality keeps header order
+        accepted.sort(Comparator.comparingDouble(MediaType::getQualityValue).reversed());
+        for (MediaType mediaType : accepted) {
+            if (mediaType.isCompatibleWith(MediaType.APPLICATION_JSON)) {
+                return MediaType.APPLICATION_JSON;
+            }
+            if (mediaType.isCompatibleWith(MediaType.APPLICATION_CBOR)) {
+                return MediaType.APPLICATION_CBOR;
+            }
+        }
+        return MediaType.APPLICATION_JSON;
+    }
+
+    public static <T> ResponseEntity<T> conditional(WebRequest request, String etag, Supplier<T> body) {
+        return conditional(request, etag, null, body);
+    }
+
+    /**
+     * contentType is for bodies no message converter sees (StreamingResponseBody); without one the
+     * representation is the one negotiate() picks, as the message converters would
+     */
+    public static <T> ResponseEntity<T> conditional(
+            WebRequest request,
+            String etag,
+            MediaType contentType,
+            Supplier<T> body
+    ) {
+        String tag = forRepresentation(etag, contentType != null ? contentType : negotiate(request));
+        // checkNotModified sets the ETag header on the response in both outcomes
+        if (request.checkNotModified(tag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(REVALIDATE).varyBy(HttpHeaders.ACCEPT).build();
+        }
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok().cacheControl(REVALIDATE).varyBy(HttpHeaders.ACCEPT);
+        if (contentType != null) {
+            builder.contentType(contentType);
+        }
+        return builder.body(body.get());
+    }
+
+    private static void appendMicros(StringBuilder tag, Instant instant) {
+        if (instant == null) {
+            tag.append('0');
+            return;
+        }
+        long micros = Math.addExact(Math.multiplyExact(instant.getEpochSecond(), 1_000_000L), instant.getNano() / 1_000);
+        tag.append(Long.toHexString(micros));
+    }
+}
@@ -5,13 +5,38 @@ import com.kcdevdes.synk.exception.custom.InvalidInputException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.regex.Pattern;
-
+/**
+ * Plain-text input cleanup shared by the mappers.
+ *
+ * sanitizePlainText is equivalent to
+ * value.trim().replaceAll("\\p{Cntrl}", "") followed by rejecting
+ * (?i)(<\s*script|</\s*script|javascript:|on\w+\s*=), but does it in one scan without regex:
+ * - trim: leading/trailing chars <= U+0020 (String.trim semantics)
+ * - control chars: U+0000-U+001F and U+007F (\p{Cntrl} is ASCII-only)
+ * - pattern matching: ASCII case-insensitive, on the text after control chars are removed
+ *   (after removal the only \s left is ' ')
+ * Already-clean input is returned as the same String instance, so the common case allocates nothing.
+ */
 public final class InputSanitizer {
 
     private static final Logger log = LoggerFactory.getLogger(InputSanitizer.class);
-    private static final Pattern SUSPICIOUS_PATTERN =
-            Pattern.compile("(?i)(<\\s*script|</\\s*script|javascript:|on\\w+\\s*=)");
+
+    private static final String SCRIPT = "script";
+    private static final String JAVASCRIPT = "javascript:";
+
+    // <\s*script | </\s*script
+    private static final int TAG_NONE = 0;
+    private static final int TAG_LT = 1;          // "<"
+    private static final int TAG_LT_SPACE = 2;    // "<" + spaces
+    private static final int TAG_SLASH = 3;       // "</" + optional spaces
+    private static final int TAG_NAME = 4;        // matching "script", progress in tagNameIndex
+
+    // on\w+\s*=
+    private static final int ON_NONE = 0;
+    private static final int ON_O = 1;            // "o"
+    private static final int ON_ON = 2;           // "on"
+    private static final int ON_WORD = 3;         // "on" + word chars
+    private static final int ON_SPACE = 4;        // "on" + word chars + spaces
 
     private InputSanitizer() {
     }
@@ -21,8 +46,116 @@ public final class InputSanitizer {
             return null;
         }
 
-        String sanitized = value.trim().replaceAll("\\p{Cntrl}", "");
-        if (SUSPICIOUS_PATTERN.matcher(sanitized).find()) {
+        int start = 0;
+        int end = value.length();
+        while (start < end && value.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && value.charAt(end - 1) <= ' ') {
+            end--;
+        }
+
+        StringBuilder cleaned = null;
+        int tagState = TAG_NONE;
+        int tagNameIndex = 0;
+        int javascriptIndex = 0;
+        int onState = ON_NONE;
+        boolean suspicious = false;
+
+        for (int i = start; i < end; i++) {
+            char c = value.charAt(i);
+            if (isControl(c)) {
+                if (cleaned == null) {
+                    cleaned = new StringBuilder(end - start).append(value, start, i);
+                }
+                continue;
+            }
+            if (cleaned != null) {
+                cleaned.append(c);
+            }
+            if (suspicious) {
+                continue;
+            }
+
+            char lower = toLowerAscii(c);
+
+            // <\s*script, </\s*script
+            switch (tagState) {
+                case TAG_LT, TAG_LT_SPACE, TAG_SLASH -> {
+                    if (c == ' ') {
+                        tagState = tagState == TAG_LT ? TAG_LT_SPACE : tagState;
+                    } else if (c == '/' && tagState == TAG_LT) {
+                        tagState = TAG_SLASH;
+                    } else if (lower == SCRIPT.charAt(0)) {
+                        tagState = TAG_NAME;
+                        tagNameIndex = 1;
+                    } else {
+                        tagState = c == '<' ? TAG_LT : TAG_NONE;
+                    }
+                }
+                case TAG_NAME -> {
+                    if (lower == SCRIPT.charAt(tagNameIndex)) {
+                        if (++tagNameIndex == SCRIPT.length()) {
+                            suspicious = true;
+                        }
+                    } else {
+                        tagState = c == '<' ? TAG_LT : TAG_NONE;
+                    }
+                }
+                default -> {
+                    if (c == '<') {
+                        tagState = TAG_LT;
+                    }
+                }
+            }
+
+            // javascript: ("javascript:" has no self-overlap, so a mismatch restarts from this char)
+            if (lower == JAVASCRIPT.charAt(javascriptIndex)) {
+                if (++javascriptIndex == JAVASCRIPT.length()) {
+                    suspicious = true;
+                }
+            } else {
+                javascriptIndex = lower == 'j' ? 1 : 0;
+            }
+
+            // on\w+\s*=
+            switch (onState) {
+                case ON_O -> onState = lower == 'n' ? ON_ON : (lower == 'o' ? ON_O : ON_NONE);
+                case ON_ON -> onState = isWordChar(c) ? ON_WORD : ON_NONE;
+                case ON_WORD -> {
+                    if (c == '=') {
+                        suspicious = true;
+                    } else if (c == ' ') {
+                        onState = ON_SPACE;
+                    } else if (!isWordChar(c)) {
+                        onState = ON_NONE;
+                    }
+                }
+                case ON_SPACE -> {
+                    if (c == '=') {
+                        suspicious = true;
+                    } else if (c != ' ') {
+                        onState = lower == 'o' ? ON_O : ON_NONE;
+                    }
+                }
+                default -> {
+                    if (lower == 'o') {
+                        onState = ON_O;
+                    }
+                }
+            }
+        }
+
+        String sanitized;
+        if (cleaned != null) {
+            sanitized = cleaned.toString();
+        } else if (start == 0 && end == value.length()) {
+            sanitized = value;
+        } else {
+            sanitized = value.substring(start, end);
+        }
+
+        if (suspicious) {
             log.warn("event=suspicious_input field={} valueLength={}", fieldName, sanitized.length());
             throw new InvalidInputException(
                     ErrorCode.INVALID_INPUT_VALUE,
@@ -32,4 +165,16 @@ public final class InputSanitizer {
 
         return sanitized;
     }
+
+    private static boolean isControl(char c) {
+        return c < 0x20 || c == 0x7F;
+    }
+
+    private static boolean isWordChar(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_';
+    }
+
+    private static char toLowerAscii(char c) {
+        return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+    }
 }
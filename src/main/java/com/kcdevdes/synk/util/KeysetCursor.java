@@ -0,0 +1,52 @@
+package com.kcdevdes.synk.util;
+
+import com.kcdevdes.synk.exception.custom.InvalidInputException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Keyset pagination (?cursor=&size=) helpers.
+ *
+ * The cursor is the id of the last row of the previous page, base64url encoded so clients treat it
+ * as opaque and the format can change without breaking them.
+ */
+public final class KeysetCursor {
+
+    public static final int DEFAULT_SIZE = 50;
+    public static final int MAX_SIZE = 500;
+
+    private KeysetCursor() {
+    }
+
+    public static String encode(long lastId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(Long.toString(lastId).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * @return the last id of the previous page, null for the first page
+     */
+    public static Long decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            byte[] decoded = Base64.getUrlDecoder().decode(cursor.trim());
+            return Long.parseLong(new String(decoded, StandardCharsets.US_ASCII));
+        } catch (IllegalArgumentException e) {
+            // also NumberFormatException
+            throw InvalidInputException.cursor();
+        }
+    }
+
+    public static int size(Integer size) {
+        if (size == null) {
+            return DEFAULT_SIZE;
+        }
+        if (size < 1 || size > MAX_SIZE) {
+            throw InvalidInputException.pageSize(MAX_SIZE);
+        }
+        return size;
+    }
+}
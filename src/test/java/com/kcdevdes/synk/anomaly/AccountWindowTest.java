@@ -0,0 +1,71 @@
+package com.kcdevdes.synk.anomaly;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("AccountWindow Unit Test")
+class AccountWindowTest {
+
+    private static final long MINUTE = TimeUnit.MINUTES.toMillis(1);
+    private static final long HOUR = TimeUnit.HOURS.toMillis(1);
+    private static final AccountWindow.Thresholds THRESHOLDS =
+            new AccountWindow.Thresholds(5, 10 * MINUTE, 5, 5.0, 100_00);
+
+    private static final long COFFEE = TransactionAnomalyScorer.merchantHash("Coffee Shop #123");
+    private static final long STORE = TransactionAnomalyScorer.merchantHash("Electronics Store");
+
+    @Test
+    @DisplayName("velocity counts only transactions inside the window")
+    void evaluate_VelocityWithinWindow() {
+        AccountWindow window = new AccountWindow(8, 512);
+        long now = 0;
+        for (int i = 0; i < 5; i++) {
+            assertFalse(window.evaluate(now, 20_00, COFFEE, THRESHOLDS).contains(AnomalyRule.VELOCITY));
+            window.record(now, 20_00, COFFEE);
+            now += MINUTE;
+        }
+        assertTrue(window.evaluate(now, 20_00, COFFEE, THRESHOLDS).contains(AnomalyRule.VELOCITY));
+        assertFalse(window.evaluate(now + 10 * MINUTE, 20_00, COFFEE, THRESHOLDS).contains(AnomalyRule.VELOCITY));
+    }
+
+    @Test
+    @DisplayName("amount spike and new merchant need history; other currencies are not compared")
+    void evaluate_AmountSpikeAndNewMerchant() {
+        AccountWindow window = new AccountWindow(8, 512);
+        assertEquals(Set.of(), window.evaluate(0, 900_00, STORE, THRESHOLDS));
+
+        long now = 0;
+        for (int i = 0; i < 5; i++) {
+            window.record(now, 20_00, TransactionAnomalyScorer.merchantHash("Coffee Shop #" + i));
+            now += HOUR;
+        }
+        assertEquals(Set.of(AnomalyRule.AMOUNT_SPIKE, AnomalyRule.NEW_MERCHANT),
+                window.evaluate(now, 900_00, STORE, THRESHOLDS));
+        // merchant reference numbers are ignored
+        assertEquals(Set.of(), window.evaluate(now, 20_00, COFFEE, THRESHOLDS));
+        // below amount-spike-min-amount
+        assertEquals(Set.of(), window.evaluate(now, 99_00, COFFEE, THRESHOLDS));
+        assertEquals(Set.of(), window.evaluate(now, AccountWindow.OTHER_CURRENCY, COFFEE, THRESHOLDS));
+    }
+
+    @Test
+    @DisplayName("the ring keeps the last entries and the sketch forgets merchants that left it")
+    void record_RingOverwritesOldest() {
+        AccountWindow window = new AccountWindow(8, 64);
+        long now = 0;
+        window.record(now, 1000_00, STORE);
+        for (int i = 0; i < 40; i++) {
+            now += HOUR;
+            window.record(now, 20_00, TransactionAnomalyScorer.merchantHash("merchant " + (char) ('a' + i / 26) + (char) ('a' + i % 26)));
+        }
+        assertEquals(8, window.size());
+        // mean is back to 20.00 once the 1000.00 entry is overwritten
+        assertTrue(window.evaluate(now + HOUR, 101_00, COFFEE, THRESHOLDS).contains(AnomalyRule.AMOUNT_SPIKE));
+        assertTrue(window.evaluate(now + HOUR, 20_00, STORE, THRESHOLDS).contains(AnomalyRule.NEW_MERCHANT));
+    }
+}
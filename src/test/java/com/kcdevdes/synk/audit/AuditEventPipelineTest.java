@@ -0,0 +1,68 @@
+package com.kcdevdes.synk.audit;
+
+import com.kcdevdes.synk.config.properties.AppAuditProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("AuditEventPipeline Unit Test")
+class AuditEventPipelineTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("counts events as written per sink, and not for a sink that failed the batch")
+    void flush_CountsWrittenOnlyForSinksThatSucceeded() {
+        List<AuditEvent> written = new CopyOnWriteArrayList<>();
+        AppAuditProperties properties = new AppAuditProperties();
+        properties.setSinks(List.of("file", "jdbc"));
+        AuditEventPipeline pipeline = new AuditEventPipeline(properties, List.of(
+                sink("file", written::addAll),
+                sink("jdbc", batch -> {
+                    throw new IOException("database down");
+                })
+        ), meterRegistry);
+
+        pipeline.start();
+        for (long i = 1; i <= 3; i++) {
+            pipeline.publish(new AuditEvent(AuditEventType.ACCOUNT_CREATED, Instant.now(), null, i, i, null, null));
+        }
+        pipeline.stop(); // drains what is left before returning
+
+        assertEquals(3, written.size());
+        assertEquals(3, count("synk.audit.events.written", "file"));
+        assertEquals(0, count("synk.audit.events.written", "jdbc"));
+        assertEquals(0, count("synk.audit.sink.failures", "file"));
+        assertTrue(count("synk.audit.sink.failures", "jdbc") >= 1);
+    }
+
+    private double count(String name, String sink) {
+        return meterRegistry.get(name).tag("sink", sink).counter().count();
+    }
+
+    private static AuditSink sink(String name, Writer writer) {
+        return new AuditSink() {
+            @Override
+            public String name() {
+                return name;
+            }
+
+            @Override
+            public void write(List<AuditEvent> batch) throws Exception {
+                writer.write(batch);
+            }
+        };
+    }
+
+    @FunctionalInterface
+    private interface Writer {
+        void write(List<AuditEvent> batch) throws Exception;
+    }
+}
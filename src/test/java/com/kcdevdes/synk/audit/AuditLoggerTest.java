@@ -0,0 +1,65 @@
+package com.kcdevdes.synk.audit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// not @Transactional: the test decides whether each transaction commits or rolls back
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("AuditLogger Test")
+class AuditLoggerTest {
+
+    @Autowired
+    private AuditLogger auditLogger;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    @DisplayName("change events enter the pipeline after commit and never for a rolled-back transaction")
+    void changeEvents_PublishedOnlyAfterCommit() {
+        double before = published();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            auditLogger.accountCreated(1L, 1L);
+            assertEquals(before, published(), "not before commit");
+        });
+        assertEquals(before + 1, published());
+
+        transactionTemplate.executeWithoutResult(status -> {
+            auditLogger.accountDeleted(1L, 1L);
+            status.setRollbackOnly();
+        });
+        assertEquals(before + 1, published());
+
+        auditLogger.accountUpdated(1L, 1L);
+        assertEquals(before + 2, published(), "no transaction: published immediately");
+    }
+
+    @Test
+    @DisplayName("login attempts are recorded even when the surrounding transaction rolls back")
+    void loginAttempt_RecordedDespiteRollback() {
+        double before = published();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            auditLogger.loginAttempt(1L, false);
+            status.setRollbackOnly();
+        });
+
+        assertEquals(before + 1, published());
+    }
+
+    private double published() {
+        return meterRegistry.get("synk.audit.events.published").counter().count();
+    }
+}
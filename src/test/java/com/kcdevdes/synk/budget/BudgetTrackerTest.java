@@ -0,0 +1,299 @@
+package com.kcdevdes.synk.budget;
+
+import com.kcdevdes.synk.config.properties.AppBudgetProperties;
+import com.kcdevdes.synk.dto.response.TransactionDTO;
+import com.kcdevdes.synk.entity.AccountEntity;
+import com.kcdevdes.synk.entity.BudgetEntity;
+import com.kcdevdes.synk.entity.TransactionEntity;
+import com.kcdevdes.synk.entity.UserEntity;
+import com.kcdevdes.synk.entity.type.AccountType;
+import com.kcdevdes.synk.entity.type.TransactionStatus;
+import com.kcdevdes.synk.entity.type.TransactionType;
+import com.kcdevdes.synk.entity.type.UserType;
+import com.kcdevdes.synk.jdbc.SqlStatistics;
+import com.kcdevdes.synk.mapper.TransactionMapper;
+import com.kcdevdes.synk.repository.AccountRepository;
+import com.kcdevdes.synk.repository.BudgetRepository;
+import com.kcdevdes.synk.repository.TransactionRepository;
+import com.kcdevdes.synk.repository.UserRepository;
+import com.kcdevdes.synk.stream.TransactionChangeEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Transactional
+@ActiveProfiles("test")
+@DisplayName("BudgetTracker Test")
+class BudgetTrackerTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private BudgetRepository budgetRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // occurredAt is stamped by Hibernate, so months follow the real clock
+    private final AtomicLong clock = new AtomicLong(System.currentTimeMillis());
+    private final List<Object> published = Collections.synchronizedList(new ArrayList<>());
+    private BudgetTracker tracker;
+    private UserEntity user;
+    private AccountEntity account;
+    private BudgetEntity budget;
+
+    @BeforeEach
+    void setUp() {
+        AppBudgetProperties properties = new AppBudgetProperties();
+        properties.setThresholds(List.of(100, 80));
+        tracker = new BudgetTracker(properties, budgetRepository, transactionRepository, jdbcTemplate,
+                published::add, new SimpleMeterRegistry(), clock::get);
+
+        user = saveUser();
+        account = saveAccount();
+        budget = new BudgetEntity();
+        budget.setUserId(user.getId());
+        budget.setCategory("Food");
+        budget.setCategoryKey(BudgetTracker.categoryKey("Food"));
+        budget.setCurrency("USD");
+        budget.setMonthlyLimit(new BigDecimal("100.00"));
+        budget = budgetRepository.saveAndFlush(budget);
+    }
+
+    @Test
+    @DisplayName("publishes each threshold once as spend crosses it, without a query once warm, and flushes the total")
+    void onTransactionChange_PublishesCrossingsWithoutQueries() {
+        tracker.onTransactionChange(created(1L, "50.00", " food", "USD"));
+        assertTrue(published.isEmpty());
+
+        SqlStatistics statistics = SqlStatistics.begin();
+        try {
+            tracker.onTransactionChange(created(2L, "35.00", "FOOD", "USD"));
+            tracker.onTransactionChange(created(3L, "40.00", "Food", "EUR")); // other currency
+            tracker.onTransactionChange(created(4L, "20.00", "Travel", "USD")); // no budget
+            tracker.onTransactionChange(created(5L, "20.00", "Food", "USD"));
+            assertEquals(0, statistics.getStatementCount());
+        } finally {
+            SqlStatistics.end();
+        }
+
+        assertEquals(2, published.size());
+        BudgetThresholdCrossedEvent warning = (BudgetThresholdCrossedEvent) published.get(0);
+        assertEquals(80, warning.thresholdPercent());
+        assertEquals(budget.getId(), warning.budgetId());
+        assertEquals(new BigDecimal("85.00"), warning.spent());
+        assertEquals(2L, warning.transactionId());
+        BudgetThresholdCrossedEvent exceeded = (BudgetThresholdCrossedEvent) published.get(1);
+        assertEquals(100, exceeded.thresholdPercent());
+        assertEquals(new BigDecimal("105.00"), exceeded.spent());
+
+        assertEquals(new BigDecimal("105.00"), tracker.spent(budget));
+        assertNull(storedSpend(), "written only on flush");
+        tracker.flush();
+        assertEquals(10500L, storedSpend());
+
+        tracker.onTransactionChange(created(6L, "1.50", "Food", "USD"));
+        tracker.flush();
+        assertEquals(10650L, storedSpend());
+    }
+
+    @Test
+    @DisplayName("counts spend already in the month when budgets change and re-totals on delete")
+    void budgetsChanged_SeedsFromTransactionsAndRetotalsOnDelete() {
+        saveExpense("30.00", "food");
+        TransactionEntity second = saveExpense("45.00", "Food ");
+        saveExpense("99.00", "Travel");
+
+        tracker.budgetsChanged(user.getId());
+        assertEquals(new BigDecimal("75.00"), tracker.spent(budget));
+
+        second.setDeleted(true);
+        transactionRepository.saveAndFlush(second);
+        tracker.onTransactionChange(new TransactionChangeEvent(
+                TransactionChangeEvent.ChangeType.DELETED, user.getId(), TransactionMapper.toDTO(second)));
+        assertEquals(new BigDecimal("30.00"), tracker.spent(budget));
+
+        tracker.flush();
+        assertEquals(3000L, storedSpend());
+        assertTrue(published.isEmpty());
+    }
+
+    @Test
+    @DisplayName("an update re-totals the month the expense left and drops one that became income")
+    void onTransactionChange_UpdateCorrectsPreviousTypeAndMonth() {
+        TransactionEntity moved = saveExpense("30.00", "Food");
+        TransactionEntity retyped = saveExpense("45.00", "Food");
+        tracker.budgetsChanged(user.getId());
+        assertEquals(new BigDecimal("75.00"), tracker.spent(budget));
+
+        retyped.setType(TransactionType.INCOME);
+        transactionRepository.saveAndFlush(retyped);
+        tracker.onTransactionChange(new TransactionChangeEvent(TransactionChangeEvent.ChangeType.UPDATED,
+                user.getId(), TransactionMapper.toDTO(retyped), "EXPENSE", retyped.getOccurredAt()));
+        assertEquals(new BigDecimal("30.00"), tracker.spent(budget));
+
+        Instant lastMonth = moved.getOccurredAt().atOffset(ZoneOffset.UTC).minusMonths(1).toInstant();
+        jdbcTemplate.update("UPDATE transactions SET occurred_at = ? WHERE id = ?",
+                Timestamp.from(lastMonth), moved.getId());
+        TransactionDTO after = TransactionMapper.toDTO(moved);
+        after.setOccurredAt(lastMonth);
+        tracker.onTransactionChange(new TransactionChangeEvent(TransactionChangeEvent.ChangeType.UPDATED,
+                user.getId(), after, "EXPENSE", moved.getOccurredAt()));
+        assertEquals(new BigDecimal("0.00"), tracker.spent(budget));
+    }
+
+    @Test
+    @DisplayName("held expenses count only once approved; rejected ones never count")
+    void onTransactionChange_CountsCompletedExpensesOnly() {
+        saveExpense("30.00", "Food");
+        tracker.budgetsChanged(user.getId());
+
+        TransactionEntity held = saveExpense("50.00", "Food");
+        held.setStatus(TransactionStatus.PENDING);
+        transactionRepository.saveAndFlush(held);
+        tracker.onTransactionChange(new TransactionChangeEvent(
+                TransactionChangeEvent.ChangeType.CREATED, user.getId(), TransactionMapper.toDTO(held)));
+        assertEquals(new BigDecimal("30.00"), tracker.spent(budget));
+
+        held.setStatus(TransactionStatus.CANCELLED);
+        transactionRepository.saveAndFlush(held);
+        tracker.onTransactionChange(new TransactionChangeEvent(
+                TransactionChangeEvent.ChangeType.UPDATED, user.getId(), TransactionMapper.toDTO(held)));
+        assertEquals(new BigDecimal("30.00"), tracker.spent(budget));
+
+        held.setStatus(TransactionStatus.COMPLETED);
+        transactionRepository.saveAndFlush(held);
+        tracker.onTransactionChange(new TransactionChangeEvent(
+                TransactionChangeEvent.ChangeType.UPDATED, user.getId(), TransactionMapper.toDTO(held)));
+        assertEquals(new BigDecimal("80.00"), tracker.spent(budget));
+    }
+
+    @Test
+    @DisplayName("the stored total matches the in-memory one when re-totals and flushes race new expenses")
+    void flush_RetotalRacingExpensesKeepsStoredTotalConsistent() throws Exception {
+        TransactionEntity expense = saveExpense("10.00", "Food");
+        tracker.budgetsChanged(user.getId()); // limits and the key warm: expenses below need no query
+        // re-totals without dropping the cached limits (the budget is not visible to other threads)
+        TransactionChangeEvent updated = new TransactionChangeEvent(
+                TransactionChangeEvent.ChangeType.UPDATED, user.getId(), TransactionMapper.toDTO(expense));
+
+        int threads = 4;
+        AtomicBoolean done = new AtomicBoolean();
+        CountDownLatch started = new CountDownLatch(threads);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> adders = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                adders.add(executor.submit(() -> {
+                    started.countDown();
+                    long id = 0;
+                    while (!done.get()) {
+                        tracker.onTransactionChange(created(++id, "0.01", "Food", "USD"));
+                    }
+                }));
+            }
+            started.await();
+            for (int i = 0; i < 100; i++) {
+                tracker.onTransactionChange(updated);
+                tracker.flush();
+                tracker.flush();
+            }
+            done.set(true);
+            for (Future<?> adder : adders) {
+                adder.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        tracker.flush();
+        assertEquals(tracker.spent(budget).movePointRight(2).longValueExact(), storedSpend());
+    }
+
+    private TransactionChangeEvent created(Long id, String amount, String category, String currency) {
+        TransactionDTO dto = new TransactionDTO();
+        dto.setId(id);
+        dto.setType(TransactionType.EXPENSE.name());
+        dto.setStatus(TransactionStatus.COMPLETED.name());
+        dto.setAmount(new BigDecimal(amount));
+        dto.setCategory(category);
+        dto.setCurrency(currency);
+        dto.setOccurredAt(Instant.ofEpochMilli(clock.get()));
+        return new TransactionChangeEvent(TransactionChangeEvent.ChangeType.CREATED, user.getId(), dto);
+    }
+
+    private Long storedSpend() {
+        List<Long> stored = jdbcTemplate.queryForList(
+                "SELECT spent_minor FROM budget_spend WHERE user_id = ? AND category_key = ? AND currency = ? AND spend_month = ?",
+                Long.class, user.getId(), "food", "USD",
+                YearMonth.from(Instant.ofEpochMilli(clock.get()).atOffset(ZoneOffset.UTC)).toString());
+        return stored.isEmpty() ? null : stored.get(0);
+    }
+
+    private TransactionEntity saveExpense(String amount, String category) {
+        TransactionEntity entity = new TransactionEntity();
+        entity.setType(TransactionType.EXPENSE);
+        entity.setAmount(new BigDecimal(amount));
+        entity.setMerchant("Test Merchant");
+        entity.setCurrency("USD");
+        entity.setCategory(category);
+        entity.setUser(user);
+        entity.setAccount(account);
+        return transactionRepository.saveAndFlush(entity);
+    }
+
+    private AccountEntity saveAccount() {
+        AccountEntity entity = new AccountEntity();
+        entity.setAccountName("Budget Account");
+        entity.setAccountType(AccountType.BANK_ACCOUNT);
+        entity.setCurrency("USD");
+        entity.setBalance(BigDecimal.valueOf(5000));
+        entity.setUser(user);
+        return accountRepository.saveAndFlush(entity);
+    }
+
+    private UserEntity saveUser() {
+        UserEntity entity = new UserEntity();
+        entity.setEmail("budget@example.com");
+        entity.setUsername("budgetuser");
+        entity.setPassword("password123");
+        entity.setFirstName("Test");
+        entity.setLastName("User");
+        entity.setDefaultCurrency("USD");
+        entity.setLocale("en_US");
+        entity.setTimezone("UTC");
+        entity.setUserType(UserType.USER);
+        return userRepository.saveAndFlush(entity);
+    }
+}
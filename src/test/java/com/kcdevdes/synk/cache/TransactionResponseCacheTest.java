@@ -0,0 +1,93 @@
+package com.kcdevdes.synk.cache;
+
+import com.kcdevdes.synk.config.properties.AppResponseCacheProperties;
+import com.kcdevdes.synk.dto.common.BatchResponse;
+import com.kcdevdes.synk.entity.AccountEntity;
+import com.kcdevdes.synk.entity.TransactionEntity;
+import com.kcdevdes.synk.entity.type.TransactionType;
+import com.kcdevdes.synk.mapper.TransactionMapper;
+import com.kcdevdes.synk.util.BatchLookup;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("TransactionResponseCache Unit Test")
+class TransactionResponseCacheTest {
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+    private final List<List<Long>> queried = new ArrayList<>();
+    private TransactionResponseCache cache;
+    private AccountEntity account;
+    private List<TransactionEntity> rows;
+
+    @BeforeEach
+    void setUp() {
+        AppResponseCacheProperties properties = new AppResponseCacheProperties();
+        properties.setEditWindowMs(0);
+        cache = new TransactionResponseCache(properties, jsonMapper, new SimpleMeterRegistry());
+
+        account = new AccountEntity();
+        account.setId(7L);
+        account.setAccountName("Checking");
+        account.setUpdatedAt(Instant.now().minusSeconds(60));
+        rows = List.of(transaction(1L, "12.50"), transaction(2L, "99.99"));
+    }
+
+    @Test
+    @DisplayName("batchJson writes BatchResponse bytes and queries only the ids that are not cached")
+    void batchJson_QueriesOnlyMisses() {
+        List<Long> ids = List.of(2L, 1L, 3L);
+        String expected = jsonMapper.writeValueAsString(new BatchResponse<>(
+                List.of(TransactionMapper.toDTO(rows.get(1)), TransactionMapper.toDTO(rows.get(0))), List.of(3L)));
+
+        assertEquals(expected, batch(ids));
+        assertEquals(expected, batch(ids));
+        assertEquals(List.of(List.of(2L, 1L, 3L), List.of(3L)), queried);
+    }
+
+    @Test
+    @DisplayName("entries cached by the single get are used by the batch, and an account update drops them")
+    void batchJson_SharesSingleGetEntriesAndInvalidatesByAccount() {
+        for (TransactionEntity row : rows) {
+            cache.json(row, TransactionResponseCache.etagOf(row));
+        }
+        batch(List.of(1L, 2L));
+        assertTrue(queried.isEmpty());
+
+        cache.invalidateAccount(account.getId());
+        batch(List.of(1L, 2L));
+        assertEquals(List.of(List.of(1L, 2L)), queried);
+    }
+
+    private String batch(List<Long> ids) {
+        byte[] json = cache.batchJson(ids, misses -> {
+            queried.add(List.copyOf(misses));
+            return BatchLookup.load(misses,
+                    chunk -> rows.stream().filter(row -> chunk.contains(row.getId())).toList(),
+                    TransactionEntity::getId);
+        });
+        return new String(json, StandardCharsets.UTF_8);
+    }
+
+    private TransactionEntity transaction(Long id, String amount) {
+        TransactionEntity entity = new TransactionEntity();
+        entity.setId(id);
+        entity.setType(TransactionType.EXPENSE);
+        entity.setAmount(new BigDecimal(amount));
+        entity.setCurrency("USD");
+        entity.setMerchant("Merchant " + id);
+        entity.setAccount(account);
+        entity.setUpdatedAt(Instant.now().minusSeconds(60));
+        return entity;
+    }
+}
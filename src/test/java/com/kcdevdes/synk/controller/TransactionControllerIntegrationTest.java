@@ -6,6 +6,7 @@ import com.kcdevdes.synk.entity.AccountEntity;
 import com.kcdevdes.synk.entity.TransactionEntity;
 import com.kcdevdes.synk.entity.UserEntity;
 import com.kcdevdes.synk.entity.type.AccountType;
+import com.kcdevdes.synk.entity.type.TransactionStatus;
 import com.kcdevdes.synk.entity.type.TransactionType;
 import com.kcdevdes.synk.repository.AccountRepository;
 import com.kcdevdes.synk.repository.TransactionRepository;
@@ -21,11 +22,17 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.context.WebApplicationContext;
+import tools.jackson.databind.JsonNode;
 import tools.jackson.databind.ObjectMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
 
 import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -44,6 +51,9 @@ public class TransactionControllerIntegrationTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private CBORMapper cborMapper;
+
     @Autowired
     private TransactionRepository transactionRepository;
 
@@ -130,6 +140,48 @@ public class TransactionControllerIntegrationTest {
                 .andExpect(jsonPath("$.category", is("Salary")));
     }
 
+    @Test
+    @DisplayName("POST /api/transactions - Anomalous expense is saved PENDING for review")
+    void createTransaction_AnomalousExpenseIsPending() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            mockMvc.perform(post("/api/transactions")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(expense(20, "Coffee Shop"))))
+                    .andExpect(status().isCreated())
+                    .andExpect(jsonPath("$.status", is("COMPLETED")));
+        }
+
+        // burst + 9x the usual amount + merchant never seen on this account
+        String response = mockMvc.perform(post("/api/transactions")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(expense(900, "Electronics Store"))))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.status", is("PENDING")))
+                .andExpect(jsonPath("$.riskScore", is(100)))
+                .andReturn().getResponse().getContentAsString();
+
+        long id = objectMapper.readTree(response).get("id").asLong();
+        assertEquals("PENDING", transactionRepository.findById(id).orElseThrow().getStatus().name());
+    }
+
+    @Test
+    @DisplayName("POST /api/transactions/{id}/approve|reject - Releases a held transaction once")
+    void reviewTransaction_ReleasesPendingOnce() throws Exception {
+        testTransaction.setStatus(TransactionStatus.PENDING);
+        transactionRepository.saveAndFlush(testTransaction);
+
+        mockMvc.perform(post("/api/transactions/{id}/approve", testTransaction.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status", is("COMPLETED")));
+        mockMvc.perform(post("/api/transactions/{id}/reject", testTransaction.getId()))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.errorCode", is("E5005")));
+        assertEquals(TransactionStatus.COMPLETED, transactionRepository.findById(testTransaction.getId()).orElseThrow().getStatus());
+
+        mockMvc.perform(post("/api/transactions/{id}/reject", 99999L))
+                .andExpect(status().isNotFound());
+    }
+
     @Test
     @DisplayName("GET /api/transactions/{id} - Get transaction by ID")
     void getTransactionById_ShouldReturnTransaction() throws Exception {
@@ -180,6 +232,29 @@ public class TransactionControllerIntegrationTest {
                 .andExpect(jsonPath("$.type", is("EXPENSE")));  // unchanged
     }
 
+    @Test
+    @DisplayName("GET /api/transactions/{id} - Cached JSON is served until the transaction is updated")
+    void getTransaction_CachedJson_InvalidatedOnUpdate() throws Exception {
+        String first = mockMvc.perform(get("/api/transactions/{id}", testTransaction.getId()))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andReturn().getResponse().getContentAsString();
+        mockMvc.perform(get("/api/transactions/{id}", testTransaction.getId()))
+                .andExpect(status().isOk())
+                .andExpect(content().string(first));
+
+        TransactionUpdateDTO updateDTO = new TransactionUpdateDTO();
+        updateDTO.setMerchant("Updated Merchant");
+        mockMvc.perform(put("/api/transactions/{id}", testTransaction.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updateDTO)))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/transactions/{id}", testTransaction.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.merchant", is("Updated Merchant")));
+    }
+
     @Test
     @DisplayName("PUT /api/transactions/{id} - Update non-existent transaction should fail")
     void updateTransaction_NotFound_ShouldReturn404() throws Exception {
@@ -284,6 +359,142 @@ public class TransactionControllerIntegrationTest {
                 .andExpect(jsonPath("$[0].merchant", is("Test Merchant")));
     }
 
+    @Test
+    @DisplayName("GET /api/transactions/{id} - Matching If-None-Match returns 304 without a body")
+    void getTransaction_MatchingETag_ShouldReturnNotModified() throws Exception {
+        String etag = mockMvc.perform(get("/api/transactions/{id}", testTransaction.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", startsWith("\"" + testTransaction.getId() + "-")))
+                .andExpect(header().string("Cache-Control", containsString("no-cache")))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/transactions/{id}", testTransaction.getId())
+                        .header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    @DisplayName("GET /api/transactions/{id} - JSON and CBOR bodies get different ETags, so one never revalidates the other")
+    void getTransaction_ETagIsPerRepresentation() throws Exception {
+        String jsonTag = mockMvc.perform(get("/api/transactions/{id}", testTransaction.getId()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+        String cborTag = jsonTag.substring(0, jsonTag.length() - 1) + "-cbor\"";
+
+        mockMvc.perform(get("/api/transactions/{id}", testTransaction.getId())
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .header("If-None-Match", jsonTag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", cborTag))
+                .andExpect(header().stringValues("Vary", hasItem("Accept")))
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR));
+
+        mockMvc.perform(get("/api/transactions/{id}", testTransaction.getId())
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .header("If-None-Match", cborTag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/api/transactions/{id}", testTransaction.getId())
+                        .header("If-None-Match", cborTag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", jsonTag));
+    }
+
+    @Test
+    @DisplayName("GET /api/transactions/user/{userId} - Weak list ETag changes when a transaction is added")
+    void getTransactionsByUser_ETagChangesWithContent() throws Exception {
+        String etag = mockMvc.perform(get("/api/transactions/user/{userId}", testUser.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", startsWith("W/\"1-")))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/transactions/user/{userId}", testUser.getId())
+                        .header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+
+        TransactionCreateDTO createDTO = new TransactionCreateDTO();
+        createDTO.setType("INCOME");
+        createDTO.setAmount(BigDecimal.valueOf(500));
+        createDTO.setMerchant("Salary");
+        createDTO.setCurrency("USD");
+        createDTO.setAccountId(testAccount.getId());
+        mockMvc.perform(post("/api/transactions")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(createDTO)))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(get("/api/transactions/user/{userId}", testUser.getId())
+                        .header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", startsWith("W/\"2-")))
+                .andExpect(jsonPath("$", hasSize(2)));
+    }
+
+    @Test
+    @DisplayName("GET /api/transactions/{id} - Accept: application/cbor returns scaled decimals and epoch micros")
+    void getTransaction_Cbor_ShouldUseBinaryWireFormat() throws Exception {
+        byte[] body = mockMvc.perform(get("/api/transactions/{id}", testTransaction.getId())
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode node = cborMapper.readTree(body);
+        assertEquals(0, new BigDecimal("100.00").compareTo(node.get("amount").decimalValue()));
+        assertTrue(node.get("occurredAt").isIntegralNumber());
+        assertEquals("Test Merchant", node.get("merchant").asString());
+
+        TransactionEntity saved = transactionRepository.findById(testTransaction.getId()).orElseThrow();
+        Instant occurredAt = saved.getOccurredAt().truncatedTo(ChronoUnit.MICROS);
+        assertEquals(ChronoUnit.MICROS.between(Instant.EPOCH, occurredAt), node.get("occurredAt").longValue());
+    }
+
+    @Test
+    @DisplayName("GET /api/transactions/user/{userId}?fields= - Returns only the requested fields, in request order")
+    void getTransactionsByUser_SparseFields_ShouldReturnOnlyRequestedFields() throws Exception {
+        mockMvc.perform(get("/api/transactions/user/{userId}", testUser.getId())
+                        .param("fields", "merchant,amount,type,accountName"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", startsWith("W/\"1-")))
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].*", hasSize(4)))
+                .andExpect(jsonPath("$[0].merchant", is("Test Merchant")))
+                .andExpect(jsonPath("$[0].type", is("EXPENSE")))
+                .andExpect(jsonPath("$[0].accountName", is(testAccount.getAccountName())))
+                .andExpect(jsonPath("$[0].id").doesNotExist())
+                .andExpect(content().string(startsWith("[{\"merchant\"")));
+    }
+
+    @Test
+    @DisplayName("GET /api/transactions/user/{userId}?fields= - Unknown field should fail")
+    void getTransactionsByUser_UnknownField_ShouldFail() throws Exception {
+        mockMvc.perform(get("/api/transactions/user/{userId}", testUser.getId())
+                        .param("fields", "merchant,user.password"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("GET /api/transactions?ids= - Returns found transactions in request order and reports missing ids")
+    void getTransactionsByIds_ShouldPreserveOrderAndReportMissing() throws Exception {
+        Long id = testTransaction.getId();
+        mockMvc.perform(get("/api/transactions")
+                        .param("ids", "999999," + id + ",999998," + id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].id", is(id.intValue())))
+                .andExpect(jsonPath("$.content[0].accountName", is(testAccount.getAccountName())))
+                .andExpect(jsonPath("$.missingIds", contains(999999, 999998)));
+    }
+
+    @Test
+    @DisplayName("GET /api/transactions?ids= - Non-numeric id should fail")
+    void getTransactionsByIds_InvalidId_ShouldFail() throws Exception {
+        mockMvc.perform(get("/api/transactions")
+                        .param("ids", "1,abc"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     @DisplayName("GET /api/transactions/user/{userId}/type/INVALID - Invalid type should fail")
     void getTransactionsByUserAndType_InvalidType_ShouldFail() throws Exception {
@@ -311,4 +522,14 @@ public class TransactionControllerIntegrationTest {
                         .content(objectMapper.writeValueAsString(createDTO)))
                 .andExpect(status().isBadRequest());
     }
+
+    private TransactionCreateDTO expense(int amount, String merchant) {
+        TransactionCreateDTO dto = new TransactionCreateDTO();
+        dto.setType("EXPENSE");
+        dto.setAmount(BigDecimal.valueOf(amount));
+        dto.setMerchant(merchant);
+        dto.setCurrency("USD");
+        dto.setAccountId(testAccount.getId());
+        return dto;
+    }
 }
@@ -0,0 +1,184 @@
+package com.kcdevdes.synk.controller;
+
+import com.kcdevdes.synk.entity.AccountEntity;
+import com.kcdevdes.synk.entity.TransactionEntity;
+import com.kcdevdes.synk.entity.UserEntity;
+import com.kcdevdes.synk.entity.type.AccountType;
+import com.kcdevdes.synk.entity.type.TransactionType;
+import com.kcdevdes.synk.entity.type.UserType;
+import com.kcdevdes.synk.repository.AccountRepository;
+import com.kcdevdes.synk.repository.TransactionRepository;
+import com.kcdevdes.synk.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.dataformat.cbor.CBORMapper;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// not @Transactional: ?stream=true reads the rows in its own transaction on the async thread
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Transaction Streaming Integration Test")
+class TransactionStreamingIntegrationTest {
+
+    private MockMvc mockMvc;
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private CBORMapper cborMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    private final List<Long> transactionIds = new ArrayList<>();
+    private UserEntity user;
+    private AccountEntity account;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext)
+                .apply(springSecurity())
+                .build();
+
+        user = saveUser();
+        account = saveAccount();
+        save(TransactionType.EXPENSE, "12.50", "Coffee Shop");
+        save(TransactionType.INCOME, "2500.00", "Employer");
+        save(TransactionType.EXPENSE, "99.99", "Electronics");
+    }
+
+    @AfterEach
+    void tearDown() {
+        transactionRepository.deleteAllById(transactionIds);
+        accountRepository.deleteById(account.getId());
+        userRepository.deleteById(user.getId());
+    }
+
+    @Test
+    @DisplayName("GET /api/transactions/user/{userId}?stream=true - Same JSON bytes and ETag as the list endpoint")
+    void streamTransactionsByUser_JsonMatchesListBody() throws Exception {
+        MockHttpServletResponse list = list(MediaType.APPLICATION_JSON);
+        MockHttpServletResponse streamed = stream(MediaType.APPLICATION_JSON);
+
+        assertTrue(streamed.getContentType().startsWith(MediaType.APPLICATION_JSON_VALUE), streamed.getContentType());
+        assertEquals(list.getHeader("ETag"), streamed.getHeader("ETag"));
+        assertTrue(streamed.getContentAsString().startsWith("[{"));
+        assertArrayEquals(list.getContentAsByteArray(), streamed.getContentAsByteArray());
+    }
+
+    @Test
+    @DisplayName("GET /api/transactions/user/{userId}?stream=true - CBOR decodes to the list endpoint's array")
+    void streamTransactionsByUser_CborMatchesListBody() throws Exception {
+        MockHttpServletResponse list = list(MediaType.APPLICATION_CBOR);
+        MockHttpServletResponse streamed = stream(MediaType.APPLICATION_CBOR);
+
+        assertTrue(streamed.getContentType().startsWith(MediaType.APPLICATION_CBOR_VALUE), streamed.getContentType());
+        assertEquals(list.getHeader("ETag"), streamed.getHeader("ETag"));
+        assertTrue(streamed.getHeader("ETag").endsWith("-cbor\""), streamed.getHeader("ETag"));
+        assertNotEquals(list(MediaType.APPLICATION_JSON).getHeader("ETag"), streamed.getHeader("ETag"));
+        byte[] body = streamed.getContentAsByteArray();
+        assertEquals((byte) 0x9F, body[0], "indefinite-length array");
+        assertEquals((byte) 0xFF, body[body.length - 1]);
+        JsonNode expected = cborMapper.readTree(list.getContentAsByteArray());
+        assertEquals(3, expected.size());
+        assertEquals(expected, cborMapper.readTree(body));
+    }
+
+    @Test
+    @DisplayName("GET /api/transactions/user/{userId}?stream=true - Matching If-None-Match returns 304 without streaming")
+    void streamTransactionsByUser_MatchingETag_ShouldReturnNotModified() throws Exception {
+        String etag = mockMvc.perform(get("/api/transactions/user/{userId}", user.getId()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/transactions/user/{userId}", user.getId())
+                        .param("stream", "true")
+                        .header("If-None-Match", etag))
+                .andExpect(request().asyncNotStarted())
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag))
+                .andExpect(content().string(""));
+    }
+
+    private MockHttpServletResponse list(MediaType mediaType) throws Exception {
+        return mockMvc.perform(get("/api/transactions/user/{userId}", user.getId()).accept(mediaType))
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+    }
+
+    private MockHttpServletResponse stream(MediaType mediaType) throws Exception {
+        MvcResult started = mockMvc.perform(get("/api/transactions/user/{userId}", user.getId())
+                        .param("stream", "true")
+                        .accept(mediaType))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+    }
+
+    private void save(TransactionType type, String amount, String merchant) {
+        TransactionEntity entity = new TransactionEntity();
+        entity.setType(type);
+        entity.setAmount(new BigDecimal(amount));
+        entity.setMerchant(merchant);
+        entity.setCurrency("USD");
+        entity.setCategory("Misc");
+        entity.setTags("a,b");
+        entity.setUser(user);
+        entity.setAccount(account);
+        transactionIds.add(transactionRepository.saveAndFlush(entity).getId());
+    }
+
+    private AccountEntity saveAccount() {
+        AccountEntity entity = new AccountEntity();
+        entity.setAccountName("Streaming Account");
+        entity.setAccountType(AccountType.BANK_ACCOUNT);
+        entity.setCurrency("USD");
+        entity.setBalance(BigDecimal.valueOf(5000));
+        entity.setUser(user);
+        return accountRepository.saveAndFlush(entity);
+    }
+
+    private UserEntity saveUser() {
+        UserEntity entity = new UserEntity();
+        entity.setEmail("streaming@example.com");
+        entity.setUsername("streaminguser");
+        entity.setPassword("password123");
+        entity.setFirstName("Test");
+        entity.setLastName("User");
+        entity.setDefaultCurrency("USD");
+        entity.setLocale("en_US");
+        entity.setTimezone("UTC");
+        entity.setUserType(UserType.USER);
+        return userRepository.saveAndFlush(entity);
+    }
+}
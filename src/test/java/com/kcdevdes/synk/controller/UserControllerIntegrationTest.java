@@ -6,7 +6,11 @@ import tools.jackson.databind.ObjectMapper;
 import com.kcdevdes.synk.dto.request.UserCreateDTO;
 import com.kcdevdes.synk.dto.request.UserUpdateDTO;
 import com.kcdevdes.synk.entity.UserEntity;
+import com.kcdevdes.synk.dto.response.UserAvailabilityDTO;
+import com.kcdevdes.synk.jdbc.SqlStatistics;
+import com.kcdevdes.synk.repository.UserFilter;
 import com.kcdevdes.synk.repository.UserRepository;
+import com.kcdevdes.synk.service.UserService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -19,7 +23,11 @@ import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.context.WebApplicationContext;
 
+import java.util.List;
+import java.util.stream.Stream;
+
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
 import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -41,6 +49,9 @@ class UserControllerIntegrationTest {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private UserService userService;
+
     private UserEntity testUser;
 
     @BeforeEach
@@ -184,6 +195,79 @@ class UserControllerIntegrationTest {
                 .andExpect(status().isConflict());
     }
 
+    @Test
+    @DisplayName("GET /api/users/availability - Created user is taken, unused name is free")
+    void checkAvailability_ShouldReportTakenAndFree() throws Exception {
+        UserCreateDTO createDTO = new UserCreateDTO();
+        createDTO.setEmail("taken@example.com");
+        createDTO.setUsername("takenuser");
+        createDTO.setPassword("password123");
+        createDTO.setFirstName("Taken");
+        createDTO.setLastName("User");
+
+        mockMvc.perform(post("/api/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(createDTO)))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(get("/api/users/availability")
+                        .param("email", "taken@example.com")
+                        .param("username", "freeuser"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "no-store"))
+                .andExpect(jsonPath("$.emailAvailable", is(false)))
+                .andExpect(jsonPath("$.usernameAvailable", is(true)));
+
+        // a Bloom filter miss does not query the database
+        SqlStatistics statistics = SqlStatistics.begin();
+        try {
+            UserAvailabilityDTO availability = userService.checkAvailability("free@example.com", "freeuser");
+            assertTrue(availability.getEmailAvailable());
+            assertTrue(availability.getUsernameAvailable());
+            assertEquals(0, statistics.getStatementCount());
+        } finally {
+            SqlStatistics.end();
+        }
+
+        mockMvc.perform(get("/api/users/availability"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("GET /api/users/page - Keyset pages skip deleted users and apply filters")
+    void getUsersPage_ShouldWalkPagesExcludingDeleted() throws Exception {
+        UserEntity admin = saveUser("admin", UserType.ADMIN);
+        UserEntity deleted = saveUser("deleted", UserType.USER);
+        deleted.setDeleted(true);
+        userRepository.saveAndFlush(deleted);
+        UserEntity last = saveUser("last", UserType.USER);
+
+        String firstPage = mockMvc.perform(get("/api/users/page").param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].username", contains("testuser", "adminuser")))
+                .andExpect(jsonPath("$.hasNext", is(true)))
+                .andReturn().getResponse().getContentAsString();
+        String cursor = objectMapper.readTree(firstPage).get("nextCursor").asString();
+
+        mockMvc.perform(get("/api/users/page").param("size", "2").param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].id", contains(last.getId().intValue())))
+                .andExpect(jsonPath("$.hasNext", is(false)))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+
+        mockMvc.perform(get("/api/users/page").param("userType", "admin"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].id", contains(admin.getId().intValue())));
+
+        mockMvc.perform(get("/api/users/page").param("createdFrom", "yesterday"))
+                .andExpect(status().isBadRequest());
+
+        try (Stream<UserEntity> exported = userService.streamUsers(new UserFilter(null, null, null, null, null))) {
+            assertEquals(List.of(testUser.getId(), admin.getId(), last.getId()),
+                    exported.map(UserEntity::getId).toList());
+        }
+    }
+
     @Test
     @DisplayName("PUT /api/users/{id} - Update user successfully")
     void updateUser_ShouldReturnUpdatedUser() throws Exception {
@@ -229,6 +313,26 @@ class UserControllerIntegrationTest {
         assert !deletedUser.getActive();
     }
 
+    @Test
+    @DisplayName("GET /api/users - Soft-deleted users are left out of the list, its ?fields= variant and its ETag")
+    void getAllUsers_ShouldExcludeDeletedUsers() throws Exception {
+        String etag = mockMvc.perform(get("/api/users"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", startsWith("W/\"1-")))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(delete("/api/users/{id}", testUser.getId()))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/api/users").header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", startsWith("W/\"0-")))
+                .andExpect(jsonPath("$", hasSize(0)));
+        mockMvc.perform(get("/api/users").param("fields", "id,email"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+    }
+
     @Test
     @DisplayName("POST /api/users/{id}/verify-email - Verify email successfully")
     void verifyEmail_ShouldReturnOk() throws Exception {
@@ -239,4 +343,15 @@ class UserControllerIntegrationTest {
         UserEntity verifiedUser = userRepository.findById(testUser.getId()).orElseThrow();
         assert verifiedUser.getEmailVerified();
     }
+
+    private UserEntity saveUser(String name, UserType userType) {
+        UserEntity user = new UserEntity();
+        user.setEmail(name + "@example.com");
+        user.setUsername(name + "user");
+        user.setPassword("password123");
+        user.setFirstName("Test");
+        user.setLastName("User");
+        user.setUserType(userType);
+        return userRepository.saveAndFlush(user);
+    }
 }
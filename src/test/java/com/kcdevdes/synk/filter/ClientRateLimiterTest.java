@@ -0,0 +1,89 @@
+package com.kcdevdes.synk.filter;
+
+import com.kcdevdes.synk.config.properties.AppRateLimitProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ClientRateLimiter Unit Test")
+class ClientRateLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000_000_000L);
+    private ClientRateLimiter rateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        AppRateLimitProperties properties = new AppRateLimitProperties();
+        properties.setRead(new AppRateLimitProperties.Limit(10, 3));
+        properties.setWrite(new AppRateLimitProperties.Limit(1, 1));
+        properties.setIdleEvictionMs(60_000);
+        rateLimiter = new ClientRateLimiter(properties, clock::get);
+    }
+
+    @Test
+    @DisplayName("allows a full burst, then rejects with the wait until the next token")
+    void tryAcquire_AllowsBurstThenRejects() {
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, rateLimiter.tryAcquire("10.0.0.1", ClientRateLimiter.EndpointClass.READ));
+        }
+
+        long wait = rateLimiter.tryAcquire("10.0.0.1", ClientRateLimiter.EndpointClass.READ);
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(100), wait);
+
+        clock.addAndGet(wait);
+        assertEquals(0, rateLimiter.tryAcquire("10.0.0.1", ClientRateLimiter.EndpointClass.READ));
+        assertTrue(rateLimiter.tryAcquire("10.0.0.1", ClientRateLimiter.EndpointClass.READ) > 0);
+    }
+
+    @Test
+    @DisplayName("keeps separate buckets per client and per endpoint class")
+    void tryAcquire_SeparatesClientsAndEndpointClasses() {
+        assertEquals(0, rateLimiter.tryAcquire("10.0.0.1", ClientRateLimiter.EndpointClass.WRITE));
+        assertTrue(rateLimiter.tryAcquire("10.0.0.1", ClientRateLimiter.EndpointClass.WRITE) > 0);
+
+        assertEquals(0, rateLimiter.tryAcquire("10.0.0.2", ClientRateLimiter.EndpointClass.WRITE));
+        assertEquals(0, rateLimiter.tryAcquire("10.0.0.1", ClientRateLimiter.EndpointClass.READ));
+    }
+
+    @Test
+    @DisplayName("a long pause refills the bucket only up to the burst size")
+    void tryAcquire_RefillIsCappedAtBurst() {
+        rateLimiter.tryAcquire("10.0.0.1", ClientRateLimiter.EndpointClass.READ);
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(30));
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, rateLimiter.tryAcquire("10.0.0.1", ClientRateLimiter.EndpointClass.READ));
+        }
+        assertTrue(rateLimiter.tryAcquire("10.0.0.1", ClientRateLimiter.EndpointClass.READ) > 0);
+    }
+
+    @Test
+    @DisplayName("evictIdleBuckets drops only clients idle longer than idle-eviction-ms")
+    void evictIdleBuckets_DropsIdleClients() {
+        rateLimiter.tryAcquire("10.0.0.1", ClientRateLimiter.EndpointClass.READ);
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(45));
+        rateLimiter.tryAcquire("10.0.0.2", ClientRateLimiter.EndpointClass.READ);
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(30));
+
+        rateLimiter.evictIdleBuckets();
+
+        assertEquals(1, rateLimiter.trackedClients());
+    }
+
+    @Test
+    @DisplayName("classify maps search/filter to SEARCH, GET to READ and the rest to WRITE")
+    void classify_MapsEndpointClasses() {
+        assertEquals(ClientRateLimiter.EndpointClass.SEARCH,
+                RateLimitFilter.classify(new MockHttpServletRequest("GET", "/api/transactions/search")));
+        assertEquals(ClientRateLimiter.EndpointClass.READ,
+                RateLimitFilter.classify(new MockHttpServletRequest("GET", "/api/accounts/1")));
+        assertEquals(ClientRateLimiter.EndpointClass.WRITE,
+                RateLimitFilter.classify(new MockHttpServletRequest("POST", "/api/transactions")));
+    }
+}
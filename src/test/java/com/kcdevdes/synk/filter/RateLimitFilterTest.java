@@ -0,0 +1,59 @@
+package com.kcdevdes.synk.filter;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.web.util.matcher.IpAddressMatcher;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("RateLimitFilter Unit Test")
+class RateLimitFilterTest {
+
+    private static final List<IpAddressMatcher> PROXIES = List.of(
+            new IpAddressMatcher("10.0.0.0/8"),
+            new IpAddressMatcher("192.168.1.5")
+    );
+
+    @Test
+    @DisplayName("ignores forwarded headers from a client that is not a trusted proxy")
+    void resolveClientIp_UntrustedPeerUsesRemoteAddr() {
+        MockHttpServletRequest request = request("203.0.113.7", "198.51.100.1");
+        request.addHeader("X-Real-IP", "198.51.100.2");
+
+        assertEquals("203.0.113.7", RateLimitFilter.resolveClientIp(request, PROXIES));
+        assertEquals("203.0.113.7", RateLimitFilter.resolveClientIp(request, List.of()));
+    }
+
+    @Test
+    @DisplayName("behind trusted proxies takes the right-most hop that is not a proxy, not the spoofable first one")
+    void resolveClientIp_TrustedProxyUsesNearestUntrustedHop() {
+        assertEquals("203.0.113.7", RateLimitFilter.resolveClientIp(
+                request("10.1.2.3", "1.2.3.4, 203.0.113.7, 192.168.1.5"), PROXIES));
+        assertEquals("203.0.113.7", RateLimitFilter.resolveClientIp(
+                request("10.1.2.3", "203.0.113.7"), PROXIES));
+        assertEquals("client.example", RateLimitFilter.resolveClientIp(
+                request("10.1.2.3", "203.0.113.7, client.example"), PROXIES));
+    }
+
+    @Test
+    @DisplayName("falls back to X-Real-IP, then remoteAddr, when a trusted proxy sends no X-Forwarded-For")
+    void resolveClientIp_TrustedProxyWithoutForwardedFor() {
+        MockHttpServletRequest request = request("192.168.1.5", null);
+        assertEquals("192.168.1.5", RateLimitFilter.resolveClientIp(request, PROXIES));
+
+        request.addHeader("X-Real-IP", "203.0.113.7");
+        assertEquals("203.0.113.7", RateLimitFilter.resolveClientIp(request, PROXIES));
+    }
+
+    private static MockHttpServletRequest request(String remoteAddr, String forwardedFor) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/transactions");
+        request.setRemoteAddr(remoteAddr);
+        if (forwardedFor != null) {
+            request.addHeader("X-Forwarded-For", forwardedFor);
+        }
+        return request;
+    }
+}
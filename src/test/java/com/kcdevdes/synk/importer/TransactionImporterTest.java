@@ -0,0 +1,200 @@
+package com.kcdevdes.synk.importer;
+
+import com.kcdevdes.synk.entity.AccountEntity;
+import com.kcdevdes.synk.entity.UserEntity;
+import com.kcdevdes.synk.entity.type.AccountType;
+import com.kcdevdes.synk.entity.type.UserType;
+import com.kcdevdes.synk.repository.AccountRepository;
+import com.kcdevdes.synk.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// not @Transactional: the import runs and commits on its own threads
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("TransactionImporter Test")
+class TransactionImporterTest {
+
+    @Autowired
+    private TransactionImporter importer;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private UserEntity user;
+    private AccountEntity account;
+
+    @BeforeEach
+    void setUp() {
+        user = saveUser();
+        account = saveAccount();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM transactions WHERE account_id = ?", account.getId());
+        accountRepository.deleteById(account.getId());
+        userRepository.deleteById(user.getId());
+    }
+
+    @Test
+    @DisplayName("imports valid CSV rows, reports rejected lines, and skips every row when the file is uploaded again")
+    void start_ImportsCsvAndDedupesReupload() throws Exception {
+        String csv = """
+                Date,Description,Amount,Category
+                2024-06-01,AMZN Mktp US*2K3,-25.99,Shopping
+                2024-06-01,Coffee Shop,-4.50,Food
+                2024-06-01,Coffee Shop,-4.50,Food
+                2024-06-02,Employer Payroll,"2,500.00",Salary
+                2024-06-02,Broken Row,abc,Food
+                2024-06-03,"Smith, Jones & Co",(120.00),"Legal, misc"
+                """;
+
+        ImportJob first = await(importer.start(account.getId(), file("june.csv", csv), null));
+        assertEquals(ImportJob.Status.COMPLETED, first.getStatus());
+        assertEquals(6, first.getRowsRead());
+        assertEquals(5, first.getImported());
+        assertEquals(1, first.getRejected());
+        assertEquals(List.of("line 6: amount is not a number"), first.getErrors());
+
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                "SELECT type, amount, merchant, category, occurred_at, import_hash FROM transactions WHERE account_id = ? ORDER BY id",
+                account.getId());
+        assertEquals(5, rows.size());
+        assertEquals("EXPENSE", rows.get(0).get("TYPE"));
+        assertEquals(0, new BigDecimal("25.99").compareTo((BigDecimal) rows.get(0).get("AMOUNT")));
+        assertEquals("AMZN Mktp US 2K3", rows.get(0).get("MERCHANT"));
+        assertEquals(Instant.parse("2024-06-01T00:00:00Z"), instant(rows.get(0).get("OCCURRED_AT")));
+        assertNotEquals(rows.get(1).get("IMPORT_HASH"), rows.get(2).get("IMPORT_HASH"), "identical rows are both kept");
+        assertEquals("INCOME", rows.get(3).get("TYPE"));
+        assertEquals(0, new BigDecimal("2500.00").compareTo((BigDecimal) rows.get(3).get("AMOUNT")));
+        assertEquals("Smith Jones Co", rows.get(4).get("MERCHANT"));
+        assertEquals("Legal, misc", rows.get(4).get("CATEGORY"));
+
+        ImportJob again = await(importer.start(account.getId(), file("june.csv", csv), null));
+        assertEquals(ImportJob.Status.COMPLETED, again.getStatus());
+        assertEquals(0, again.getImported());
+        assertEquals(5, again.getDuplicates());
+        assertEquals(5, count());
+    }
+
+    @Test
+    @DisplayName("reads OFX SGML transactions with the statement currency and dedupes by FITID")
+    void start_ImportsOfx() throws Exception {
+        String ofx = """
+                OFXHEADER:100
+                DATA:OFXSGML
+                VERSION:102
+
+                <OFX>
+                <BANKMSGSRSV1><STMTTRNRS><STMTRS>
+                <CURDEF>EUR
+                <BANKTRANLIST>
+                <DTSTART>20240601
+                <STMTTRN>
+                <TRNTYPE>DEBIT
+                <DTPOSTED>20240605120000.000[-5:EST]
+                <TRNAMT>-42.10
+                <FITID>A-1
+                <NAME>Grocery &amp; More
+                <MEMO>Card 1234
+                </STMTTRN>
+                <STMTTRN>
+                <TRNTYPE>XFER
+                <DTPOSTED>20240606
+                <TRNAMT>-100.00
+                <FITID>A-2
+                <NAME>To Savings
+                </STMTTRN>
+                </BANKTRANLIST>
+                </STMTRS></STMTTRNRS></BANKMSGSRSV1>
+                </OFX>
+                """;
+
+        ImportJob job = await(importer.start(account.getId(), file("june.qfx", ofx), null));
+        assertEquals(ImportJob.Status.COMPLETED, job.getStatus());
+        assertEquals(2, job.getImported());
+
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                "SELECT type, currency, merchant, description, occurred_at FROM transactions WHERE account_id = ? ORDER BY id",
+                account.getId());
+        assertEquals("EXPENSE", rows.get(0).get("TYPE"));
+        assertEquals("EUR", rows.get(0).get("CURRENCY"));
+        assertEquals("Grocery More", rows.get(0).get("MERCHANT"));
+        assertEquals("Card 1234", rows.get(0).get("DESCRIPTION"));
+        assertEquals(Instant.parse("2024-06-05T17:00:00Z"), instant(rows.get(0).get("OCCURRED_AT")));
+        assertEquals("TRANSFER", rows.get(1).get("TYPE"));
+
+        ImportJob again = await(importer.start(account.getId(), file("june.ofx", ofx), "ofx"));
+        assertEquals(2, again.getDuplicates());
+        assertEquals(2, count());
+    }
+
+    private ImportJob await(ImportJob job) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (job.getStatus() == ImportJob.Status.QUEUED || job.getStatus() == ImportJob.Status.RUNNING) {
+            assertTrue(System.currentTimeMillis() < deadline, "import did not finish");
+            Thread.sleep(20);
+        }
+        return importer.status(job.getId());
+    }
+
+    private static Instant instant(Object value) {
+        return value instanceof OffsetDateTime offset ? offset.toInstant() : ((Timestamp) value).toInstant();
+    }
+
+    private long count() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM transactions WHERE account_id = ?", Long.class, account.getId());
+    }
+
+    private static MockMultipartFile file(String name, String content) {
+        return new MockMultipartFile("file", name, "application/octet-stream", content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private AccountEntity saveAccount() {
+        AccountEntity entity = new AccountEntity();
+        entity.setAccountName("Import Account");
+        entity.setAccountType(AccountType.BANK_ACCOUNT);
+        entity.setCurrency("USD");
+        entity.setBalance(BigDecimal.valueOf(5000));
+        entity.setUser(user);
+        return accountRepository.saveAndFlush(entity);
+    }
+
+    private UserEntity saveUser() {
+        UserEntity entity = new UserEntity();
+        entity.setEmail("import@example.com");
+        entity.setUsername("importuser");
+        entity.setPassword("password123");
+        entity.setFirstName("Test");
+        entity.setLastName("User");
+        entity.setDefaultCurrency("USD");
+        entity.setLocale("en_US");
+        entity.setTimezone("UTC");
+        entity.setUserType(UserType.USER);
+        return userRepository.saveAndFlush(entity);
+    }
+}
@@ -0,0 +1,64 @@
+package com.kcdevdes.synk.jdbc;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("BulkheadDataSource Unit Test")
+class BulkheadDataSourceTest {
+
+    private static DriverManagerDataSource h2(String url) {
+        return new DriverManagerDataSource(url, "sa", "");
+    }
+
+    @Test
+    @DisplayName("holds a permit until close and releases it exactly once, even when closed twice")
+    void close_ReleasesPermitOnce() throws SQLException {
+        BulkheadDataSource dataSource = new BulkheadDataSource(h2("jdbc:h2:mem:bulkhead"), 2, 50);
+
+        Connection first = dataSource.getConnection();
+        Connection second = dataSource.getConnection();
+        assertEquals(0, dataSource.getAvailablePermits());
+
+        first.close();
+        first.close();
+        assertEquals(1, dataSource.getAvailablePermits());
+        assertTrue(first.isClosed());
+
+        second.close();
+        assertEquals(2, dataSource.getAvailablePermits());
+    }
+
+    @Test
+    @DisplayName("fails with SQLTransientConnectionException after acquire-timeout-ms when saturated")
+    void getConnection_TimesOutWhenSaturated() throws SQLException {
+        BulkheadDataSource dataSource = new BulkheadDataSource(h2("jdbc:h2:mem:bulkhead"), 1, 50);
+
+        try (Connection ignored = dataSource.getConnection()) {
+            long start = System.nanoTime();
+            SQLTransientConnectionException e = assertThrows(SQLTransientConnectionException.class,
+                    dataSource::getConnection);
+            assertTrue((System.nanoTime() - start) / 1_000_000 >= 50);
+            assertTrue(e.getMessage().contains("50ms"));
+            assertEquals(0, dataSource.getAvailablePermits());
+        }
+
+        assertEquals(1, dataSource.getAvailablePermits());
+        dataSource.getConnection().close();
+    }
+
+    @Test
+    @DisplayName("gives the permit back when the pool itself fails to connect")
+    void getConnection_ReleasesPermitWhenTargetFails() {
+        BulkheadDataSource dataSource = new BulkheadDataSource(h2("jdbc:h2:nosuchmode:bulkhead"), 1, 50);
+
+        assertThrows(SQLException.class, dataSource::getConnection);
+        assertEquals(1, dataSource.getAvailablePermits());
+    }
+}
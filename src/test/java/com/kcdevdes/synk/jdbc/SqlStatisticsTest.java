@@ -0,0 +1,54 @@
+package com.kcdevdes.synk.jdbc;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("SqlStatistics Unit Test")
+class SqlStatisticsTest {
+
+    @AfterEach
+    void tearDown() {
+        SqlStatistics.end();
+    }
+
+    @Test
+    @DisplayName("normalize collapses literals, IN lists and whitespace but keeps identifiers")
+    void normalize_CollapsesLiterals() {
+        String shape = SqlStatistics.normalize(
+                "select t1_0.id from transactions t1_0\n  where t1_0.account_id = 42 and t1_0.merchant = 'O''Brien' and t1_0.id in (?, ?, ?)"
+        );
+
+        assertEquals(
+                "select t1_0.id from transactions t1_0 where t1_0.account_id = ? and t1_0.merchant = ? and t1_0.id in (?...)",
+                shape
+        );
+    }
+
+    @Test
+    @DisplayName("topStatementShapes merges statements that differ only by literals, most executed first")
+    void topStatementShapes_MergesByShape() {
+        SqlStatistics statistics = SqlStatistics.begin();
+        for (int id = 1; id <= 3; id++) {
+            statistics.recordStatement("select * from accounts where id = " + id, 1_000);
+        }
+        statistics.recordStatement("select * from users where id = ?", 1_000);
+        statistics.recordFetch(true, 500);
+        statistics.recordFetch(false, 500);
+
+        Map<String, Integer> top = statistics.topStatementShapes(5);
+
+        assertSame(statistics, SqlStatistics.current());
+        assertEquals(4, statistics.getStatementCount());
+        assertEquals(1, statistics.getRowsFetched());
+        assertEquals(5_000, statistics.getDbTimeNanos());
+        assertEquals(List.of("select * from accounts where id = ?", "select * from users where id = ?"),
+                List.copyOf(top.keySet()));
+        assertEquals(3, top.get("select * from accounts where id = ?"));
+    }
+}
@@ -0,0 +1,150 @@
+package com.kcdevdes.synk.login;
+
+import com.kcdevdes.synk.audit.AuditLogger;
+import com.kcdevdes.synk.config.properties.AppLoginProperties;
+import com.kcdevdes.synk.entity.UserEntity;
+import com.kcdevdes.synk.entity.type.UserType;
+import com.kcdevdes.synk.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Transactional
+@ActiveProfiles("test")
+@DisplayName("LoginAttemptTracker Test")
+class LoginAttemptTrackerTest {
+
+    private static final long MINUTE = TimeUnit.MINUTES.toMillis(1);
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private AuditLogger auditLogger;
+
+    private final AtomicLong clock = new AtomicLong(Instant.parse("2024-06-01T00:00:00Z").toEpochMilli());
+    private LoginAttemptTracker tracker;
+    private UserEntity user;
+
+    @BeforeEach
+    void setUp() {
+        AppLoginProperties properties = new AppLoginProperties();
+        properties.setMaxAttempts(5);
+        properties.setWindowMs(30 * MINUTE);
+        properties.setLockDurationMs(30 * MINUTE);
+        properties.setIpMaxAttempts(3);
+        tracker = new LoginAttemptTracker(properties, userRepository, jdbcTemplate, auditLogger, clock::get);
+
+        user = saveUser("login");
+    }
+
+    @Test
+    @DisplayName("locks after 5 failures inside the window and writes the state on flush")
+    void recordFailure_LocksAfterMaxAttemptsAndFlushes() {
+        for (int i = 0; i < 4; i++) {
+            tracker.recordFailure(user.getId(), null);
+            clock.addAndGet(MINUTE);
+        }
+        assertFalse(tracker.isLocked(user.getId(), null));
+
+        tracker.recordFailure(user.getId(), null);
+        assertTrue(tracker.isLocked(user.getId(), null));
+
+        Map<String, Object> row = userRow(user.getId());
+        assertEquals(0, ((Number) row.get("failed_login_attempts")).intValue(), "written only on flush");
+
+        tracker.flush();
+        row = userRow(user.getId());
+        assertEquals(5, ((Number) row.get("failed_login_attempts")).intValue());
+        assertNotNull(row.get("locked_until"));
+
+        clock.addAndGet(30 * MINUTE);
+        assertFalse(tracker.isLocked(user.getId(), null));
+    }
+
+    @Test
+    @DisplayName("failures older than the window do not count")
+    void recordFailure_SlidingWindow() {
+        for (int i = 0; i < 8; i++) {
+            tracker.recordFailure(user.getId(), null);
+            clock.addAndGet(10 * MINUTE);
+        }
+        assertFalse(tracker.isLocked(user.getId(), null));
+    }
+
+    @Test
+    @DisplayName("a success clears failures and records lastLoginAt")
+    void recordSuccess_ClearsFailures() {
+        for (int i = 0; i < 4; i++) {
+            tracker.recordFailure(user.getId(), null);
+        }
+        tracker.recordSuccess(user.getId());
+        tracker.recordFailure(user.getId(), null);
+        assertFalse(tracker.isLocked(user.getId(), null));
+
+        tracker.flush();
+        Map<String, Object> row = userRow(user.getId());
+        assertEquals(1, ((Number) row.get("failed_login_attempts")).intValue());
+        assertNotNull(row.get("last_login_at"));
+    }
+
+    @Test
+    @DisplayName("too many failures from one IP lock that IP for every user")
+    void recordFailure_LocksClientIpAcrossUsers() {
+        UserEntity other = saveUser("other");
+        UserEntity third = saveUser("third");
+
+        tracker.recordFailure(user.getId(), "10.0.0.1");
+        tracker.recordFailure(other.getId(), "10.0.0.1");
+        tracker.recordFailure(third.getId(), "10.0.0.1");
+
+        assertTrue(tracker.isLocked(third.getId(), "10.0.0.1"));
+        assertFalse(tracker.isLocked(third.getId(), "10.0.0.2"));
+        assertFalse(tracker.isLocked(third.getId(), null));
+    }
+
+    @Test
+    @DisplayName("a lock already stored on the user is seeded on the first check")
+    void isLocked_SeedsFromDatabase() {
+        user.setLockedUntil(Instant.ofEpochMilli(clock.get() + 10 * MINUTE));
+        userRepository.saveAndFlush(user);
+
+        assertTrue(tracker.isLocked(user.getId(), null));
+        assertFalse(tracker.isLocked(999_999L, null));
+    }
+
+    private UserEntity saveUser(String name) {
+        UserEntity entity = new UserEntity();
+        entity.setEmail(name + "@example.com");
+        entity.setUsername(name + "user");
+        entity.setPassword("password123");
+        entity.setFirstName("Test");
+        entity.setLastName("User");
+        entity.setDefaultCurrency("USD");
+        entity.setLocale("en_US");
+        entity.setTimezone("America/New_York");
+        entity.setUserType(UserType.USER);
+        return userRepository.saveAndFlush(entity);
+    }
+
+    private Map<String, Object> userRow(Long userId) {
+        return jdbcTemplate.queryForMap(
+                "SELECT failed_login_attempts, locked_until, last_login_at FROM users WHERE id = ?", userId);
+    }
+}
@@ -0,0 +1,111 @@
+package com.kcdevdes.synk.login;
+
+import com.kcdevdes.synk.config.properties.AppPasswordProperties;
+import com.kcdevdes.synk.exception.custom.CapacityExceededException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("PasswordHasher Unit Test")
+class PasswordHasherTest {
+
+    private PasswordHasher hasher;
+
+    @AfterEach
+    void tearDown() {
+        if (hasher != null) {
+            hasher.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("hashes with the configured cost and verifies")
+    void hash_VerifiesAndDoesNotNeedRehash() {
+        hasher = new PasswordHasher(properties(1, 4), new SimpleMeterRegistry());
+
+        String hash = hasher.hash("Password123!");
+        assertTrue(hash.startsWith("$2a$04$"));
+        assertTrue(hasher.matches("Password123!", hash));
+        assertFalse(hasher.matches("wrong", hash));
+        assertFalse(hasher.needsRehash(hash));
+        assertFalse(hasher.matches("Password123!", null));
+    }
+
+    @Test
+    @DisplayName("lower-cost hashes and plain-text values need a rehash")
+    void needsRehash_LowerCostOrPlainText() {
+        hasher = new PasswordHasher(properties(1, 5), new SimpleMeterRegistry());
+
+        String lowerCost = new BCryptPasswordEncoder(4).encode("Password123!");
+        assertTrue(hasher.matches("Password123!", lowerCost));
+        assertTrue(hasher.needsRehash(lowerCost));
+
+        assertTrue(hasher.matches("password123", "password123"));
+        assertFalse(hasher.matches("password124", "password123"));
+        assertTrue(hasher.needsRehash("password123"));
+    }
+
+    @Test
+    @DisplayName("sheds requests with SERVICE_BUSY when the pool and queue are full")
+    void hash_ShedsLoadWhenSaturated() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        hasher = new PasswordHasher(properties(1, 4), registry);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch running = new CountDownLatch(1);
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        try {
+            // occupy the only worker, then the only queue slot
+            callers.submit(() -> hasher.run(() -> {
+                running.countDown();
+                return release.await(10, TimeUnit.SECONDS);
+            }));
+            assertTrue(running.await(5, TimeUnit.SECONDS));
+            callers.submit(() -> hasher.hash("queued"));
+            waitForQueued(registry);
+
+            assertThrows(CapacityExceededException.class, () -> hasher.hash("rejected"));
+        } finally {
+            release.countDown();
+            callers.shutdown();
+            callers.awaitTermination(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    @DisplayName("calibration picks a cost within the configured range")
+    void calibrate_PicksCostWithinRange() {
+        AppPasswordProperties properties = properties(1, 4);
+        properties.setCalibrate(true);
+        properties.setMinCost(4);
+        properties.setMaxCost(6);
+        properties.setTargetHashMs(10_000);
+        hasher = new PasswordHasher(properties, new SimpleMeterRegistry());
+
+        assertEquals(6, hasher.cost());
+    }
+
+    private static void waitForQueued(SimpleMeterRegistry registry) throws InterruptedException {
+        for (int i = 0; i < 500 && registry.get("synk.password.hash.queue").gauge().value() < 1; i++) {
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+    }
+
+    private static AppPasswordProperties properties(int poolSize, int cost) {
+        AppPasswordProperties properties = new AppPasswordProperties();
+        properties.setPoolSize(poolSize);
+        properties.setQueueCapacity(1);
+        properties.setWaitTimeoutMs(10_000);
+        properties.setCalibrate(false);
+        properties.setCost(cost);
+        return properties;
+    }
+}
@@ -0,0 +1,103 @@
+package com.kcdevdes.synk.observability;
+
+import com.kcdevdes.synk.config.properties.AppLoggingProperties;
+import com.kcdevdes.synk.repository.UserRepository;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.repository.CrudRepository;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("PerformanceLoggingAspect Unit Test")
+class PerformanceLoggingAspectTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private PerformanceLoggingAspect aspect;
+
+    @BeforeEach
+    void setUp() {
+        AppLoggingProperties properties = new AppLoggingProperties();
+        properties.setSlowThresholdMs(1_000);
+        aspect = new PerformanceLoggingAspect(properties, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("records each call into one synk.method.duration timer per class and method")
+    void logDuration_RecordsTimerPerMethod() throws Throwable {
+        Method deposit = SampleService.class.getDeclaredMethod("deposit");
+        Method withdraw = SampleService.class.getDeclaredMethod("withdraw");
+        SampleService service = new SampleService();
+
+        assertEquals("ok", aspect.logDuration(joinPoint(service, deposit, "ok")));
+        aspect.logDuration(joinPoint(service, deposit, "ok"));
+        aspect.logDuration(joinPoint(service, withdraw, null));
+
+        Timer depositTimer = timer("SampleService", "deposit");
+        assertEquals(2, depositTimer.count());
+        assertEquals(1, timer("SampleService", "withdraw").count());
+        assertEquals(2, meterRegistry.find("synk.method.duration").timers().size());
+        assertNotNull(depositTimer.getId().getDescription());
+    }
+
+    @Test
+    @DisplayName("tags repository proxies with the app interface, not the Spring Data interface declaring the method")
+    void logDuration_TagsRepositoryProxyWithAppInterface() throws Throwable {
+        Object repositoryProxy = Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{UserRepository.class}, (proxy, method, args) -> null);
+        Method count = CrudRepository.class.getMethod("count");
+
+        aspect.logDuration(joinPoint(repositoryProxy, count, 0L));
+
+        assertEquals(1, timer("UserRepository", "count").count());
+        assertNull(meterRegistry.find("synk.method.duration").tag("class", "CrudRepository").timer());
+    }
+
+    @Test
+    @DisplayName("records the call even when the method throws")
+    void logDuration_RecordsFailedCalls() throws Throwable {
+        Method withdraw = SampleService.class.getDeclaredMethod("withdraw");
+        ProceedingJoinPoint joinPoint = joinPoint(new SampleService(), withdraw, null);
+        when(joinPoint.proceed()).thenThrow(new IllegalStateException("insufficient funds"));
+
+        assertThrows(IllegalStateException.class, () -> aspect.logDuration(joinPoint));
+
+        assertEquals(1, timer("SampleService", "withdraw").count());
+    }
+
+    private Timer timer(String className, String methodName) {
+        return meterRegistry.get("synk.method.duration")
+                .tag("class", className)
+                .tag("method", methodName)
+                .timer();
+    }
+
+    private static ProceedingJoinPoint joinPoint(Object target, Method method, Object result) throws Throwable {
+        MethodSignature signature = mock(MethodSignature.class);
+        when(signature.getMethod()).thenReturn(method);
+        ProceedingJoinPoint joinPoint = mock(ProceedingJoinPoint.class);
+        when(joinPoint.getThis()).thenReturn(target);
+        when(joinPoint.getSignature()).thenReturn(signature);
+        when(joinPoint.proceed()).thenReturn(result);
+        return joinPoint;
+    }
+
+    static class SampleService {
+
+        String deposit() {
+            return "ok";
+        }
+
+        void withdraw() {
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.kcdevdes.synk.outbox;
+
+import com.kcdevdes.synk.config.properties.AppOutboxProperties;
+import com.kcdevdes.synk.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.IllegalTransactionStateException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// scheduled relay off and a separate database: the test drives its own relay against a sink it controls
+@SpringBootTest(properties = {
+        "app.outbox.relay.enabled=false",
+        "spring.datasource.url=jdbc:h2:mem:outboxtest"
+})
+@ActiveProfiles("test")
+@DisplayName("OutboxRelay Test")
+class OutboxRelayTest {
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final List<OutboxMessage> published = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        outboxEventRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("relays only events whose transaction committed and deletes the relayed batch")
+    void relay_PublishesCommittedEventsAndDeletesThem() {
+        transactionTemplate.executeWithoutResult(status ->
+                outboxService.append("transaction", 1L, "transaction.created", Map.of("id", 1)));
+        transactionTemplate.executeWithoutResult(status -> {
+            outboxService.append("transaction", 2L, "transaction.created", Map.of("id", 2));
+            status.setRollbackOnly();
+        });
+        assertThrows(IllegalTransactionStateException.class,
+                () -> outboxService.append("transaction", 3L, "transaction.created", Map.of("id", 3)));
+
+        newRelay(published::addAll).relay();
+
+        assertEquals(1, published.size());
+        OutboxMessage message = published.get(0);
+        assertEquals(1L, message.aggregateId());
+        assertEquals("transaction.created", message.eventType());
+        assertEquals("{\"id\":1}", message.payload());
+        assertEquals(0, outboxEventRepository.count());
+    }
+
+    @Test
+    @DisplayName("a failing sink leaves the batch in the outbox for the next poll")
+    void relay_SinkFailureKeepsRows() {
+        transactionTemplate.executeWithoutResult(status -> {
+            outboxService.append("transaction", 1L, "transaction.created", Map.of("id", 1));
+            outboxService.append("transaction", 1L, "transaction.updated", Map.of("id", 1));
+        });
+
+        newRelay(batch -> {
+            throw new IOException("broker down");
+        }).relay();
+        assertEquals(2, outboxEventRepository.count());
+
+        newRelay(published::addAll).relay();
+        assertEquals(List.of("transaction.created", "transaction.updated"),
+                published.stream().map(OutboxMessage::eventType).toList());
+        assertEquals(0, outboxEventRepository.count());
+    }
+
+    private OutboxRelay newRelay(OutboxEventSink sink) {
+        return new OutboxRelay(outboxEventRepository, sink, transactionTemplate, new AppOutboxProperties(),
+                new SimpleMeterRegistry());
+    }
+}
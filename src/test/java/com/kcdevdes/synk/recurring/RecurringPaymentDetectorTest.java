@@ -0,0 +1,132 @@
+package com.kcdevdes.synk.recurring;
+
+import com.kcdevdes.synk.entity.RecurringPaymentEntity;
+import com.kcdevdes.synk.entity.type.RecurrencePeriod;
+import com.kcdevdes.synk.repository.TransactionCharge;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("RecurringPaymentDetector Unit Test")
+class RecurringPaymentDetectorTest {
+
+    private final RecurringPaymentDetector detector = new RecurringPaymentDetector(0.10, new BigDecimal("1.00"));
+    private RecurringPaymentEntity series;
+    private long nextId = 1;
+
+    @BeforeEach
+    void setUp() {
+        series = new RecurringPaymentEntity();
+        series.setUserId(1L);
+        series.setMerchantKey("netflix com");
+        series.setCurrency("USD");
+    }
+
+    @Test
+    @DisplayName("normalizes merchants by dropping case, punctuation and reference tokens")
+    void merchantKey_DropsReferences() {
+        assertEquals("spotify", RecurringPaymentDetector.merchantKey("SPOTIFY P0A1B2C3"));
+        assertEquals("netflix com", RecurringPaymentDetector.merchantKey("Netflix.com"));
+        assertEquals("12345", RecurringPaymentDetector.merchantKey("12345"));
+    }
+
+    @Test
+    @DisplayName("three monthly charges within tolerance are detected with the next date")
+    void apply_DetectsMonthly() {
+        charge("15.49", "2024-01-31T10:00:00Z");
+        charge("15.49", "2024-02-29T10:00:00Z");
+        assertFalse(series.getDetected());
+
+        charge("15.99", "2024-03-31T10:00:00Z");
+        assertTrue(series.getDetected());
+        assertEquals(RecurrencePeriod.MONTHLY, series.getPeriod());
+        assertEquals(Instant.parse("2024-04-30T10:00:00Z"), series.getNextExpectedAt());
+        assertEquals(Instant.parse("2024-03-31T10:00:00Z"), series.getDetectedAt());
+    }
+
+    @Test
+    @DisplayName("once detected, other purchases at the merchant do not break the series")
+    void apply_IgnoresOtherPurchasesAfterDetection() {
+        charge("9.99", "2024-01-01T00:00:00Z");
+        charge("9.99", "2024-01-08T00:00:00Z");
+        charge("9.99", "2024-01-15T00:00:00Z");
+        charge("9.99", "2024-01-22T00:00:00Z");
+        assertTrue(series.getDetected());
+        assertEquals(RecurrencePeriod.WEEKLY, series.getPeriod());
+
+        charge("54.20", "2024-01-25T00:00:00Z");
+        assertTrue(series.getDetected());
+        assertEquals(new BigDecimal("9.99"), series.getAmount());
+
+        charge("10.49", "2024-01-29T00:00:00Z"); // price change on schedule
+        assertTrue(series.getDetected());
+        assertEquals(Instant.parse("2024-02-05T00:00:00Z"), series.getNextExpectedAt());
+    }
+
+    @Test
+    @DisplayName("once detected, a same-amount purchase mid-cycle is ignored and only a lapse restarts the series")
+    void apply_OnlyLapseRestartsDetectedSeries() {
+        charge("9.99", "2024-01-10T00:00:00Z");
+        charge("9.99", "2024-02-10T00:00:00Z");
+        charge("9.99", "2024-03-10T00:00:00Z");
+        assertTrue(series.getDetected());
+        long lastId = series.getLastTransactionId();
+
+        charge("9.99", "2024-03-22T00:00:00Z"); // second purchase at the merchant
+        assertTrue(series.getDetected());
+        assertEquals(lastId, series.getLastTransactionId());
+        assertEquals(Instant.parse("2024-04-10T00:00:00Z"), series.getNextExpectedAt());
+
+        charge("9.99", "2024-04-10T00:00:00Z");
+        assertTrue(series.getDetected());
+        assertEquals(Instant.parse("2024-05-10T00:00:00Z"), series.getNextExpectedAt());
+
+        charge("9.99", "2024-07-01T00:00:00Z"); // cancelled, then subscribed again
+        assertFalse(series.getDetected());
+        assertNull(series.getNextExpectedAt());
+        assertEquals(0, series.getStreak());
+    }
+
+    @Test
+    @DisplayName("irregular gaps or amounts never become a series")
+    void apply_IrregularIsNotDetected() {
+        charge("12.00", "2024-01-01T00:00:00Z");
+        charge("12.00", "2024-01-15T00:00:00Z");
+        charge("30.00", "2024-02-15T00:00:00Z");
+        charge("12.00", "2024-03-15T00:00:00Z");
+        assertFalse(series.getDetected());
+        assertNull(series.getNextExpectedAt());
+    }
+
+    @Test
+    @DisplayName("a charge dated before the last one is skipped instead of restarting a detected series")
+    void apply_SkipsOutOfOrderCharge() {
+        charge("15.49", "2024-01-31T10:00:00Z");
+        charge("15.49", "2024-02-29T10:00:00Z");
+        charge("15.49", "2024-03-31T10:00:00Z");
+        assertTrue(series.getDetected());
+        int streak = series.getStreak();
+        long lastId = series.getLastTransactionId();
+
+        charge("15.49", "2023-12-31T10:00:00Z"); // older statement imported later
+        charge("15.49", "2024-03-31T10:00:00Z");
+        assertTrue(series.getDetected());
+        assertEquals(streak, series.getStreak());
+        assertEquals(lastId, series.getLastTransactionId());
+        assertEquals(Instant.parse("2024-03-31T10:00:00Z"), series.getLastOccurredAt());
+
+        charge("15.49", "2024-04-30T10:00:00Z");
+        assertEquals(streak + 1, series.getStreak());
+        assertEquals(Instant.parse("2024-05-30T10:00:00Z"), series.getNextExpectedAt());
+    }
+
+    private void charge(String amount, String occurredAt) {
+        detector.apply(series, new TransactionCharge(
+                nextId++, "NETFLIX.COM", new BigDecimal(amount), "USD", Instant.parse(occurredAt)));
+    }
+}
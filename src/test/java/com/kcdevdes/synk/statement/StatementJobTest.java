@@ -0,0 +1,203 @@
+package com.kcdevdes.synk.statement;
+
+import com.kcdevdes.synk.config.properties.AppStatementProperties;
+import com.kcdevdes.synk.entity.AccountEntity;
+import com.kcdevdes.synk.entity.AccountStatementEntity;
+import com.kcdevdes.synk.entity.TransactionEntity;
+import com.kcdevdes.synk.entity.UserEntity;
+import com.kcdevdes.synk.entity.type.AccountType;
+import com.kcdevdes.synk.entity.type.TransactionStatus;
+import com.kcdevdes.synk.entity.type.TransactionType;
+import com.kcdevdes.synk.entity.type.UserType;
+import com.kcdevdes.synk.repository.AccountRepository;
+import com.kcdevdes.synk.repository.AccountStatementRepository;
+import com.kcdevdes.synk.repository.TransactionRepository;
+import com.kcdevdes.synk.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// not @Transactional: the job reads and writes on its own worker threads
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("StatementJob Test")
+class StatementJobTest {
+
+    private static final YearMonth PERIOD = YearMonth.now(ZoneOffset.UTC).minusMonths(1);
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private AccountStatementRepository statementRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private JsonMapper jsonMapper;
+
+    @TempDir
+    private Path directory;
+
+    private final List<Long> transactionIds = new ArrayList<>();
+    private AppStatementProperties properties;
+    private UserEntity user;
+    private AccountEntity account;
+
+    @BeforeEach
+    void setUp() {
+        properties = new AppStatementProperties();
+        properties.setDirectory(directory.toString());
+        properties.setParallelism(2);
+
+        user = saveUser();
+        account = saveAccount();
+        Instant inPeriod = PERIOD.atDay(10).atStartOfDay(ZoneOffset.UTC).toInstant();
+        jdbcTemplate.update("UPDATE accounts SET created_at = ? WHERE id = ?",
+                Timestamp.from(inPeriod.minusSeconds(40 * 86400)), account.getId());
+
+        save(TransactionType.INCOME, "40.00", "Refund", TransactionStatus.COMPLETED, inPeriod.minusSeconds(30 * 86400));
+        save(TransactionType.INCOME, "100.00", "Employer", TransactionStatus.COMPLETED, inPeriod);
+        save(TransactionType.EXPENSE, "30.00", "=HYPERLINK(\"x\")", TransactionStatus.COMPLETED, inPeriod.plusSeconds(60));
+        save(TransactionType.EXPENSE, "500.00", "Electronics, Inc", TransactionStatus.PENDING, inPeriod.plusSeconds(120));
+        save(TransactionType.EXPENSE, "20.00", "Coffee Shop", TransactionStatus.COMPLETED, null); // this month
+    }
+
+    @AfterEach
+    void tearDown() {
+        statementRepository.findByAccountIdAndPeriod(account.getId(), PERIOD.toString())
+                .ifPresent(statementRepository::delete);
+        transactionRepository.deleteAllById(transactionIds);
+        accountRepository.deleteById(account.getId());
+        userRepository.deleteById(user.getId());
+    }
+
+    @Test
+    @DisplayName("writes opening, postings and closing derived from prior postings, then skips the account on the next run")
+    void run_WritesCsvStatementAndResumes() throws Exception {
+        StatementJob job = newJob();
+
+        StatementJob.RunResult result = job.run(PERIOD);
+        assertEquals(1, result.accounts());
+        assertEquals(0, result.failed());
+        assertEquals(3, result.postings());
+
+        // opening 40.00 from last month's posting, not accounts.balance; the PENDING expense does not count
+        AccountStatementEntity statement = statementRepository
+                .findByAccountIdAndPeriod(account.getId(), PERIOD.toString()).orElseThrow();
+        assertEquals(0, new BigDecimal("40.00").compareTo(statement.getOpeningBalance()));
+        assertEquals(0, new BigDecimal("110.00").compareTo(statement.getClosingBalance()));
+
+        Path file = directory.resolve(PERIOD + "/" + account.getId() + ".csv");
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(6, lines.size());
+        assertTrue(lines.get(1).startsWith("OPENING,,"));
+        assertTrue(lines.get(1).endsWith(",USD,,40.00"));
+        assertTrue(lines.get(2).endsWith(",Employer,Salary,,USD,100.00,140.00"));
+        assertTrue(lines.get(3).contains(",\"'=HYPERLINK(\"\"x\"\")\",Salary,,USD,-30.00,110.00"));
+        assertTrue(lines.get(4).contains(",PENDING,\"Electronics, Inc\","));
+        assertTrue(lines.get(4).endsWith(",USD,-500.00,"));
+        assertTrue(lines.get(5).endsWith(",USD,,110.00"));
+        assertFalse(Files.exists(directory.resolve(PERIOD + "/" + account.getId() + ".csv.tmp")));
+
+        StatementJob.RunResult resumed = job.run(PERIOD);
+        assertEquals(0, resumed.accounts());
+        assertTrue(resumed.skipped() >= 1);
+    }
+
+    @Test
+    @DisplayName("writes the same statement as one JSON document")
+    void run_WritesJsonStatement() throws Exception {
+        properties.setFormat(AppStatementProperties.Format.JSON);
+
+        newJob().run(PERIOD);
+
+        JsonNode json = jsonMapper.readTree(directory.resolve(PERIOD + "/" + account.getId() + ".json").toFile());
+        assertEquals(account.getId().longValue(), json.get("accountId").asLong());
+        assertEquals(PERIOD.toString(), json.get("period").asString());
+        assertEquals(0, new BigDecimal("40.00").compareTo(json.get("openingBalance").decimalValue()));
+        assertEquals(3, json.get("postings").size());
+        assertEquals(0, new BigDecimal("-30.00").compareTo(json.get("postings").get(1).get("amount").decimalValue()));
+        assertFalse(json.get("postings").get(2).has("balance"));
+        assertEquals(0, new BigDecimal("110.00").compareTo(json.get("closingBalance").decimalValue()));
+    }
+
+    private StatementJob newJob() {
+        return new StatementJob(properties, accountRepository, transactionRepository, statementRepository,
+                transactionTemplate, jsonMapper, new SimpleMeterRegistry());
+    }
+
+    private void save(TransactionType type, String amount, String merchant, TransactionStatus status, Instant occurredAt) {
+        TransactionEntity entity = new TransactionEntity();
+        entity.setType(type);
+        entity.setAmount(new BigDecimal(amount));
+        entity.setMerchant(merchant);
+        entity.setCurrency("USD");
+        entity.setCategory("Salary");
+        entity.setStatus(status);
+        entity.setUser(user);
+        entity.setAccount(account);
+        Long id = transactionRepository.saveAndFlush(entity).getId();
+        transactionIds.add(id);
+        if (occurredAt != null) {
+            // occurredAt is stamped on insert
+            jdbcTemplate.update("UPDATE transactions SET occurred_at = ? WHERE id = ?", Timestamp.from(occurredAt), id);
+        }
+    }
+
+    private AccountEntity saveAccount() {
+        AccountEntity entity = new AccountEntity();
+        entity.setAccountName("Statement Account");
+        entity.setAccountType(AccountType.BANK_ACCOUNT);
+        entity.setCurrency("USD");
+        entity.setBalance(new BigDecimal("5000.00"));
+        entity.setUser(user);
+        return accountRepository.saveAndFlush(entity);
+    }
+
+    private UserEntity saveUser() {
+        UserEntity entity = new UserEntity();
+        entity.setEmail("statement@example.com");
+        entity.setUsername("statementuser");
+        entity.setPassword("password123");
+        entity.setFirstName("Test");
+        entity.setLastName("User");
+        entity.setDefaultCurrency("USD");
+        entity.setLocale("en_US");
+        entity.setTimezone("UTC");
+        entity.setUserType(UserType.USER);
+        return userRepository.saveAndFlush(entity);
+    }
+}
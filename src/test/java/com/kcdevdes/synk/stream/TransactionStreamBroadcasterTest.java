@@ -0,0 +1,161 @@
+package com.kcdevdes.synk.stream;
+
+import com.kcdevdes.synk.config.properties.AppStreamProperties;
+import com.kcdevdes.synk.dto.response.TransactionDTO;
+import com.kcdevdes.synk.exception.custom.CapacityExceededException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+@DisplayName("TransactionStreamBroadcaster Unit Test")
+class TransactionStreamBroadcasterTest {
+
+    // single sender thread held by a gate, so queued events are only sent when the test says so
+    private final ExecutorService senders = Executors.newSingleThreadExecutor();
+    private final CountDownLatch gate = new CountDownLatch(1);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private TransactionStreamBroadcaster broadcaster;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        AppStreamProperties properties = new AppStreamProperties();
+        properties.setMaxConnections(2);
+        properties.setBufferSize(3);
+        properties.setReplaySize(4);
+        broadcaster = new TransactionStreamBroadcaster(properties, meterRegistry, senders);
+        mockMvc = MockMvcBuilders.standaloneSetup(new StreamController(broadcaster)).build();
+
+        senders.execute(() -> {
+            try {
+                gate.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        broadcaster.destroy();
+    }
+
+    @Test
+    @DisplayName("replays only the user's events after Last-Event-ID, then streams new ones")
+    void subscribe_ReplaysMissedEventsForTheUser() throws Exception {
+        publish(1L, 10L);
+        publish(2L, 20L);
+        publish(1L, 11L);
+
+        MvcResult result = mockMvc.perform(get("/stream/1").header("Last-Event-ID", "1"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        publish(1L, 12L);
+        send();
+
+        String body = result.getResponse().getContentAsString();
+        assertTrue(body.startsWith("event:transaction.created\ndata:{"), body);
+        assertFalse(body.contains("\nid:1\n"));
+        assertFalse(body.contains("\nid:2\n"), "other user's event");
+        assertTrue(body.indexOf("\"id\":11") < body.indexOf("\nid:3\n"));
+        assertTrue(body.indexOf("\nid:3\n") < body.indexOf("\nid:4\n"));
+        assertFalse(body.contains("event:reset"));
+    }
+
+    @Test
+    @DisplayName("sends reset when Last-Event-ID was evicted from the replay log or is ahead of it")
+    void subscribe_ResetsWhenReplayIsUnavailable() throws Exception {
+        for (long i = 1; i <= 6; i++) {
+            publish(1L, i);
+        }
+
+        MvcResult evicted = mockMvc.perform(get("/stream/1").header("Last-Event-ID", "1"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MvcResult ahead = mockMvc.perform(get("/stream/1").header("Last-Event-ID", "99"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        send();
+
+        for (MvcResult result : new MvcResult[]{evicted, ahead}) {
+            String body = result.getResponse().getContentAsString();
+            assertTrue(body.startsWith("event:reset\ndata:{\"reason\":\"replay_unavailable\"}"), body);
+            assertFalse(body.contains("id:"));
+        }
+    }
+
+    @Test
+    @DisplayName("rejects streams beyond max-connections and frees the slot exactly once when a slow client overflows")
+    void subscribe_CapsConnectionsAndOverflowReleasesOnce() throws Exception {
+        broadcaster.subscribe(1L, null);
+        broadcaster.subscribe(2L, null);
+        assertThrows(CapacityExceededException.class, () -> broadcaster.subscribe(3L, null));
+        assertEquals(2, connections());
+
+        // nothing is sent while the gate is closed: the fourth event overflows user 1's buffer of 3
+        for (long i = 1; i <= 4; i++) {
+            publish(1L, i);
+        }
+        assertEquals(1, connections());
+        publish(1L, 5L); // no longer registered
+
+        broadcaster.subscribe(3L, null);
+        assertThrows(CapacityExceededException.class, () -> broadcaster.subscribe(4L, null));
+        send();
+        assertEquals(2, connections(), "the drain queued for the overflowed stream does not release its slot again");
+    }
+
+    private void publish(Long userId, Long transactionId) {
+        TransactionDTO transaction = new TransactionDTO();
+        transaction.setId(transactionId);
+        broadcaster.onTransactionChange(new TransactionChangeEvent(
+                TransactionChangeEvent.ChangeType.CREATED, userId, transaction));
+    }
+
+    /**
+     * Opens the gate and waits until every queued send has run
+     */
+    private void send() throws Exception {
+        gate.countDown();
+        senders.submit(() -> { }).get(5, TimeUnit.SECONDS);
+    }
+
+    private double connections() {
+        return meterRegistry.get("synk.stream.connections").gauge().value();
+    }
+
+    @RestController
+    static class StreamController {
+
+        private final TransactionStreamBroadcaster broadcaster;
+
+        StreamController(TransactionStreamBroadcaster broadcaster) {
+            this.broadcaster = broadcaster;
+        }
+
+        @GetMapping("/stream/{userId}")
+        SseEmitter stream(@PathVariable Long userId,
+                          @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+            return broadcaster.subscribe(userId, lastEventId);
+        }
+    }
+}
@@ -1,15 +1,37 @@
 package com.kcdevdes.synk.util;
 
+import com.kcdevdes.synk.exception.ErrorCode;
 import com.kcdevdes.synk.exception.custom.InvalidInputException;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.SplittableRandom;
+import java.util.regex.Pattern;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.fail;
 
 @DisplayName("InputSanitizer Unit Test")
 class InputSanitizerTest {
 
+    // 이전 regex 구현 (equivalence 기준)
+    private static final Pattern LEGACY_SUSPICIOUS_PATTERN =
+            Pattern.compile("(?i)(<\\s*script|</\\s*script|javascript:|on\\w+\\s*=)");
+
+    // Fragments chosen to hit every pattern boundary: partial keywords, case variants,
+    // control chars inside keywords, whitespace outside \s, non-ASCII case-folding lookalikes
+    private static final String[] FRAGMENTS = {
+            "<", "</", "/", " ", "  ", "=", ":", "_", "9", "o", "O", "n", "N", "on", "oN", "On",
+            "s", "S", "sc", "scr", "script", "SCRIPT", "sCrIpT", "scrip", "java", "JavaScript", "javascript",
+            "jav", "j", "a", "click", "onerror", "Donation", "x", "<<", "onon", "oo",
+            "\t", "\n", "\r", "\u000B", "\f", "\u0000", "\u0007", "\u001F", "\u007F",
+            "\u0085", "\u00A0", "\u2028", "\u212A", "\u017F", "\u0130", "\u0131", "é", "한",
+    };
+
     @Test
     @DisplayName("sanitizePlainText trims and removes control characters")
     void sanitizePlainText_TrimsAndRemovesControlChars() {
@@ -24,4 +46,89 @@ class InputSanitizerTest {
         assertThrows(InvalidInputException.class,
                 () -> InputSanitizer.sanitizePlainText("<script>alert(1)</script>", "merchant"));
     }
+
+    @Test
+    @DisplayName("sanitizePlainText returns the same instance when the input is already clean")
+    void sanitizePlainText_ReturnsSameInstanceWhenClean() {
+        String value = "Whole Foods Market";
+        assertSame(value, InputSanitizer.sanitizePlainText(value, "merchant"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "< script", "</ SCRIPT>", "<<script", "java\u0000script:alert(1)", "img onerror = x",
+            "Donation=5", "on_1=", "<\u0007script", "x JAVASCRIPT:"
+    })
+    @DisplayName("sanitizePlainText rejects patterns split by spaces, case or control chars")
+    void sanitizePlainText_RejectsPatternVariants(String value) {
+        assertThrows(InvalidInputException.class, () -> InputSanitizer.sanitizePlainText(value, "field"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"< /script", "<//script", "on =", "on=", "javascript", "scripted", "one two"})
+    @DisplayName("sanitizePlainText accepts near misses the regex did not match")
+    void sanitizePlainText_AcceptsNearMisses(String value) {
+        assertEquals(value, InputSanitizer.sanitizePlainText(value, "field"));
+    }
+
+    @Test
+    @DisplayName("sanitizePlainText matches the legacy regex implementation on random input")
+    void sanitizePlainText_MatchesLegacyImplementation() {
+        SplittableRandom random = new SplittableRandom(20240611L);
+
+        for (int run = 0; run < 200_000; run++) {
+            StringBuilder builder = new StringBuilder();
+            int parts = random.nextInt(12);
+            for (int i = 0; i < parts; i++) {
+                builder.append(random.nextInt(10) == 0
+                        ? (char) random.nextInt(0x180)
+                        : FRAGMENTS[random.nextInt(FRAGMENTS.length)]);
+            }
+            String value = builder.toString();
+
+            String expected;
+            try {
+                expected = legacySanitize(value);
+            } catch (InvalidInputException e) {
+                expected = null;
+            }
+
+            String actual;
+            try {
+                actual = InputSanitizer.sanitizePlainText(value, "field");
+            } catch (InvalidInputException e) {
+                actual = null;
+            }
+
+            if (expected == null ? actual != null : !expected.equals(actual)) {
+                fail("mismatch for " + escape(value) + ": expected " + escape(expected) + " but was " + escape(actual));
+            }
+            if (actual != null && actual.equals(value)) {
+                assertSame(value, actual, "clean input should not be copied: " + escape(value));
+            }
+        }
+    }
+
+    private static String legacySanitize(String value) {
+        String sanitized = value.trim().replaceAll("\\p{Cntrl}", "");
+        if (LEGACY_SUSPICIOUS_PATTERN.matcher(sanitized).find()) {
+            throw new InvalidInputException(ErrorCode.INVALID_INPUT_VALUE, "Suspicious input");
+        }
+        return sanitized;
+    }
+
+    private static String escape(String value) {
+        if (value == null) {
+            return "<rejected>";
+        }
+        StringBuilder escaped = new StringBuilder("\"");
+        for (char c : value.toCharArray()) {
+            if (c < 0x20 || c >= 0x7F) {
+                escaped.append(String.format("\\u%04X", (int) c));
+            } else {
+                escaped.append(c);
+            }
+        }
+        return escaped.append('"').toString();
+    }
 }